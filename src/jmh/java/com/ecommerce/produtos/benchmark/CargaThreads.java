@@ -0,0 +1,239 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.MicroserviceProdutosApplication;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Teste de carga: vazão e latência da API com threads de plataforma x threads virtuais
+ *
+ * Sobe a aplicação uma vez em cada modo (no mesmo processo, H2 em memória, porta aleatória),
+ * com latência de banco simulada: cada conexão fica ocupada por --latencia-banco antes de ser
+ * usada, como em um banco remoto. Cadastra --produtos produtos e, depois do aquecimento, mantém
+ * --clientes clientes simultâneos (cada um só manda a próxima requisição depois da resposta)
+ * em GET /api/produtos?limite=5 durante --duracao. O limite de concorrência fica desligado,
+ * para medir só o modelo de threads.
+ *
+ * Uso: CargaThreads [--clientes=800] [--duracao=20s] [--aquecimento=5s] [--latencia-banco=20ms]
+ *                   [--conexoes=300] [--produtos=1000]
+ * Cliente e servidor dividem a mesma máquina: compare os dois modos entre si, não com produção.
+ */
+public class CargaThreads {
+
+    private static final String ENDPOINT = "/api/produtos?limite=5";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        int clientes = Integer.parseInt(opcoes.getOrDefault("clientes", "800"));
+        Duration duracao = duracao(opcoes.getOrDefault("duracao", "20s"));
+        Duration aquecimento = duracao(opcoes.getOrDefault("aquecimento", "5s"));
+        Duration latenciaBanco = duracao(opcoes.getOrDefault("latencia-banco", "20ms"));
+        int conexoes = Integer.parseInt(opcoes.getOrDefault("conexoes", "300"));
+        int produtos = Integer.parseInt(opcoes.getOrDefault("produtos", "1000"));
+
+        System.out.printf("clientes=%d duracao=%s latencia-banco=%s conexoes=%d%n",
+                clientes, duracao, latenciaBanco, conexoes);
+        List<Resultado> resultados = new ArrayList<>();
+        for (boolean virtuais : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext aplicacao = subir(virtuais, latenciaBanco, conexoes)) {
+                String base = "http://localhost:" + aplicacao.getEnvironment().getProperty("local.server.port");
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .build();
+                cadastrar(http, base, produtos);
+                carga(http, base, clientes, aquecimento);
+                resultados.add(carga(http, base, clientes, duracao)
+                        .comModo(virtuais ? "virtuais" : "plataforma"));
+            }
+        }
+
+        System.out.printf("%n%-12s %12s %10s %10s %10s %10s %8s%n",
+                "Threads", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "Erros");
+        for (Resultado resultado : resultados) {
+            System.out.printf("%-12s %12.0f %10.1f %10.1f %10.1f %10.1f %8d%n",
+                    resultado.modo(), resultado.vazao(), resultado.percentil(0.50), resultado.percentil(0.99),
+                    resultado.percentil(0.999), resultado.percentil(1.0), resultado.erros());
+        }
+    }
+
+    private static ConfigurableApplicationContext subir(boolean virtuais, Duration latenciaBanco, int conexoes) {
+        return new SpringApplicationBuilder(MicroserviceProdutosApplication.class, BancoComLatencia.class)
+                .web(WebApplicationType.SERVLET)
+                // Como argumentos de linha de comando, para valerem sobre o application.properties
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtuais,
+                        "--produtos.concorrencia.habilitado=false",
+                        "--carga.latencia-banco-ms=" + latenciaBanco.toMillis(),
+                        "--spring.datasource.hikari.maximum-pool-size=" + conexoes,
+                        "--spring.datasource.hikari.minimum-idle=" + conexoes,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ecommerce.produtos=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+
+    private static void cadastrar(HttpClient http, String base, int produtos) throws Exception {
+        for (int inicio = 0; inicio < produtos; inicio += 500) {
+            StringBuilder lote = new StringBuilder("[");
+            for (int i = inicio; i < Math.min(produtos, inicio + 500); i++) {
+                if (i > inicio) {
+                    lote.append(',');
+                }
+                lote.append("{\"nome\":\"Produto ").append(i)
+                        .append("\",\"descricao\":\"Carga\",\"preco\":").append(10 + i % 90)
+                        .append(",\"estoque\":100,\"categoria\":\"Categoria ").append(i % 10).append("\"}");
+            }
+            HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(URI.create(base + "/api/produtos/lote"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(lote.append(']').toString()))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (resposta.statusCode() >= 300) {
+                throw new IllegalStateException("Falha ao cadastrar produtos: " + resposta.statusCode());
+            }
+        }
+    }
+
+    private static Resultado carga(HttpClient http, String base, int clientes, Duration duracao) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + ENDPOINT))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        AtomicLong erros = new AtomicLong();
+        long fim = System.nanoTime() + duracao.toNanos();
+        List<Future<long[]>> latencias = new ArrayList<>(clientes);
+        long inicio = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clientes; i++) {
+                latencias.add(executor.submit(() -> {
+                    long[] medidas = new long[1024];
+                    int total = 0;
+                    while (System.nanoTime() < fim) {
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (resposta.statusCode() != 200) {
+                                erros.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception ex) {
+                            erros.incrementAndGet();
+                            continue;
+                        }
+                        if (total == medidas.length) {
+                            medidas = Arrays.copyOf(medidas, total * 2);
+                        }
+                        medidas[total++] = System.nanoTime() - antes;
+                    }
+                    return Arrays.copyOf(medidas, total);
+                }));
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        long[] todas = latencias.stream().map(CargaThreads::obter).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Resultado(null, todas, todas.length / segundos, erros.get());
+    }
+
+    private static long[] obter(Future<long[]> futuro) {
+        try {
+            return futuro.get();
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] partes = arg.replaceFirst("^--", "").split("=", 2);
+            opcoes.put(partes[0], partes.length > 1 ? partes[1] : "true");
+        }
+        return opcoes;
+    }
+
+    private static Duration duracao(String valor) {
+        if (valor.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(valor.substring(0, valor.length() - 2)));
+        }
+        return Duration.ofSeconds(Long.parseLong(valor.replace("s", "")));
+    }
+
+    private record Resultado(String modo, long[] latencias, double vazao, long erros) {
+
+        Resultado comModo(String modo) {
+            return new Resultado(modo, latencias, vazao, erros);
+        }
+
+        double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.min(latencias.length - 1, Math.ceil(p * latencias.length) - 1);
+            return latencias[Math.max(0, indice)] / 1e6;
+        }
+    }
+
+    /**
+     * DataSource de spring.datasource com latência de banco remoto: cada conexão é entregue só
+     * depois de ficar ocupada por carga.latencia-banco-ms (subclasse do Hikari, para continuar
+     * recebendo o semáforo no modo de threads virtuais)
+     */
+    static class BancoComLatencia {
+
+        @Bean
+        @ConfigurationProperties("spring.datasource.hikari")
+        HikariDataSource dataSource(DataSourceProperties propriedades,
+                                    @Value("${carga.latencia-banco-ms}") long latenciaMs) {
+            HikariComLatencia pool = new HikariComLatencia(latenciaMs);
+            pool.setJdbcUrl(propriedades.determineUrl());
+            pool.setUsername(propriedades.determineUsername());
+            pool.setPassword(propriedades.determinePassword());
+            return pool;
+        }
+    }
+
+    static class HikariComLatencia extends HikariDataSource {
+
+        private final long latenciaMs;
+
+        HikariComLatencia(long latenciaMs) {
+            this.latenciaMs = latenciaMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection conexao = super.getConnection();
+            try {
+                Thread.sleep(latenciaMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return conexao;
+        }
+    }
+}
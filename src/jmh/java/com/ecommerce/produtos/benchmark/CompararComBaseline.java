@@ -0,0 +1,104 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dois resultados JMH em JSON (-rf json): baseline salvo x execução atual
+ *
+ * Uso: CompararComBaseline <baseline.json> <resultado.json> [tolerância %]
+ * Imprime tempo e alocação por operação (gc.alloc.rate.norm, quando rodado com -prof gc)
+ * e termina com código 1 se algum benchmark piorou mais que a tolerância.
+ */
+public class CompararComBaseline {
+
+    private static final String ALOCACAO = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: CompararComBaseline <baseline.json> <resultado.json> [tolerância %]");
+            System.exit(2);
+        }
+        double tolerancia = args.length > 2 ? Double.parseDouble(args[2]) : 5.0;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> baseline = indexar(objectMapper.readTree(new File(args[0])));
+        Map<String, JsonNode> atual = indexar(objectMapper.readTree(new File(args[1])));
+
+        System.out.printf("%-70s %14s %14s %9s %12s %12s%n",
+                "Benchmark", "Baseline", "Atual", "Delta", "B/op base", "B/op atual");
+        int regressoes = 0;
+        for (Map.Entry<String, JsonNode> entrada : atual.entrySet()) {
+            JsonNode resultado = entrada.getValue();
+            JsonNode referencia = baseline.get(entrada.getKey());
+            double score = resultado.path("primaryMetric").path("score").asDouble();
+            String unidade = resultado.path("primaryMetric").path("scoreUnit").asText();
+
+            if (referencia == null) {
+                System.out.printf("%-70s %14s %14s %9s%n", entrada.getKey(), "-",
+                        formatar(score, unidade), "novo");
+                continue;
+            }
+
+            double scoreBase = referencia.path("primaryMetric").path("score").asDouble();
+            double delta = scoreBase == 0 ? 0 : (score - scoreBase) * 100.0 / scoreBase;
+            // Em modo throughput (ops/tempo) maior é melhor; nos demais, menor é melhor
+            boolean maiorEMelhor = "thrpt".equals(resultado.path("mode").asText());
+            boolean regrediu = maiorEMelhor ? delta < -tolerancia : delta > tolerancia;
+            if (regrediu) {
+                regressoes++;
+            }
+
+            System.out.printf("%-70s %14s %14s %+8.1f%% %12s %12s%s%n",
+                    entrada.getKey(),
+                    formatar(scoreBase, unidade),
+                    formatar(score, unidade),
+                    delta,
+                    alocacao(referencia),
+                    alocacao(resultado),
+                    regrediu ? "  <-- REGRESSÃO" : "");
+        }
+
+        System.out.printf("%n%d benchmark(s) com regressão acima de %.1f%%%n", regressoes, tolerancia);
+        if (regressoes > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> indexar(JsonNode resultados) {
+        Map<String, JsonNode> porChave = new LinkedHashMap<>();
+        for (JsonNode resultado : resultados) {
+            StringBuilder chave = new StringBuilder(resultado.path("benchmark").asText()
+                    .replace("com.ecommerce.produtos.benchmark.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = resultado.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                chave.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            porChave.put(chave.toString(), resultado);
+        }
+        return porChave;
+    }
+
+    private static String alocacao(JsonNode resultado) {
+        // O nome da métrica secundária varia entre versões do JMH ("·gc.alloc.rate.norm")
+        Iterator<Map.Entry<String, JsonNode>> metricas = resultado.path("secondaryMetrics").fields();
+        while (metricas.hasNext()) {
+            Map.Entry<String, JsonNode> metrica = metricas.next();
+            if (metrica.getKey().endsWith(ALOCACAO)) {
+                return String.format("%.0f", metrica.getValue().path("score").asDouble());
+            }
+        }
+        return "-";
+    }
+
+    private static String formatar(double score, String unidade) {
+        return String.format("%.3f %s", score, unidade);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
+import com.ecommerce.produtos.presentation.dto.ProdutoResponseDTO;
+import com.ecommerce.produtos.presentation.mapper.ProdutoDTOMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados dos benchmarks: produtos com campos de tamanho realista
+ * Gerada no @Setup, fora da medição
+ */
+final class DadosBenchmark {
+
+    private static final String[] CATEGORIAS = {"Eletrônicos", "Informática", "Roupas", "Casa", "Esportes"};
+    private static final LocalDateTime DATA_CRIACAO = LocalDateTime.of(2025, 1, 15, 10, 30);
+
+    private DadosBenchmark() {
+    }
+
+    static ProdutoJpaEntity entidade(long id) {
+        return new ProdutoJpaEntity(
+                id,
+                "Produto " + id,
+                "Descrição do produto " + id + " com detalhes de fabricante e garantia",
+                BigDecimal.valueOf(1000 + id % 9000, 2),
+                (int) (id % 500),
+                CATEGORIAS[(int) (id % CATEGORIAS.length)],
+                DATA_CRIACAO,
+                id % 7
+        );
+    }
+
+    static List<ProdutoJpaEntity> entidades(int quantidade) {
+        List<ProdutoJpaEntity> entidades = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            entidades.add(entidade(id));
+        }
+        return entidades;
+    }
+
+    static Produto produto(long id) {
+        ProdutoJpaEntity entidade = entidade(id);
+        return new Produto(
+                entidade.getId(),
+                entidade.getNome(),
+                entidade.getDescricao(),
+                entidade.getPreco(),
+                entidade.getEstoque(),
+                entidade.getCategoria(),
+                entidade.getDataCriacao(),
+                entidade.getVersao()
+        );
+    }
+
+    static List<Produto> produtos(int quantidade) {
+        List<Produto> produtos = new ArrayList<>(quantidade);
+        for (long id = 1; id <= quantidade; id++) {
+            produtos.add(produto(id));
+        }
+        return produtos;
+    }
+
+    static List<ProdutoResponseDTO> dtos(int quantidade) {
+        return produtos(quantidade).stream()
+                .map(ProdutoDTOMapper::toResponseDTO)
+                .toList();
+    }
+}
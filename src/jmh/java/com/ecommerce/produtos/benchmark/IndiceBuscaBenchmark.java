@@ -0,0 +1,96 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Latência de consulta do índice de busca com catálogo grande (padrão 1M produtos)
+ *
+ * Vocabulário sintético de 20 mil palavras com frequência Zipf (a palavra de posição r
+ * aparece com probabilidade ~ 1/r): nomes de 2 a 4 palavras, descrições de 8.
+ * As consultas usam palavras de posições diferentes: "p1" está em boa parte do
+ * catálogo, "p5000" em poucas centenas de produtos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class IndiceBuscaBenchmark {
+
+    private static final int VOCABULARIO = 20_000;
+
+    @Param({"1000000"})
+    private int produtos;
+
+    private IndiceBuscaProdutos indice;
+
+    @Setup
+    public void preparar() {
+        double[] acumulada = new double[VOCABULARIO];
+        double soma = 0;
+        for (int r = 0; r < VOCABULARIO; r++) {
+            soma += 1.0 / (r + 1);
+            acumulada[r] = soma;
+        }
+        Random random = new Random(42);
+        double total = soma;
+        LocalDateTime agora = LocalDateTime.now();
+
+        indice = new IndiceBuscaProdutos();
+        indice.reconstruir(LongStream.rangeClosed(1, produtos).mapToObj(id -> new Produto(
+                id,
+                frase(random, acumulada, total, 2 + random.nextInt(3)),
+                frase(random, acumulada, total, 8),
+                BigDecimal.TEN, 1, "Eletrônicos", agora)));
+    }
+
+    private static String frase(Random random, double[] acumulada, double total, int palavras) {
+        StringBuilder frase = new StringBuilder();
+        for (int i = 0; i < palavras; i++) {
+            int posicao = java.util.Arrays.binarySearch(acumulada, random.nextDouble() * total);
+            int r = posicao < 0 ? -posicao - 1 : posicao;
+            frase.append('p').append(r + 1).append(' ');
+        }
+        return frase.toString();
+    }
+
+    @Benchmark
+    public List<Long> termoMuitoComum() {
+        return indice.buscar("p1", 20);
+    }
+
+    @Benchmark
+    public List<Long> termoMedio() {
+        return indice.buscar("p100", 20);
+    }
+
+    @Benchmark
+    public List<Long> termoRaro() {
+        return indice.buscar("p5000", 20);
+    }
+
+    @Benchmark
+    public List<Long> doisTermosComuns() {
+        return indice.buscar("p1 p2", 20);
+    }
+
+    @Benchmark
+    public List<Long> tresTermos() {
+        return indice.buscar("p2 p30 p200", 20);
+    }
+
+    @Benchmark
+    public List<Long> termoInexistente() {
+        return indice.buscar("eletrônicos", 20);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Filtro + contagens de facetas com catálogo grande (padrão 1M produtos, 40 categorias)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class IndiceFacetasBenchmark {
+
+    private static final int CATEGORIAS = 40;
+
+    @Param({"1000000"})
+    private int produtos;
+
+    private IndiceFacetas indice;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        LocalDateTime agora = LocalDateTime.now();
+        indice = new IndiceFacetas(new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("250"),
+                new BigDecimal("500"), new BigDecimal("1000"));
+        indice.reconstruir(LongStream.rangeClosed(1, produtos).mapToObj(id -> new Produto(
+                id, "Produto", "Descrição",
+                BigDecimal.valueOf(1 + random.nextInt(200_000), 2),
+                random.nextInt(4) == 0 ? 0 : 10,
+                "Categoria " + random.nextInt(CATEGORIAS),
+                agora)));
+    }
+
+    @Benchmark
+    public IndiceFacetas.Resultado semFiltro() {
+        return indice.filtrar(FiltroFacetas.vazio(), null, 21);
+    }
+
+    @Benchmark
+    public IndiceFacetas.Resultado umaCategoria() {
+        return indice.filtrar(new FiltroFacetas(Set.of("Categoria 7"), Set.of(), null), null, 21);
+    }
+
+    @Benchmark
+    public IndiceFacetas.Resultado tresFacetas() {
+        return indice.filtrar(new FiltroFacetas(
+                Set.of("Categoria 7", "Categoria 12"), Set.of("100-250", "250-500"), true), null, 21);
+    }
+}
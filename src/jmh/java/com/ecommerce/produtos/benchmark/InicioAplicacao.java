@@ -0,0 +1,228 @@
+package com.ecommerce.produtos.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark de inicialização: tempo até a primeira requisição bem-sucedida, por modo de execução
+ *
+ * Cada repetição sobe a aplicação em uma JVM nova, dispara o relógio no início do processo e
+ * consulta GET /api/produtos?limite=1 a cada 10 ms até receber 200. Modos:
+ * jar       java -jar do jar do Spring Boot (como a imagem antes do AppCDS)
+ * extraido  classpath de jars comuns (application.jar + lib/), o layout que o AppCDS exige
+ * aot       extraido com -Dspring.aot.enabled=true (jar gerado com -Paot)
+ * cds       extraido com o arquivo AppCDS de uma execução de treino (spring.context.exit=onRefresh)
+ * aot+cds   os dois, como na imagem Docker
+ *
+ * Uso: InicioAplicacao [--jar=target/microservice-produtos-1.0.0.jar] [--repeticoes=3]
+ *                      [--perfil=prod] [--modos=jar,extraido,aot,cds,aot+cds]
+ * Os modos aot exigem o jar gerado com -Paot; sem ele são pulados.
+ */
+public class InicioAplicacao {
+
+    private static final String CLASSE_PRINCIPAL = "com.ecommerce.produtos.MicroserviceProdutosApplication";
+    private static final String INICIALIZADOR_AOT =
+            "BOOT-INF/classes/com/ecommerce/produtos/MicroserviceProdutosApplication__ApplicationContextInitializer.class";
+    private static final Duration LIMITE = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opcoes = opcoes(args);
+        Path jar = Path.of(opcoes.getOrDefault("jar", "target/microservice-produtos-1.0.0.jar"));
+        int repeticoes = Integer.parseInt(opcoes.getOrDefault("repeticoes", "3"));
+        String perfil = opcoes.getOrDefault("perfil", "prod");
+        List<String> modos = Arrays.asList(opcoes.getOrDefault("modos", "jar,extraido,aot,cds,aot+cds").split(","));
+
+        Path diretorio = jar.toAbsolutePath().getParent().resolve("inicio");
+        boolean comAot = extrair(jar, diretorio);
+        String java = ProcessHandle.current().info().command().orElse("java");
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+        Map<String, long[]> resultados = new LinkedHashMap<>();
+        for (String modo : modos) {
+            boolean aot = modo.contains("aot");
+            if (aot && !comAot) {
+                System.out.printf("%s: pulado (gere o jar com -Paot)%n", modo);
+                continue;
+            }
+            List<String> jvm = new ArrayList<>();
+            if (aot) {
+                jvm.add("-Dspring.aot.enabled=true");
+            }
+            if (modo.contains("cds")) {
+                Path arquivo = diretorio.resolve(aot ? "aot.jsa" : "app.jsa");
+                treinar(java, diretorio, jvm, arquivo, perfil);
+                jvm.add("-XX:SharedArchiveFile=" + arquivo);
+            }
+            long[] tempos = new long[repeticoes];
+            for (int i = 0; i < repeticoes; i++) {
+                tempos[i] = ateAPrimeiraRequisicao(java, http, diretorio, modo.equals("jar") ? jar : null, jvm, perfil);
+                System.out.printf("%s #%d: %d ms%n", modo, i + 1, tempos[i]);
+            }
+            Arrays.sort(tempos);
+            resultados.put(modo, tempos);
+        }
+
+        System.out.printf("%n%-10s %12s %12s %12s%n", "Modo", "Mediana ms", "min ms", "max ms");
+        for (Map.Entry<String, long[]> resultado : resultados.entrySet()) {
+            long[] tempos = resultado.getValue();
+            System.out.printf("%-10s %12d %12d %12d%n",
+                    resultado.getKey(), tempos[tempos.length / 2], tempos[0], tempos[tempos.length - 1]);
+        }
+    }
+
+    /**
+     * Milissegundos entre o início do processo e o primeiro 200 da API
+     */
+    private static long ateAPrimeiraRequisicao(String java, HttpClient http, Path diretorio, Path jar,
+                                               List<String> jvm, String perfil) throws Exception {
+        int porta = portaLivre();
+        List<String> comando = new ArrayList<>(List.of(java));
+        comando.addAll(jvm);
+        if (jar != null) {
+            comando.addAll(List.of("-jar", jar.toAbsolutePath().toString()));
+        } else {
+            comando.addAll(List.of("-cp", classpath(diretorio), CLASSE_PRINCIPAL));
+        }
+        comando.addAll(List.of("--server.port=" + porta, "--spring.profiles.active=" + perfil));
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/produtos?limite=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(comando)
+                .directory(diretorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(diretorio.resolve("inicio.log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - inicio < LIMITE.toNanos()) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou na subida; ver " + diretorio.resolve("inicio.log"));
+                }
+                try {
+                    if (http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (IOException ex) {
+                    // Ainda não está ouvindo
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Sem resposta em " + LIMITE);
+        } finally {
+            processo.destroy();
+            if (!processo.waitFor(30, TimeUnit.SECONDS)) {
+                processo.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Execução de treino: sobe o contexto, sai logo após o refresh e grava as classes carregadas
+     */
+    private static void treinar(String java, Path diretorio, List<String> jvm, Path arquivo, String perfil)
+            throws Exception {
+        Files.deleteIfExists(arquivo);
+        List<String> comando = new ArrayList<>(List.of(java));
+        comando.addAll(jvm);
+        comando.addAll(List.of("-XX:ArchiveClassesAtExit=" + arquivo, "-Dspring.context.exit=onRefresh",
+                "-cp", classpath(diretorio), CLASSE_PRINCIPAL,
+                "--server.port=0", "--spring.profiles.active=" + perfil));
+        Process processo = new ProcessBuilder(comando)
+                .directory(diretorio.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(diretorio.resolve("treino.log").toFile())
+                .start();
+        if (processo.waitFor() != 0 || !Files.exists(arquivo)) {
+            throw new IllegalStateException("Falha no treino do AppCDS; ver " + diretorio.resolve("treino.log"));
+        }
+    }
+
+    /**
+     * Extrai o jar do Spring Boot em application.jar + lib/ (o AppCDS só arquiva classes de jars
+     * comuns no classpath); devolve se o jar traz as classes geradas pelo AOT
+     */
+    private static boolean extrair(Path jar, Path diretorio) throws IOException {
+        if (Files.exists(diretorio)) {
+            try (Stream<Path> caminhos = Files.walk(diretorio)) {
+                for (Path caminho : caminhos.sorted((a, b) -> b.compareTo(a)).toList()) {
+                    Files.delete(caminho);
+                }
+            }
+        }
+        Path lib = Files.createDirectories(diretorio.resolve("lib"));
+        boolean comAot = false;
+        try (JarFile origem = new JarFile(jar.toFile());
+             JarOutputStream aplicacao = new JarOutputStream(Files.newOutputStream(diretorio.resolve("application.jar")))) {
+            Enumeration<JarEntry> entradas = origem.entries();
+            while (entradas.hasMoreElements()) {
+                JarEntry entrada = entradas.nextElement();
+                String nome = entrada.getName();
+                comAot |= nome.equals(INICIALIZADOR_AOT);
+                if (nome.startsWith("BOOT-INF/lib/") && nome.endsWith(".jar")) {
+                    try (InputStream conteudo = origem.getInputStream(entrada)) {
+                        Files.copy(conteudo, lib.resolve(nome.substring("BOOT-INF/lib/".length())),
+                                StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } else if (nome.startsWith("BOOT-INF/classes/") && nome.length() > "BOOT-INF/classes/".length()) {
+                    aplicacao.putNextEntry(new JarEntry(nome.substring("BOOT-INF/classes/".length())));
+                    if (!entrada.isDirectory()) {
+                        try (InputStream conteudo = origem.getInputStream(entrada)) {
+                            conteudo.transferTo(aplicacao);
+                        }
+                    }
+                    aplicacao.closeEntry();
+                }
+            }
+        }
+        return comAot;
+    }
+
+    /**
+     * Classpath em ordem fixa: o AppCDS confere que é o mesmo do treino
+     */
+    private static String classpath(Path diretorio) throws IOException {
+        try (Stream<Path> jars = Files.list(diretorio.resolve("lib"))) {
+            return Stream.concat(Stream.of("application.jar"),
+                            jars.map(jar -> "lib/" + jar.getFileName()).sorted())
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> opcoes(String[] args) {
+        Map<String, String> opcoes = new LinkedHashMap<>();
+        for (String arg : args) {
+            String[] partes = arg.replaceFirst("^--", "").split("=", 2);
+            opcoes.put(partes[0], partes.length > 1 ? partes[1] : "true");
+        }
+        return opcoes;
+    }
+}
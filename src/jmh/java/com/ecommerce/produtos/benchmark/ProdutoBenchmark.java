@@ -0,0 +1,48 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criação da entidade de domínio: construtor de novo produto (com validações)
+ * e construtor de reconstituição (usado a cada linha lida do banco)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ProdutoBenchmark {
+
+    // Campos não finais para o JIT não tratar os argumentos como constantes
+    private String nome = "Notebook Dell Inspiron";
+    private String descricao = "Notebook com 16GB de RAM e SSD de 512GB";
+    private BigDecimal preco = new BigDecimal("2999.99");
+    private Integer estoque = 10;
+    private String categoria = "Eletrônicos";
+    private LocalDateTime dataCriacao = LocalDateTime.of(2025, 1, 15, 10, 30);
+    private Long id = 42L;
+    private Long versao = 3L;
+
+    @Benchmark
+    public Produto criarComValidacao() {
+        return new Produto(nome, descricao, preco, estoque, categoria);
+    }
+
+    @Benchmark
+    public Produto reconstituir() {
+        return new Produto(id, nome, descricao, preco, estoque, categoria, dataCriacao, versao);
+    }
+
+    @Benchmark
+    public Produto atualizarComValidacao() {
+        Produto produto = new Produto(id, nome, descricao, preco, estoque, categoria, dataCriacao, versao);
+        produto.atualizar(nome, descricao, preco, estoque, categoria);
+        return produto;
+    }
+}
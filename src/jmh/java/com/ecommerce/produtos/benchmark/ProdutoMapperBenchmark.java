@@ -0,0 +1,69 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
+import com.ecommerce.produtos.infrastructure.persistence.mapper.ProdutoMapper;
+import com.ecommerce.produtos.presentation.dto.ProdutoResponseDTO;
+import com.ecommerce.produtos.presentation.mapper.ProdutoDTOMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões entre camadas: JPA <-> domínio e domínio -> DTO da API
+ * "tamanho" = quantidade de itens convertidos por operação (1 = item único)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProdutoMapperBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int tamanho;
+
+    private List<ProdutoJpaEntity> entidades;
+    private List<Produto> produtos;
+
+    @Setup
+    public void preparar() {
+        entidades = DadosBenchmark.entidades(tamanho);
+        produtos = DadosBenchmark.produtos(tamanho);
+    }
+
+    @Benchmark
+    public void toDomain(Blackhole bh) {
+        for (ProdutoJpaEntity entidade : entidades) {
+            bh.consume(ProdutoMapper.toDomain(entidade));
+        }
+    }
+
+    @Benchmark
+    public void toJpaEntity(Blackhole bh) {
+        for (Produto produto : produtos) {
+            bh.consume(ProdutoMapper.toJpaEntity(produto));
+        }
+    }
+
+    @Benchmark
+    public void toResponseDTO(Blackhole bh) {
+        for (Produto produto : produtos) {
+            bh.consume(ProdutoDTOMapper.toResponseDTO(produto));
+        }
+    }
+
+    /**
+     * Caminho completo de uma listagem: entidades JPA -> domínio -> DTOs em uma nova lista
+     */
+    @Benchmark
+    public List<ProdutoResponseDTO> listaJpaParaDTO() {
+        return entidades.stream()
+                .map(ProdutoMapper::toDomain)
+                .map(ProdutoDTOMapper::toResponseDTO)
+                .toList();
+    }
+}
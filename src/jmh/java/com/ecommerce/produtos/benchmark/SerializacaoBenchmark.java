@@ -0,0 +1,56 @@
+package com.ecommerce.produtos.benchmark;
+
+import com.ecommerce.produtos.presentation.dto.ProdutoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson de List<ProdutoResponseDTO>, com o ObjectMapper configurado
+ * como o do Spring MVC (JavaTimeModule, datas em ISO-8601)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int tamanho;
+
+    private List<ProdutoResponseDTO> dtos;
+    private ObjectMapper objectMapper;
+    private ObjectWriter writerDaLista;
+
+    @Setup
+    public void preparar() {
+        dtos = DadosBenchmark.dtos(tamanho);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writerDaLista = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProdutoResponseDTO.class));
+    }
+
+    /**
+     * Como o MessageConverter: serializa direto no stream da resposta (aqui descartado)
+     */
+    @Benchmark
+    public void paraStream() throws IOException {
+        writerDaLista.writeValue(OutputStream.nullOutputStream(), dtos);
+    }
+
+    /**
+     * Materializa o JSON inteiro em memória (inclui o crescimento do buffer)
+     */
+    @Benchmark
+    public byte[] paraBytes() throws IOException {
+        return writerDaLista.writeValueAsBytes(dtos);
+    }
+}
@@ -0,0 +1,365 @@
+package com.ecommerce.produtos.application.busca;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido em memória sobre nome e descrição dos produtos
+ *
+ * Texto normalizado: minúsculas, sem acentos ("Eletrônicos" -> "eletronicos"),
+ * separado em palavras, sem stopwords. Cada produto recebe um número de documento
+ * sequencial e cada termo guarda a lista ordenada desses números com o peso do termo
+ * no produto (ocorrências no nome valem mais que na descrição, com saturação em MAX_PESO).
+ *
+ * A busca exige todos os termos: percorre a menor lista e procura o documento nas
+ * demais com busca binária a partir da última posição. A relevância é a soma de
+ * peso x idf de cada termo. Cada lista guarda o maior peso por bloco de 128 postagens
+ * e blocos que não podem superar o último do top "limite" são pulados, então palavras
+ * muito comuns não exigem percorrer a lista inteira. Empates ficam com o produto
+ * indexado há mais tempo.
+ *
+ * Atualizações marcam o documento antigo como removido e indexam um novo; quando
+ * os removidos passam de 25% as listas são compactadas. Leituras e escritas são
+ * protegidas por um ReadWriteLock.
+ */
+public class IndiceBuscaProdutos {
+
+    private static final int PESO_NOME = 3;
+    private static final int PESO_DESCRICAO = 1;
+    // Saturação: repetir a palavra além disso não aumenta a relevância
+    private static final int MAX_PESO = 15;
+    private static final int TAMANHO_BLOCO = 128;
+    private static final int MIN_REMOVIDOS_PARA_COMPACTAR = 1024;
+    private static final Pattern MARCAS_DE_ACENTO = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos",
+            "em", "no", "na", "nos", "nas", "com", "para", "por", "um", "uma");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postagens> postagens = new HashMap<>();
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private final BitSet removidos = new BitSet();
+    private long[] idPorDocumento = new long[1024];
+    private int proximoDocumento;
+    private int totalRemovidos;
+
+    /**
+     * Descarta o conteúdo atual e indexa todos os produtos do stream
+     */
+    public void reconstruir(Stream<Produto> produtos) {
+        lock.writeLock().lock();
+        try {
+            postagens.clear();
+            documentoPorId.clear();
+            removidos.clear();
+            idPorDocumento = new long[1024];
+            proximoDocumento = 0;
+            totalRemovidos = 0;
+            produtos.forEach(this::indexarSemLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inclui o produto ou substitui a versão já indexada
+     */
+    public void indexar(Produto produto) {
+        lock.writeLock().lock();
+        try {
+            indexarSemLock(produto);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            removerSemLock(id);
+            compactarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs dos produtos que contêm todos os termos de "consulta", do mais relevante
+     * para o menos relevante, no máximo "limite"
+     */
+    public List<Long> buscar(String consulta, int limite) {
+        List<String> termos = List.copyOf(new LinkedHashSet<>(tokenizar(consulta)));
+        if (termos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postagens[] listas = new Postagens[termos.size()];
+            for (int i = 0; i < listas.length; i++) {
+                listas[i] = postagens.get(termos.get(i));
+                if (listas[i] == null) {
+                    return List.of();
+                }
+            }
+            // A menor lista conduz a busca; as demais só são consultadas
+            Arrays.sort(listas, Comparator.comparingInt(lista -> lista.tamanho));
+
+            double[] idf = new double[listas.length];
+            for (int i = 0; i < listas.length; i++) {
+                idf[i] = Math.log(1.0 + (double) documentoPorId.size() / listas[i].tamanho);
+            }
+
+            PriorityQueue<Candidato> melhores = new PriorityQueue<>(limite + 1, Candidato.PIOR_PRIMEIRO);
+            int[] posicoes = new int[listas.length];
+            Postagens guia = listas[0];
+            for (int bloco = 0; bloco * TAMANHO_BLOCO < guia.tamanho; bloco++) {
+                int inicio = bloco * TAMANHO_BLOCO;
+                int fim = Math.min(guia.tamanho, inicio + TAMANHO_BLOCO);
+                if (melhores.size() == limite) {
+                    // Pula o bloco se nem o seu melhor caso supera o último do top: como os
+                    // documentos crescem, um empate também perderia no desempate
+                    double limiteSuperior = limiteSuperior(listas, idf, posicoes,
+                            guia.documentos[inicio], guia.documentos[fim - 1], guia.maximoPorBloco[bloco]);
+                    if (limiteSuperior <= melhores.peek().relevancia()) {
+                        continue;
+                    }
+                }
+
+                proximo:
+                for (int i = inicio; i < fim; i++) {
+                    int documento = guia.documentos[i];
+                    if (removidos.get(documento)) {
+                        continue;
+                    }
+                    double relevancia = guia.pesos[i] * idf[0];
+                    for (int j = 1; j < listas.length; j++) {
+                        int posicao = listas[j].posicaoDe(documento, posicoes[j]);
+                        if (posicao < 0) {
+                            posicoes[j] = -posicao - 1;
+                            continue proximo;
+                        }
+                        posicoes[j] = posicao + 1;
+                        relevancia += listas[j].pesos[posicao] * idf[j];
+                    }
+
+                    if (melhores.size() < limite) {
+                        melhores.add(new Candidato(documento, relevancia));
+                    } else if (melhores.peek().piorQue(documento, relevancia)) {
+                        melhores.poll();
+                        melhores.add(new Candidato(documento, relevancia));
+                    }
+                }
+            }
+
+            Candidato[] ordenados = melhores.toArray(Candidato[]::new);
+            Arrays.sort(ordenados, Candidato.PIOR_PRIMEIRO.reversed());
+            List<Long> ids = new ArrayList<>(ordenados.length);
+            for (Candidato candidato : ordenados) {
+                ids.add(idPorDocumento[candidato.documento()]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maior relevância possível para documentos entre "primeiro" e "ultimo": peso máximo
+     * do bloco guia mais, em cada outra lista, o maior peso dos blocos que cobrem o
+     * intervalo (zero se a lista não tem nenhum documento nele)
+     */
+    private static double limiteSuperior(Postagens[] listas, double[] idf, int[] posicoes,
+                                         int primeiro, int ultimo, int pesoMaximoDoGuia) {
+        double limite = pesoMaximoDoGuia * idf[0];
+        for (int j = 1; j < listas.length; j++) {
+            Postagens lista = listas[j];
+            int de = lista.posicaoDe(primeiro, posicoes[j]);
+            de = de < 0 ? -de - 1 : de;
+            int ate = lista.posicaoDe(ultimo, de);
+            ate = ate < 0 ? -ate - 2 : ate;
+            if (ate < de) {
+                return 0;
+            }
+            int maximo = 0;
+            for (int bloco = de / TAMANHO_BLOCO; bloco <= ate / TAMANHO_BLOCO; bloco++) {
+                maximo = Math.max(maximo, lista.maximoPorBloco[bloco]);
+            }
+            limite += maximo * idf[j];
+        }
+        return limite;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentoPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normalização usada tanto na indexação quanto na consulta
+     */
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String semAcentos = MARCAS_DE_ACENTO
+                .matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(semAcentos)) {
+            if (!termo.isEmpty() && !STOPWORDS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    private void indexarSemLock(Produto produto) {
+        removerSemLock(produto.getId());
+
+        Map<String, Integer> pesos = new LinkedHashMap<>();
+        somarPesos(pesos, produto.getNome(), PESO_NOME);
+        somarPesos(pesos, produto.getDescricao(), PESO_DESCRICAO);
+
+        int documento = novoDocumento(produto.getId());
+        pesos.forEach((termo, peso) -> postagens.computeIfAbsent(termo, t -> new Postagens())
+                .adicionar(documento, Math.min(peso, MAX_PESO)));
+    }
+
+    private static void somarPesos(Map<String, Integer> pesos, String texto, int peso) {
+        for (String termo : tokenizar(texto)) {
+            pesos.merge(termo, peso, Integer::sum);
+        }
+    }
+
+    private int novoDocumento(Long id) {
+        if (proximoDocumento == idPorDocumento.length) {
+            idPorDocumento = Arrays.copyOf(idPorDocumento, idPorDocumento.length * 2);
+        }
+        int documento = proximoDocumento++;
+        idPorDocumento[documento] = id;
+        documentoPorId.put(id, documento);
+        return documento;
+    }
+
+    private void removerSemLock(Long id) {
+        Integer documento = documentoPorId.remove(id);
+        if (documento != null) {
+            removidos.set(documento);
+            totalRemovidos++;
+        }
+    }
+
+    private void compactarSeNecessario() {
+        if (totalRemovidos < MIN_REMOVIDOS_PARA_COMPACTAR || totalRemovidos * 4 < proximoDocumento) {
+            return;
+        }
+        // Renumera os documentos vivos mantendo a ordem, então as listas continuam ordenadas
+        int[] novoNumero = new int[proximoDocumento];
+        long[] novosIds = new long[Math.max(1024, documentoPorId.size() * 2)];
+        int vivos = 0;
+        for (int documento = 0; documento < proximoDocumento; documento++) {
+            if (removidos.get(documento)) {
+                novoNumero[documento] = -1;
+            } else {
+                novoNumero[documento] = vivos;
+                novosIds[vivos] = idPorDocumento[documento];
+                documentoPorId.put(idPorDocumento[documento], vivos);
+                vivos++;
+            }
+        }
+        postagens.values().removeIf(lista -> lista.renumerar(novoNumero) == 0);
+        idPorDocumento = novosIds;
+        proximoDocumento = vivos;
+        removidos.clear();
+        totalRemovidos = 0;
+    }
+
+    /**
+     * Documentos de um termo em ordem crescente, com o peso do termo em cada um
+     * e o maior peso de cada bloco de TAMANHO_BLOCO postagens
+     */
+    private static final class Postagens {
+        private int[] documentos = new int[4];
+        private byte[] pesos = new byte[4];
+        private byte[] maximoPorBloco = new byte[1];
+        private int tamanho;
+
+        void adicionar(int documento, int peso) {
+            if (tamanho == documentos.length) {
+                documentos = Arrays.copyOf(documentos, tamanho * 2);
+                pesos = Arrays.copyOf(pesos, tamanho * 2);
+            }
+            documentos[tamanho] = documento;
+            pesos[tamanho] = (byte) peso;
+            registrarNoBloco(tamanho, peso);
+            tamanho++;
+        }
+
+        private void registrarNoBloco(int posicao, int peso) {
+            int bloco = posicao / TAMANHO_BLOCO;
+            if (bloco == maximoPorBloco.length) {
+                maximoPorBloco = Arrays.copyOf(maximoPorBloco, bloco * 2);
+            }
+            maximoPorBloco[bloco] = (byte) Math.max(maximoPorBloco[bloco], peso);
+        }
+
+        /**
+         * Posição do documento a partir de "inicio", ou (-(ponto de inserção) - 1)
+         */
+        int posicaoDe(int documento, int inicio) {
+            return Arrays.binarySearch(documentos, inicio, tamanho, documento);
+        }
+
+        int renumerar(int[] novoNumero) {
+            int vivos = 0;
+            maximoPorBloco = new byte[Math.max(1, maximoPorBloco.length)];
+            for (int i = 0; i < tamanho; i++) {
+                int numero = novoNumero[documentos[i]];
+                if (numero >= 0) {
+                    documentos[vivos] = numero;
+                    pesos[vivos] = pesos[i];
+                    registrarNoBloco(vivos, pesos[i]);
+                    vivos++;
+                }
+            }
+            tamanho = vivos;
+            return vivos;
+        }
+    }
+
+    private record Candidato(int documento, double relevancia) {
+        // Menor relevância primeiro; no empate, o documento mais novo é o pior
+        static final Comparator<Candidato> PIOR_PRIMEIRO = Comparator
+                .comparingDouble(Candidato::relevancia)
+                .thenComparing(Comparator.comparingInt(Candidato::documento).reversed());
+
+        boolean piorQue(int outroDocumento, double outraRelevancia) {
+            return relevancia < outraRelevancia
+                    || (relevancia == outraRelevancia && documento > outroDocumento);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.produtos.application.catalogo;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão monotônica do catálogo, global e por categoria, usada como ETag das listagens
+ *
+ * Cada escrita incrementa a versão global; a versão de uma categoria é a versão global
+ * no momento da última escrita que a afetou. Quando a categoria afetada é desconhecida,
+ * todas as categorias avançam juntas (marcarTodasAlteradas).
+ * A época aleatória evita que um ETag emitido antes de um restart volte a coincidir.
+ * Os contadores são locais à instância. O instante da última escrita é gravado antes de a
+ * versão avançar: quem lê a versão nova também vê o instante (ver RoteamentoUseCase).
+ */
+public class VersaoCatalogo {
+
+    private final String epoca = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong global = new AtomicLong();
+    private final AtomicLong todasCategorias = new AtomicLong();
+    private final Map<String, AtomicLong> porCategoria = new ConcurrentHashMap<>();
+    private volatile long alteradaEm;
+
+    /**
+     * Registra uma escrita; categorias nulas são ignoradas
+     */
+    public void registrarAlteracao(String... categorias) {
+        alteradaEm = System.currentTimeMillis();
+        long versao = global.incrementAndGet();
+        for (String categoria : categorias) {
+            if (categoria != null) {
+                porCategoria.computeIfAbsent(categoria, c -> new AtomicLong())
+                        .accumulateAndGet(versao, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Registra uma escrita cuja categoria não se conhece: invalida todas as categorias
+     */
+    public void marcarTodasAlteradas() {
+        alteradaEm = System.currentTimeMillis();
+        long versao = global.incrementAndGet();
+        todasCategorias.accumulateAndGet(versao, Math::max);
+    }
+
+    /**
+     * Instante (epoch millis) da última escrita registrada; 0 se não houve nenhuma
+     */
+    public long alteradaEm() {
+        return alteradaEm;
+    }
+
+    public long global() {
+        return global.get();
+    }
+
+    public long daCategoria(String categoria) {
+        AtomicLong versao = porCategoria.get(categoria);
+        return Math.max(versao == null ? 0 : versao.get(), todasCategorias.get());
+    }
+
+    public String etagGlobal() {
+        return etag(global());
+    }
+
+    public String etagDaCategoria(String categoria) {
+        return etag(daCategoria(categoria));
+    }
+
+    private String etag(long versao) {
+        return "\"" + epoca + "-" + versao + "\"";
+    }
+}
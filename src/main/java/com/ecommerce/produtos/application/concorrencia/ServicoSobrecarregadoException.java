@@ -0,0 +1,21 @@
+package com.ecommerce.produtos.application.concorrencia;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada pelo limite de concorrência: o serviço já tem chamadas demais em
+ * andamento para a prioridade dela; o cliente deve tentar de novo depois de tentarApos
+ */
+public class ServicoSobrecarregadoException extends RuntimeException {
+
+    private final Duration tentarApos;
+
+    public ServicoSobrecarregadoException(Duration tentarApos) {
+        super("Serviço sobrecarregado; tente novamente em instantes");
+        this.tentarApos = tentarApos;
+    }
+
+    public Duration getTentarApos() {
+        return tentarApos;
+    }
+}
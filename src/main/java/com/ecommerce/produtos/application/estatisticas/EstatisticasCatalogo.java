@@ -0,0 +1,259 @@
+package com.ecommerce.produtos.application.estatisticas;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Agregados por categoria mantidos de forma incremental a cada escrita
+ *
+ * Contagem, estoque total e soma dos preços (em centavos) são LongAdders: escritas
+ * concorrentes na mesma categoria somam em células diferentes em vez de disputar um
+ * único contador. Mínimo e máximo vêm de um histograma de preços ordenado
+ * (preço -> quantidade de produtos), o que permite remover um preço sem recalcular.
+ * Ler as estatísticas custa O(categorias), sem passar pelos produtos.
+ *
+ * O último estado de cada produto (categoria, preço, estoque, versão) fica guardado por ID
+ * para que uma alteração desconte a contribuição anterior; o compute do mapa serializa as
+ * escritas do mesmo produto. Toda escrita no banco incrementa a versão, então um estado só
+ * substitui outro mais antigo: escritas que chegam fora de ordem, ou aplicadas duas vezes
+ * (a linha lida pela reconstrução e a escrita que já estava nela), dão o mesmo resultado.
+ * A leitura não usa lock: cada agregado é consistente sozinho, mas uma escrita pode
+ * aparecer em um contador e ainda não no outro.
+ *
+ * A reconstrução monta um estado novo sem bloquear as escritas: enquanto o banco é lido,
+ * cada escrita vale para o estado atual e para o novo (remoções deixam uma marca para a
+ * linha já lida não voltar), e o novo substitui o atual de uma vez ao final.
+ */
+public class EstatisticasCatalogo {
+
+    private volatile Estado atual = new Estado(false);
+    // Estado sendo montado por reconstruir (null fora da reconstrução)
+    private volatile Estado emConstrucao;
+    private volatile boolean carregado;
+
+    /**
+     * Descarta o conteúdo atual e soma todos os produtos do stream
+     */
+    public void reconstruir(Stream<Produto> produtos) {
+        reconstruir(() -> produtos);
+    }
+
+    /**
+     * Monta os agregados e substitui o conteúdo atual de uma vez, sem bloquear as escritas
+     * concorrentes; reconstruções simultâneas são serializadas. A consulta só é aberta depois
+     * que o estado novo passa a receber as escritas: uma escrita que não chegou a ele foi
+     * gravada no banco antes e aparece na leitura. O stream é fechado ao final.
+     */
+    public synchronized void reconstruir(Supplier<Stream<Produto>> consulta) {
+        Estado novo = new Estado(true);
+        emConstrucao = novo;
+        try (Stream<Produto> produtos = consulta.get()) {
+            produtos.forEach(produto -> novo.indexar(produto.getId(), Entrada.de(produto)));
+            atual = novo;
+            carregado = true;
+        } finally {
+            emConstrucao = null;
+            novo.concluir();
+        }
+    }
+
+    /**
+     * Soma o produto, descontando o estado anterior dele se já estava indexado
+     * (a não ser que o indexado seja de uma versão mais nova)
+     */
+    public void indexar(Produto produto) {
+        Entrada entrada = Entrada.de(produto);
+        aplicar(estado -> estado.indexar(produto.getId(), entrada));
+    }
+
+    public void remover(Long id) {
+        aplicar(estado -> estado.remover(id));
+    }
+
+    /**
+     * Estoque do produto depois de uma alteração atômica, com a versão gravada junto; uma
+     * versão mais antiga do que a indexada (baixas concorrentes terminando fora de ordem) é ignorada
+     */
+    public void atualizarEstoque(Long id, int estoque, long versao) {
+        aplicar(estado -> estado.atualizarEstoque(id, estoque, versao));
+    }
+
+    /**
+     * Agregados das categorias com produtos, em ordem alfabética
+     */
+    public List<EstatisticasCategoria> porCategoria() {
+        Map<String, Agregado> agregados = atual.porCategoria;
+        List<EstatisticasCategoria> resultado = new ArrayList<>(agregados.size());
+        agregados.forEach((categoria, agregado) -> {
+            EstatisticasCategoria estatisticas = agregado.estatisticas(categoria);
+            if (estatisticas.produtos() > 0) {
+                resultado.add(estatisticas);
+            }
+        });
+        resultado.sort((a, b) -> a.categoria().compareTo(b.categoria()));
+        return resultado;
+    }
+
+    public Optional<EstatisticasCategoria> daCategoria(String categoria) {
+        return Optional.ofNullable(atual.porCategoria.get(categoria))
+                .map(agregado -> agregado.estatisticas(categoria))
+                .filter(estatisticas -> estatisticas.produtos() > 0);
+    }
+
+    /**
+     * Categoria do produto segundo o último estado indexado; vazio se ele não está indexado
+     * ou se a primeira carga ainda não terminou
+     */
+    public Optional<String> categoriaDe(Long id) {
+        if (!carregado) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(atual.porId.get(id)).map(Entrada::categoria);
+    }
+
+    public boolean carregado() {
+        return carregado;
+    }
+
+    public int tamanho() {
+        return atual.porId.size();
+    }
+
+    private void aplicar(Consumer<Estado> escrita) {
+        // Nesta ordem: se a reconstrução trocar o estado entre as duas leituras, a escrita
+        // vale para o novo (em construção) e para o atual, que a essa altura é o mesmo
+        Estado novo = emConstrucao;
+        Estado estado = atual;
+        escrita.accept(estado);
+        if (novo != null && novo != estado) {
+            escrita.accept(novo);
+        }
+    }
+
+    private static final class Estado {
+
+        private final Map<String, Agregado> porCategoria = new ConcurrentHashMap<>();
+        private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+        // Só durante a construção: IDs removidos, para a linha lida antes da remoção não voltar
+        private final Set<Long> removidos = ConcurrentHashMap.newKeySet();
+        private volatile boolean emConstrucao;
+
+        private Estado(boolean emConstrucao) {
+            this.emConstrucao = emConstrucao;
+        }
+
+        private void concluir() {
+            emConstrucao = false;
+            removidos.clear();
+        }
+
+        private void indexar(Long id, Entrada nova) {
+            porId.compute(id, (chave, antiga) -> {
+                if (removidos.contains(chave)) {
+                    return null;
+                }
+                if (antiga != null) {
+                    if (antiga.versao() > nova.versao()) {
+                        return antiga;
+                    }
+                    agregadoDa(antiga.categoria()).subtrair(antiga);
+                }
+                agregadoDa(nova.categoria()).somar(nova);
+                return nova;
+            });
+        }
+
+        private void remover(Long id) {
+            porId.compute(id, (chave, antiga) -> {
+                if (emConstrucao) {
+                    removidos.add(chave);
+                }
+                if (antiga != null) {
+                    agregadoDa(antiga.categoria()).subtrair(antiga);
+                }
+                return null;
+            });
+        }
+
+        private void atualizarEstoque(Long id, int estoque, long versao) {
+            porId.computeIfPresent(id, (chave, entrada) -> {
+                if (entrada.versao() >= versao) {
+                    return entrada;
+                }
+                agregadoDa(entrada.categoria()).estoque.add(estoque - entrada.estoque());
+                return new Entrada(entrada.categoria(), entrada.preco(), estoque, versao);
+            });
+        }
+
+        private Agregado agregadoDa(String categoria) {
+            // Categorias que ficam vazias são mantidas (e omitidas na leitura): removê-las
+            // concorreria com uma escrita que acabou de obter o agregado
+            return porCategoria.computeIfAbsent(categoria, c -> new Agregado());
+        }
+    }
+
+    // Mesma escala da coluna preco (2 casas)
+    private static long centavos(BigDecimal preco) {
+        return preco.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private record Entrada(String categoria, long preco, int estoque, long versao) {
+
+        static Entrada de(Produto produto) {
+            long versao = produto.getVersao() != null ? produto.getVersao() : 0L;
+            return new Entrada(produto.getCategoria(), centavos(produto.getPreco()), produto.getEstoque(), versao);
+        }
+    }
+
+    private static final class Agregado {
+
+        private final LongAdder produtos = new LongAdder();
+        private final LongAdder estoque = new LongAdder();
+        private final LongAdder somaPrecos = new LongAdder();
+        // Preço em centavos -> quantidade de produtos com esse preço
+        private final ConcurrentNavigableMap<Long, Long> precos = new ConcurrentSkipListMap<>();
+
+        private void somar(Entrada entrada) {
+            produtos.increment();
+            estoque.add(entrada.estoque());
+            somaPrecos.add(entrada.preco());
+            precos.merge(entrada.preco(), 1L, Long::sum);
+        }
+
+        private void subtrair(Entrada entrada) {
+            produtos.decrement();
+            estoque.add(-entrada.estoque());
+            somaPrecos.add(-entrada.preco());
+            // Chega a zero = remove o preço do histograma (merge é atômico no ConcurrentSkipListMap)
+            precos.merge(entrada.preco(), -1L, (atual, menos) -> atual + menos == 0 ? null : atual + menos);
+        }
+
+        private EstatisticasCategoria estatisticas(String categoria) {
+            long quantidade = produtos.sum();
+            Map.Entry<Long, Long> minimo = precos.firstEntry();
+            Map.Entry<Long, Long> maximo = precos.lastEntry();
+            if (quantidade <= 0 || minimo == null || maximo == null) {
+                return new EstatisticasCategoria(categoria, 0, 0, null, null, null);
+            }
+            return new EstatisticasCategoria(categoria, quantidade, estoque.sum(),
+                    BigDecimal.valueOf(minimo.getKey(), 2),
+                    BigDecimal.valueOf(maximo.getKey(), 2),
+                    BigDecimal.valueOf(somaPrecos.sum(), 2));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.ecommerce.produtos.application.estoque;
+
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group commit para baixas de estoque
+ *
+ * Pedidos concorrentes são enfileirados e, a cada janela (ex.: 2 ms), uma thread
+ * dedicada agrupa os pedidos por produto e aplica todos em uma única transação:
+ * os produtos são carregados com lock, cada pedido passa por Produto.reduzirEstoque
+ * na ordem de chegada e os estoques resultantes são gravados em batch.
+ * Cada chamador recebe o seu próprio resultado (novo estoque ou exceção).
+ *
+ * A espera do chamador é limitada (esperaMaxima): um pedido que ainda não entrou em um lote
+ * é retirado e recusado com 503; um que já está na transação é aguardado por mais uma
+ * esperaMaxima antes de falhar. No encerramento, a fila é drenada pela thread dedicada e o
+ * que sobrar após o prazo é falhado, então nenhum future fica pendente.
+ */
+public class AgrupadorReservasEstoque {
+
+    private static final Logger log = LoggerFactory.getLogger(AgrupadorReservasEstoque.class);
+    private static final String ENCERRADO = "Agrupador de reservas encerrado";
+    // Com a fila vazia, a thread dedicada confere a cada intervalo se o agrupador foi encerrado
+    private static final long VERIFICACAO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Duration PRAZO_ENCERRAMENTO = Duration.ofSeconds(5);
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final long janelaNanos;
+    private final int maxPedidosPorLote;
+    private final Duration esperaMaxima;
+    private final BlockingQueue<Pedido> fila = new LinkedBlockingQueue<>();
+    private final Thread worker;
+    private volatile boolean ativo = true;
+
+    private final AtomicLong lotes = new AtomicLong();
+    private final AtomicLong pedidos = new AtomicLong();
+    private final AtomicLong maiorLote = new AtomicLong();
+    private final AtomicLong esperaTotalNanos = new AtomicLong();
+    private final AtomicLong maiorEsperaNanos = new AtomicLong();
+    private final AtomicLong expirados = new AtomicLong();
+
+    /**
+     * @param esperaMaxima quanto reservarEAguardar espera o resultado antes de desistir do pedido
+     */
+    public AgrupadorReservasEstoque(ProdutoRepositoryPort repositoryPort,
+                                    Duration janela, int maxPedidosPorLote, Duration esperaMaxima) {
+        if (maxPedidosPorLote <= 0) {
+            throw new IllegalArgumentException("Máximo de pedidos por lote deve ser maior que zero");
+        }
+        if (!esperaMaxima.isPositive()) {
+            throw new IllegalArgumentException("Espera máxima deve ser positiva");
+        }
+        this.repositoryPort = repositoryPort;
+        this.janelaNanos = janela.toNanos();
+        this.maxPedidosPorLote = maxPedidosPorLote;
+        this.esperaMaxima = esperaMaxima;
+        this.worker = new Thread(this::processar, "agrupador-reservas-estoque");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enfileira a baixa; o future completa com o estoque restante, ou com
+     * EstoqueInsuficienteException / ProdutoNotFoundException
+     */
+    public CompletableFuture<Integer> reservar(Long id, Integer quantidade) {
+        return enfileirar(id, quantidade).resultado();
+    }
+
+    /**
+     * Enfileira a baixa e espera o resultado por até esperaMaxima
+     *
+     * @return estoque restante
+     * @throws ServicoSobrecarregadoException se o pedido não entrou em um lote a tempo
+     *                                        (foi retirado sem alterar o estoque)
+     */
+    public Integer reservarEAguardar(Long id, Integer quantidade) {
+        Pedido pedido = enfileirar(id, quantidade);
+        try {
+            try {
+                return pedido.resultado().get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (pedido.reivindicar()) {
+                    expirados.incrementAndGet();
+                    pedido.resultado().completeExceptionally(new ServicoSobrecarregadoException(esperaMaxima));
+                    throw new ServicoSobrecarregadoException(esperaMaxima);
+                }
+                // Já está na transação de um lote: o resultado é o do commit
+                return pedido.resultado().get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException("Reserva de estoque do produto " + id + " sem confirmação após "
+                    + esperaMaxima.multipliedBy(2).toMillis() + " ms; o lote ainda está em andamento no banco");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera da reserva de estoque interrompida", ex);
+        }
+    }
+
+    /**
+     * Para de aceitar pedidos, deixa a thread dedicada aplicar o que já está na fila e falha
+     * o que sobrar após o prazo de encerramento
+     */
+    public void encerrar() {
+        ativo = false;
+        try {
+            worker.join(PRAZO_ENCERRAMENTO.toMillis());
+            if (worker.isAlive()) {
+                log.warn("Agrupador de reservas não drenou a fila em {} ms; {} pedidos serão falhados",
+                        PRAZO_ENCERRAMENTO.toMillis(), fila.size());
+                worker.interrupt();
+                worker.join(TimeUnit.SECONDS.toMillis(1));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        falharPendentes();
+    }
+
+    public Estatisticas estatisticas() {
+        long totalLotes = lotes.get();
+        long totalPedidos = pedidos.get();
+        return new Estatisticas(
+                totalLotes,
+                totalPedidos,
+                totalLotes == 0 ? 0 : (double) totalPedidos / totalLotes,
+                maiorLote.get(),
+                totalPedidos == 0 ? 0 : esperaTotalNanos.get() / totalPedidos / 1_000_000.0,
+                maiorEsperaNanos.get() / 1_000_000.0,
+                fila.size(),
+                expirados.get()
+        );
+    }
+
+    private Pedido enfileirar(Long id, Integer quantidade) {
+        // Mesma regra de Produto.reduzirEstoque, validada antes de entrar na fila
+        if (quantidade == null || quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva");
+        }
+        if (!ativo) {
+            throw new IllegalStateException(ENCERRADO);
+        }
+        Pedido pedido = new Pedido(id, quantidade, new CompletableFuture<>(), System.nanoTime(),
+                new AtomicBoolean());
+        fila.add(pedido);
+        // encerrar() pode ter drenado a fila entre a verificação acima e o add
+        if (!ativo && fila.remove(pedido)) {
+            throw new IllegalStateException(ENCERRADO);
+        }
+        return pedido;
+    }
+
+    private void falharPendentes() {
+        Pedido pendente;
+        while ((pendente = fila.poll()) != null) {
+            pendente.resultado().completeExceptionally(new IllegalStateException(ENCERRADO));
+        }
+    }
+
+    private void processar() {
+        List<Pedido> lote = new ArrayList<>(maxPedidosPorLote);
+        // Depois de encerrar(), continua até esvaziar a fila
+        while (ativo || !fila.isEmpty()) {
+            try {
+                // Espera o primeiro pedido e então a janela para juntar os demais
+                Pedido primeiro = fila.poll(VERIFICACAO_NANOS, TimeUnit.NANOSECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                long prazo = System.nanoTime() + janelaNanos;
+                while (lote.size() < maxPedidosPorLote) {
+                    long restante = prazo - System.nanoTime();
+                    Pedido proximo = restante > 0 ? fila.poll(restante, TimeUnit.NANOSECONDS) : fila.poll();
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                aplicar(lote);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pedido -> pedido.resultado().completeExceptionally(
+                        new IllegalStateException(ENCERRADO)));
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void aplicar(List<Pedido> pedidosRecebidos) {
+        long inicio = System.nanoTime();
+        // Pedidos cujo chamador já desistiu (esperaMaxima) ficam fora da transação
+        List<Pedido> lote = pedidosRecebidos.stream().filter(Pedido::reivindicar).toList();
+        if (lote.isEmpty()) {
+            return;
+        }
+        registrarEspera(lote, inicio);
+
+        // Agrupa por produto mantendo a ordem de chegada dentro de cada produto
+        Map<Long, List<Pedido>> porProduto = new LinkedHashMap<>();
+        for (Pedido pedido : lote) {
+            porProduto.computeIfAbsent(pedido.id(), id -> new ArrayList<>()).add(pedido);
+        }
+
+        Map<Pedido, Object> resultados = new LinkedHashMap<>();
+        try {
+            repositoryPort.alterarEstoquesEmLote(porProduto.keySet(), produtos -> {
+                resultados.clear();
+                porProduto.forEach((id, pedidosDoProduto) ->
+                        reservarNoProduto(produtos.get(id), id, pedidosDoProduto, resultados));
+            });
+        } catch (RuntimeException ex) {
+            log.warn("Falha ao aplicar lote de {} reservas de estoque", lote.size(), ex);
+            lote.forEach(pedido -> pedido.resultado().completeExceptionally(ex));
+            return;
+        }
+
+        // Só completa os futures depois do commit
+        resultados.forEach((pedido, resultado) -> {
+            if (resultado instanceof RuntimeException erro) {
+                pedido.resultado().completeExceptionally(erro);
+            } else {
+                pedido.resultado().complete((Integer) resultado);
+            }
+        });
+
+        log.debug("Lote de reservas aplicado: {} pedidos, {} produtos, {} µs",
+                lote.size(), porProduto.size(), (System.nanoTime() - inicio) / 1_000);
+    }
+
+    private static void reservarNoProduto(Produto produto, Long id, List<Pedido> pedidosDoProduto,
+                                          Map<Pedido, Object> resultados) {
+        for (Pedido pedido : pedidosDoProduto) {
+            if (produto == null) {
+                resultados.put(pedido, new ProdutoNotFoundException(id));
+                continue;
+            }
+            if (produto.getEstoque() < pedido.quantidade()) {
+                resultados.put(pedido, new EstoqueInsuficienteException(id, pedido.quantidade()));
+                continue;
+            }
+            produto.reduzirEstoque(pedido.quantidade());
+            resultados.put(pedido, produto.getEstoque());
+        }
+    }
+
+    private void registrarEspera(List<Pedido> lote, long agora) {
+        lotes.incrementAndGet();
+        pedidos.addAndGet(lote.size());
+        maiorLote.accumulateAndGet(lote.size(), Math::max);
+        for (Pedido pedido : lote) {
+            long espera = agora - pedido.enfileiradoEm();
+            esperaTotalNanos.addAndGet(espera);
+            maiorEsperaNanos.accumulateAndGet(espera, Math::max);
+        }
+    }
+
+    /**
+     * reivindicado: quem vencer entre a thread dedicada (incluir no lote) e o chamador
+     * (desistir após esperaMaxima) decide o destino do pedido
+     */
+    private record Pedido(Long id, int quantidade, CompletableFuture<Integer> resultado,
+                          long enfileiradoEm, AtomicBoolean reivindicado) {
+
+        boolean reivindicar() {
+            return reivindicado.compareAndSet(false, true);
+        }
+    }
+
+    public record Estatisticas(long lotes, long pedidos, double mediaPedidosPorLote, long maiorLote,
+                               double esperaMediaMs, double maiorEsperaMs, int pendentes,
+                               long expirados) {}
+}
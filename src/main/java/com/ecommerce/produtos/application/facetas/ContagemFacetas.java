@@ -0,0 +1,17 @@
+package com.ecommerce.produtos.application.facetas;
+
+import java.util.Map;
+
+/**
+ * Quantidade de produtos por valor de cada faceta
+ *
+ * A contagem de uma faceta aplica os filtros das outras facetas, mas não o dela mesma:
+ * marcar "Eletrônicos" não zera as demais categorias, que continuam mostrando quantos
+ * produtos seriam somados ao resultado.
+ */
+public record ContagemFacetas(
+        Map<String, Long> categorias,
+        Map<String, Long> faixasPreco,
+        long emEstoque,
+        long semEstoque) {
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.produtos.application.facetas;
+
+import java.util.Set;
+
+/**
+ * Valores escolhidos em cada faceta: dentro da mesma faceta vale OR, entre facetas vale AND
+ * Conjunto vazio (ou emEstoque null) = faceta sem filtro
+ */
+public record FiltroFacetas(Set<String> categorias, Set<String> faixasPreco, Boolean emEstoque) {
+
+    public FiltroFacetas {
+        categorias = categorias == null ? Set.of() : Set.copyOf(categorias);
+        faixasPreco = faixasPreco == null ? Set.of() : Set.copyOf(faixasPreco);
+    }
+
+    public static FiltroFacetas vazio() {
+        return new FiltroFacetas(Set.of(), Set.of(), null);
+    }
+}
@@ -0,0 +1,349 @@
+package com.ecommerce.produtos.application.facetas;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Bitmaps comprimidos (Roaring) por valor de faceta: categoria, faixa de preço e "em estoque"
+ *
+ * Cada produto recebe um número de documento sequencial (nunca reaproveitado) e
+ * aparece no bitmap de cada valor que possui. Um filtro é OR dos bitmaps escolhidos
+ * em cada faceta e AND entre as facetas. A ordem dos resultados é a ordem dos documentos
+ * (produtos indexados na carga por ID, depois na ordem em que foram criados).
+ *
+ * Contagens: sem filtro nas outras facetas, é a cardinalidade do próprio bitmap; com
+ * filtro, a base (já reduzida) é percorrida uma vez somando por categoria/faixa a partir
+ * de arrays por documento, em vez de intersectar a base com o bitmap de cada valor.
+ *
+ * Leituras e escritas são protegidas por um ReadWriteLock (RoaringBitmap não é thread-safe).
+ * A versão do produto fica guardada por documento: um estado só substitui outro mais antigo,
+ * então baixas concorrentes que terminam fora de ordem não deixam "em estoque" errado.
+ */
+public class IndiceFacetas {
+
+    private final BigDecimal[] limitesFaixas;
+    private final List<String> faixas;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Ordinal de cada categoria já vista; TreeMap para as contagens saírem em ordem alfabética
+    private final Map<String, Integer> ordinalPorCategoria = new TreeMap<>();
+    private final List<RoaringBitmap> porCategoria = new ArrayList<>();
+    private final RoaringBitmap[] porFaixa;
+    private final RoaringBitmap emEstoque = new RoaringBitmap();
+    private final RoaringBitmap vivos = new RoaringBitmap();
+    private final Map<Long, Integer> documentoPorId = new HashMap<>();
+    private long[] idPorDocumento = new long[1024];
+    private int[] categoriaPorDocumento = new int[1024];
+    private byte[] faixaPorDocumento = new byte[1024];
+    private long[] versaoPorDocumento = new long[1024];
+    private int proximoDocumento;
+
+    /**
+     * @param limitesFaixas limites crescentes das faixas de preço; [50, 100] gera
+     *                      "0-50", "50-100" e "100+"
+     */
+    public IndiceFacetas(BigDecimal... limitesFaixas) {
+        if (limitesFaixas.length >= Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Faixas de preço demais: " + limitesFaixas.length);
+        }
+        this.limitesFaixas = limitesFaixas.clone();
+        Arrays.sort(this.limitesFaixas);
+        List<String> rotulos = new ArrayList<>(limitesFaixas.length + 1);
+        String anterior = "0";
+        for (BigDecimal limite : this.limitesFaixas) {
+            String atual = limite.stripTrailingZeros().toPlainString();
+            rotulos.add(anterior + "-" + atual);
+            anterior = atual;
+        }
+        rotulos.add(anterior + "+");
+        this.faixas = List.copyOf(rotulos);
+        this.porFaixa = new RoaringBitmap[faixas.size()];
+        Arrays.setAll(porFaixa, i -> new RoaringBitmap());
+    }
+
+    /**
+     * Descarta o conteúdo atual e indexa todos os produtos do stream
+     */
+    public void reconstruir(Stream<Produto> produtos) {
+        lock.writeLock().lock();
+        try {
+            ordinalPorCategoria.clear();
+            porCategoria.clear();
+            Arrays.setAll(porFaixa, i -> new RoaringBitmap());
+            emEstoque.clear();
+            vivos.clear();
+            documentoPorId.clear();
+            idPorDocumento = new long[1024];
+            categoriaPorDocumento = new int[1024];
+            faixaPorDocumento = new byte[1024];
+            versaoPorDocumento = new long[1024];
+            proximoDocumento = 0;
+            produtos.forEach(this::indexarSemLock);
+            // Bitmaps montados em ordem crescente: compacta sequências em run containers
+            porCategoria.forEach(RoaringBitmap::runOptimize);
+            Arrays.stream(porFaixa).forEach(RoaringBitmap::runOptimize);
+            emEstoque.runOptimize();
+            vivos.runOptimize();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa o produto ou move seus bits se categoria, faixa ou estoque mudaram
+     * (a não ser que o indexado seja de uma versão mais nova)
+     */
+    public void indexar(Produto produto) {
+        lock.writeLock().lock();
+        try {
+            indexarSemLock(produto);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Só a faceta "em estoque" depende do estoque; atualização direta, sem reler o produto.
+     * Uma versão que não é mais nova do que a indexada (baixas concorrentes terminando fora
+     * de ordem) é ignorada
+     */
+    public void atualizarEstoque(Long id, int estoque, long versao) {
+        lock.writeLock().lock();
+        try {
+            Integer documento = documentoPorId.get(id);
+            if (documento == null || !vivos.contains(documento) || versaoPorDocumento[documento] >= versao) {
+                return;
+            }
+            versaoPorDocumento[documento] = versao;
+            if (estoque > 0) {
+                emEstoque.add(documento);
+            } else {
+                emEstoque.remove(documento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        lock.writeLock().lock();
+        try {
+            // O número do documento continua reservado ao ID: cursores antigos seguem válidos
+            Integer documento = documentoPorId.get(id);
+            if (documento != null && vivos.contains(documento)) {
+                retirar(documento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs do filtro a partir do produto após o cursor (até "limite"), total e contagens
+     */
+    public Resultado filtrar(FiltroFacetas filtro, Long aposId, int limite) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap categorias = uniao(filtro.categorias(), this::bitmapDaCategoria);
+            RoaringBitmap faixasPreco = uniao(filtro.faixasPreco(), rotulo -> porFaixa[indiceDaFaixa(rotulo)]);
+            RoaringBitmap estoque = filtro.emEstoque() == null
+                    ? null
+                    : filtro.emEstoque() ? emEstoque : RoaringBitmap.andNot(vivos, emEstoque);
+
+            RoaringBitmap resultado = intersecao(categorias, faixasPreco, estoque);
+            return new Resultado(
+                    pagina(resultado, aposId, limite),
+                    resultado.getLongCardinality(),
+                    contar(categorias, faixasPreco, estoque));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rótulos das faixas de preço, da mais barata para a mais cara
+     */
+    public List<String> faixasPreco() {
+        return faixas;
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return vivos.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void indexarSemLock(Produto produto) {
+        long versao = produto.getVersao() != null ? produto.getVersao() : 0L;
+        Integer documento = documentoPorId.get(produto.getId());
+        if (documento == null) {
+            documento = novoDocumento(produto.getId());
+        } else if (vivos.contains(documento)) {
+            if (versaoPorDocumento[documento] > versao) {
+                return;
+            }
+            retirar(documento);
+        }
+
+        int categoria = ordinalPorCategoria.computeIfAbsent(produto.getCategoria(), nome -> {
+            porCategoria.add(new RoaringBitmap());
+            return porCategoria.size() - 1;
+        });
+        int faixa = faixaDo(produto.getPreco());
+        categoriaPorDocumento[documento] = categoria;
+        faixaPorDocumento[documento] = (byte) faixa;
+        versaoPorDocumento[documento] = versao;
+
+        porCategoria.get(categoria).add(documento);
+        porFaixa[faixa].add(documento);
+        if (produto.temEstoqueDisponivel()) {
+            emEstoque.add(documento);
+        }
+        vivos.add(documento);
+    }
+
+    private int novoDocumento(long id) {
+        int documento = proximoDocumento++;
+        if (documento == idPorDocumento.length) {
+            idPorDocumento = Arrays.copyOf(idPorDocumento, documento * 2);
+            categoriaPorDocumento = Arrays.copyOf(categoriaPorDocumento, documento * 2);
+            faixaPorDocumento = Arrays.copyOf(faixaPorDocumento, documento * 2);
+            versaoPorDocumento = Arrays.copyOf(versaoPorDocumento, documento * 2);
+        }
+        idPorDocumento[documento] = id;
+        documentoPorId.put(id, documento);
+        return documento;
+    }
+
+    private void retirar(int documento) {
+        porCategoria.get(categoriaPorDocumento[documento]).remove(documento);
+        porFaixa[faixaPorDocumento[documento]].remove(documento);
+        emEstoque.remove(documento);
+        vivos.remove(documento);
+    }
+
+    private List<Long> pagina(RoaringBitmap resultado, Long aposId, int limite) {
+        int inicio = 0;
+        if (aposId != null) {
+            Integer documento = documentoPorId.get(aposId);
+            if (documento == null) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            inicio = documento + 1;
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limite, 1024));
+        PeekableIntIterator iterator = resultado.getIntIterator();
+        iterator.advanceIfNeeded(inicio);
+        while (iterator.hasNext() && ids.size() < limite) {
+            ids.add(idPorDocumento[iterator.next()]);
+        }
+        return ids;
+    }
+
+    /**
+     * Contagem de cada faceta com os filtros das outras duas (null = sem filtro)
+     */
+    private ContagemFacetas contar(RoaringBitmap categorias, RoaringBitmap faixasPreco, RoaringBitmap estoque) {
+        RoaringBitmap baseCategorias = intersecao(null, faixasPreco, estoque);
+        long[] porOrdinal = new long[porCategoria.size()];
+        if (baseCategorias == vivos) {
+            Arrays.setAll(porOrdinal, i -> porCategoria.get(i).getLongCardinality());
+        } else {
+            baseCategorias.forEach((int documento) -> porOrdinal[categoriaPorDocumento[documento]]++);
+        }
+        Map<String, Long> contagemCategorias = new LinkedHashMap<>();
+        ordinalPorCategoria.forEach((categoria, ordinal) -> {
+            // Categoria sem nenhum produto vivo não aparece
+            if (!porCategoria.get(ordinal).isEmpty()) {
+                contagemCategorias.put(categoria, porOrdinal[ordinal]);
+            }
+        });
+
+        RoaringBitmap baseFaixas = intersecao(categorias, null, estoque);
+        long[] porIndice = new long[faixas.size()];
+        if (baseFaixas == vivos) {
+            Arrays.setAll(porIndice, i -> porFaixa[i].getLongCardinality());
+        } else {
+            baseFaixas.forEach((int documento) -> porIndice[faixaPorDocumento[documento]]++);
+        }
+        Map<String, Long> contagemFaixas = new LinkedHashMap<>();
+        for (int i = 0; i < faixas.size(); i++) {
+            contagemFaixas.put(faixas.get(i), porIndice[i]);
+        }
+
+        RoaringBitmap baseEstoque = intersecao(categorias, faixasPreco, null);
+        long comEstoque = baseEstoque == vivos
+                ? emEstoque.getLongCardinality()
+                : RoaringBitmap.andCardinality(emEstoque, baseEstoque);
+        return new ContagemFacetas(contagemCategorias, contagemFaixas, comEstoque,
+                baseEstoque.getLongCardinality() - comEstoque);
+    }
+
+    /**
+     * AND dos filtros informados (null = faceta sem filtro); sem nenhum, devolve "vivos"
+     */
+    private RoaringBitmap intersecao(RoaringBitmap... filtros) {
+        List<RoaringBitmap> ativos = new ArrayList<>(filtros.length + 1);
+        ativos.add(vivos);
+        for (RoaringBitmap filtro : filtros) {
+            if (filtro != null) {
+                ativos.add(filtro);
+            }
+        }
+        return ativos.size() == 1 ? vivos : FastAggregation.and(ativos.iterator());
+    }
+
+    private static RoaringBitmap uniao(Set<String> valores, Function<String, RoaringBitmap> bitmap) {
+        if (valores.isEmpty()) {
+            return null;
+        }
+        RoaringBitmap[] escolhidos = valores.stream()
+                .map(bitmap)
+                .toArray(RoaringBitmap[]::new);
+        return FastAggregation.or(escolhidos);
+    }
+
+    private RoaringBitmap bitmapDaCategoria(String categoria) {
+        Integer ordinal = ordinalPorCategoria.get(categoria);
+        return ordinal == null ? new RoaringBitmap() : porCategoria.get(ordinal);
+    }
+
+    private int faixaDo(BigDecimal preco) {
+        for (int i = 0; i < limitesFaixas.length; i++) {
+            if (preco.compareTo(limitesFaixas[i]) < 0) {
+                return i;
+            }
+        }
+        return limitesFaixas.length;
+    }
+
+    private int indiceDaFaixa(String rotulo) {
+        int indice = faixas.indexOf(rotulo);
+        if (indice < 0) {
+            throw new IllegalArgumentException("Faixa de preço desconhecida: " + rotulo
+                    + " (disponíveis: " + String.join(", ", faixas) + ")");
+        }
+        return indice;
+    }
+
+    public record Resultado(List<Long> ids, long total, ContagemFacetas contagens) {
+    }
+}
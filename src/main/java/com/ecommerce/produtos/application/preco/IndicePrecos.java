@@ -0,0 +1,211 @@
+package com.ecommerce.produtos.application.preco;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Índice em memória dos preços por categoria
+ *
+ * Cada categoria guarda um ConcurrentSkipListSet ordenado por (preco, id): uma faixa
+ * de preço é uma sub-visão do conjunto, então "os N mais baratos entre X e Y" custa
+ * O(log n + N), sem varrer nem ordenar a categoria. A ordem por data de criação
+ * percorre só a faixa de preço e mantém um heap com os "limite" mais recentes.
+ *
+ * Consultas não usam lock. Escritas do mesmo produto são serializadas pelo compute
+ * do mapa por ID; a reconstrução exclui as escritas (lock de escrita) para que uma
+ * linha antiga do cursor não sobrescreva uma alteração feita durante a carga.
+ */
+public class IndicePrecos {
+
+    private static final Comparator<Entrada> POR_PRECO = Comparator
+            .comparing(Entrada::preco)
+            .thenComparingLong(Entrada::id);
+
+    private static final Comparator<Entrada> POR_DATA_CRIACAO = Comparator
+            .comparing(Entrada::dataCriacao)
+            .thenComparingLong(Entrada::id);
+
+    private final Map<String, NavigableSet<Entrada>> porCategoria = new ConcurrentHashMap<>();
+    private final Map<Long, Entrada> porId = new ConcurrentHashMap<>();
+    // Escritas compartilham o lock de leitura entre si; a reconstrução toma o de escrita
+    private final ReentrantReadWriteLock carga = new ReentrantReadWriteLock();
+    private volatile boolean carregado;
+
+    /**
+     * Descarta o conteúdo atual e indexa todos os produtos do stream
+     */
+    public void reconstruir(Stream<Produto> produtos) {
+        carga.writeLock().lock();
+        try {
+            carregado = false;
+            porCategoria.clear();
+            porId.clear();
+            produtos.forEach(this::indexarSemLock);
+            carregado = true;
+        } finally {
+            carga.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa o produto, substituindo a entrada anterior se preço ou categoria mudaram
+     */
+    public void indexar(Produto produto) {
+        carga.readLock().lock();
+        try {
+            indexarSemLock(produto);
+        } finally {
+            carga.readLock().unlock();
+        }
+    }
+
+    public void remover(Long id) {
+        carga.readLock().lock();
+        try {
+            porId.computeIfPresent(id, (chave, antiga) -> {
+                conjuntoDa(antiga.categoria()).remove(antiga);
+                return null;
+            });
+        } finally {
+            carga.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs dos produtos que atendem a consulta, na ordem pedida, a partir do cursor
+     */
+    public List<Long> buscar(ConsultaPorPreco consulta) {
+        return posicoes(consulta).stream().map(ConsultaPorPreco.Posicao::id).toList();
+    }
+
+    /**
+     * Como buscar, com as chaves de ordenação de cada produto: a última serve de cursor para
+     * continuar a consulta (ex.: completar uma página da qual produtos foram descartados)
+     */
+    public List<ConsultaPorPreco.Posicao> posicoes(ConsultaPorPreco consulta) {
+        NavigableSet<Entrada> categoria = porCategoria.get(consulta.categoria());
+        if (categoria == null || consulta.limite() <= 0) {
+            return List.of();
+        }
+        if (consulta.ordenacao() == ConsultaPorPreco.Ordenacao.DATA_CRIACAO) {
+            return maisRecentes(faixa(categoria, consulta.precoMin(), null, consulta.precoMax()), consulta);
+        }
+
+        Entrada cursor = consulta.apos() == null
+                ? null
+                : sentinela(consulta.apos().preco(), consulta.apos().id());
+        List<ConsultaPorPreco.Posicao> posicoes = new ArrayList<>(consulta.limite());
+        for (Entrada entrada : faixa(categoria, consulta.precoMin(), cursor, consulta.precoMax())) {
+            posicoes.add(entrada.posicao());
+            if (posicoes.size() == consulta.limite()) {
+                break;
+            }
+        }
+        return posicoes;
+    }
+
+    public boolean carregado() {
+        return carregado;
+    }
+
+    public int tamanho() {
+        return porId.size();
+    }
+
+    private void indexarSemLock(Produto produto) {
+        Entrada nova = new Entrada(produto.getId(), produto.getCategoria(),
+                produto.getPreco(), produto.getDataCriacao());
+        porId.compute(produto.getId(), (id, antiga) -> {
+            if (antiga != null) {
+                conjuntoDa(antiga.categoria()).remove(antiga);
+            }
+            conjuntoDa(nova.categoria()).add(nova);
+            return nova;
+        });
+    }
+
+    private NavigableSet<Entrada> conjuntoDa(String categoria) {
+        return porCategoria.computeIfAbsent(categoria, c -> new ConcurrentSkipListSet<>(POR_PRECO));
+    }
+
+    /**
+     * Sub-visão [precoMin, precoMax] da categoria, começando depois do cursor se houver
+     */
+    private static NavigableSet<Entrada> faixa(
+            NavigableSet<Entrada> categoria, BigDecimal precoMin, Entrada cursor, BigDecimal precoMax) {
+        Entrada inicio = precoMin == null ? null : sentinela(precoMin, Long.MIN_VALUE);
+        boolean inicioInclusivo = true;
+        if (cursor != null && (inicio == null || POR_PRECO.compare(cursor, inicio) >= 0)) {
+            inicio = cursor;
+            inicioInclusivo = false;
+        }
+        Entrada fim = precoMax == null ? null : sentinela(precoMax, Long.MAX_VALUE);
+
+        if (inicio != null && fim != null) {
+            if (POR_PRECO.compare(inicio, fim) > 0) {
+                return Collections.emptyNavigableSet();
+            }
+            return categoria.subSet(inicio, inicioInclusivo, fim, true);
+        }
+        if (inicio != null) {
+            return categoria.tailSet(inicio, inicioInclusivo);
+        }
+        if (fim != null) {
+            return categoria.headSet(fim, true);
+        }
+        return categoria;
+    }
+
+    /**
+     * Os "limite" mais recentes da faixa que vêm depois do cursor (data e ID decrescentes)
+     */
+    private static List<ConsultaPorPreco.Posicao> maisRecentes(NavigableSet<Entrada> faixa, ConsultaPorPreco consulta) {
+        Entrada cursor = consulta.apos() == null
+                ? null
+                : new Entrada(consulta.apos().id(), null, null, consulta.apos().dataCriacao());
+        // Heap mínimo: o topo é o mais antigo dos selecionados, o primeiro a sair
+        PriorityQueue<Entrada> selecionados = new PriorityQueue<>(consulta.limite() + 1, POR_DATA_CRIACAO);
+        for (Entrada entrada : faixa) {
+            if (cursor != null && POR_DATA_CRIACAO.compare(entrada, cursor) >= 0) {
+                continue;
+            }
+            if (selecionados.size() < consulta.limite()) {
+                selecionados.add(entrada);
+            } else if (POR_DATA_CRIACAO.compare(entrada, selecionados.peek()) > 0) {
+                selecionados.poll();
+                selecionados.add(entrada);
+            }
+        }
+
+        ConsultaPorPreco.Posicao[] posicoes = new ConsultaPorPreco.Posicao[selecionados.size()];
+        for (int i = posicoes.length - 1; i >= 0; i--) {
+            posicoes[i] = selecionados.poll().posicao();
+        }
+        return List.of(posicoes);
+    }
+
+    private static Entrada sentinela(BigDecimal preco, long id) {
+        return new Entrada(id, null, preco, null);
+    }
+
+    private record Entrada(long id, String categoria, BigDecimal preco, LocalDateTime dataCriacao) {
+
+        ConsultaPorPreco.Posicao posicao() {
+            return new ConsultaPorPreco.Posicao(preco, dataCriacao, id);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.Set;
+
+public class AtualizarProdutoParcialmenteUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+
+    public AtualizarProdutoParcialmenteUseCase(ProdutoRepositoryPort repositoryPort) {
+        this.repositoryPort = repositoryPort;
+    }
+
+    /**
+     * Aplica só os campos informados, se o produto estiver em uma das versões aceitas
+     * (null = sem verificação de versão: alterações concorrentes, como baixas de estoque,
+     * não viram conflito)
+     * O UPDATE grava apenas as colunas cujo valor mudou; se nenhuma mudou, nada é gravado
+     * e a versão continua a mesma
+     */
+    public Produto executar(Long id, AlteracaoProduto alteracao, Set<Long> versoesAceitas) {
+        Produto produto = repositoryPort.buscarPorId(id)
+                .orElseThrow(() -> new ProdutoNotFoundException(id));
+
+        produto.verificarVersao(versoesAceitas);
+        Set<CampoProduto> alterados = produto.alterar(alteracao);
+        if (alterados.isEmpty()) {
+            return produto;
+        }
+
+        return repositoryPort.atualizarCampos(produto, alterados, versoesAceitas != null);
+    }
+}
@@ -1,9 +1,13 @@
 package com.ecommerce.produtos.application.usecase;
 
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
 import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
 import java.math.BigDecimal;
+import java.util.Set;
 
 public class AtualizarProdutoUseCase {
     
@@ -15,11 +19,55 @@ public class AtualizarProdutoUseCase {
 
     public Produto executar(Long id, String nome, String descricao,
                            BigDecimal preco, Integer estoque, String categoria) {
+        return executar(id, nome, descricao, preco, estoque, categoria, null);
+    }
+
+    /**
+     * Atualiza apenas se o produto ainda estiver em uma das versões informadas (null = sem verificação)
+     * Com versões, alterações concorrentes entre a leitura e a gravação também resultam em
+     * VersaoDesatualizadaException (verificação otimista no UPDATE). Sem, só as colunas que
+     * mudaram em relação ao produto lido são gravadas e a última gravação vence, exceto o
+     * estoque: um valor absoluto gravado sobre baixas concorrentes as apagaria, então com o
+     * estoque alterado o UPDATE continua condicionado à versão lida
+     */
+    public Produto executar(Long id, String nome, String descricao,
+                           BigDecimal preco, Integer estoque, String categoria,
+                           Set<Long> versoesAceitas) {
         Produto produto = repositoryPort.buscarPorId(id)
                 .orElseThrow(() -> new ProdutoNotFoundException(id));
         
-        produto.atualizar(nome, descricao, preco, estoque, categoria);
+        produto.verificarVersao(versoesAceitas);
+        Set<CampoProduto> alterados = produto.alterar(new AlteracaoProduto()
+                .nome(nome)
+                .descricao(descricao)
+                .preco(preco)
+                .estoque(estoque)
+                .categoria(categoria));
+        if (alterados.isEmpty()) {
+            return produto;
+        }
         
-        return repositoryPort.salvar(produto);
+        boolean condicional = versoesAceitas != null || alterados.contains(CampoProduto.ESTOQUE);
+        return repositoryPort.atualizarCampos(produto, alterados, condicional);
+    }
+
+    /**
+     * Para chamadores internos que aceitam "última gravação vence": em caso de conflito
+     * de versão, relê o produto e reaplica a alteração, até maxTentativas vezes
+     */
+    public Produto executarComRetentativas(int maxTentativas, Long id, String nome, String descricao,
+                                           BigDecimal preco, Integer estoque, String categoria) {
+        if (maxTentativas < 1) {
+            throw new IllegalArgumentException("Número de tentativas deve ser positivo");
+        }
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return executar(id, nome, descricao, preco, estoque, categoria, null);
+            } catch (VersaoDesatualizadaException ex) {
+                if (tentativa >= maxTentativas) {
+                    throw ex;
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
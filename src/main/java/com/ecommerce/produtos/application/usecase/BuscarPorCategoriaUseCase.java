@@ -1,7 +1,9 @@
 package com.ecommerce.produtos.application.usecase;
 
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import java.math.BigDecimal;
 import java.util.List;
 
 public class BuscarPorCategoriaUseCase {
@@ -15,4 +17,31 @@ public class BuscarPorCategoriaUseCase {
     public List<Produto> executar(String categoria) {
         return repositoryPort.buscarPorCategoria(categoria);
     }
-}
\ No newline at end of file
+
+    public Pagina<Produto> executar(String categoria, Long aposId, Integer limite) {
+        int tamanho = ListarTodosProdutosUseCase.normalizarLimite(limite);
+        List<Produto> produtos = repositoryPort.buscarPaginaPorCategoria(categoria, aposId, tamanho + 1);
+        return ListarTodosProdutosUseCase.montarPagina(produtos, tamanho);
+    }
+
+    /**
+     * Página de produtos da categoria na faixa de preço, ordenada por preço (padrão)
+     * ou por data de criação, continuando após a posição do último item da página anterior
+     */
+    public Pagina<Produto> executar(String categoria, BigDecimal precoMin, BigDecimal precoMax,
+                                    ConsultaPorPreco.Ordenacao ordenacao,
+                                    ConsultaPorPreco.Posicao apos, Integer limite) {
+        if (precoMin != null && precoMax != null && precoMin.compareTo(precoMax) > 0) {
+            throw new IllegalArgumentException("precoMin não pode ser maior que precoMax");
+        }
+        int tamanho = ListarTodosProdutosUseCase.normalizarLimite(limite);
+        ConsultaPorPreco consulta = new ConsultaPorPreco(
+                categoria,
+                precoMin,
+                precoMax,
+                ordenacao == null ? ConsultaPorPreco.Ordenacao.PRECO : ordenacao,
+                apos,
+                tamanho + 1);
+        return ListarTodosProdutosUseCase.montarPagina(repositoryPort.buscarPorPreco(consulta), tamanho);
+    }
+}
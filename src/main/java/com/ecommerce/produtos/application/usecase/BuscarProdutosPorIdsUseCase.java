@@ -0,0 +1,84 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Caso de Uso: Buscar vários produtos por ID de uma vez (carrinho, pedido)
+ * Uma chamada ao Port para a lista inteira, em vez de uma busca por produto
+ */
+public class BuscarProdutosPorIdsUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final int maxIds;
+
+    public BuscarProdutosPorIdsUseCase(ProdutoRepositoryPort repositoryPort, int maxIds) {
+        if (maxIds <= 0) {
+            throw new IllegalArgumentException("Máximo de IDs deve ser maior que zero");
+        }
+        this.repositoryPort = repositoryPort;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * @return os produtos na ordem pedida (IDs repetidos aparecem uma vez, na primeira
+     *         posição) e os IDs que não existem, também na ordem pedida
+     */
+    public Resultado executar(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um ID");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("IDs não podem ser nulos");
+        }
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        if (unicos.size() > maxIds) {
+            throw new IllegalArgumentException("Consulta excede o máximo de " + maxIds + " IDs");
+        }
+
+        Map<Long, Produto> porId = new HashMap<>(unicos.size() * 2);
+        repositoryPort.buscarPorIds(unicos).forEach(produto -> porId.put(produto.getId(), produto));
+
+        List<Produto> produtos = new ArrayList<>(porId.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long id : unicos) {
+            Produto produto = porId.get(id);
+            if (produto != null) {
+                produtos.add(produto);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new Resultado(produtos, naoEncontrados);
+    }
+
+    /**
+     * Carrega os produtos de uma lista de IDs já ordenada (ranking de um índice) com uma
+     * chamada ao Port, mantendo a ordem; IDs sem produto (removido depois do índice) são omitidos
+     */
+    static List<Produto> carregarNaOrdem(ProdutoRepositoryPort repositoryPort, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Produto> porId = new HashMap<>(ids.size() * 2);
+        repositoryPort.buscarPorIds(new LinkedHashSet<>(ids)).forEach(produto -> porId.put(produto.getId(), produto));
+        List<Produto> produtos = new ArrayList<>(porId.size());
+        for (Long id : ids) {
+            Produto produto = porId.get(id);
+            if (produto != null) {
+                produtos.add(produto);
+            }
+        }
+        return produtos;
+    }
+
+    public record Resultado(List<Produto> produtos, List<Long> naoEncontrados) {}
+}
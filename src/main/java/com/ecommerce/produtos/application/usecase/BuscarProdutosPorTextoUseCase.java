@@ -0,0 +1,33 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.List;
+
+public class BuscarProdutosPorTextoUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final IndiceBuscaProdutos indice;
+
+    public BuscarProdutosPorTextoUseCase(ProdutoRepositoryPort repositoryPort, IndiceBuscaProdutos indice) {
+        this.repositoryPort = repositoryPort;
+        this.indice = indice;
+    }
+
+    /**
+     * Produtos com todas as palavras da consulta no nome ou na descrição, por relevância
+     * O ranking vem do índice em memória; os produtos são lidos de uma vez pelos IDs (cache)
+     */
+    public List<Produto> executar(String consulta, Integer limite) {
+        if (consulta == null || consulta.isBlank()) {
+            throw new IllegalArgumentException("Consulta de busca é obrigatória");
+        }
+        int tamanho = ListarTodosProdutosUseCase.normalizarLimite(limite);
+
+        // Uma leitura para a página inteira (cache, e um SELECT ... IN só para os que faltam),
+        // devolvida na ordem de relevância do índice
+        return BuscarProdutosPorIdsUseCase.carregarNaOrdem(repositoryPort, indice.buscar(consulta, tamanho));
+    }
+}
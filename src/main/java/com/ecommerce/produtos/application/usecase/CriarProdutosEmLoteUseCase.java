@@ -0,0 +1,116 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Caso de Uso: Criar vários produtos de uma vez
+ * Cada item é validado pelas regras da entidade; os válidos são salvos em chunks
+ * (uma transação por chunk) e um item inválido (ou nulo) não impede a criação dos demais
+ */
+public class CriarProdutosEmLoteUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final int tamanhoChunk;
+    private final int maxItens;
+
+    public CriarProdutosEmLoteUseCase(ProdutoRepositoryPort repositoryPort,
+                                      int tamanhoChunk, int maxItens) {
+        if (tamanhoChunk <= 0) {
+            throw new IllegalArgumentException("Tamanho do chunk deve ser maior que zero");
+        }
+        this.repositoryPort = repositoryPort;
+        this.tamanhoChunk = tamanhoChunk;
+        this.maxItens = maxItens;
+    }
+
+    /**
+     * @return um resultado por item, na mesma ordem (e posição) da entrada
+     */
+    public List<Resultado> executar(List<Item> itens) {
+        validarTamanhoDoLote(itens.size());
+
+        Resultado[] resultados = new Resultado[itens.size()];
+        List<Integer> indicesDoChunk = new ArrayList<>(tamanhoChunk);
+        List<Produto> chunk = new ArrayList<>(tamanhoChunk);
+
+        for (int i = 0; i < itens.size(); i++) {
+            Item item = itens.get(i);
+            if (item == null) {
+                resultados[i] = Resultado.falha("Item não pode ser nulo");
+                continue;
+            }
+            try {
+                // A validação já acontece no construtor da entidade
+                chunk.add(new Produto(item.nome(), item.descricao(), item.preco(),
+                        item.estoque(), item.categoria()));
+                indicesDoChunk.add(i);
+            } catch (IllegalArgumentException ex) {
+                resultados[i] = Resultado.falha(ex.getMessage());
+            }
+
+            if (chunk.size() == tamanhoChunk) {
+                salvarChunk(chunk, indicesDoChunk, resultados);
+            }
+        }
+        salvarChunk(chunk, indicesDoChunk, resultados);
+
+        return List.of(resultados);
+    }
+
+    public void validarTamanhoDoLote(int quantidade) {
+        if (quantidade > maxItens) {
+            throw new IllegalArgumentException(
+                    "Lote excede o máximo de " + maxItens + " itens");
+        }
+    }
+
+    private void salvarChunk(List<Produto> chunk, List<Integer> indices, Resultado[] resultados) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            List<Produto> salvos = repositoryPort.salvarTodos(List.copyOf(chunk));
+            for (int j = 0; j < salvos.size(); j++) {
+                resultados[indices.get(j)] = Resultado.criado(salvos.get(j));
+            }
+        } catch (RuntimeException ex) {
+            // O chunk foi revertido: salva item a item para isolar o(s) registro(s) com problema
+            for (int j = 0; j < chunk.size(); j++) {
+                resultados[indices.get(j)] = salvarIndividualmente(chunk.get(j));
+            }
+        }
+        chunk.clear();
+        indices.clear();
+    }
+
+    private Resultado salvarIndividualmente(Produto produto) {
+        try {
+            return Resultado.criado(repositoryPort.salvar(produto));
+        } catch (RuntimeException ex) {
+            return Resultado.falha("Erro ao salvar produto: " + ex.getMessage());
+        }
+    }
+
+    public record Item(String nome, String descricao, BigDecimal preco,
+                       Integer estoque, String categoria) {}
+
+    public record Resultado(Produto produto, String erro) {
+
+        static Resultado criado(Produto produto) {
+            return new Resultado(produto, null);
+        }
+
+        public static Resultado falha(String erro) {
+            return new Resultado(null, erro);
+        }
+
+        public boolean sucesso() {
+            return produto != null;
+        }
+    }
+}
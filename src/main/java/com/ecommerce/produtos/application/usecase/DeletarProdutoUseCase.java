@@ -11,10 +11,12 @@ public class DeletarProdutoUseCase {
         this.repositoryPort = repositoryPort;
     }
 
+    /**
+     * Um único DELETE: o número de linhas removidas decide o 404, sem consulta de existência antes
+     */
     public void executar(Long id) {
-        if (!repositoryPort.existe(id)) {
+        if (!repositoryPort.deletar(id)) {
             throw new ProdutoNotFoundException(id);
         }
-        repositoryPort.deletar(id);
     }
 }
\ No newline at end of file
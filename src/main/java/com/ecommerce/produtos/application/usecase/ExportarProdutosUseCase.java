@@ -0,0 +1,33 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Caso de Uso: Exportar o catálogo completo
+ * Entrega os produtos um a um ao consumidor, sem materializar a lista inteira em memória
+ */
+public class ExportarProdutosUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+
+    public ExportarProdutosUseCase(ProdutoRepositoryPort repositoryPort) {
+        this.repositoryPort = repositoryPort;
+    }
+
+    public long executar(Consumer<Produto> consumidor) {
+        long total = 0;
+        // try-with-resources garante a liberação do cursor/conexão mesmo em caso de erro
+        try (Stream<Produto> produtos = repositoryPort.buscarTodosEmStream()) {
+            var iterator = produtos.iterator();
+            while (iterator.hasNext()) {
+                consumidor.accept(iterator.next());
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.facetas.ContagemFacetas;
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FiltrarPorFacetasUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final IndiceFacetas indice;
+
+    public FiltrarPorFacetasUseCase(ProdutoRepositoryPort repositoryPort, IndiceFacetas indice) {
+        this.repositoryPort = repositoryPort;
+        this.indice = indice;
+    }
+
+    /**
+     * Página dos produtos que atendem ao filtro, com o total e as contagens por faceta
+     * Filtro e contagens vêm dos bitmaps em memória; os produtos são lidos com um buscarPorIds (cache)
+     */
+    public Resultado executar(FiltroFacetas filtro, Long aposId, Integer limite) {
+        int tamanho = ListarTodosProdutosUseCase.normalizarLimite(limite);
+        IndiceFacetas.Resultado resultado = indice.filtrar(filtro, aposId, tamanho + 1);
+
+        // Um produto removido entre o filtro e a leitura é omitido
+        List<Long> ids = resultado.ids();
+        int pedido = tamanho + 1;
+        List<Produto> produtos = new ArrayList<>(BuscarProdutosPorIdsUseCase.carregarNaOrdem(repositoryPort, ids));
+        // Índice esgotado, ou página completa (o limite inclui o item que indica a próxima página)
+        while (ids.size() == pedido && produtos.size() <= tamanho) {
+            // Os omitidos encurtariam a página e esconderiam a próxima: continua depois do último
+            pedido = tamanho + 1 - produtos.size();
+            ids = indice.filtrar(filtro, ids.get(ids.size() - 1), pedido).ids();
+            produtos.addAll(BuscarProdutosPorIdsUseCase.carregarNaOrdem(repositoryPort, ids));
+        }
+        return new Resultado(
+                ListarTodosProdutosUseCase.montarPagina(produtos, tamanho),
+                resultado.total(),
+                resultado.contagens());
+    }
+
+    public record Resultado(Pagina<Produto> pagina, long total, ContagemFacetas contagens) {
+    }
+}
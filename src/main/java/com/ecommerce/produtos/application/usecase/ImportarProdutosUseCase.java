@@ -0,0 +1,176 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de Uso: Importar o catálogo de um fornecedor (upsert)
+ * As linhas são consumidas uma a uma: só um chunk fica em memória, e a próxima linha só é
+ * lida depois que o chunk anterior foi gravado, então a leitura acompanha o ritmo do banco.
+ * Linha sem ID cria um produto; linha com ID atualiza o produto existente. Cada chunk é uma
+ * transação; uma linha inválida é reportada sem impedir a gravação das demais.
+ */
+public class ImportarProdutosUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final int tamanhoChunk;
+    private final int maxErros;
+
+    public ImportarProdutosUseCase(ProdutoRepositoryPort repositoryPort, int tamanhoChunk, int maxErros) {
+        if (tamanhoChunk <= 0) {
+            throw new IllegalArgumentException("Tamanho do chunk deve ser maior que zero");
+        }
+        this.repositoryPort = repositoryPort;
+        this.tamanhoChunk = tamanhoChunk;
+        this.maxErros = maxErros;
+    }
+
+    public Resumo executar(Iterator<Linha> linhas) {
+        long inicio = System.nanoTime();
+        Contagem contagem = new Contagem(maxErros);
+        List<Linha> chunk = new ArrayList<>(tamanhoChunk);
+        Set<Long> idsDoChunk = new HashSet<>();
+
+        while (linhas.hasNext()) {
+            Linha linha = linhas.next();
+            contagem.lidas++;
+            if (linha.erro() != null) {
+                contagem.erro(linha.numero(), linha.erro());
+                continue;
+            }
+            // O mesmo ID duas vezes no chunk: a segunda linha vale sobre a primeira já gravada
+            if (linha.id() != null && !idsDoChunk.add(linha.id())) {
+                gravarChunk(chunk, contagem);
+                idsDoChunk.clear();
+                idsDoChunk.add(linha.id());
+            }
+            chunk.add(linha);
+            if (chunk.size() == tamanhoChunk) {
+                gravarChunk(chunk, contagem);
+                idsDoChunk.clear();
+            }
+        }
+        gravarChunk(chunk, contagem);
+
+        return new Resumo(contagem.lidas, contagem.criados, contagem.atualizados, contagem.comErro,
+                List.copyOf(contagem.erros), System.nanoTime() - inicio);
+    }
+
+    private void gravarChunk(List<Linha> chunk, Contagem contagem) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Os produtos a atualizar vêm de uma única consulta por chunk
+        Set<Long> ids = chunk.stream()
+                .map(Linha::id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Produto> existentes = ids.isEmpty() ? Map.of()
+                : repositoryPort.buscarPorIds(ids).stream()
+                        .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<Linha> validas = new ArrayList<>(chunk.size());
+        List<Produto> produtos = new ArrayList<>(chunk.size());
+        for (Linha linha : chunk) {
+            try {
+                produtos.add(paraProduto(linha, existentes));
+                validas.add(linha);
+            } catch (IllegalArgumentException ex) {
+                contagem.erro(linha.numero(), ex.getMessage());
+            }
+        }
+        chunk.clear();
+        if (produtos.isEmpty()) {
+            return;
+        }
+
+        try {
+            repositoryPort.salvarTodos(produtos);
+            validas.forEach(contagem::gravada);
+        } catch (RuntimeException ex) {
+            // O chunk foi revertido: grava linha a linha para isolar a(s) linha(s) com problema
+            for (int i = 0; i < produtos.size(); i++) {
+                try {
+                    repositoryPort.salvar(produtos.get(i));
+                    contagem.gravada(validas.get(i));
+                } catch (RuntimeException erro) {
+                    contagem.erro(validas.get(i).numero(), "Erro ao salvar produto: " + erro.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Produto paraProduto(Linha linha, Map<Long, Produto> existentes) {
+        if (linha.id() == null) {
+            // A validação já acontece no construtor da entidade
+            return new Produto(linha.nome(), linha.descricao(), linha.preco(), linha.estoque(), linha.categoria());
+        }
+        Produto existente = existentes.get(linha.id());
+        if (existente == null) {
+            throw new IllegalArgumentException("Produto não encontrado com ID: " + linha.id());
+        }
+        existente.atualizar(linha.nome(), linha.descricao(), linha.preco(), linha.estoque(), linha.categoria());
+        return existente;
+    }
+
+    /**
+     * Uma linha do arquivo já convertida; erro != null quando a linha não pôde ser lida
+     * (os demais campos são ignorados nesse caso)
+     */
+    public record Linha(long numero, Long id, String nome, String descricao, BigDecimal preco,
+                        Integer estoque, String categoria, String erro) {
+
+        public static Linha invalida(long numero, String erro) {
+            return new Linha(numero, null, null, null, null, null, null, erro);
+        }
+    }
+
+    public record ErroLinha(long linha, String erro) {}
+
+    /**
+     * @param erros no máximo maxErros erros (comErro tem o total)
+     */
+    public record Resumo(long linhas, long criados, long atualizados, long comErro,
+                         List<ErroLinha> erros, long duracaoNanos) {}
+
+    private static final class Contagem {
+
+        private final int maxErros;
+        private final List<ErroLinha> erros = new ArrayList<>();
+        private long lidas;
+        private long criados;
+        private long atualizados;
+        private long comErro;
+
+        private Contagem(int maxErros) {
+            this.maxErros = maxErros;
+        }
+
+        private void gravada(Linha linha) {
+            if (linha.id() == null) {
+                criados++;
+            } else {
+                atualizados++;
+            }
+        }
+
+        private void erro(long numero, String erro) {
+            comErro++;
+            // Arquivos com muitos erros não fazem o resumo crescer sem limite
+            if (erros.size() < maxErros) {
+                erros.add(new ErroLinha(numero, erro));
+            }
+        }
+    }
+}
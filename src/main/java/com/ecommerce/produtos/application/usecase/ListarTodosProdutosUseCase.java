@@ -5,6 +5,9 @@ import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
 import java.util.List;
 
 public class ListarTodosProdutosUseCase {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
     
     private final ProdutoRepositoryPort repositoryPort;
 
@@ -15,4 +18,32 @@ public class ListarTodosProdutosUseCase {
     public List<Produto> executar() {
         return repositoryPort.buscarTodos();
     }
-}
\ No newline at end of file
+
+    /**
+     * Lista uma página de produtos ordenada por ID, a partir do cursor informado
+     * Busca um item a mais que o limite apenas para saber se existe próxima página
+     */
+    public Pagina<Produto> executar(Long aposId, Integer limite) {
+        int tamanho = normalizarLimite(limite);
+        List<Produto> produtos = repositoryPort.buscarPagina(aposId, tamanho + 1);
+        return montarPagina(produtos, tamanho);
+    }
+
+    static int normalizarLimite(Integer limite) {
+        if (limite == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+
+    static Pagina<Produto> montarPagina(List<Produto> produtos, int tamanho) {
+        if (produtos.size() <= tamanho) {
+            return new Pagina<>(produtos, null);
+        }
+        List<Produto> itens = produtos.subList(0, tamanho);
+        return new Pagina<>(itens, itens.get(tamanho - 1).getId());
+    }
+}
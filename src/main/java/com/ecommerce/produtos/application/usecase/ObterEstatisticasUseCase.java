@@ -0,0 +1,46 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Caso de Uso: Estatísticas do catálogo (quantidade, estoque total e preço mínimo/médio/máximo)
+ * Vêm dos agregados mantidos em memória, em O(categorias); enquanto eles não foram
+ * carregados, a consulta vai para o banco (GROUP BY por categoria).
+ */
+public class ObterEstatisticasUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final EstatisticasCatalogo estatisticas;
+
+    public ObterEstatisticasUseCase(ProdutoRepositoryPort repositoryPort, EstatisticasCatalogo estatisticas) {
+        this.repositoryPort = repositoryPort;
+        this.estatisticas = estatisticas;
+    }
+
+    /**
+     * @param categoria null = todas as categorias; o global considera sempre o catálogo inteiro
+     */
+    public Resultado executar(String categoria) {
+        List<EstatisticasCategoria> porCategoria = estatisticas.carregado()
+                ? estatisticas.porCategoria()
+                : repositoryPort.estatisticasPorCategoria().stream()
+                        .sorted(Comparator.comparing(EstatisticasCategoria::categoria))
+                        .collect(Collectors.toList());
+
+        EstatisticasCategoria global = EstatisticasCategoria.somar(null, porCategoria);
+        if (categoria != null) {
+            porCategoria = porCategoria.stream()
+                    .filter(e -> e.categoria().equals(categoria))
+                    .collect(Collectors.toList());
+        }
+        return new Resultado(global, porCategoria);
+    }
+
+    public record Resultado(EstatisticasCategoria global, List<EstatisticasCategoria> categorias) {}
+}
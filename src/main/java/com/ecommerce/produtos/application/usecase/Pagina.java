@@ -0,0 +1,14 @@
+package com.ecommerce.produtos.application.usecase;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma listagem por cursor (keyset pagination)
+ * proximoCursor é o ID do último item retornado, ou null quando não há mais páginas
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor) {
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+}
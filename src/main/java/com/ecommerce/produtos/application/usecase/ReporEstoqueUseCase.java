@@ -0,0 +1,38 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.exception.EstoqueExcedidoException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+/**
+ * Caso de Uso: Repor (aumentar) estoque de um produto com um UPDATE atômico
+ * O UPDATE não aplica uma reposição que passaria de Integer.MAX_VALUE (o int estouraria)
+ */
+public class ReporEstoqueUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+
+    public ReporEstoqueUseCase(ProdutoRepositoryPort repositoryPort) {
+        this.repositoryPort = repositoryPort;
+    }
+
+    /**
+     * @return estoque após a reposição
+     */
+    public Integer executar(Long id, Integer quantidade) {
+        // Mesma regra de Produto.aumentarEstoque
+        if (quantidade == null || quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva");
+        }
+        return repositoryPort.aumentarEstoque(id, quantidade)
+                .map(EstoqueAtualizado::estoque)
+                .orElseThrow(() -> {
+                    // Só consulta a existência no caminho de falha, para diferenciar 404 de 422
+                    if (!repositoryPort.existe(id)) {
+                        return new ProdutoNotFoundException(id);
+                    }
+                    return new EstoqueExcedidoException(id, quantidade);
+                });
+    }
+}
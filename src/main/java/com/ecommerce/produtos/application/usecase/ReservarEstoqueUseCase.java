@@ -0,0 +1,53 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.estoque.AgrupadorReservasEstoque;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+/**
+ * Caso de Uso: Reservar (baixar) estoque de um produto
+ * A baixa é feita por um UPDATE condicional no repositório, então requisições
+ * concorrentes nunca vendem mais do que o estoque disponível.
+ * Com um AgrupadorReservasEstoque, as baixas concorrentes são agrupadas em lotes
+ * (group commit) em vez de uma transação por requisição; a espera pelo lote é limitada
+ * pelo agrupador.
+ */
+public class ReservarEstoqueUseCase {
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final AgrupadorReservasEstoque agrupador;
+
+    public ReservarEstoqueUseCase(ProdutoRepositoryPort repositoryPort) {
+        this(repositoryPort, null);
+    }
+
+    public ReservarEstoqueUseCase(ProdutoRepositoryPort repositoryPort,
+                                  AgrupadorReservasEstoque agrupador) {
+        this.repositoryPort = repositoryPort;
+        this.agrupador = agrupador;
+    }
+
+    /**
+     * @return estoque restante após a reserva
+     */
+    public Integer executar(Long id, Integer quantidade) {
+        // Mesma regra de Produto.reduzirEstoque
+        if (quantidade == null || quantidade <= 0) {
+            throw new IllegalArgumentException("Quantidade deve ser positiva");
+        }
+        if (agrupador != null) {
+            return agrupador.reservarEAguardar(id, quantidade);
+        }
+        return repositoryPort.reduzirEstoque(id, quantidade)
+                .map(EstoqueAtualizado::estoque)
+                .orElseThrow(() -> {
+                    // Só consulta a existência no caminho de falha, para diferenciar 404 de 409
+                    if (!repositoryPort.existe(id)) {
+                        return new ProdutoNotFoundException(id);
+                    }
+                    return new EstoqueInsuficienteException(id, quantidade);
+                });
+    }
+}
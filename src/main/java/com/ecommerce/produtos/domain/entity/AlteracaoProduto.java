@@ -0,0 +1,55 @@
+package com.ecommerce.produtos.domain.entity;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alteração parcial de um Produto (semântica de JSON Merge Patch)
+ * Só os campos informados mudam; informar null remove o valor (só faz sentido para
+ * a descrição, os demais campos são obrigatórios e são rejeitados pela entidade)
+ */
+public final class AlteracaoProduto {
+
+    // EnumMap aceita valores null: "presente com null" é diferente de "ausente"
+    private final Map<CampoProduto, Object> valores = new EnumMap<>(CampoProduto.class);
+
+    public AlteracaoProduto nome(String nome) {
+        valores.put(CampoProduto.NOME, nome);
+        return this;
+    }
+
+    public AlteracaoProduto descricao(String descricao) {
+        valores.put(CampoProduto.DESCRICAO, descricao);
+        return this;
+    }
+
+    public AlteracaoProduto preco(BigDecimal preco) {
+        valores.put(CampoProduto.PRECO, preco);
+        return this;
+    }
+
+    public AlteracaoProduto estoque(Integer estoque) {
+        valores.put(CampoProduto.ESTOQUE, estoque);
+        return this;
+    }
+
+    public AlteracaoProduto categoria(String categoria) {
+        valores.put(CampoProduto.CATEGORIA, categoria);
+        return this;
+    }
+
+    public boolean contem(CampoProduto campo) {
+        return valores.containsKey(campo);
+    }
+
+    public Set<CampoProduto> campos() {
+        return valores.keySet();
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T valorOu(CampoProduto campo, T atual) {
+        return contem(campo) ? (T) valores.get(campo) : atual;
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.produtos.domain.entity;
+
+/**
+ * Campos do Produto que podem ser alterados por uma atualização parcial
+ */
+public enum CampoProduto {
+    NOME,
+    DESCRICAO,
+    PRECO,
+    ESTOQUE,
+    CATEGORIA
+}
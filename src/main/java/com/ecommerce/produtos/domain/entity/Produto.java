@@ -1,7 +1,12 @@
 package com.ecommerce.produtos.domain.entity;
 
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Entidade de domionio - Representa a entidade Produto no sistema
@@ -16,12 +21,14 @@ public class Produto {
     private Integer estoque;
     private String categoria;
     private LocalDateTime dataCriacao;
+    // Versão para controle de concorrência otimista (null enquanto não persistido)
+    private Long versao;
 
     // Construtor para criação (sem ID)
     public Produto(String nome, String descricao, BigDecimal preco,
             Integer estoque, String categoria) {
         this.validarCamposObrigatorios(nome, preco, estoque, categoria);
-        this.validarRegrasDeNegocio(preco, estoque, nome);
+        this.validarRegrasDeNegocio(preco, estoque, nome, descricao, categoria);
 
         this.nome = nome;
         this.descricao = descricao;
@@ -34,6 +41,12 @@ public class Produto {
     // Construtor para reconstituição (com ID - vindo do BD)
     public Produto(Long id, String nome, String descricao, BigDecimal preco,
                    Integer estoque, String categoria, LocalDateTime dataCriacao) {
+        this(id, nome, descricao, preco, estoque, categoria, dataCriacao, null);
+    }
+
+    // Construtor para reconstituição com versão
+    public Produto(Long id, String nome, String descricao, BigDecimal preco,
+                   Integer estoque, String categoria, LocalDateTime dataCriacao, Long versao) {
         this.id = id;
         this.nome = nome;
         this.descricao = descricao;
@@ -41,6 +54,7 @@ public class Produto {
         this.estoque = estoque;
         this.categoria = categoria;
         this.dataCriacao = dataCriacao;
+        this.versao = versao;
     }
 
     // ===== REGRAS DE NEGÓCIO =====
@@ -61,7 +75,8 @@ public class Produto {
         }
     }
 
-    private void validarRegrasDeNegocio(BigDecimal preco, Integer estoque, String nome) {
+    private void validarRegrasDeNegocio(BigDecimal preco, Integer estoque, String nome,
+                                        String descricao, String categoria) {
         if (preco.compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Preço deve ser maior que zero");
         }
@@ -71,12 +86,18 @@ public class Produto {
         if (nome.length() < 3 || nome.length() > 100) {
             throw new IllegalArgumentException("Nome deve ter entre 3 e 100 caracteres");
         }
+        if (descricao != null && descricao.length() > 500) {
+            throw new IllegalArgumentException("Descrição deve ter no máximo 500 caracteres");
+        }
+        if (categoria.length() > 50) {
+            throw new IllegalArgumentException("Categoria deve ter no máximo 50 caracteres");
+        }
     }
 
     public void atualizar(String nome, String descricao, BigDecimal preco,
                          Integer estoque, String categoria) {
         this.validarCamposObrigatorios(nome, preco, estoque, categoria);
-        this.validarRegrasDeNegocio(preco, estoque, nome);
+        this.validarRegrasDeNegocio(preco, estoque, nome, descricao, categoria);
         
         this.nome = nome;
         this.descricao = descricao;
@@ -85,6 +106,46 @@ public class Produto {
         this.categoria = categoria;
     }
 
+    /**
+     * Aplica só os campos presentes na alteração, com as mesmas regras de atualizar
+     * @return os campos cujo valor de fato mudou (vazio = nada a gravar)
+     */
+    public Set<CampoProduto> alterar(AlteracaoProduto alteracao) {
+        String novoNome = alteracao.valorOu(CampoProduto.NOME, this.nome);
+        String novaDescricao = alteracao.valorOu(CampoProduto.DESCRICAO, this.descricao);
+        BigDecimal novoPreco = alteracao.valorOu(CampoProduto.PRECO, this.preco);
+        Integer novoEstoque = alteracao.valorOu(CampoProduto.ESTOQUE, this.estoque);
+        String novaCategoria = alteracao.valorOu(CampoProduto.CATEGORIA, this.categoria);
+
+        this.validarCamposObrigatorios(novoNome, novoPreco, novoEstoque, novaCategoria);
+        this.validarRegrasDeNegocio(novoPreco, novoEstoque, novoNome, novaDescricao, novaCategoria);
+
+        Set<CampoProduto> alterados = EnumSet.noneOf(CampoProduto.class);
+        if (!novoNome.equals(this.nome)) {
+            alterados.add(CampoProduto.NOME);
+        }
+        if (!Objects.equals(novaDescricao, this.descricao)) {
+            alterados.add(CampoProduto.DESCRICAO);
+        }
+        // 10 e 10.00 são o mesmo preço
+        if (novoPreco.compareTo(this.preco) != 0) {
+            alterados.add(CampoProduto.PRECO);
+        }
+        if (!novoEstoque.equals(this.estoque)) {
+            alterados.add(CampoProduto.ESTOQUE);
+        }
+        if (!novaCategoria.equals(this.categoria)) {
+            alterados.add(CampoProduto.CATEGORIA);
+        }
+
+        this.nome = novoNome;
+        this.descricao = novaDescricao;
+        this.preco = novoPreco;
+        this.estoque = novoEstoque;
+        this.categoria = novaCategoria;
+        return alterados;
+    }
+
     public void reduzirEstoque(Integer quantidade) {
         if (quantidade <= 0) {
             throw new IllegalArgumentException("Quantidade deve ser positiva");
@@ -100,6 +161,10 @@ public class Produto {
         if (quantidade <= 0) {
             throw new IllegalArgumentException("Quantidade deve ser positiva");
         }
+        if (quantidade > Integer.MAX_VALUE - this.estoque) {
+            throw new IllegalArgumentException(
+                "Estoque excederia o máximo de " + Integer.MAX_VALUE + ". Disponível: " + this.estoque);
+        }
         this.estoque += quantidade;
     }
 
@@ -107,6 +172,15 @@ public class Produto {
         return this.estoque > 0;
     }
 
+    /**
+     * Verifica se o cliente está alterando a mesma versão que leu (If-Match)
+     */
+    public void verificarVersao(Set<Long> versoesAceitas) {
+        if (versoesAceitas != null && !versoesAceitas.contains(this.versao)) {
+            throw new VersaoDesatualizadaException(this.id, versoesAceitas, this.versao);
+        }
+    }
+
     // ===== GETTERS (sem setters para imutabilidade) =====
     
     public Long getId() { return id; }
@@ -116,4 +190,5 @@ public class Produto {
     public Integer getEstoque() { return estoque; }
     public String getCategoria() { return categoria; }
     public LocalDateTime getDataCriacao() { return dataCriacao; }
+    public Long getVersao() { return versao; }
 }
@@ -0,0 +1,8 @@
+package com.ecommerce.produtos.domain.exception;
+
+public class EstoqueExcedidoException extends RuntimeException {
+    public EstoqueExcedidoException(Long id, Integer quantidadeSolicitada) {
+        super("Reposição excede o estoque máximo para o produto id: " + id
+                + " (solicitado: " + quantidadeSolicitada + ", máximo: " + Integer.MAX_VALUE + ")");
+    }
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.produtos.domain.exception;
+
+public class EstoqueInsuficienteException extends RuntimeException {
+    public EstoqueInsuficienteException(Long id, Integer quantidadeSolicitada) {
+        super("Estoque insuficiente para o produto id: " + id
+                + " (solicitado: " + quantidadeSolicitada + ")");
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.produtos.domain.exception;
+
+import java.util.Collection;
+
+public class VersaoDesatualizadaException extends RuntimeException {
+    public VersaoDesatualizadaException(Long id) {
+        super("Produto id: " + id + " foi alterado por outra requisição");
+    }
+
+    public VersaoDesatualizadaException(Long id, Collection<Long> versoesEsperadas, Long versaoAtual) {
+        super("Produto id: " + id + " está na versão " + versaoAtual
+                + " (esperada: " + versoesEsperadas + ")");
+    }
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.produtos.domain.repository;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Consulta de produtos de uma categoria por faixa de preço, ordenada, com keyset pagination
+ * precoMin/precoMax null = faixa aberta naquele lado; apos null = primeira página
+ */
+public record ConsultaPorPreco(
+        String categoria,
+        BigDecimal precoMin,
+        BigDecimal precoMax,
+        Ordenacao ordenacao,
+        Posicao apos,
+        int limite) {
+
+    public enum Ordenacao {
+        // Menor preço primeiro (empate pelo ID)
+        PRECO,
+        // Mais recentes primeiro (empate pelo maior ID)
+        DATA_CRIACAO
+    }
+
+    /**
+     * Chaves de ordenação do último item da página anterior
+     * Guarda as duas chaves para o cursor não depender de reler o produto
+     */
+    public record Posicao(BigDecimal preco, LocalDateTime dataCriacao, Long id) {
+
+        public static Posicao de(Produto produto) {
+            return new Posicao(produto.getPreco(), produto.getDataCriacao(), produto.getId());
+        }
+    }
+
+    /**
+     * O produto está na categoria e na faixa de preço (não considera o cursor)
+     */
+    public boolean aceita(Produto produto) {
+        return categoria.equals(produto.getCategoria())
+                && (precoMin == null || produto.getPreco().compareTo(precoMin) >= 0)
+                && (precoMax == null || produto.getPreco().compareTo(precoMax) <= 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ecommerce.produtos.domain.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Agregados de uma categoria: quantidade de produtos, estoque total e preços mínimo,
+ * máximo e somado (a média sai da soma); preços null quando não há produtos
+ */
+public record EstatisticasCategoria(
+        String categoria,
+        long produtos,
+        long estoqueTotal,
+        BigDecimal precoMinimo,
+        BigDecimal precoMaximo,
+        BigDecimal somaPrecos) {
+
+    public BigDecimal precoMedio() {
+        if (produtos == 0 || somaPrecos == null) {
+            return null;
+        }
+        return somaPrecos.divide(BigDecimal.valueOf(produtos), 2, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Combina os agregados de várias categorias em um só (custo proporcional ao número de categorias)
+     */
+    public static EstatisticasCategoria somar(String rotulo, Collection<EstatisticasCategoria> partes) {
+        long produtos = 0;
+        long estoqueTotal = 0;
+        BigDecimal soma = BigDecimal.ZERO;
+        BigDecimal minimo = null;
+        BigDecimal maximo = null;
+        for (EstatisticasCategoria parte : partes) {
+            if (parte.produtos() == 0) {
+                continue;
+            }
+            produtos += parte.produtos();
+            estoqueTotal += parte.estoqueTotal();
+            soma = soma.add(parte.somaPrecos());
+            minimo = minimo == null || parte.precoMinimo().compareTo(minimo) < 0 ? parte.precoMinimo() : minimo;
+            maximo = maximo == null || parte.precoMaximo().compareTo(maximo) > 0 ? parte.precoMaximo() : maximo;
+        }
+        return new EstatisticasCategoria(rotulo, produtos, estoqueTotal, minimo, maximo,
+                produtos == 0 ? null : soma);
+    }
+
+    /**
+     * Mesmos valores, comparando os preços numericamente (o banco pode devolver outra escala)
+     */
+    public boolean equivalente(EstatisticasCategoria outra) {
+        return Objects.equals(categoria, outra.categoria)
+                && produtos == outra.produtos
+                && estoqueTotal == outra.estoqueTotal
+                && mesmoValor(precoMinimo, outra.precoMinimo)
+                && mesmoValor(precoMaximo, outra.precoMaximo)
+                && mesmoValor(somaPrecos, outra.somaPrecos);
+    }
+
+    private static boolean mesmoValor(BigDecimal a, BigDecimal b) {
+        return Objects.compare(a, b, Comparator.nullsFirst(Comparator.naturalOrder())) == 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.produtos.domain.repository;
+
+/**
+ * Resultado de uma alteração atômica de estoque: o novo estoque, a categoria e a versão do
+ * produto, lidos junto com a escrita (quem invalida por categoria não precisa consultar o
+ * produto antes, e a versão ordena alterações concorrentes que terminam fora de ordem)
+ */
+public record EstoqueAtualizado(int estoque, String categoria, long versao) {
+}
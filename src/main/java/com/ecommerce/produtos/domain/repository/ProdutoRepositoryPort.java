@@ -1,8 +1,13 @@
 package com.ecommerce.produtos.domain.repository;
 
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
 import java.util.Optional;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Port (Interface) do Repositório - Define o contrato
@@ -10,9 +15,35 @@ import java.util.List;
  */
 public interface ProdutoRepositoryPort {
     Produto salvar(Produto produto);
+    // UPDATE só das colunas em "campos"; devolve o produto com a nova versão. Condicional: só se o
+    // produto ainda estiver na versão lida (VersaoDesatualizadaException se mudou). Senão, grava
+    // sobre a versão atual (ex.: depois de uma baixa de estoque) e devolve o produto como ficou
+    Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional);
+    // Salva todos na mesma transação (INSERTs em batch)
+    List<Produto> salvarTodos(List<Produto> produtos);
     Optional<Produto> buscarPorId(Long id);
+    // Uma única consulta para todos os IDs; devolve os encontrados, sem ordem definida
+    List<Produto> buscarPorIds(Set<Long> ids);
     List<Produto> buscarTodos();
+    // Stream sob demanda (cursor no banco); quem consome deve fechar o Stream
+    Stream<Produto> buscarTodosEmStream();
     List<Produto> buscarPorCategoria(String categoria);
-    void deletar(Long id);
+    // Keyset pagination: produtos com id > aposId, ordenados por id (aposId null = início)
+    List<Produto> buscarPagina(Long aposId, int limite);
+    List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite);
+    // Produtos da categoria na faixa de preço, na ordem pedida, a partir do cursor (até consulta.limite())
+    List<Produto> buscarPorPreco(ConsultaPorPreco consulta);
+    // Agregados por categoria calculados no banco (GROUP BY), sem trazer os produtos
+    List<EstatisticasCategoria> estatisticasPorCategoria();
+    // Um único DELETE; false se o produto não existia
+    boolean deletar(Long id);
+    // Atualizações atômicas de estoque (sem read-modify-write); retornam o novo estoque e a categoria,
+    // ou vazio se o produto não existir, o estoque for insuficiente (redução) ou passar de
+    // Integer.MAX_VALUE (aumento)
+    Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade);
+    Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade);
+    // Em uma transação: carrega os produtos com lock de escrita, aplica a alteração
+    // (ids inexistentes ficam fora do mapa) e grava os estoques alterados em batch
+    void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao);
     boolean existe(Long id);
 }
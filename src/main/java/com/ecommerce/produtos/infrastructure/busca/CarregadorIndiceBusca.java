@@ -0,0 +1,42 @@
+package com.ecommerce.produtos.infrastructure.busca;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.stream.Stream;
+
+/**
+ * Monta o índice de busca na subida, antes de a aplicação ser marcada como pronta
+ * (ApplicationRunners rodam antes do ApplicationReadyEvent)
+ *
+ * Lê o catálogo pelo cursor de buscarTodosEmStream em vez de buscarTodos, para não
+ * materializar a lista inteira. Escritas concorrentes esperam o fim da carga
+ * (lock de escrita do índice) e são aplicadas em seguida.
+ */
+public class CarregadorIndiceBusca implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CarregadorIndiceBusca.class);
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final IndiceBuscaProdutos indice;
+
+    public CarregadorIndiceBusca(ProdutoRepositoryPort repositoryPort, IndiceBuscaProdutos indice) {
+        this.repositoryPort = repositoryPort;
+        this.indice = indice;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+        try (Stream<Produto> produtos = repositoryPort.buscarTodosEmStream()) {
+            indice.reconstruir(produtos);
+        }
+        log.info("Índice de busca carregado: {} produtos em {} ms",
+                indice.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.produtos.infrastructure.busca;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decorator que mantém o IndiceBuscaProdutos em sincronia com as escritas do Port
+ * Alterações de estoque não mexem em nome/descrição e não reindexam
+ */
+public class ProdutoRepositoryComIndiceBusca extends ProdutoRepositoryDecorator {
+
+    private final IndiceBuscaProdutos indice;
+
+    public ProdutoRepositoryComIndiceBusca(ProdutoRepositoryPort delegate, IndiceBuscaProdutos indice) {
+        super(delegate);
+        this.indice = indice;
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        indice.indexar(salvo);
+        return salvo;
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+        // Só nome e descrição geram termos: preço e estoque não mexem no índice
+        if (campos.contains(CampoProduto.NOME) || campos.contains(CampoProduto.DESCRICAO)) {
+            indice.indexar(salvo);
+        }
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        List<Produto> salvos = delegate.salvarTodos(produtos);
+        salvos.forEach(indice::indexar);
+        return salvos;
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        boolean removido = delegate.deletar(id);
+        if (removido) {
+            indice.remover(id);
+        }
+        return removido;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.produtos.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Endpoint do Actuator com os contadores do cache de produtos
+ * GET /actuator/produtoscache - estatísticas | DELETE /actuator/produtoscache - limpa o cache
+ * Só na porta de gerenciamento (management.server.port, interface local): limpar o cache manda
+ * todas as leituras ao banco de uma vez, e a porta pública não tem autenticação
+ */
+@Endpoint(id = "produtoscache")
+public class ProdutoCacheEndpoint {
+
+    private final ProdutoRepositoryComCache repositoryComCache;
+
+    public ProdutoCacheEndpoint(ProdutoRepositoryComCache repositoryComCache) {
+        this.repositoryComCache = repositoryComCache;
+    }
+
+    @ReadOperation
+    public EstatisticasCache estatisticas() {
+        CacheStats stats = repositoryComCache.estatisticas();
+        return new EstatisticasCache(
+                repositoryComCache.tamanho(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                stats.evictionWeight(),
+                stats.averageLoadPenalty() / 1_000_000.0
+        );
+    }
+
+    @DeleteOperation
+    public void limpar() {
+        repositoryComCache.limpar();
+    }
+
+    public record EstatisticasCache(long entradas, long hits, long misses, double taxaDeAcerto,
+                                    long evictions, long pesoRemovido, double tempoMedioCargaMs) {}
+}
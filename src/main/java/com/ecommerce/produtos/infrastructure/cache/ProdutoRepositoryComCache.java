@@ -0,0 +1,334 @@
+package com.ecommerce.produtos.infrastructure.cache;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.datasource.ContextoRoteamento;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator de cache read-through para buscarPorId e buscarPorIds
+ * Usa Caffeine (eviction W-TinyLFU: considera frequência de acesso, não só recência)
+ * e invalida a entrada a cada salvar/deletar
+ *
+ * Produto é mutável (atualizar, reduzirEstoque), então o cache guarda um snapshot
+ * imutável e devolve uma nova instância a cada leitura: quem alterar o objeto
+ * retornado não afeta o cache nem outras threads
+ */
+public class ProdutoRepositoryComCache extends ProdutoRepositoryDecorator {
+
+    // Estimativa de bytes fixos por entrada (objetos, BigDecimal, LocalDateTime e nó do cache)
+    private static final int BYTES_FIXOS_POR_ENTRADA = 200;
+
+    private final Cache<Long, ProdutoSnapshot> cache;
+    // As cargas de buscarPorId são feitas fora do Caffeine e registradas aqui
+    private final ConcurrentStatsCounter contadores = new ConcurrentStatsCounter();
+    // Cargas em andamento (ID -> token da carga): invalidar o ID remove o token, e a carga que
+    // cruzou com a escrita não fica no cache; escritas em outros IDs não afetam a carga
+    private final Map<Long, Object> cargas = new ConcurrentHashMap<>();
+    // Incrementado por limpar, que invalida todas as cargas em andamento
+    private final AtomicLong limpezas = new AtomicLong();
+    // IDs invalidados dentro da janela de leitura no primário após escrita
+    private final Cache<Long, Boolean> escritosRecentemente;
+
+    /**
+     * @param maxEntradas limite de entradas (usado quando maxBytes <= 0)
+     * @param maxBytes    limite aproximado de memória em bytes (tem prioridade se > 0)
+     * @param ttl         tempo de vida de cada entrada após ser carregada
+     */
+    public ProdutoRepositoryComCache(ProdutoRepositoryPort delegate,
+                                     long maxEntradas, long maxBytes, Duration ttl) {
+        this(delegate, maxEntradas, maxBytes, ttl, Duration.ZERO);
+    }
+
+    /**
+     * @param leituraNoPrimarioAposEscrita por quanto tempo um produto escrito é recarregado do
+     *                                     primário (com réplicas de leitura; zero = sem réplicas)
+     */
+    public ProdutoRepositoryComCache(ProdutoRepositoryPort delegate, long maxEntradas, long maxBytes,
+                                     Duration ttl, Duration leituraNoPrimarioAposEscrita) {
+        super(delegate);
+        // Com limite em bytes cada entrada pesa o seu tamanho estimado; senão, cada entrada pesa 1
+        Weigher<Long, ProdutoSnapshot> weigher = maxBytes > 0
+                ? (id, snapshot) -> snapshot.bytesEstimados()
+                : (id, snapshot) -> 1;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes > 0 ? maxBytes : maxEntradas)
+                .weigher(weigher)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> contadores)
+                .build();
+        this.escritosRecentemente = Caffeine.newBuilder()
+                .expireAfterWrite(leituraNoPrimarioAposEscrita)
+                .build();
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        ProdutoSnapshot snapshot = cache.getIfPresent(id);
+        if (snapshot == null) {
+            snapshot = carregar(id);
+        }
+        return Optional.ofNullable(snapshot).map(ProdutoSnapshot::toProduto);
+    }
+
+    /**
+     * Carga fora do cache.get(id, loader): o Caffeine executa o loader dentro do compute do
+     * ConcurrentHashMap, segurando o lock do bin (synchronized) durante a consulta, o que prende
+     * a thread virtual à thread do sistema e bloqueia as outras chaves do bin. Leituras simultâneas
+     * do mesmo ID já são agrupadas pela coalescência, abaixo deste decorator.
+     * Ausências não são cacheadas; se o mesmo ID foi invalidado durante a carga, o snapshot
+     * lido (talvez anterior à escrita) sai do cache.
+     */
+    private ProdutoSnapshot carregar(Long id) {
+        long epoca = limpezas.get();
+        Object carga = iniciarCarga(id);
+        long inicio = System.nanoTime();
+        ProdutoSnapshot snapshot;
+        try {
+            snapshot = lerParaOCache(Set.of(id), () -> delegate.buscarPorId(id))
+                    .map(ProdutoSnapshot::of)
+                    .orElse(null);
+        } catch (RuntimeException ex) {
+            cargas.remove(id, carga);
+            contadores.recordLoadFailure(System.nanoTime() - inicio);
+            throw ex;
+        }
+        if (snapshot == null) {
+            cargas.remove(id, carga);
+            contadores.recordLoadFailure(System.nanoTime() - inicio);
+            return null;
+        }
+        contadores.recordLoadSuccess(System.nanoTime() - inicio);
+        cache.put(id, snapshot);
+        if (!concluirCarga(id, carga, epoca)) {
+            cache.asMap().remove(id, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Multi-get: os IDs em cache são servidos dele e os demais vêm do delegate em uma
+     * única chamada (ausentes também não são cacheados). Como em carregar, o que foi lido
+     * antes de uma invalidação concorrente do mesmo ID é devolvido, mas sai do cache.
+     */
+    @Override
+    public List<Produto> buscarPorIds(Set<Long> ids) {
+        long epoca = limpezas.get();
+        Map<Long, Object> iniciadas = new HashMap<>();
+        Map<Long, ProdutoSnapshot> carregados = new HashMap<>();
+        Map<Long, ProdutoSnapshot> snapshots;
+        try {
+            snapshots = cache.getAll(ids, faltando -> {
+                faltando.forEach(id -> iniciadas.put(id, iniciarCarga(id)));
+                Map<Long, ProdutoSnapshot> lidos = lerParaOCache(faltando,
+                        () -> delegate.buscarPorIds(Set.copyOf(faltando))).stream()
+                        .collect(Collectors.toMap(Produto::getId, ProdutoSnapshot::of));
+                carregados.putAll(lidos);
+                return lidos;
+            });
+        } finally {
+            iniciadas.forEach((id, carga) -> {
+                if (!concluirCarga(id, carga, epoca) && carregados.containsKey(id)) {
+                    cache.asMap().remove(id, carregados.get(id));
+                }
+            });
+        }
+        return snapshots.values().stream()
+                .map(ProdutoSnapshot::toProduto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        try {
+            Produto salvo = delegate.salvar(produto);
+            invalidar(salvo.getId());
+            return salvo;
+        } catch (VersaoDesatualizadaException ex) {
+            // A versão em cache pode ser a desatualizada: a próxima leitura vai ao banco
+            invalidar(produto.getId());
+            throw ex;
+        }
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        try {
+            return delegate.atualizarCampos(produto, campos, condicional);
+        } finally {
+            // Também no conflito de versão: a versão em cache pode ser a desatualizada
+            invalidar(produto.getId());
+        }
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        try {
+            List<Produto> salvos = delegate.salvarTodos(produtos);
+            salvos.forEach(produto -> invalidar(produto.getId()));
+            return salvos;
+        } catch (VersaoDesatualizadaException ex) {
+            // Algum dos produtos atualizados estava desatualizado (talvez o que está em cache)
+            produtos.stream()
+                    .map(Produto::getId)
+                    .filter(Objects::nonNull)
+                    .forEach(this::invalidar);
+            throw ex;
+        }
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        boolean removido = delegate.deletar(id);
+        invalidar(id);
+        return removido;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> novoEstoque = delegate.reduzirEstoque(id, quantidade);
+        invalidar(id);
+        return novoEstoque;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> novoEstoque = delegate.aumentarEstoque(id, quantidade);
+        invalidar(id);
+        return novoEstoque;
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        delegate.alterarEstoquesEmLote(ids, alteracao);
+        ids.forEach(this::invalidar);
+    }
+
+    private void invalidar(Long id) {
+        // Antes da remoção: a carga em andamento do ID ou perde o token antes de concluir
+        // (e tira a sua entrada) ou já gravou, e a entrada é removida aqui
+        cargas.remove(id);
+        cache.invalidate(id);
+        escritosRecentemente.put(id, Boolean.TRUE);
+    }
+
+    private Object iniciarCarga(Long id) {
+        // Outra carga do mesmo ID que já estava registrada perde o token e não grava: não há
+        // como saber qual das duas leu o estado mais novo
+        Object carga = new Object();
+        cargas.put(id, carga);
+        return carga;
+    }
+
+    /**
+     * Chamado depois de gravar no cache; false se o ID foi invalidado (ou o cache limpo) desde
+     * iniciarCarga, e o snapshot gravado deve sair
+     */
+    private boolean concluirCarga(Long id, Object carga, long epoca) {
+        boolean valida = cargas.remove(id, carga);
+        return valida && limpezas.get() == epoca;
+    }
+
+    /**
+     * Produto escrito há pouco é lido do primário: uma réplica ainda atrasada devolveria a
+     * versão anterior, que ficaria no cache até o TTL
+     */
+    private <T> T lerParaOCache(Iterable<? extends Long> ids, Supplier<T> leitura) {
+        for (Long id : ids) {
+            if (escritosRecentemente.getIfPresent(id) != null) {
+                return ContextoRoteamento.noPrimario(leitura);
+            }
+        }
+        return leitura.get();
+    }
+
+    public CacheStats estatisticas() {
+        return cache.stats();
+    }
+
+    public long tamanho() {
+        return cache.estimatedSize();
+    }
+
+    public void limpar() {
+        limpezas.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * IDs em cache do mais para o menos acessado (frequência estimada pelo W-TinyLFU)
+     */
+    public List<Long> maisAcessados(int limite) {
+        return cache.policy().eviction()
+                .map(politica -> List.copyOf(politica.hottest(limite).keySet()))
+                .orElse(List.of());
+    }
+
+    /**
+     * Coloca os produtos no cache sem passar pelo delegate (ex.: os mais acessados antes de um
+     * restart, restaurados do snapshot do catálogo); não conta como acerto nem como carga
+     */
+    public void aquecer(Collection<Produto> produtos) {
+        for (Produto produto : produtos) {
+            cache.put(produto.getId(), ProdutoSnapshot.of(produto));
+        }
+    }
+
+    /**
+     * Cópia imutável do estado do produto guardada no cache
+     */
+    record ProdutoSnapshot(Long id, String nome, String descricao, BigDecimal preco,
+                           Integer estoque, String categoria, LocalDateTime dataCriacao,
+                           Long versao) {
+
+        static ProdutoSnapshot of(Produto produto) {
+            return new ProdutoSnapshot(
+                    produto.getId(),
+                    produto.getNome(),
+                    produto.getDescricao(),
+                    produto.getPreco(),
+                    produto.getEstoque(),
+                    produto.getCategoria(),
+                    produto.getDataCriacao(),
+                    produto.getVersao()
+            );
+        }
+
+        Produto toProduto() {
+            return new Produto(id, nome, descricao, preco, estoque, categoria, dataCriacao, versao);
+        }
+
+        int bytesEstimados() {
+            // Strings Java usam ~1 byte por caractere (Latin-1) ou 2 (UTF-16)
+            return BYTES_FIXOS_POR_ENTRADA + 2 * (tamanho(nome) + tamanho(descricao) + tamanho(categoria));
+        }
+
+        private static int tamanho(String valor) {
+            return valor == null ? 0 : valor.length();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.produtos.infrastructure.catalogo;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorator que avança a VersaoCatalogo a cada escrita bem-sucedida no Port
+ *
+ * A versão só avança depois da escrita; como as listagens leem a versão antes de
+ * consultar o banco, o pior caso é um ETag antigo acompanhando dados novos
+ * (o cliente baixa de novo no próximo GET), nunca um 304 com dados desatualizados.
+ *
+ * Nenhuma escrita consulta o produto antes: as de estoque devolvem a categoria junto com o
+ * novo estoque, e a categoria anterior (atualização e remoção) vem das EstatisticasCatalogo,
+ * que guardam a categoria de cada produto em memória. Se ela não é conhecida (carga inicial
+ * em andamento), todas as categorias são marcadas como alteradas.
+ */
+public class ProdutoRepositoryComVersaoCatalogo extends ProdutoRepositoryDecorator {
+
+    private final VersaoCatalogo versaoCatalogo;
+    private final EstatisticasCatalogo estatisticas;
+
+    public ProdutoRepositoryComVersaoCatalogo(ProdutoRepositoryPort delegate, VersaoCatalogo versaoCatalogo,
+                                              EstatisticasCatalogo estatisticas) {
+        super(delegate);
+        this.versaoCatalogo = versaoCatalogo;
+        this.estatisticas = estatisticas;
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        if (produto.getId() == null) {
+            Produto salvo = delegate.salvar(produto);
+            versaoCatalogo.registrarAlteracao(salvo.getCategoria());
+            return salvo;
+        }
+        // Em uma atualização, a categoria anterior também muda de conteúdo
+        String categoriaAnterior = categoriaAnterior(produto.getId());
+        Produto salvo = delegate.salvar(produto);
+        registrarAtualizacao(salvo, categoriaAnterior);
+        return salvo;
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        if (!campos.contains(CampoProduto.CATEGORIA)) {
+            Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+            versaoCatalogo.registrarAlteracao(salvo.getCategoria());
+            return salvo;
+        }
+        String categoriaAnterior = categoriaAnterior(produto.getId());
+        Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+        registrarAtualizacao(salvo, categoriaAnterior);
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        // Nas atualizações, as categorias anteriores também mudam de conteúdo
+        Set<String> categorias = new HashSet<>();
+        boolean anteriorDesconhecida = false;
+        for (Produto produto : produtos) {
+            if (produto.getId() != null) {
+                String anterior = categoriaAnterior(produto.getId());
+                if (anterior == null) {
+                    anteriorDesconhecida = true;
+                } else {
+                    categorias.add(anterior);
+                }
+            }
+        }
+        List<Produto> salvos = delegate.salvarTodos(produtos);
+        if (anteriorDesconhecida) {
+            versaoCatalogo.marcarTodasAlteradas();
+            return salvos;
+        }
+        salvos.forEach(produto -> categorias.add(produto.getCategoria()));
+        versaoCatalogo.registrarAlteracao(categorias.toArray(String[]::new));
+        return salvos;
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        String categoria = categoriaAnterior(id);
+        if (!delegate.deletar(id)) {
+            return false;
+        }
+        if (categoria == null) {
+            versaoCatalogo.marcarTodasAlteradas();
+        } else {
+            versaoCatalogo.registrarAlteracao(categoria);
+        }
+        return true;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.reduzirEstoque(id, quantidade);
+        estoque.ifPresent(e -> versaoCatalogo.registrarAlteracao(e.categoria()));
+        return estoque;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.aumentarEstoque(id, quantidade);
+        estoque.ifPresent(e -> versaoCatalogo.registrarAlteracao(e.categoria()));
+        return estoque;
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        // As categorias vêm dos próprios produtos carregados pelo lote, sem consulta extra
+        Set<String> categorias = new HashSet<>();
+        delegate.alterarEstoquesEmLote(ids, produtos -> {
+            produtos.values().forEach(produto -> categorias.add(produto.getCategoria()));
+            alteracao.accept(produtos);
+        });
+        versaoCatalogo.registrarAlteracao(categorias.toArray(String[]::new));
+    }
+
+    /**
+     * Lida antes da escrita, porque o decorator de estatísticas (abaixo deste) já indexa o
+     * novo estado; null se desconhecida
+     */
+    private String categoriaAnterior(Long id) {
+        return estatisticas.categoriaDe(id).orElse(null);
+    }
+
+    private void registrarAtualizacao(Produto salvo, String categoriaAnterior) {
+        if (categoriaAnterior == null) {
+            versaoCatalogo.marcarTodasAlteradas();
+        } else {
+            versaoCatalogo.registrarAlteracao(salvo.getCategoria(), categoriaAnterior);
+        }
+    }
+}
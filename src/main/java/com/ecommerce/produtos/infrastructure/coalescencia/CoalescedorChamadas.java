@@ -0,0 +1,91 @@
+package com.ecommerce.produtos.infrastructure.coalescencia;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Single-flight: chamadas concorrentes com a mesma chave compartilham uma única execução
+ *
+ * A primeira thread executa a chamada; as que chegam enquanto ela está em andamento
+ * esperam e recebem o mesmo resultado (ou a mesma exceção). Terminada a chamada, a chave
+ * sai do mapa: nada é guardado, a próxima chamada executa de novo.
+ *
+ * Contadores: produtos.coalescencia (tags "metodo" e "resultado" = executada | coalescida)
+ */
+public class CoalescedorChamadas<K, V> {
+
+    private static final String METRICA = "produtos.coalescencia";
+
+    private final Map<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+    private final Counter executadas;
+    private final Counter coalescidas;
+
+    public CoalescedorChamadas(MeterRegistry registry, String metodo) {
+        this.executadas = Counter.builder(METRICA)
+                .tags("metodo", metodo, "resultado", "executada")
+                .register(registry);
+        this.coalescidas = Counter.builder(METRICA)
+                .tags("metodo", metodo, "resultado", "coalescida")
+                .register(registry);
+    }
+
+    /**
+     * @param copia aplicada ao resultado entregue a cada thread, inclusive a que executou: o
+     *              original fica só no future compartilhado, e ninguém copia um objeto que
+     *              outra thread já pode estar alterando
+     */
+    public V executar(K chave, Supplier<V> chamada, UnaryOperator<V> copia) {
+        CompletableFuture<V> minha = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, minha);
+        if (existente != null) {
+            coalescidas.increment();
+            return copia.apply(aguardar(existente));
+        }
+
+        executadas.increment();
+        try {
+            V resultado = chamada.get();
+            minha.complete(resultado);
+            return copia.apply(resultado);
+        } catch (RuntimeException | Error ex) {
+            minha.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            emAndamento.remove(chave, minha);
+        }
+    }
+
+    /**
+     * Quem chegar depois não se junta à chamada em andamento (que pode ter lido o valor
+     * anterior a uma escrita); ela continua para quem já está esperando
+     */
+    public void esquecer(K chave) {
+        emAndamento.remove(chave);
+    }
+
+    public void esquecerTodas() {
+        emAndamento.clear();
+    }
+
+    private static <V> V aguardar(CompletableFuture<V> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException ex) {
+            // Relança a exceção original da chamada, não o wrapper do CompletableFuture
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (ex.getCause() instanceof Error causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+    }
+}
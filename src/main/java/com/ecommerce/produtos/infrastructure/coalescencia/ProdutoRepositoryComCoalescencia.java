@@ -0,0 +1,172 @@
+package com.ecommerce.produtos.infrastructure.coalescencia;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.datasource.ContextoRoteamento;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator que coalesce leituras concorrentes idênticas (buscarPorId, buscarPorCategoria
+ * e buscarPaginaPorCategoria) em uma única chamada ao delegate
+ *
+ * Fica abaixo do cache: coalesce o que o cache não atende (categorias) e as leituras por ID
+ * que chegam ao banco (misses concorrentes de um mesmo ID que passam pelo Caffeine já
+ * esperam a mesma carga). Cada thread, inclusive a que executou, recebe cópias dos
+ * produtos, já que Produto é mutável. Escritas fazem as leituras seguintes não se juntarem às que já estão
+ * em andamento, para não devolverem o estado anterior à escrita.
+ */
+public class ProdutoRepositoryComCoalescencia extends ProdutoRepositoryDecorator {
+
+    private final CoalescedorChamadas<Origem<Long>, Optional<Produto>> porId;
+    private final CoalescedorChamadas<Origem<String>, List<Produto>> porCategoria;
+    private final CoalescedorChamadas<Origem<PaginaPorCategoria>, List<Produto>> paginaPorCategoria;
+
+    public ProdutoRepositoryComCoalescencia(ProdutoRepositoryPort delegate, MeterRegistry registry) {
+        super(delegate);
+        this.porId = new CoalescedorChamadas<>(registry, "buscarPorId");
+        this.porCategoria = new CoalescedorChamadas<>(registry, "buscarPorCategoria");
+        this.paginaPorCategoria = new CoalescedorChamadas<>(registry, "buscarPaginaPorCategoria");
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        return porId.executar(Origem.de(id), () -> delegate.buscarPorId(id),
+                produto -> produto.map(ProdutoRepositoryComCoalescencia::copiar));
+    }
+
+    @Override
+    public List<Produto> buscarPorCategoria(String categoria) {
+        return porCategoria.executar(Origem.de(categoria), () -> delegate.buscarPorCategoria(categoria),
+                ProdutoRepositoryComCoalescencia::copiarTodos);
+    }
+
+    @Override
+    public List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite) {
+        return paginaPorCategoria.executar(Origem.de(new PaginaPorCategoria(categoria, aposId, limite)),
+                () -> delegate.buscarPaginaPorCategoria(categoria, aposId, limite),
+                ProdutoRepositoryComCoalescencia::copiarTodos);
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        try {
+            return delegate.salvar(produto);
+        } finally {
+            esquecer(produto.getId());
+        }
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        try {
+            return delegate.atualizarCampos(produto, campos, condicional);
+        } finally {
+            esquecer(produto.getId());
+        }
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        try {
+            return delegate.salvarTodos(produtos);
+        } finally {
+            // Produtos novos ainda não têm leituras por ID em andamento; os atualizados, sim
+            produtos.stream()
+                    .map(Produto::getId)
+                    .filter(Objects::nonNull)
+                    .forEach(this::esquecerId);
+            esquecerCategorias();
+        }
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        try {
+            return delegate.deletar(id);
+        } finally {
+            esquecer(id);
+        }
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        try {
+            return delegate.reduzirEstoque(id, quantidade);
+        } finally {
+            esquecer(id);
+        }
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        try {
+            return delegate.aumentarEstoque(id, quantidade);
+        } finally {
+            esquecer(id);
+        }
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        try {
+            delegate.alterarEstoquesEmLote(ids, alteracao);
+        } finally {
+            ids.forEach(this::esquecerId);
+            esquecerCategorias();
+        }
+    }
+
+    private void esquecer(Long id) {
+        if (id != null) {
+            esquecerId(id);
+        }
+        // A categoria do produto não é conhecida aqui (pode ter mudado): vale para todas
+        esquecerCategorias();
+    }
+
+    private void esquecerId(Long id) {
+        porId.esquecer(new Origem<>(id, true));
+        porId.esquecer(new Origem<>(id, false));
+    }
+
+    private void esquecerCategorias() {
+        porCategoria.esquecerTodas();
+        paginaPorCategoria.esquecerTodas();
+    }
+
+    private static Produto copiar(Produto produto) {
+        return new Produto(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getEstoque(), produto.getCategoria(), produto.getDataCriacao(), produto.getVersao());
+    }
+
+    private static List<Produto> copiarTodos(List<Produto> produtos) {
+        return produtos.stream()
+                .map(ProdutoRepositoryComCoalescencia::copiar)
+                .collect(Collectors.toList());
+    }
+
+    private record PaginaPorCategoria(String categoria, Long aposId, int limite) {
+    }
+
+    /**
+     * Leituras que podem ir para uma réplica não se juntam às que precisam do primário
+     * (leitura após escrita, carga do cache de um ID recém-escrito): a origem faz parte da chave
+     */
+    private record Origem<K>(K chave, boolean replica) {
+
+        static <K> Origem<K> de(K chave) {
+            return new Origem<>(chave, ContextoRoteamento.podeLerDaReplica());
+        }
+    }
+}
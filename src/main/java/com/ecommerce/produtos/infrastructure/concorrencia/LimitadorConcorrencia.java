@@ -0,0 +1,116 @@
+package com.ecommerce.produtos.infrastructure.concorrencia;
+
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de concorrência adaptativo dos Use Cases com descarte por prioridade
+ *
+ * Uma chamada só entra se as chamadas em andamento estiverem abaixo da fração do limite
+ * (LimiteGradiente) da sua prioridade; senão é recusada na hora com
+ * ServicoSobrecarregadoException, em vez de esperar uma conexão do pool atrás das demais.
+ * Assim, com o banco lento, as listagens completas e as operações em massa são recusadas
+ * primeiro e as leituras por ID por último.
+ * Medidores: produtos.concorrencia.limite, produtos.concorrencia.em.andamento,
+ * produtos.concorrencia.latencia.referencia (ms) e produtos.concorrencia.rejeicoes (tag "prioridade").
+ */
+public class LimitadorConcorrencia {
+
+    public enum Prioridade {
+        // Leitura por ID e estoque: só são recusadas com o limite inteiro ocupado
+        ALTA(1.0, true),
+        // Demais leituras e escritas de um produto
+        NORMAL(0.9, true),
+        // Listagem completa
+        BAIXA(0.5, true),
+        // Exportação, importação e lote: duram o tamanho do catálogo, então não entram
+        // na medição de latência
+        MASSA(0.25, false);
+
+        private final double fracaoDoLimite;
+        private final boolean medeLatencia;
+
+        Prioridade(double fracaoDoLimite, boolean medeLatencia) {
+            this.fracaoDoLimite = fracaoDoLimite;
+            this.medeLatencia = medeLatencia;
+        }
+    }
+
+    private final boolean habilitado;
+    private final LimiteGradiente limite;
+    private final Duration tentarApos;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final Map<Prioridade, Counter> rejeicoes = new EnumMap<>(Prioridade.class);
+
+    /**
+     * @param habilitado desligado, LimiteConcorrenciaUseCase não coloca os Use Cases atrás do limite
+     * @param janela     tempo mínimo de cada janela de medição da latência
+     * @param tentarApos enviado ao cliente recusado (Retry-After)
+     */
+    public LimitadorConcorrencia(boolean habilitado, int limiteInicial, int limiteMinimo, int limiteMaximo,
+                                 double tolerancia, Duration janela, Duration tentarApos, MeterRegistry registry) {
+        this.habilitado = habilitado;
+        this.limite = new LimiteGradiente(limiteInicial, limiteMinimo, limiteMaximo, tolerancia, janela);
+        this.tentarApos = tentarApos;
+        Gauge.builder("produtos.concorrencia.limite", limite, LimiteGradiente::limite)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("produtos.concorrencia.em.andamento", emAndamento, AtomicInteger::get)
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("produtos.concorrencia.latencia.referencia", limite, LimiteGradiente::latenciaLongaMs)
+                .baseUnit("milliseconds")
+                .strongReference(true)
+                .register(registry);
+        for (Prioridade prioridade : Prioridade.values()) {
+            rejeicoes.put(prioridade, Counter.builder("produtos.concorrencia.rejeicoes")
+                    .tag("prioridade", prioridade.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Ocupa uma vaga para a prioridade ou recusa a chamada
+     *
+     * @return instante (System.nanoTime()) a devolver em liberar
+     */
+    public long adquirir(Prioridade prioridade) {
+        int teto = Math.max(1, (int) (limite.limite() * prioridade.fracaoDoLimite));
+        int atual;
+        do {
+            atual = emAndamento.get();
+            if (atual >= teto) {
+                rejeicoes.get(prioridade).increment();
+                throw new ServicoSobrecarregadoException(tentarApos);
+            }
+        } while (!emAndamento.compareAndSet(atual, atual + 1));
+        return System.nanoTime();
+    }
+
+    public void liberar(Prioridade prioridade, long inicio) {
+        int ocupadas = emAndamento.getAndDecrement();
+        if (prioridade.medeLatencia) {
+            long agora = System.nanoTime();
+            limite.registrar(agora, agora - inicio, ocupadas);
+        }
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    public int limite() {
+        return limite.limite();
+    }
+
+    public int emAndamento() {
+        return emAndamento.get();
+    }
+}
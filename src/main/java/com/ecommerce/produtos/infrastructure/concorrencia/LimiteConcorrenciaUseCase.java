@@ -0,0 +1,54 @@
+package com.ecommerce.produtos.infrastructure.concorrencia;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+
+/**
+ * Coloca um Use Case atrás do LimitadorConcorrencia, com a prioridade dada
+ * (a camada application não conhece o limite)
+ *
+ * Só os métodos executar* ocupam vaga; com o limitador desligado, o Use Case é devolvido como
+ * está. Se o Use Case já é um proxy (MetricasUseCase.instrumentar), o interceptor entra no mesmo
+ * proxy antes dos demais: uma chamada recusada não chega às métricas do Use Case nem ao roteamento.
+ */
+public final class LimiteConcorrenciaUseCase {
+
+    private LimiteConcorrenciaUseCase() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T limitar(T useCase, LimitadorConcorrencia limitador,
+                                LimitadorConcorrencia.Prioridade prioridade) {
+        if (!limitador.habilitado()) {
+            return useCase;
+        }
+        Interceptor interceptor = new Interceptor(limitador, prioridade);
+        if (useCase instanceof Advised proxy) {
+            proxy.addAdvice(0, interceptor);
+            return useCase;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(useCase);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (T) proxyFactory.getProxy(useCase.getClass().getClassLoader());
+    }
+
+    private record Interceptor(LimitadorConcorrencia limitador,
+                               LimitadorConcorrencia.Prioridade prioridade) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocacao) throws Throwable {
+            if (!invocacao.getMethod().getName().startsWith("executar")) {
+                return invocacao.proceed();
+            }
+            long inicio = limitador.adquirir(prioridade);
+            try {
+                return invocacao.proceed();
+            } finally {
+                limitador.liberar(prioridade, inicio);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.produtos.infrastructure.concorrencia;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência adaptativo pelo gradiente da latência (no estilo do Gradient2 da
+ * biblioteca concurrency-limits)
+ *
+ * As latências são agregadas em janelas (tempo mínimo e AMOSTRAS_POR_JANELA amostras): a média
+ * da janela é a latência curta e a média móvel exponencial das janelas é a longa, a referência
+ * do serviço saudável. Ao fim de cada janela:
+ * gradiente = tolerância * longa / curta, entre 0,5 e 1, e
+ * novo limite = limite * gradiente + sqrt(limite), suavizado e entre o mínimo e o máximo.
+ * Com latência estável o limite cresce aos poucos; quando o banco enfileira, a latência curta
+ * sobe e o limite cai na mesma proporção. Se a lentidão persistir, a longa a alcança e o limite
+ * volta a crescer a partir do novo patamar; quando a latência volta ao normal, a longa
+ * recua rápido. O limite não muda em janelas em que as chamadas em andamento não
+ * chegaram à metade dele: aí a latência não diz nada sobre a capacidade.
+ */
+final class LimiteGradiente {
+
+    static final int AMOSTRAS_POR_JANELA = 10;
+    // Peso de cada janela na latência longa (~600 janelas)
+    private static final double PESO_LONGA = 2.0 / 601;
+    private static final double SUAVIZACAO = 0.2;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final long janelaMinimaNanos;
+
+    // Lido a cada admissão: sem lock
+    private volatile double limite;
+
+    // Estado da janela e da latência longa; lock em vez de synchronized, que no Java 21 prende a
+    // thread virtual à thread do sistema enquanto espera
+    private final ReentrantLock lock = new ReentrantLock();
+    private long inicioJanela;
+    private long somaLatencias;
+    private int amostras;
+    private int maxEmAndamento;
+    private double latenciaLonga;
+
+    LimiteGradiente(int inicial, int minimo, int maximo, double tolerancia, Duration janelaMinima) {
+        if (minimo < 1 || minimo > maximo || inicial < minimo || inicial > maximo) {
+            throw new IllegalArgumentException("Limites inválidos: inicial " + inicial
+                    + ", mínimo " + minimo + ", máximo " + maximo);
+        }
+        if (tolerancia < 1) {
+            throw new IllegalArgumentException("Tolerância deve ser pelo menos 1");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.janelaMinimaNanos = janelaMinima.toNanos();
+        this.limite = inicial;
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    /**
+     * Latência (ms) de referência; 0 antes da primeira janela
+     */
+    double latenciaLongaMs() {
+        lock.lock();
+        try {
+            return latenciaLonga / 1_000_000;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param agora         System.nanoTime() do fim da chamada
+     * @param latencia      duração da chamada em nanossegundos
+     * @param emAndamento   chamadas em andamento quando esta terminou (incluindo ela)
+     */
+    void registrar(long agora, long latencia, int emAndamento) {
+        lock.lock();
+        try {
+            registrarNaJanela(agora, latencia, emAndamento);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void registrarNaJanela(long agora, long latencia, int emAndamento) {
+        if (amostras == 0) {
+            inicioJanela = agora;
+        }
+        somaLatencias += latencia;
+        amostras++;
+        maxEmAndamento = Math.max(maxEmAndamento, emAndamento);
+        if (amostras < AMOSTRAS_POR_JANELA || agora - inicioJanela < janelaMinimaNanos) {
+            return;
+        }
+        double latenciaCurta = Math.max(1, (double) somaLatencias / amostras);
+        int maxJanela = maxEmAndamento;
+        somaLatencias = 0;
+        amostras = 0;
+        maxEmAndamento = 0;
+        atualizar(latenciaCurta, maxJanela);
+    }
+
+    private void atualizar(double latenciaCurta, int maxEmAndamento) {
+        if (latenciaLonga == 0) {
+            latenciaLonga = latenciaCurta;
+        } else {
+            latenciaLonga += (latenciaCurta - latenciaLonga) * PESO_LONGA;
+        }
+        // Depois de um pico, a referência volta rápido ao normal (senão o limite seguiria alto)
+        if (latenciaLonga / latenciaCurta > 2) {
+            latenciaLonga *= 0.95;
+        }
+
+        double atual = limite;
+        if (maxEmAndamento < atual / 2) {
+            return;
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, tolerancia * latenciaLonga / latenciaCurta));
+        double novo = atual * gradiente + Math.sqrt(atual);
+        novo = atual * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(minimo, Math.min(maximo, novo));
+    }
+}
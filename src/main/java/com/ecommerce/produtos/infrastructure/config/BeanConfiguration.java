@@ -1,44 +1,431 @@
 package com.ecommerce.produtos.infrastructure.config;
 
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.application.estoque.AgrupadorReservasEstoque;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.application.preco.IndicePrecos;
 import com.ecommerce.produtos.application.usecase.*;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.busca.CarregadorIndiceBusca;
+import com.ecommerce.produtos.infrastructure.busca.ProdutoRepositoryComIndiceBusca;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoCacheEndpoint;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoRepositoryComCache;
+import com.ecommerce.produtos.infrastructure.catalogo.ProdutoRepositoryComVersaoCatalogo;
+import com.ecommerce.produtos.infrastructure.coalescencia.ProdutoRepositoryComCoalescencia;
+import com.ecommerce.produtos.infrastructure.concorrencia.LimitadorConcorrencia;
+import com.ecommerce.produtos.infrastructure.concorrencia.LimitadorConcorrencia.Prioridade;
+import com.ecommerce.produtos.infrastructure.concorrencia.LimiteConcorrenciaUseCase;
+import com.ecommerce.produtos.infrastructure.datasource.RoteamentoUseCase;
+import com.ecommerce.produtos.infrastructure.estatisticas.ProdutoRepositoryComEstatisticas;
+import com.ecommerce.produtos.infrastructure.estatisticas.ReconciliadorEstatisticas;
+import com.ecommerce.produtos.infrastructure.estoque.ReservasEstoqueEndpoint;
+import com.ecommerce.produtos.infrastructure.facetas.CarregadorIndiceFacetas;
+import com.ecommerce.produtos.infrastructure.facetas.ProdutoRepositoryComIndiceFacetas;
+import com.ecommerce.produtos.infrastructure.metricas.MetricasUseCase;
+import com.ecommerce.produtos.infrastructure.metricas.ProdutoRepositoryComMetricas;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryImpl;
+import com.ecommerce.produtos.infrastructure.preco.CarregadorIndicePrecos;
+import com.ecommerce.produtos.infrastructure.preco.ProdutoRepositoryComIndicePrecos;
+import com.ecommerce.produtos.infrastructure.sharding.ProdutoRepositoryComShards;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 
 /**
  * Configuração dos Beans - Injeção de Dependências
  * Aqui criamos as instâncias dos Use Cases
+ * (cada Use Case é instrumentado com métricas via MetricasUseCase.instrumentar;
+ * os de leitura são marcados com RoteamentoUseCase.somenteLeitura e podem usar réplicas,
+ * e as listagens com ETag do catálogo voltam ao primário logo depois de uma escrita;
+ * todos ficam atrás do LimitadorConcorrencia, com a prioridade de descarte de cada um)
  */
 @Configuration
 public class BeanConfiguration {
 
+    /**
+     * Port usado pelos Use Cases:
+     * índice de busca -> facetas -> índice de preços -> versão do catálogo -> estatísticas
+     * -> cache de buscarPorId -> coalescência de leituras -> métricas -> repositório JPA (ou shards)
+     */
+    @Bean
+    @Primary
+    public ProdutoRepositoryComIndiceBusca produtoRepositoryComIndiceBusca(
+            ProdutoRepositoryComIndiceFacetas repositoryComIndiceFacetas,
+            IndiceBuscaProdutos indiceBuscaProdutos) {
+        return new ProdutoRepositoryComIndiceBusca(repositoryComIndiceFacetas, indiceBuscaProdutos);
+    }
+
+    @Bean
+    public IndiceBuscaProdutos indiceBuscaProdutos() {
+        return new IndiceBuscaProdutos();
+    }
+
+    @Bean
+    public CarregadorIndiceBusca carregadorIndiceBusca(
+            ProdutoRepositoryPort repositoryPort,
+            IndiceBuscaProdutos indiceBuscaProdutos) {
+        return new CarregadorIndiceBusca(repositoryPort, indiceBuscaProdutos);
+    }
+
+    @Bean
+    public ProdutoRepositoryComIndiceFacetas produtoRepositoryComIndiceFacetas(
+            ProdutoRepositoryComIndicePrecos repositoryComIndicePrecos,
+            IndiceFacetas indiceFacetas) {
+        return new ProdutoRepositoryComIndiceFacetas(repositoryComIndicePrecos, indiceFacetas);
+    }
+
+    @Bean
+    public IndiceFacetas indiceFacetas(
+            @Value("${produtos.facetas.faixas-preco:50,100,250,500,1000}") BigDecimal[] limitesFaixasPreco) {
+        return new IndiceFacetas(limitesFaixasPreco);
+    }
+
+    @Bean
+    public CarregadorIndiceFacetas carregadorIndiceFacetas(
+            ProdutoRepositoryPort repositoryPort,
+            IndiceFacetas indiceFacetas) {
+        return new CarregadorIndiceFacetas(repositoryPort, indiceFacetas);
+    }
+
+    @Bean
+    public ProdutoRepositoryComIndicePrecos produtoRepositoryComIndicePrecos(
+            ProdutoRepositoryComVersaoCatalogo repositoryComVersaoCatalogo,
+            IndicePrecos indicePrecos) {
+        return new ProdutoRepositoryComIndicePrecos(repositoryComVersaoCatalogo, indicePrecos);
+    }
+
+    @Bean
+    public IndicePrecos indicePrecos() {
+        return new IndicePrecos();
+    }
+
+    @Bean
+    public CarregadorIndicePrecos carregadorIndicePrecos(
+            ProdutoRepositoryPort repositoryPort,
+            IndicePrecos indicePrecos) {
+        return new CarregadorIndicePrecos(repositoryPort, indicePrecos);
+    }
+
+    @Bean
+    public ProdutoRepositoryComVersaoCatalogo produtoRepositoryComVersaoCatalogo(
+            ProdutoRepositoryComEstatisticas repositoryComEstatisticas,
+            VersaoCatalogo versaoCatalogo,
+            EstatisticasCatalogo estatisticasCatalogo) {
+        return new ProdutoRepositoryComVersaoCatalogo(repositoryComEstatisticas, versaoCatalogo,
+                estatisticasCatalogo);
+    }
+
+    @Bean
+    public VersaoCatalogo versaoCatalogo() {
+        return new VersaoCatalogo();
+    }
+
+    /**
+     * Abaixo da versão do catálogo: as estatísticas já estão atualizadas quando o ETag muda
+     */
+    @Bean
+    public ProdutoRepositoryComEstatisticas produtoRepositoryComEstatisticas(
+            ProdutoRepositoryComCache repositoryComCache,
+            EstatisticasCatalogo estatisticasCatalogo) {
+        return new ProdutoRepositoryComEstatisticas(repositoryComCache, estatisticasCatalogo);
+    }
+
+    @Bean
+    public EstatisticasCatalogo estatisticasCatalogo() {
+        return new EstatisticasCatalogo();
+    }
+
+    @Bean(destroyMethod = "encerrar")
+    public ReconciliadorEstatisticas reconciliadorEstatisticas(
+            ProdutoRepositoryPort repositoryPort,
+            EstatisticasCatalogo estatisticasCatalogo,
+            @Value("${produtos.estatisticas.reconciliacao.intervalo:5m}") Duration intervalo,
+            @Value("${produtos.estatisticas.reconciliacao.reconferencia:10s}") Duration reconferencia,
+            MeterRegistry meterRegistry) {
+        return new ReconciliadorEstatisticas(repositoryPort, estatisticasCatalogo, intervalo, reconferencia,
+                meterRegistry);
+    }
+
+    @Bean
+    public ProdutoRepositoryComCache produtoRepositoryComCache(
+            ProdutoRepositoryComCoalescencia repositoryComCoalescencia,
+            @Value("${produtos.cache.max-entradas:10000}") long maxEntradas,
+            @Value("${produtos.cache.max-bytes:0}") long maxBytes,
+            @Value("${produtos.cache.ttl:10m}") Duration ttl,
+            @Value("${produtos.datasource.leitura-apos-escrita:5s}") Duration leituraNoPrimarioAposEscrita) {
+        return new ProdutoRepositoryComCache(repositoryComCoalescencia, maxEntradas, maxBytes, ttl,
+                leituraNoPrimarioAposEscrita);
+    }
+
+    /**
+     * Leituras concorrentes iguais (por ID e por categoria) compartilham uma chamada ao banco
+     */
+    @Bean
+    public ProdutoRepositoryComCoalescencia produtoRepositoryComCoalescencia(
+            ProdutoRepositoryComMetricas repositoryComMetricas,
+            MeterRegistry meterRegistry) {
+        return new ProdutoRepositoryComCoalescencia(repositoryComMetricas, meterRegistry);
+    }
+
+    /**
+     * Métricas de cada método do Port, medidas logo acima do repositório JPA
+     * (ou dos shards, com produtos.sharding.shards configurado)
+     */
+    @Bean
+    public ProdutoRepositoryComMetricas produtoRepositoryComMetricas(
+            ProdutoRepositoryImpl repositoryImpl,
+            ObjectProvider<ProdutoRepositoryComShards> repositoryComShards,
+            MeterRegistry meterRegistry) {
+        ProdutoRepositoryPort repositorio = repositoryComShards.getIfAvailable();
+        return new ProdutoRepositoryComMetricas(repositorio != null ? repositorio : repositoryImpl, meterRegistry);
+    }
+
+    @Bean
+    public ProdutoCacheEndpoint produtoCacheEndpoint(ProdutoRepositoryComCache repositoryComCache) {
+        return new ProdutoCacheEndpoint(repositoryComCache);
+    }
+
+    /**
+     * Limite adaptativo de chamadas simultâneas aos Use Cases (acima dele, 503 com Retry-After)
+     */
+    @Bean
+    public LimitadorConcorrencia limitadorConcorrencia(
+            @Value("${produtos.concorrencia.habilitado:true}") boolean habilitado,
+            @Value("${produtos.concorrencia.limite-inicial:20}") int limiteInicial,
+            @Value("${produtos.concorrencia.limite-minimo:4}") int limiteMinimo,
+            @Value("${produtos.concorrencia.limite-maximo:200}") int limiteMaximo,
+            @Value("${produtos.concorrencia.tolerancia:1.5}") double tolerancia,
+            @Value("${produtos.concorrencia.janela:200ms}") Duration janela,
+            @Value("${produtos.concorrencia.retry-after:1s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        return new LimitadorConcorrencia(habilitado, limiteInicial, limiteMinimo, limiteMaximo,
+                tolerancia, janela, retryAfter, meterRegistry);
+    }
+
+    @Bean
+    public CriarProdutoUseCase criarProdutoUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new CriarProdutoUseCase(repositoryPort), meterRegistry),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public CriarProdutosEmLoteUseCase criarProdutosEmLoteUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            @Value("${produtos.lote.tamanho-chunk:500}") int tamanhoChunk,
+            @Value("${produtos.lote.max-itens:10000}") int maxItens,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new CriarProdutosEmLoteUseCase(repositoryPort, tamanhoChunk, maxItens), meterRegistry),
+                limitador, Prioridade.MASSA);
+    }
+
+    @Bean
+    public ImportarProdutosUseCase importarProdutosUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            @Value("${produtos.importacao.tamanho-chunk:500}") int tamanhoChunk,
+            @Value("${produtos.importacao.max-erros:1000}") int maxErros,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new ImportarProdutosUseCase(repositoryPort, tamanhoChunk, maxErros), meterRegistry),
+                limitador, Prioridade.MASSA);
+    }
+
+    @Bean
+    public BuscarProdutoPorIdUseCase buscarProdutoPorIdUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeitura(MetricasUseCase.instrumentar(
+                        new BuscarProdutoPorIdUseCase(repositoryPort), meterRegistry)),
+                limitador, Prioridade.ALTA);
+    }
+
     @Bean
-    public CriarProdutoUseCase criarProdutoUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new CriarProdutoUseCase(repositoryPort);
+    public BuscarProdutosPorIdsUseCase buscarProdutosPorIdsUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            @Value("${produtos.busca-por-ids.max-ids:100}") int maxIds,
+            VersaoCatalogo versaoCatalogo,
+            @Value("${produtos.datasource.leitura-apos-escrita:5s}") Duration leituraNoPrimarioAposEscrita,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(MetricasUseCase.instrumentar(
+                        new BuscarProdutosPorIdsUseCase(repositoryPort, maxIds), meterRegistry),
+                        versaoCatalogo, leituraNoPrimarioAposEscrita, Clock.systemUTC()),
+                limitador, Prioridade.NORMAL);
     }
 
     @Bean
-    public BuscarProdutoPorIdUseCase buscarProdutoPorIdUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new BuscarProdutoPorIdUseCase(repositoryPort);
+    public ListarTodosProdutosUseCase listarTodosProdutosUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            VersaoCatalogo versaoCatalogo,
+            @Value("${produtos.datasource.leitura-apos-escrita:5s}") Duration leituraNoPrimarioAposEscrita,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(MetricasUseCase.instrumentar(
+                        new ListarTodosProdutosUseCase(repositoryPort), meterRegistry),
+                        versaoCatalogo, leituraNoPrimarioAposEscrita, Clock.systemUTC()),
+                limitador, Prioridade.BAIXA);
     }
 
     @Bean
-    public ListarTodosProdutosUseCase listarTodosProdutosUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new ListarTodosProdutosUseCase(repositoryPort);
+    public AtualizarProdutoUseCase atualizarProdutoUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new AtualizarProdutoUseCase(repositoryPort), meterRegistry),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public AtualizarProdutoParcialmenteUseCase atualizarProdutoParcialmenteUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new AtualizarProdutoParcialmenteUseCase(repositoryPort), meterRegistry),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public DeletarProdutoUseCase deletarProdutoUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new DeletarProdutoUseCase(repositoryPort), meterRegistry),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public BuscarPorCategoriaUseCase buscarPorCategoriaUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            VersaoCatalogo versaoCatalogo,
+            @Value("${produtos.datasource.leitura-apos-escrita:5s}") Duration leituraNoPrimarioAposEscrita,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(MetricasUseCase.instrumentar(
+                        new BuscarPorCategoriaUseCase(repositoryPort), meterRegistry),
+                        versaoCatalogo, leituraNoPrimarioAposEscrita, Clock.systemUTC()),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            IndiceBuscaProdutos indiceBuscaProdutos,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeitura(MetricasUseCase.instrumentar(
+                        new BuscarProdutosPorTextoUseCase(repositoryPort, indiceBuscaProdutos), meterRegistry)),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public FiltrarPorFacetasUseCase filtrarPorFacetasUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            IndiceFacetas indiceFacetas,
+            VersaoCatalogo versaoCatalogo,
+            @Value("${produtos.datasource.leitura-apos-escrita:5s}") Duration leituraNoPrimarioAposEscrita,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(MetricasUseCase.instrumentar(
+                        new FiltrarPorFacetasUseCase(repositoryPort, indiceFacetas), meterRegistry),
+                        versaoCatalogo, leituraNoPrimarioAposEscrita, Clock.systemUTC()),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public ObterEstatisticasUseCase obterEstatisticasUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            EstatisticasCatalogo estatisticasCatalogo,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeitura(MetricasUseCase.instrumentar(
+                        new ObterEstatisticasUseCase(repositoryPort, estatisticasCatalogo), meterRegistry)),
+                limitador, Prioridade.NORMAL);
+    }
+
+    @Bean
+    public ExportarProdutosUseCase exportarProdutosUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                RoteamentoUseCase.somenteLeitura(MetricasUseCase.instrumentar(
+                        new ExportarProdutosUseCase(repositoryPort), meterRegistry)),
+                limitador, Prioridade.MASSA);
+    }
+
+    /**
+     * Group commit das baixas de estoque; só é criado com
+     * produtos.estoque.agrupamento.habilitado=true
+     */
+    @Bean(destroyMethod = "encerrar")
+    @ConditionalOnProperty(name = "produtos.estoque.agrupamento.habilitado", havingValue = "true")
+    public AgrupadorReservasEstoque agrupadorReservasEstoque(
+            ProdutoRepositoryPort repositoryPort,
+            @Value("${produtos.estoque.agrupamento.janela:2ms}") Duration janela,
+            @Value("${produtos.estoque.agrupamento.max-pedidos:1000}") int maxPedidos,
+            @Value("${produtos.estoque.agrupamento.espera-maxima:5s}") Duration esperaMaxima) {
+        return new AgrupadorReservasEstoque(repositoryPort, janela, maxPedidos, esperaMaxima);
     }
 
     @Bean
-    public AtualizarProdutoUseCase atualizarProdutoUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new AtualizarProdutoUseCase(repositoryPort);
+    public ReservasEstoqueEndpoint reservasEstoqueEndpoint(
+            ObjectProvider<AgrupadorReservasEstoque> agrupador) {
+        return new ReservasEstoqueEndpoint(agrupador);
     }
 
     @Bean
-    public DeletarProdutoUseCase deletarProdutoUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new DeletarProdutoUseCase(repositoryPort);
+    public ReservarEstoqueUseCase reservarEstoqueUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            ObjectProvider<AgrupadorReservasEstoque> agrupador,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new ReservarEstoqueUseCase(repositoryPort, agrupador.getIfAvailable()), meterRegistry),
+                limitador, Prioridade.ALTA);
     }
 
     @Bean
-    public BuscarPorCategoriaUseCase buscarPorCategoriaUseCase(ProdutoRepositoryPort repositoryPort) {
-        return new BuscarPorCategoriaUseCase(repositoryPort);
+    public ReporEstoqueUseCase reporEstoqueUseCase(
+            ProdutoRepositoryPort repositoryPort,
+            LimitadorConcorrencia limitador,
+            MeterRegistry meterRegistry) {
+        return LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(
+                        new ReporEstoqueUseCase(repositoryPort), meterRegistry),
+                limitador, Prioridade.ALTA);
     }
 }
\ No newline at end of file
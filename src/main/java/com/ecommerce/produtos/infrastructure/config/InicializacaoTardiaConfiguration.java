@@ -0,0 +1,61 @@
+package com.ecommerce.produtos.infrastructure.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+
+/**
+ * Inicialização tardia dos beans que não atendem a API: com produtos.inicializacao.tardia
+ * (prefixos de classe), esses beans só são criados no primeiro uso, fora do tempo de subida
+ *
+ * Vale para o bean cuja classe, ou a classe da @Configuration que o declara, começa com um dos
+ * prefixos (ex.: org.springdoc e o OpenApiConfig, no profile prod). Ao contrário de
+ * spring.main.lazy-initialization, não adia o que a primeira requisição vai usar.
+ */
+@Configuration
+public class InicializacaoTardiaConfiguration {
+
+    @Bean
+    public static BeanFactoryPostProcessor inicializacaoTardia(Environment environment) {
+        List<String> prefixos = Binder.get(environment)
+                .bind("produtos.inicializacao.tardia", Bindable.listOf(String.class))
+                .orElse(List.of());
+        return beanFactory -> {
+            if (prefixos.isEmpty()) {
+                return;
+            }
+            for (String nome : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definicao = beanFactory.getBeanDefinition(nome);
+                if (definicao.isAbstract() || definicao.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                if (corresponde(prefixos, definicao.getBeanClassName())
+                        || corresponde(prefixos, classeDeclarante(beanFactory, definicao))) {
+                    definicao.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Classe da @Configuration de um bean declarado por método @Bean (null nos demais)
+     */
+    private static String classeDeclarante(ConfigurableListableBeanFactory beanFactory, BeanDefinition definicao) {
+        String fabrica = definicao.getFactoryBeanName();
+        if (fabrica == null || !beanFactory.containsBeanDefinition(fabrica)) {
+            return null;
+        }
+        return beanFactory.getBeanDefinition(fabrica).getBeanClassName();
+    }
+
+    private static boolean corresponde(List<String> prefixos, String classe) {
+        return classe != null && prefixos.stream().anyMatch(classe::startsWith);
+    }
+}
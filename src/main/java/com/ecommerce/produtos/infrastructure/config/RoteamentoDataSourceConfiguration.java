@@ -0,0 +1,110 @@
+package com.ecommerce.produtos.infrastructure.config;
+
+import com.ecommerce.produtos.infrastructure.datasource.FiltroLeituraAposEscrita;
+import com.ecommerce.produtos.infrastructure.datasource.MonitorReplicas;
+import com.ecommerce.produtos.infrastructure.datasource.RoteamentoDataSource;
+import com.ecommerce.produtos.infrastructure.datasource.SemaforosConexoes;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura: só é ativada com produtos.datasource.replicas[0].url configurada
+ * (sem réplicas, o DataSource continua sendo o de spring.datasource, criado pelo Spring Boot)
+ *
+ * O primário vem de spring.datasource (pool em spring.datasource.hikari.*); cada réplica
+ * tem o seu pool, somente leitura. O DataSource usado por JPA e JdbcTemplate é o
+ * RoteamentoDataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "produtos.datasource.replicas[0].url")
+@EnableConfigurationProperties(RoteamentoDataSourceConfiguration.PropriedadesReplicas.class)
+public class RoteamentoDataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "iniciar", destroyMethod = "encerrar")
+    public MonitorReplicas monitorReplicas(
+            PropriedadesReplicas propriedades,
+            ObjectProvider<SemaforosConexoes> semaforosConexoes,
+            MeterRegistry meterRegistry) {
+        SemaforosConexoes semaforos = semaforosConexoes.getIfAvailable();
+        List<MonitorReplicas.Replica> replicas = new ArrayList<>(propriedades.replicas().size());
+        for (int i = 0; i < propriedades.replicas().size(); i++) {
+            PropriedadesReplicas.Replica replica = propriedades.replicas().get(i);
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(replica.username())
+                    .password(replica.password())
+                    .build();
+            String nome = "replica-" + i;
+            pool.setPoolName(nome);
+            pool.setReadOnly(true);
+            pool.setMaximumPoolSize(replica.maxConexoes());
+            DataSource dataSource = semaforos != null ? semaforos.envolver(pool, nome) : pool;
+            replicas.add(new MonitorReplicas.Replica(nome, dataSource, replica.consultaAtraso()));
+        }
+        return new MonitorReplicas(replicas, propriedades.atrasoMaximo(),
+                propriedades.intervaloVerificacao(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public RoteamentoDataSource dataSource(
+            // DataSource, não HikariDataSource: no modo de threads virtuais o pool vem com o semáforo
+            DataSource dataSourcePrimario,
+            MonitorReplicas monitorReplicas,
+            MeterRegistry meterRegistry) {
+        return new RoteamentoDataSource(dataSourcePrimario, monitorReplicas, meterRegistry);
+    }
+
+    @Bean
+    public FiltroLeituraAposEscrita filtroLeituraAposEscrita(PropriedadesReplicas propriedades) {
+        return new FiltroLeituraAposEscrita(propriedades.leituraAposEscrita(), Clock.systemUTC());
+    }
+
+    /**
+     * @param atrasoMaximo        réplica com atraso maior sai do rodízio
+     * @param intervaloVerificacao intervalo entre as medições de atraso
+     * @param leituraAposEscrita  por quanto tempo as leituras de um cliente vão para o primário
+     *                            depois de uma escrita dele (deve cobrir o atrasoMaximo)
+     */
+    @ConfigurationProperties("produtos.datasource")
+    public record PropriedadesReplicas(
+            List<Replica> replicas,
+            @DefaultValue("1s") Duration atrasoMaximo,
+            @DefaultValue("1s") Duration intervaloVerificacao,
+            @DefaultValue("5s") Duration leituraAposEscrita) {
+
+        /**
+         * @param consultaAtraso SQL que devolve o atraso de replicação em ms (vazio = só valida a conexão)
+         */
+        public record Replica(
+                String url,
+                String username,
+                String password,
+                String consultaAtraso,
+                @DefaultValue("10") int maxConexoes) {
+        }
+    }
+}
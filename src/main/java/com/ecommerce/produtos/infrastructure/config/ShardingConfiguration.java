@@ -0,0 +1,98 @@
+package com.ecommerce.produtos.infrastructure.config;
+
+import com.ecommerce.produtos.infrastructure.datasource.SemaforosConexoes;
+import com.ecommerce.produtos.infrastructure.sharding.ProdutoRepositoryComShards;
+import com.ecommerce.produtos.infrastructure.sharding.Shard;
+import com.ecommerce.produtos.infrastructure.sharding.ShardsEndpoint;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding por categoria: só é ativado com produtos.sharding.shards[0].url configurada
+ * (sem shards, o Port continua sobre o banco de spring.datasource)
+ *
+ * Cada shard tem o seu pool e o seu EntityManagerFactory, com as mesmas propriedades JPA
+ * do banco único (spring.jpa.*). O índice de um shard vai nos IDs que ele gera: a lista
+ * só pode crescer no fim, nunca ser reordenada.
+ */
+@Configuration
+@ConditionalOnProperty(name = "produtos.sharding.shards[0].url")
+@EnableConfigurationProperties(ShardingConfiguration.PropriedadesSharding.class)
+public class ShardingConfiguration {
+
+    @Bean(initMethod = "iniciar", destroyMethod = "encerrar")
+    public ProdutoRepositoryComShards produtoRepositoryComShards(
+            PropriedadesSharding propriedades,
+            JpaProperties jpaProperties,
+            HibernateProperties hibernateProperties,
+            ObjectProvider<SemaforosConexoes> semaforosConexoes,
+            Environment environment,
+            MeterRegistry meterRegistry) {
+        Map<String, Object> propriedadesJpa = new HashMap<>(hibernateProperties.determineHibernateProperties(
+                jpaProperties.getProperties(), new HibernateSettings()));
+        if (jpaProperties.getDatabasePlatform() != null) {
+            propriedadesJpa.put("hibernate.dialect", jpaProperties.getDatabasePlatform());
+        }
+
+        SemaforosConexoes semaforos = semaforosConexoes.getIfAvailable();
+        List<Shard> shards = new ArrayList<>(propriedades.shards().size());
+        for (int i = 0; i < propriedades.shards().size(); i++) {
+            PropriedadesSharding.Banco banco = propriedades.shards().get(i);
+            String nome = "shard-" + i;
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(banco.url())
+                    .username(banco.username())
+                    .password(banco.password())
+                    .build();
+            pool.setPoolName(nome);
+            pool.setMaximumPoolSize(banco.maxConexoes());
+            shards.add(Shard.criar(i, nome, semaforos != null ? semaforos.envolver(pool, nome) : pool,
+                    propriedadesJpa));
+        }
+        return new ProdutoRepositoryComShards(shards, propriedades.nosVirtuais(),
+                propriedades.atualizacaoDiretorio(), Threading.VIRTUAL.isActive(environment), meterRegistry);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ProdutoRepositoryComShards repositoryComShards) {
+        return new ShardsEndpoint(repositoryComShards);
+    }
+
+    /**
+     * @param nosVirtuais          pontos de cada shard no anel de hashing consistente
+     * @param atualizacaoDiretorio intervalo em que cada instância recarrega o shard de cada categoria
+     */
+    @ConfigurationProperties("produtos.sharding")
+    public record PropriedadesSharding(
+            List<Banco> shards,
+            @DefaultValue("128") int nosVirtuais,
+            @DefaultValue("30s") Duration atualizacaoDiretorio) {
+
+        public record Banco(
+                String url,
+                String username,
+                String password,
+                @DefaultValue("10") int maxConexoes) {
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.produtos.infrastructure.config;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoRepositoryComCache;
+import com.ecommerce.produtos.infrastructure.snapshot.SnapshotCatalogo;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Snapshot do catálogo em disco: só é ativado com produtos.snapshot.arquivo configurado
+ *
+ * A restauração insere no banco de spring.datasource, então fica desligada com sharding
+ * (cada shard tem o seu banco e o seu gerador de IDs).
+ */
+@Configuration
+@ConditionalOnProperty(name = "produtos.snapshot.arquivo")
+@ConditionalOnExpression("'${produtos.sharding.shards[0].url:}'.isEmpty()")
+public class SnapshotConfiguration {
+
+    @Bean(destroyMethod = "encerrar")
+    public SnapshotCatalogo snapshotCatalogo(
+            ProdutoRepositoryPort repositoryPort,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ProdutoRepositoryComCache repositoryComCache,
+            VersaoCatalogo versaoCatalogo,
+            @Value("${produtos.snapshot.arquivo}") String arquivo,
+            @Value("${produtos.snapshot.intervalo:5m}") Duration intervalo,
+            @Value("${produtos.snapshot.ids-quentes:1000}") int idsQuentes,
+            MeterRegistry meterRegistry) {
+        return new SnapshotCatalogo(repositoryPort, dataSource, transactionManager, repositoryComCache,
+                versaoCatalogo, Path.of(arquivo), intervalo, idsQuentes, meterRegistry);
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.produtos.infrastructure.config;
+
+import com.ecommerce.produtos.infrastructure.datasource.SemaforosConexoes;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Modo de threads virtuais: só é ativado com spring.threads.virtual.enabled=true (Java 21+)
+ *
+ * O Spring Boot passa a atender as requisições do Tomcat (e com elas a execução dos Use Cases)
+ * e as tarefas assíncronas, como a exportação em streaming, em threads virtuais, e as consultas
+ * paralelas aos shards também usam threads virtuais. Como o número de requisições
+ * simultâneas deixa de ser limitado pelas threads do Tomcat, cada pool de conexões ganha um
+ * semáforo na frente: os pools declarados como bean (spring.datasource ou o primário das réplicas)
+ * aqui, e os das réplicas e dos shards nas suas configurações, pelo SemaforosConexoes.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfiguration {
+
+    @Bean
+    public SemaforosConexoes semaforosConexoes(
+            @Value("${produtos.datasource.semaforo.espera:5s}") Duration espera,
+            MeterRegistry meterRegistry) {
+        return new SemaforosConexoes(espera, meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor semaforoNosPoolsDeConexoes(ObjectProvider<SemaforosConexoes> semaforos) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                // Depois da inicialização: as propriedades do pool (maximum-pool-size) já foram aplicadas
+                return bean instanceof HikariDataSource pool ? semaforos.getObject().envolver(pool, nome) : bean;
+            }
+        };
+    }
+}
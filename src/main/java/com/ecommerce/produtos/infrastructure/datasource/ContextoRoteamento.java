@@ -0,0 +1,63 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Estado da thread atual que decide para onde vão as conexões do RoteamentoDataSource
+ *
+ * Só vai para uma réplica o que roda dentro de um Use Case marcado como somente leitura
+ * (RoteamentoUseCase) e não foi fixado no primário: pela aderência após uma escrita do
+ * cliente (FiltroLeituraAposEscrita) ou por noPrimario, usado quando o resultado da leitura
+ * vai ser guardado (preenchimento do cache). Threads sem contexto (carga dos índices,
+ * reconciliação, group commit) usam o primário.
+ */
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<Boolean> LEITURA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIO = new ThreadLocal<>();
+
+    private ContextoRoteamento() {
+    }
+
+    /**
+     * true quando uma conexão aberta agora pode ir para uma réplica
+     */
+    public static boolean podeLerDaReplica() {
+        return Boolean.TRUE.equals(LEITURA.get()) && !Boolean.TRUE.equals(PRIMARIO.get());
+    }
+
+    public static <T> T emLeitura(Supplier<T> chamada) {
+        return comValor(LEITURA, chamada);
+    }
+
+    public static <T> T noPrimario(Supplier<T> chamada) {
+        return comValor(PRIMARIO, chamada);
+    }
+
+    /**
+     * Fixa no primário tudo o que a thread fizer até limpar (uma requisição inteira)
+     */
+    static void fixarNoPrimario() {
+        PRIMARIO.set(Boolean.TRUE);
+    }
+
+    static void limpar() {
+        LEITURA.remove();
+        PRIMARIO.remove();
+    }
+
+    // Restaura o valor anterior: chamadas aninhadas não desfazem o contexto de quem chamou
+    private static <T> T comValor(ThreadLocal<Boolean> valor, Supplier<T> chamada) {
+        Boolean anterior = valor.get();
+        valor.set(Boolean.TRUE);
+        try {
+            return chamada.get();
+        } finally {
+            if (anterior == null) {
+                valor.remove();
+            } else {
+                valor.set(anterior);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes: depois de uma escrita, as leituras do mesmo cliente vão para o primário
+ * durante uma janela (maior que o atraso tolerado das réplicas)
+ *
+ * A escrita (POST, PUT, PATCH ou DELETE) grava no cliente um cookie com o instante até quando
+ * ele fica no primário; sem estado no servidor, vale para qualquer instância. O cookie é
+ * gravado antes de a requisição seguir, já que a resposta pode ser enviada em streaming.
+ */
+public class FiltroLeituraAposEscrita extends OncePerRequestFilter {
+
+    static final String COOKIE = "produtos-primario-ate";
+    private static final Set<String> ESCRITAS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Duration janela;
+    private final Clock clock;
+
+    public FiltroLeituraAposEscrita(Duration janela, Clock clock) {
+        this.janela = janela;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        long agora = clock.millis();
+        if (ESCRITAS.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(agora + janela.toMillis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, janela.toSeconds()));
+            response.addCookie(cookie);
+            ContextoRoteamento.fixarNoPrimario();
+        } else if (agora < primarioAte(request)) {
+            ContextoRoteamento.fixarNoPrimario();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ContextoRoteamento.limpar();
+        }
+    }
+
+    private static long primarioAte(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Acompanha o atraso de replicação de cada réplica e escolhe a réplica de uma leitura
+ *
+ * A cada intervalo, cada réplica executa a sua consulta de atraso (SQL que devolve o atraso
+ * em milissegundos, ex.: no PostgreSQL
+ * "SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0)");
+ * sem consulta, só a conexão é validada e o atraso conta como zero. Uma réplica com atraso
+ * acima do tolerado, ou cuja verificação falhou, sai do rodízio até a próxima verificação.
+ * Gauge: produtos.datasource.replica.atraso (ms, tag "replica"; -1 = indisponível)
+ */
+public class MonitorReplicas {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitorReplicas.class);
+    private static final long INDISPONIVEL = -1;
+
+    private final List<Replica> replicas;
+    private final long atrasoMaximoMs;
+    private final Duration intervalo;
+    // Lido a cada conexão de leitura: sem lock
+    private final AtomicLongArray atrasosMs;
+    private final AtomicInteger proxima = new AtomicInteger();
+    private ScheduledExecutorService agendador;
+
+    public MonitorReplicas(List<Replica> replicas, Duration atrasoMaximo, Duration intervalo, MeterRegistry registry) {
+        this.replicas = List.copyOf(replicas);
+        this.atrasoMaximoMs = atrasoMaximo.toMillis();
+        this.intervalo = intervalo;
+        this.atrasosMs = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            atrasosMs.set(i, INDISPONIVEL);
+            int indice = i;
+            Gauge.builder("produtos.datasource.replica.atraso", () -> atraso(indice))
+                    .tag("replica", replicas.get(i).nome())
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Faz a primeira verificação (até lá nenhuma réplica é usada) e agenda as seguintes
+     */
+    public void iniciar() {
+        verificar();
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "monitor-replicas");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::verificar,
+                intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para as verificações e fecha os pools das réplicas
+     */
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception ex) {
+                    log.warn("Falha ao fechar o pool da réplica {}", replica.nome(), ex);
+                }
+            }
+        }
+    }
+
+    public void verificar() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            long anterior = atraso(i);
+            long atual;
+            try {
+                atual = medirAtraso(replica);
+            } catch (SQLException | RuntimeException ex) {
+                atual = INDISPONIVEL;
+                if (anterior != INDISPONIVEL) {
+                    log.warn("Réplica {} indisponível: {}", replica.nome(), ex.getMessage());
+                }
+            }
+            if (atual > atrasoMaximoMs && anterior != INDISPONIVEL && anterior <= atrasoMaximoMs) {
+                log.warn("Réplica {} com atraso de {} ms (tolerado: {} ms); leituras vão para o primário",
+                        replica.nome(), atual, atrasoMaximoMs);
+            }
+            atrasosMs.set(i, atual);
+        }
+    }
+
+    /**
+     * Próxima réplica do rodízio dentro do atraso tolerado, ou vazio se não houver
+     */
+    public Optional<Replica> escolher() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int indice = (inicio + i) % replicas.size();
+            if (elegivel(indice)) {
+                return Optional.of(replicas.get(indice));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tira a réplica do rodízio até a próxima verificação (ex.: falha ao abrir conexão)
+     */
+    public void marcarIndisponivel(Replica replica) {
+        int indice = replicas.indexOf(replica);
+        if (indice >= 0) {
+            atrasosMs.set(indice, INDISPONIVEL);
+        }
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    private boolean elegivel(int indice) {
+        long atraso = atraso(indice);
+        return atraso != INDISPONIVEL && atraso <= atrasoMaximoMs;
+    }
+
+    private long atraso(int indice) {
+        return atrasosMs.get(indice);
+    }
+
+    private static long medirAtraso(Replica replica) throws SQLException {
+        try (Connection conexao = replica.dataSource().getConnection()) {
+            if (replica.consultaAtraso() == null || replica.consultaAtraso().isBlank()) {
+                if (!conexao.isValid(1)) {
+                    throw new SQLException("conexão inválida");
+                }
+                return 0;
+            }
+            try (Statement statement = conexao.createStatement();
+                 ResultSet resultado = statement.executeQuery(replica.consultaAtraso())) {
+                // Sem linha ou null (ex.: réplica sem transações replicadas ainda) = sem atraso
+                return resultado.next() ? Math.max(0, resultado.getLong(1)) : 0;
+            }
+        }
+    }
+
+    /**
+     * @param consultaAtraso SQL que devolve o atraso em milissegundos (null = só valida a conexão)
+     */
+    public record Replica(String nome, DataSource dataSource, String consultaAtraso) {
+    }
+}
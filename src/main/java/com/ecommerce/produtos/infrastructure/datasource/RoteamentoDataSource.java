@@ -0,0 +1,87 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * DataSource que entrega conexões do primário ou de uma réplica, decidido a cada conexão
+ * pelo ContextoRoteamento da thread e pelo MonitorReplicas (réplica dentro do atraso tolerado)
+ *
+ * Se a réplica escolhida não entregar a conexão, ela sai do rodízio e a leitura vai para o
+ * primário, em vez de falhar. Contador: produtos.datasource.conexoes (tag "destino").
+ */
+public class RoteamentoDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteamentoDataSource.class);
+    private static final String PRIMARIO = "primario";
+
+    private final DataSource primario;
+    private final MonitorReplicas monitor;
+    private final Counter conexoesPrimario;
+    private final Map<String, Counter> conexoesReplica;
+
+    public RoteamentoDataSource(DataSource primario, MonitorReplicas monitor, MeterRegistry registry) {
+        this.primario = primario;
+        this.monitor = monitor;
+        this.conexoesPrimario = contador(registry, PRIMARIO);
+        this.conexoesReplica = monitor.replicas().stream()
+                .collect(Collectors.toUnmodifiableMap(MonitorReplicas.Replica::nome,
+                        replica -> contador(registry, replica.nome())));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return conectar(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    public DataSource primario() {
+        return primario;
+    }
+
+    private Connection conectar(Conexao conexao) throws SQLException {
+        Optional<MonitorReplicas.Replica> replica = ContextoRoteamento.podeLerDaReplica()
+                ? monitor.escolher()
+                : Optional.empty();
+        if (replica.isPresent()) {
+            try {
+                Connection conectada = conexao.abrir(replica.get().dataSource());
+                conexoesReplica.get(replica.get().nome()).increment();
+                return conectada;
+            } catch (SQLException ex) {
+                log.warn("Falha ao conectar na réplica {}; usando o primário: {}",
+                        replica.get().nome(), ex.getMessage());
+                monitor.marcarIndisponivel(replica.get());
+            }
+        }
+        Connection conectada = conexao.abrir(primario);
+        conexoesPrimario.increment();
+        return conectada;
+    }
+
+    private static Counter contador(MeterRegistry registry, String destino) {
+        return Counter.builder("produtos.datasource.conexoes")
+                .tag("destino", destino)
+                .register(registry);
+    }
+
+    @FunctionalInterface
+    private interface Conexao {
+        Connection abrir(DataSource dataSource) throws SQLException;
+    }
+}
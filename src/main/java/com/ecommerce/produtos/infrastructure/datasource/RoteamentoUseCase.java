@@ -0,0 +1,74 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Marca um Use Case como somente leitura: as leituras feitas dentro dele podem ir para
+ * uma réplica (a camada application não conhece o roteamento)
+ *
+ * Se o Use Case já é um proxy (MetricasUseCase.instrumentar), o interceptor entra no mesmo
+ * proxy, antes dos demais, em vez de criar um proxy do proxy.
+ */
+public final class RoteamentoUseCase {
+
+    private static final MethodInterceptor LEITURA =
+            invocacao -> ContextoRoteamento.emLeitura(() -> prosseguir(invocacao));
+
+    private RoteamentoUseCase() {
+    }
+
+    public static <T> T somenteLeitura(T useCase) {
+        return comInterceptor(useCase, LEITURA);
+    }
+
+    /**
+     * Somente leitura para os Use Cases cujas respostas levam o ETag do catálogo (listagens):
+     * durante "janela" depois da última escrita registrada no VersaoCatalogo, eles leem do
+     * primário. O ETag vem da versão em memória, já avançada pela escrita; lida de uma réplica
+     * atrasada, a página sairia com o ETag novo e os dados antigos, e os GETs condicionais
+     * seguintes receberiam 304 sobre ela até a próxima escrita.
+     *
+     * @param janela deve cobrir o atraso máximo tolerado das réplicas
+     */
+    public static <T> T somenteLeituraComVersaoDoCatalogo(T useCase, VersaoCatalogo versaoCatalogo,
+                                                          Duration janela, Clock clock) {
+        MethodInterceptor interceptor = invocacao -> {
+            if (clock.millis() < versaoCatalogo.alteradaEm() + janela.toMillis()) {
+                return ContextoRoteamento.noPrimario(() -> ContextoRoteamento.emLeitura(() -> prosseguir(invocacao)));
+            }
+            return ContextoRoteamento.emLeitura(() -> prosseguir(invocacao));
+        };
+        return comInterceptor(useCase, interceptor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T comInterceptor(T useCase, MethodInterceptor interceptor) {
+        if (useCase instanceof Advised proxy) {
+            proxy.addAdvice(0, interceptor);
+            return useCase;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(useCase);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return (T) proxyFactory.getProxy(useCase.getClass().getClassLoader());
+    }
+
+    private static Object prosseguir(MethodInvocation invocacao) {
+        try {
+            return invocacao.proceed();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            // Os Use Cases não declaram exceções checadas
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+}
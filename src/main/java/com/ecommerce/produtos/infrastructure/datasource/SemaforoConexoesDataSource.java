@@ -0,0 +1,185 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Semáforo na frente de um pool de conexões, usado no modo de threads virtuais
+ *
+ * Sem o teto das threads do Tomcat, milhares de requisições podem pedir conexão ao mesmo tempo.
+ * Cada conexão ocupa uma vaga (são tantas quanto as conexões do pool) até o close(); sem vaga,
+ * a thread espera na fila do semáforo, em ordem de chegada e sem prender uma thread do sistema,
+ * e desiste depois de "espera" com SQLTransientConnectionException, em vez de se acumular
+ * dentro do pool até o connectionTimeout dele.
+ * Medidores: produtos.datasource.semaforo.em.uso e produtos.datasource.semaforo.fila (tag "pool").
+ */
+public class SemaforoConexoesDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final String nome;
+    private final int vagas;
+    private final long esperaNanos;
+    private final Semaphore semaforo;
+
+    public SemaforoConexoesDataSource(DataSource alvo, String nome, int vagas, Duration espera,
+                                      MeterRegistry registry) {
+        super(alvo);
+        if (vagas < 1) {
+            throw new IllegalArgumentException("O semáforo precisa de pelo menos uma vaga");
+        }
+        this.nome = nome;
+        this.vagas = vagas;
+        this.esperaNanos = espera.toNanos();
+        this.semaforo = new Semaphore(vagas, true);
+        Gauge.builder("produtos.datasource.semaforo.em.uso", semaforo, s -> vagas - s.availablePermits())
+                .tag("pool", nome)
+                .register(registry);
+        Gauge.builder("produtos.datasource.semaforo.fila", semaforo, Semaphore::getQueueLength)
+                .tag("pool", nome)
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return ocupar(dataSource -> dataSource.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return ocupar(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Fecha o pool por trás do semáforo (o Spring chama no encerramento do bean)
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+    public int vagasLivres() {
+        return semaforo.availablePermits();
+    }
+
+    private Connection ocupar(Conexao conexao) throws SQLException {
+        try {
+            if (!semaforo.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(nome + ": nenhuma das " + vagas
+                        + " conexões livre em " + TimeUnit.NANOSECONDS.toMillis(esperaNanos) + " ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException(nome + ": interrompido esperando conexão", ex);
+        }
+        try {
+            Connection aberta = conexao.abrir(obtainTargetDataSource());
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new LiberarAoFechar(aberta, semaforo));
+        } catch (SQLException | RuntimeException | Error ex) {
+            semaforo.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Devolve a vaga no primeiro close() (ou abort()) da conexão; o resto vai direto à conexão do pool
+     *
+     * Statements e DatabaseMetaData também passam por um proxy, para que getConnection() devolva
+     * esta conexão e não a do pool: o JdbcTemplate.queryForStream fecha a conexão obtida do
+     * PreparedStatement, e fechar a do pool deixaria a vaga presa.
+     */
+    private static final class LiberarAoFechar implements InvocationHandler {
+
+        private final Connection conexao;
+        private final Semaphore semaforo;
+        private final AtomicBoolean liberada = new AtomicBoolean();
+
+        private LiberarAoFechar(Connection conexao, Semaphore semaforo) {
+            this.conexao = conexao;
+            this.semaforo = semaforo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SemaforoConexoes[" + conexao + "]";
+                case "close":
+                case "abort":
+                    try {
+                        return invocar(metodo, args);
+                    } finally {
+                        if (liberada.compareAndSet(false, true)) {
+                            semaforo.release();
+                        }
+                    }
+                default:
+                    Object resultado = invocar(metodo, args);
+                    Class<?> tipo = metodo.getReturnType();
+                    if (resultado != null && (Statement.class.isAssignableFrom(tipo) || tipo == DatabaseMetaData.class)) {
+                        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{tipo},
+                                new ConexaoDeOrigem(resultado, (Connection) proxy));
+                    }
+                    return resultado;
+            }
+        }
+
+        private Object invocar(Method metodo, Object[] args) throws Throwable {
+            try {
+                return metodo.invoke(conexao, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        }
+    }
+
+    /**
+     * Statement ou DatabaseMetaData cujo getConnection() devolve o proxy da conexão
+     */
+    private record ConexaoDeOrigem(Object alvo, Connection conexao) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "getConnection":
+                    return conexao;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return metodo.invoke(alvo, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Conexao {
+        Connection abrir(DataSource dataSource) throws SQLException;
+    }
+}
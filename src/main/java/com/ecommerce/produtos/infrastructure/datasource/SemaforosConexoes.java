@@ -0,0 +1,33 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Coloca um SemaforoConexoesDataSource na frente de um pool Hikari, com uma vaga por conexão
+ * (só existe no modo de threads virtuais; ver ThreadsVirtuaisConfiguration)
+ */
+public class SemaforosConexoes {
+
+    // Tamanho que o Hikari assume quando maximumPoolSize não foi configurado (fica -1 até o pool subir)
+    private static final int TAMANHO_PADRAO_HIKARI = 10;
+
+    private final Duration espera;
+    private final MeterRegistry registry;
+
+    /**
+     * @param espera quanto uma chamada espera por uma vaga antes de falhar
+     */
+    public SemaforosConexoes(Duration espera, MeterRegistry registry) {
+        this.espera = espera;
+        this.registry = registry;
+    }
+
+    public DataSource envolver(HikariDataSource pool, String nome) {
+        int conexoes = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : TAMANHO_PADRAO_HIKARI;
+        return new SemaforoConexoesDataSource(pool, nome, conexoes, espera, registry);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ecommerce.produtos.infrastructure.estatisticas;
+
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorator que mantém as EstatisticasCatalogo em sincronia com as escritas do Port
+ * As alterações de estoque são aplicadas com o estoque e a versão lidos junto com a escrita:
+ * a versão mais nova prevalece, o que independe da ordem em que baixas concorrentes do mesmo
+ * produto terminam.
+ */
+public class ProdutoRepositoryComEstatisticas extends ProdutoRepositoryDecorator {
+
+    private final EstatisticasCatalogo estatisticas;
+
+    public ProdutoRepositoryComEstatisticas(ProdutoRepositoryPort delegate, EstatisticasCatalogo estatisticas) {
+        super(delegate);
+        this.estatisticas = estatisticas;
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        estatisticas.indexar(salvo);
+        return salvo;
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+        // Nome e descrição não entram nas estatísticas
+        if (campos.contains(CampoProduto.PRECO) || campos.contains(CampoProduto.CATEGORIA)
+                || campos.contains(CampoProduto.ESTOQUE)) {
+            estatisticas.indexar(salvo);
+        }
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        List<Produto> salvos = delegate.salvarTodos(produtos);
+        salvos.forEach(estatisticas::indexar);
+        return salvos;
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        boolean removido = delegate.deletar(id);
+        if (removido) {
+            estatisticas.remover(id);
+        }
+        return removido;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.reduzirEstoque(id, quantidade);
+        estoque.ifPresent(e -> estatisticas.atualizarEstoque(id, e.estoque(), e.versao()));
+        return estoque;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.aumentarEstoque(id, quantidade);
+        estoque.ifPresent(e -> estatisticas.atualizarEstoque(id, e.estoque(), e.versao()));
+        return estoque;
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        // Estoques capturados dentro da transação (produtos com lock) e aplicados só depois que ela
+        // terminou bem; cada produto alterado é gravado com a versão lida + 1
+        Map<Long, Produto> alterados = new HashMap<>();
+        delegate.alterarEstoquesEmLote(ids, produtos -> {
+            Map<Long, Integer> antes = new HashMap<>();
+            produtos.forEach((id, produto) -> antes.put(id, produto.getEstoque()));
+            alteracao.accept(produtos);
+            produtos.forEach((id, produto) -> {
+                if (!produto.getEstoque().equals(antes.get(id))) {
+                    alterados.put(id, produto);
+                }
+            });
+        });
+        alterados.forEach((id, produto) ->
+                estatisticas.atualizarEstoque(id, produto.getEstoque(), produto.getVersao() + 1));
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.produtos.infrastructure.estatisticas;
+
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Monta as estatísticas na subida (cursor de buscarTodosEmStream) e, a cada intervalo,
+ * confere os agregados em memória com um GROUP BY no banco
+ *
+ * Uma escrita em andamento entre as duas leituras pode parecer divergência, então uma
+ * categoria diferente fica só como suspeita e é conferida de novo depois de "reconferencia"
+ * (agendada, sem segurar a conferência atual); se continuar diferente, as estatísticas são
+ * reconstruídas a partir do banco sem bloquear as escritas (ver EstatisticasCatalogo).
+ * Contadores: produtos.estatisticas.reconciliacao (tag "resultado" = ok | suspeita | divergente | falha)
+ */
+public class ReconciliadorEstatisticas implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorEstatisticas.class);
+    private static final String METRICA = "produtos.estatisticas.reconciliacao";
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final EstatisticasCatalogo estatisticas;
+    private final Duration intervalo;
+    private final Duration reconferencia;
+    private final Counter consistentes;
+    private final Counter suspeitas;
+    private final Counter divergentes;
+    private final Counter falhas;
+    private ScheduledExecutorService agendador;
+    // Categorias diferentes na última conferência, à espera da confirmação
+    private Set<String> aConfirmar = Set.of();
+
+    /**
+     * @param intervalo zero ou negativo desativa a conferência periódica (a carga inicial continua)
+     * @param reconferencia espera até conferir de novo as categorias suspeitas
+     */
+    public ReconciliadorEstatisticas(ProdutoRepositoryPort repositoryPort, EstatisticasCatalogo estatisticas,
+                                     Duration intervalo, Duration reconferencia, MeterRegistry registry) {
+        this.repositoryPort = repositoryPort;
+        this.estatisticas = estatisticas;
+        this.intervalo = intervalo;
+        this.reconferencia = reconferencia;
+        this.consistentes = Counter.builder(METRICA).tag("resultado", "ok").register(registry);
+        this.suspeitas = Counter.builder(METRICA).tag("resultado", "suspeita").register(registry);
+        this.divergentes = Counter.builder(METRICA).tag("resultado", "divergente").register(registry);
+        this.falhas = Counter.builder(METRICA).tag("resultado", "falha").register(registry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        reconstruir();
+        if (intervalo.isPositive()) {
+            agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "reconciliacao-estatisticas");
+                thread.setDaemon(true);
+                return thread;
+            });
+            agendador.scheduleWithFixedDelay(this::reconciliarComSeguranca,
+                    intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    /**
+     * Confere memória x banco; reconstrói se uma categoria já suspeita na conferência anterior
+     * continuar divergente. Suspeitas novas ganham uma reconferência agendada.
+     *
+     * @return as categorias com divergência confirmada (vazio = nada a reconstruir)
+     */
+    public synchronized Set<String> reconciliar() {
+        Set<String> diferentes = categoriasDivergentes();
+        Set<String> confirmadas = new HashSet<>(diferentes);
+        confirmadas.retainAll(aConfirmar);
+        if (!confirmadas.isEmpty()) {
+            aConfirmar = Set.of();
+            divergentes.increment();
+            log.warn("Estatísticas divergentes do banco nas categorias {}; reconstruindo", confirmadas);
+            reconstruir();
+            return confirmadas;
+        }
+        aConfirmar = diferentes;
+        if (diferentes.isEmpty()) {
+            consistentes.increment();
+        } else {
+            suspeitas.increment();
+            if (agendador != null) {
+                agendador.schedule(this::reconciliarComSeguranca, reconferencia.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return confirmadas;
+    }
+
+    private void reconciliarComSeguranca() {
+        // Uma exceção cancelaria as execuções seguintes do agendador
+        try {
+            reconciliar();
+        } catch (RuntimeException ex) {
+            falhas.increment();
+            log.warn("Falha na reconciliação das estatísticas", ex);
+        }
+    }
+
+    private Set<String> categoriasDivergentes() {
+        Map<String, EstatisticasCategoria> doBanco = repositoryPort.estatisticasPorCategoria().stream()
+                .collect(Collectors.toMap(EstatisticasCategoria::categoria, Function.identity()));
+        Map<String, EstatisticasCategoria> emMemoria = new HashMap<>();
+        estatisticas.porCategoria().forEach(e -> emMemoria.put(e.categoria(), e));
+
+        Set<String> categorias = new HashSet<>(doBanco.keySet());
+        categorias.addAll(emMemoria.keySet());
+        categorias.removeIf(categoria -> {
+            EstatisticasCategoria banco = doBanco.get(categoria);
+            EstatisticasCategoria memoria = emMemoria.get(categoria);
+            return banco != null && memoria != null && banco.equivalente(memoria);
+        });
+        return categorias;
+    }
+
+    private void reconstruir() {
+        long inicio = System.nanoTime();
+        estatisticas.reconstruir(repositoryPort::buscarTodosEmStream);
+        log.info("Estatísticas do catálogo carregadas: {} produtos em {} ms",
+                estatisticas.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.produtos.infrastructure.estoque;
+
+import com.ecommerce.produtos.application.estoque.AgrupadorReservasEstoque;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * Endpoint do Actuator com o tamanho dos lotes e a espera na fila do group commit de estoque
+ * GET /actuator/reservasestoque
+ */
+@Endpoint(id = "reservasestoque")
+public class ReservasEstoqueEndpoint {
+
+    private final ObjectProvider<AgrupadorReservasEstoque> agrupador;
+
+    public ReservasEstoqueEndpoint(ObjectProvider<AgrupadorReservasEstoque> agrupador) {
+        this.agrupador = agrupador;
+    }
+
+    @ReadOperation
+    public Object estatisticas() {
+        AgrupadorReservasEstoque instancia = agrupador.getIfAvailable();
+        if (instancia == null) {
+            return Map.of("habilitado", false);
+        }
+        return instancia.estatisticas();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.produtos.infrastructure.facetas;
+
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.stream.Stream;
+
+/**
+ * Monta os bitmaps de facetas na subida, lendo o catálogo pelo cursor de buscarTodosEmStream
+ * (em ordem de ID, o que deixa os bitmaps em sequências compactáveis)
+ */
+public class CarregadorIndiceFacetas implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CarregadorIndiceFacetas.class);
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final IndiceFacetas indice;
+
+    public CarregadorIndiceFacetas(ProdutoRepositoryPort repositoryPort, IndiceFacetas indice) {
+        this.repositoryPort = repositoryPort;
+        this.indice = indice;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+        try (Stream<Produto> produtos = repositoryPort.buscarTodosEmStream()) {
+            indice.reconstruir(produtos);
+        }
+        log.info("Índice de facetas carregado: {} produtos em {} ms",
+                indice.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ecommerce.produtos.infrastructure.facetas;
+
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorator que mantém o IndiceFacetas em sincronia com as escritas do Port
+ * As alterações de estoque atualizam só a faceta "em estoque", com o estoque e a versão
+ * resultantes (a versão mais nova prevalece quando baixas concorrentes terminam fora de ordem)
+ */
+public class ProdutoRepositoryComIndiceFacetas extends ProdutoRepositoryDecorator {
+
+    private final IndiceFacetas indice;
+
+    public ProdutoRepositoryComIndiceFacetas(ProdutoRepositoryPort delegate, IndiceFacetas indice) {
+        super(delegate);
+        this.indice = indice;
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        indice.indexar(salvo);
+        return salvo;
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+        // Facetas: categoria, faixa de preço e disponibilidade
+        if (campos.contains(CampoProduto.PRECO) || campos.contains(CampoProduto.CATEGORIA)
+                || campos.contains(CampoProduto.ESTOQUE)) {
+            indice.indexar(salvo);
+        }
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        List<Produto> salvos = delegate.salvarTodos(produtos);
+        salvos.forEach(indice::indexar);
+        return salvos;
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        boolean removido = delegate.deletar(id);
+        if (removido) {
+            indice.remover(id);
+        }
+        return removido;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.reduzirEstoque(id, quantidade);
+        estoque.ifPresent(e -> indice.atualizarEstoque(id, e.estoque(), e.versao()));
+        return estoque;
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        Optional<EstoqueAtualizado> estoque = delegate.aumentarEstoque(id, quantidade);
+        estoque.ifPresent(e -> indice.atualizarEstoque(id, e.estoque(), e.versao()));
+        return estoque;
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        // Estoques capturados dentro da transação e aplicados só depois que ela terminou bem;
+        // cada produto alterado é gravado com a versão lida + 1
+        Map<Long, Produto> alterados = new HashMap<>();
+        delegate.alterarEstoquesEmLote(ids, produtos -> {
+            Map<Long, Integer> antes = new HashMap<>();
+            produtos.forEach((id, produto) -> antes.put(id, produto.getEstoque()));
+            alteracao.accept(produtos);
+            produtos.forEach((id, produto) -> {
+                if (!produto.getEstoque().equals(antes.get(id))) {
+                    alterados.put(id, produto);
+                }
+            });
+        });
+        alterados.forEach((id, produto) ->
+                indice.atualizarEstoque(id, produto.getEstoque(), produto.getVersao() + 1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.produtos.infrastructure.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Medidores de uma operação: timer com percentis, gauge de chamadas em andamento
+ * e contador de erros por tipo de exceção
+ *
+ * Tudo é registrado na criação; no caminho feliz só há nanoTime, incremento atômico
+ * e o registro da amostra, sem alocação por chamada.
+ */
+final class MetricasMetodo {
+
+    private static final double[] PERCENTIS = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final String prefixo;
+    private final Tags tags;
+    private final Timer timer;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final Map<Class<?>, Counter> erros = new ConcurrentHashMap<>();
+
+    MetricasMetodo(MeterRegistry registry, String prefixo, Tags tags) {
+        this.registry = registry;
+        this.prefixo = prefixo;
+        this.tags = tags;
+        this.timer = Timer.builder(prefixo)
+                .tags(tags)
+                .publishPercentiles(PERCENTIS)
+                .register(registry);
+        Gauge.builder(prefixo + ".em.andamento", emAndamento, AtomicInteger::get)
+                .tags(tags)
+                .strongReference(true)
+                .register(registry);
+    }
+
+    long iniciar() {
+        emAndamento.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    void finalizar(long inicio) {
+        timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        emAndamento.decrementAndGet();
+    }
+
+    void registrarErro(Throwable erro) {
+        // Só no caminho de erro: o contador de cada tipo de exceção é criado na primeira ocorrência
+        erros.computeIfAbsent(erro.getClass(), tipo -> Counter.builder(prefixo + ".erros")
+                        .tags(tags.and("excecao", tipo.getSimpleName()))
+                        .register(registry))
+                .increment();
+    }
+}
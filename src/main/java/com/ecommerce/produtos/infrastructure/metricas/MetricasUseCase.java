@@ -0,0 +1,67 @@
+package com.ecommerce.produtos.infrastructure.metricas;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Instrumenta um Use Case sem alterar a classe (a camada application não conhece Micrometer):
+ * produtos.usecase (timer, tags "usecase" e "metodo"), produtos.usecase.em.andamento
+ * e produtos.usecase.erros (tag "excecao")
+ *
+ * O proxy é criado uma vez em BeanConfiguration; os medidores de cada método público
+ * são registrados nesse momento e as sobrecargas de um mesmo método compartilham a métrica.
+ */
+public final class MetricasUseCase {
+
+    private static final String PREFIXO = "produtos.usecase";
+
+    private MetricasUseCase() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T instrumentar(T useCase, MeterRegistry registry) {
+        Class<?> classe = useCase.getClass();
+        Map<String, MetricasMetodo> porNome = new HashMap<>();
+        Map<Method, MetricasMetodo> porMetodo = new HashMap<>();
+        for (Method metodo : classe.getDeclaredMethods()) {
+            if (Modifier.isPublic(metodo.getModifiers()) && !Modifier.isStatic(metodo.getModifiers())) {
+                porMetodo.put(metodo, porNome.computeIfAbsent(metodo.getName(), nome ->
+                        new MetricasMetodo(registry, PREFIXO,
+                                Tags.of("usecase", classe.getSimpleName(), "metodo", nome))));
+            }
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(useCase);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new Interceptor(Map.copyOf(porMetodo)));
+        return (T) proxyFactory.getProxy(classe.getClassLoader());
+    }
+
+    private record Interceptor(Map<Method, MetricasMetodo> porMetodo) implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocacao) throws Throwable {
+            MetricasMetodo metricas = porMetodo.get(invocacao.getMethod());
+            if (metricas == null) {
+                return invocacao.proceed();
+            }
+            long inicio = metricas.iniciar();
+            try {
+                return invocacao.proceed();
+            } catch (Throwable ex) {
+                metricas.registrarErro(ex);
+                throw ex;
+            } finally {
+                metricas.finalizar(inicio);
+            }
+        }
+    }
+}
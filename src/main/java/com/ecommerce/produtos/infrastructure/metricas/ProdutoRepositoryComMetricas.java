@@ -0,0 +1,295 @@
+package com.ecommerce.produtos.infrastructure.metricas;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Decorator que mede cada método do Port: produtos.repositorio (timer, tag "metodo"),
+ * produtos.repositorio.em.andamento e produtos.repositorio.erros (tag "excecao")
+ *
+ * Fica logo acima do repositório JPA, então mede o custo do armazenamento
+ * (acertos de cache não chegam aqui; veja /actuator/produtoscache).
+ * Em buscarTodosEmStream o tempo medido é o da abertura do cursor, não o do consumo.
+ */
+public class ProdutoRepositoryComMetricas extends ProdutoRepositoryDecorator {
+
+    private static final String PREFIXO = "produtos.repositorio";
+
+    private final MetricasMetodo salvarMetricas;
+    private final MetricasMetodo atualizarCamposMetricas;
+    private final MetricasMetodo salvarTodosMetricas;
+    private final MetricasMetodo buscarPorIdMetricas;
+    private final MetricasMetodo buscarPorIdsMetricas;
+    private final MetricasMetodo buscarTodosMetricas;
+    private final MetricasMetodo buscarTodosEmStreamMetricas;
+    private final MetricasMetodo buscarPorCategoriaMetricas;
+    private final MetricasMetodo buscarPaginaMetricas;
+    private final MetricasMetodo buscarPaginaPorCategoriaMetricas;
+    private final MetricasMetodo buscarPorPrecoMetricas;
+    private final MetricasMetodo estatisticasPorCategoriaMetricas;
+    private final MetricasMetodo deletarMetricas;
+    private final MetricasMetodo reduzirEstoqueMetricas;
+    private final MetricasMetodo aumentarEstoqueMetricas;
+    private final MetricasMetodo alterarEstoquesEmLoteMetricas;
+    private final MetricasMetodo existeMetricas;
+
+    public ProdutoRepositoryComMetricas(ProdutoRepositoryPort delegate, MeterRegistry registry) {
+        super(delegate);
+        this.salvarMetricas = metricas(registry, "salvar");
+        this.atualizarCamposMetricas = metricas(registry, "atualizarCampos");
+        this.salvarTodosMetricas = metricas(registry, "salvarTodos");
+        this.buscarPorIdMetricas = metricas(registry, "buscarPorId");
+        this.buscarPorIdsMetricas = metricas(registry, "buscarPorIds");
+        this.buscarTodosMetricas = metricas(registry, "buscarTodos");
+        this.buscarTodosEmStreamMetricas = metricas(registry, "buscarTodosEmStream");
+        this.buscarPorCategoriaMetricas = metricas(registry, "buscarPorCategoria");
+        this.buscarPaginaMetricas = metricas(registry, "buscarPagina");
+        this.buscarPaginaPorCategoriaMetricas = metricas(registry, "buscarPaginaPorCategoria");
+        this.buscarPorPrecoMetricas = metricas(registry, "buscarPorPreco");
+        this.estatisticasPorCategoriaMetricas = metricas(registry, "estatisticasPorCategoria");
+        this.deletarMetricas = metricas(registry, "deletar");
+        this.reduzirEstoqueMetricas = metricas(registry, "reduzirEstoque");
+        this.aumentarEstoqueMetricas = metricas(registry, "aumentarEstoque");
+        this.alterarEstoquesEmLoteMetricas = metricas(registry, "alterarEstoquesEmLote");
+        this.existeMetricas = metricas(registry, "existe");
+    }
+
+    private static MetricasMetodo metricas(MeterRegistry registry, String metodo) {
+        return new MetricasMetodo(registry, PREFIXO, Tags.of("metodo", metodo));
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        long inicio = salvarMetricas.iniciar();
+        try {
+            return delegate.salvar(produto);
+        } catch (RuntimeException ex) {
+            salvarMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            salvarMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        long inicio = atualizarCamposMetricas.iniciar();
+        try {
+            return delegate.atualizarCampos(produto, campos, condicional);
+        } catch (RuntimeException ex) {
+            atualizarCamposMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            atualizarCamposMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        long inicio = salvarTodosMetricas.iniciar();
+        try {
+            return delegate.salvarTodos(produtos);
+        } catch (RuntimeException ex) {
+            salvarTodosMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            salvarTodosMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        long inicio = buscarPorIdMetricas.iniciar();
+        try {
+            return delegate.buscarPorId(id);
+        } catch (RuntimeException ex) {
+            buscarPorIdMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPorIdMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorIds(Set<Long> ids) {
+        long inicio = buscarPorIdsMetricas.iniciar();
+        try {
+            return delegate.buscarPorIds(ids);
+        } catch (RuntimeException ex) {
+            buscarPorIdsMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPorIdsMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarTodos() {
+        long inicio = buscarTodosMetricas.iniciar();
+        try {
+            return delegate.buscarTodos();
+        } catch (RuntimeException ex) {
+            buscarTodosMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarTodosMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public Stream<Produto> buscarTodosEmStream() {
+        long inicio = buscarTodosEmStreamMetricas.iniciar();
+        try {
+            return delegate.buscarTodosEmStream();
+        } catch (RuntimeException ex) {
+            buscarTodosEmStreamMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarTodosEmStreamMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorCategoria(String categoria) {
+        long inicio = buscarPorCategoriaMetricas.iniciar();
+        try {
+            return delegate.buscarPorCategoria(categoria);
+        } catch (RuntimeException ex) {
+            buscarPorCategoriaMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPorCategoriaMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPagina(Long aposId, int limite) {
+        long inicio = buscarPaginaMetricas.iniciar();
+        try {
+            return delegate.buscarPagina(aposId, limite);
+        } catch (RuntimeException ex) {
+            buscarPaginaMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPaginaMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite) {
+        long inicio = buscarPaginaPorCategoriaMetricas.iniciar();
+        try {
+            return delegate.buscarPaginaPorCategoria(categoria, aposId, limite);
+        } catch (RuntimeException ex) {
+            buscarPaginaPorCategoriaMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPaginaPorCategoriaMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<Produto> buscarPorPreco(ConsultaPorPreco consulta) {
+        long inicio = buscarPorPrecoMetricas.iniciar();
+        try {
+            return delegate.buscarPorPreco(consulta);
+        } catch (RuntimeException ex) {
+            buscarPorPrecoMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            buscarPorPrecoMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public List<EstatisticasCategoria> estatisticasPorCategoria() {
+        long inicio = estatisticasPorCategoriaMetricas.iniciar();
+        try {
+            return delegate.estatisticasPorCategoria();
+        } catch (RuntimeException ex) {
+            estatisticasPorCategoriaMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            estatisticasPorCategoriaMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        long inicio = deletarMetricas.iniciar();
+        try {
+            return delegate.deletar(id);
+        } catch (RuntimeException ex) {
+            deletarMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            deletarMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        long inicio = reduzirEstoqueMetricas.iniciar();
+        try {
+            return delegate.reduzirEstoque(id, quantidade);
+        } catch (RuntimeException ex) {
+            reduzirEstoqueMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            reduzirEstoqueMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        long inicio = aumentarEstoqueMetricas.iniciar();
+        try {
+            return delegate.aumentarEstoque(id, quantidade);
+        } catch (RuntimeException ex) {
+            aumentarEstoqueMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            aumentarEstoqueMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        long inicio = alterarEstoquesEmLoteMetricas.iniciar();
+        try {
+            delegate.alterarEstoquesEmLote(ids, alteracao);
+        } catch (RuntimeException ex) {
+            alterarEstoquesEmLoteMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            alterarEstoquesEmLoteMetricas.finalizar(inicio);
+        }
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        long inicio = existeMetricas.iniciar();
+        try {
+            return delegate.existe(id);
+        } catch (RuntimeException ex) {
+            existeMetricas.registrarErro(ex);
+            throw ex;
+        } finally {
+            existeMetricas.finalizar(inicio);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.produtos.infrastructure.persistence.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Gerador de IDs dos produtos: SEQUENCE com o pooled optimizer e, se o EntityManagerFactory
+ * tiver a propriedade produtos.id.codificador (um LongUnaryOperator), o valor da sequence
+ * passa por ela antes de virar o ID
+ *
+ * Quem monta o EntityManagerFactory decide o formato do ID (ex.: os shards gravam nele o
+ * índice do shard) sem que a entidade conheça esse módulo; sem a propriedade, o ID é o
+ * próprio valor da sequence.
+ */
+public class GeradorIdProduto extends SequenceStyleGenerator {
+
+    public static final String PROPRIEDADE_CODIFICADOR = "produtos.id.codificador";
+
+    private LongUnaryOperator codificador;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        super.configure(type, parameters, serviceRegistry);
+        Object configurado = serviceRegistry.requireService(ConfigurationService.class)
+                .getSettings().get(PROPRIEDADE_CODIFICADOR);
+        if (configurado != null && !(configurado instanceof LongUnaryOperator)) {
+            throw new MappingException(PROPRIEDADE_CODIFICADOR + " deve ser um LongUnaryOperator: " + configurado);
+        }
+        codificador = (LongUnaryOperator) configurado;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        Long sequencia = (Long) super.generate(session, object);
+        return codificador == null ? sequencia : codificador.applyAsLong(sequencia);
+    }
+
+    // INSERT ... SELECT do HQL usaria a sequence direto, sem passar pelo codificador
+    @Override
+    public boolean supportsBulkInsertionIdentifierGeneration() {
+        return codificador == null && super.supportsBulkInsertionIdentifierGeneration();
+    }
+}
@@ -1,6 +1,9 @@
 package com.ecommerce.produtos.infrastructure.persistence.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -9,11 +12,24 @@ import java.time.LocalDateTime;
  * Separada da entidade de domínio para desacoplar do framework
  */
 @Entity
-@Table(name = "produtos")
+@Table(name = "produtos", indexes = {
+        @Index(name = "idx_produtos_categoria_id", columnList = "categoria, id"),
+        // Faixa de preço dentro da categoria já ordenada por (preco, id): sem full scan nem sort
+        @Index(name = "idx_produtos_categoria_preco", columnList = "categoria, preco, id"),
+        // Ordem por data de criação dentro da categoria (mais recentes primeiro, lido de trás para frente)
+        @Index(name = "idx_produtos_categoria_data_criacao", columnList = "categoria, data_criacao, id")
+})
 public class ProdutoJpaEntity {
 
+    // SEQUENCE com pooled optimizer: reserva 50 IDs por ida ao banco e permite
+    // que o Hibernate agrupe os INSERTs em batch (IDENTITY desabilita o batching);
+    // o formato final do ID vem da configuração do EntityManagerFactory (GeradorIdProduto)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "produtos_seq")
+    @GenericGenerator(name = "produtos_seq", type = GeradorIdProduto.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "produtos_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "50")
+    })
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -34,6 +50,11 @@ public class ProdutoJpaEntity {
     @Column(name = "data_criacao", nullable = false, updatable = false)
     private LocalDateTime dataCriacao;
 
+    // Controle de concorrência otimista: o Hibernate inclui "AND versao = ?" nos UPDATEs
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     // Construtor vazio (obrigatório para JPA)
     public ProdutoJpaEntity() {
     }
@@ -42,6 +63,12 @@ public class ProdutoJpaEntity {
     public ProdutoJpaEntity(Long id, String nome, String descricao, 
                            BigDecimal preco, Integer estoque, 
                            String categoria, LocalDateTime dataCriacao) {
+        this(id, nome, descricao, preco, estoque, categoria, dataCriacao, null);
+    }
+
+    public ProdutoJpaEntity(Long id, String nome, String descricao, 
+                           BigDecimal preco, Integer estoque, 
+                           String categoria, LocalDateTime dataCriacao, Long versao) {
         this.id = id;
         this.nome = nome;
         this.descricao = descricao;
@@ -49,6 +76,7 @@ public class ProdutoJpaEntity {
         this.estoque = estoque;
         this.categoria = categoria;
         this.dataCriacao = dataCriacao;
+        this.versao = versao;
     }
 
     @PrePersist
@@ -81,4 +109,7 @@ public class ProdutoJpaEntity {
     public void setDataCriacao(LocalDateTime dataCriacao) { 
         this.dataCriacao = dataCriacao; 
     }
+
+    public Long getVersao() { return versao; }
+    public void setVersao(Long versao) { this.versao = versao; }
 }
\ No newline at end of file
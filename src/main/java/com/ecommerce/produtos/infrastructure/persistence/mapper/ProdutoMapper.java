@@ -20,7 +20,8 @@ public class ProdutoMapper {
                 jpaEntity.getPreco(),
                 jpaEntity.getEstoque(),
                 jpaEntity.getCategoria(),
-                jpaEntity.getDataCriacao()
+                jpaEntity.getDataCriacao(),
+                jpaEntity.getVersao()
         );
     }
 
@@ -36,7 +37,8 @@ public class ProdutoMapper {
                 produto.getPreco(),
                 produto.getEstoque(),
                 produto.getCategoria(),
-                produto.getDataCriacao()
+                produto.getDataCriacao(),
+                produto.getVersao()
         );
     }
 }
\ No newline at end of file
@@ -1,8 +1,18 @@
 package com.ecommerce.produtos.infrastructure.persistence.repository;
 
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
 import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface do Spring Data JPA
@@ -10,4 +20,55 @@ import java.util.List;
  */
 public interface ProdutoJpaRepository extends JpaRepository<ProdutoJpaEntity, Long> {
     List<ProdutoJpaEntity> findByCategoria(String categoria);
+
+    // WHERE id > ? ORDER BY id LIMIT ?
+    List<ProdutoJpaEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limite);
+
+    // WHERE categoria = ? AND id > ? ORDER BY id LIMIT ?
+    List<ProdutoJpaEntity> findByCategoriaAndIdGreaterThanOrderByIdAsc(
+            String categoria, Long id, Limit limite);
+
+    // UPDATE condicional: só reduz se houver estoque suficiente (atômico no banco)
+    @Modifying
+    // Os UPDATEs diretos também incrementam a versão, invalidando ETags já emitidos
+    @Query("UPDATE ProdutoJpaEntity p SET p.estoque = p.estoque - :quantidade, p.versao = p.versao + 1 "
+            + "WHERE p.id = :id AND p.estoque >= :quantidade")
+    int reduzirEstoque(@Param("id") Long id, @Param("quantidade") int quantidade);
+
+    // Só aumenta se o resultado couber em um int (estoqueMaximo = Integer.MAX_VALUE - quantidade)
+    @Modifying
+    @Query("UPDATE ProdutoJpaEntity p SET p.estoque = p.estoque + :quantidade, p.versao = p.versao + 1 "
+            + "WHERE p.id = :id AND p.estoque <= :estoqueMaximo")
+    int aumentarEstoque(@Param("id") Long id, @Param("quantidade") int quantidade,
+                        @Param("estoqueMaximo") int estoqueMaximo);
+
+    // UPDATE direto com a verificação otimista no WHERE (sem o SELECT do merge);
+    // 0 linhas = versão diferente ou produto removido
+    @Modifying
+    @Query("UPDATE ProdutoJpaEntity p SET p.nome = :nome, p.descricao = :descricao, p.preco = :preco, "
+            + "p.estoque = :estoque, p.categoria = :categoria, p.versao = p.versao + 1 "
+            + "WHERE p.id = :id AND p.versao = :versao")
+    int atualizar(@Param("id") Long id, @Param("versao") Long versao,
+                  @Param("nome") String nome, @Param("descricao") String descricao,
+                  @Param("preco") BigDecimal preco, @Param("estoque") Integer estoque,
+                  @Param("categoria") String categoria);
+
+    // DELETE direto (deleteById carrega a entidade antes de remover); retorna as linhas removidas
+    @Modifying
+    @Query("DELETE FROM ProdutoJpaEntity p WHERE p.id = :id")
+    int deletarPorId(@Param("id") Long id);
+
+    // Uma linha por categoria: categoria, quantidade, estoque total, preço mínimo, máximo e soma
+    @Query("SELECT p.categoria, COUNT(p), SUM(p.estoque), MIN(p.preco), MAX(p.preco), SUM(p.preco) "
+            + "FROM ProdutoJpaEntity p GROUP BY p.categoria")
+    List<Object[]> estatisticasPorCategoria();
+
+    // Estoque, categoria e versão em uma só leitura, logo após os UPDATEs de estoque
+    @Query("SELECT new com.ecommerce.produtos.domain.repository.EstoqueAtualizado(p.estoque, p.categoria, p.versao) "
+            + "FROM ProdutoJpaEntity p WHERE p.id = :id")
+    Optional<EstoqueAtualizado> findEstoqueAtualizadoById(@Param("id") Long id);
+
+    // SELECT ... FOR UPDATE em ordem de ID (ordem fixa evita deadlock entre lotes)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ProdutoJpaEntity> findByIdInOrderByIdAsc(Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.ecommerce.produtos.infrastructure.persistence.repository;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Base para decorators do Port do Repositório (cache, métricas, etc)
+ * Repassa todas as chamadas ao delegate; as subclasses sobrescrevem apenas o que precisam
+ */
+public abstract class ProdutoRepositoryDecorator implements ProdutoRepositoryPort {
+
+    protected final ProdutoRepositoryPort delegate;
+
+    protected ProdutoRepositoryDecorator(ProdutoRepositoryPort delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        return delegate.salvar(produto);
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        return delegate.atualizarCampos(produto, campos, condicional);
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        return delegate.salvarTodos(produtos);
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        return delegate.buscarPorId(id);
+    }
+
+    @Override
+    public List<Produto> buscarPorIds(Set<Long> ids) {
+        return delegate.buscarPorIds(ids);
+    }
+
+    @Override
+    public List<Produto> buscarTodos() {
+        return delegate.buscarTodos();
+    }
+
+    @Override
+    public Stream<Produto> buscarTodosEmStream() {
+        return delegate.buscarTodosEmStream();
+    }
+
+    @Override
+    public List<Produto> buscarPorCategoria(String categoria) {
+        return delegate.buscarPorCategoria(categoria);
+    }
+
+    @Override
+    public List<Produto> buscarPagina(Long aposId, int limite) {
+        return delegate.buscarPagina(aposId, limite);
+    }
+
+    @Override
+    public List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite) {
+        return delegate.buscarPaginaPorCategoria(categoria, aposId, limite);
+    }
+
+    @Override
+    public List<Produto> buscarPorPreco(ConsultaPorPreco consulta) {
+        return delegate.buscarPorPreco(consulta);
+    }
+
+    @Override
+    public List<EstatisticasCategoria> estatisticasPorCategoria() {
+        return delegate.estatisticasPorCategoria();
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        return delegate.deletar(id);
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        return delegate.reduzirEstoque(id, quantidade);
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        return delegate.aumentarEstoque(id, quantidade);
+    }
+
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        delegate.alterarEstoquesEmLote(ids, alteracao);
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        return delegate.existe(id);
+    }
+}
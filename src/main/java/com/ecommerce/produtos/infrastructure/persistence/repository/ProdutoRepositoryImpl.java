@@ -1,13 +1,40 @@
 package com.ecommerce.produtos.infrastructure.persistence.repository;
 
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
 import com.ecommerce.produtos.infrastructure.persistence.mapper.ProdutoMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementação do Port (Interface) do Repositório
@@ -16,17 +43,173 @@ import java.util.stream.Collectors;
 @Component
 public class ProdutoRepositoryImpl implements ProdutoRepositoryPort {
 
+    // Linhas trazidas do banco a cada ida ao cursor JDBC durante a exportação
+    static final int FETCH_SIZE = 500;
+
+    private static final String SELECT_PRODUTOS =
+            "SELECT id, nome, descricao, preco, estoque, categoria, data_criacao, versao FROM produtos";
+
+    private static final String SELECT_TODOS_ORDENADOS = SELECT_PRODUTOS + " ORDER BY id";
+
+    private static final RowMapper<Produto> PRODUTO_ROW_MAPPER = (rs, linha) -> new Produto(
+            rs.getLong("id"),
+            rs.getString("nome"),
+            rs.getString("descricao"),
+            rs.getBigDecimal("preco"),
+            rs.getInt("estoque"),
+            rs.getString("categoria"),
+            rs.getTimestamp("data_criacao").toLocalDateTime(),
+            rs.getLong("versao")
+    );
+
     private final ProdutoJpaRepository jpaRepository;
+    // UPDATE dinâmico das atualizações parciais
+    private final EntityManager entityManager;
+    // Usado nas leituras via JDBC; o fetch size vale para o cursor da exportação
+    private final JdbcTemplate jdbcTemplate;
 
-    public ProdutoRepositoryImpl(ProdutoJpaRepository jpaRepository) {
+    public ProdutoRepositoryImpl(ProdutoJpaRepository jpaRepository, EntityManager entityManager,
+                                 DataSource dataSource) {
         this.jpaRepository = jpaRepository;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
     }
 
+    /**
+     * Produto novo: INSERT via persist. Produto já lido (com ID e versão): um único UPDATE
+     * condicional à versão lida, sem o SELECT que o merge de uma entidade destacada faria
+     */
     @Override
+    @Transactional
     public Produto salvar(Produto produto) {
+        if (produto.getId() != null && produto.getVersao() != null) {
+            return atualizar(produto);
+        }
         var jpaEntity = ProdutoMapper.toJpaEntity(produto);
-        var savedEntity = jpaRepository.save(jpaEntity);
-        return ProdutoMapper.toDomain(savedEntity);
+        try {
+            // O flush incrementa a versão antes do mapeamento, para o ETag devolvido ser o atual
+            var savedEntity = jpaRepository.saveAndFlush(jpaEntity);
+            return ProdutoMapper.toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException ex) {
+            // A versão lida pelo chamador não é mais a versão do banco
+            throw new VersaoDesatualizadaException(produto.getId());
+        }
+    }
+
+    private Produto atualizar(Produto produto) {
+        int linhas = jpaRepository.atualizar(
+                produto.getId(),
+                produto.getVersao(),
+                produto.getNome(),
+                produto.getDescricao(),
+                produto.getPreco(),
+                produto.getEstoque(),
+                produto.getCategoria());
+        if (linhas == 0) {
+            // A versão lida pelo chamador não é mais a versão do banco (ou o produto foi removido)
+            throw new VersaoDesatualizadaException(produto.getId());
+        }
+        return comVersao(produto, produto.getVersao() + 1);
+    }
+
+    private static Produto comVersao(Produto produto, Long versao) {
+        return new Produto(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getEstoque(), produto.getCategoria(), produto.getDataCriacao(), versao);
+    }
+
+    /**
+     * UPDATE montado só com as colunas alteradas (numa sincronização de preço, a descrição
+     * não é reenviada nem regravada). As colunas seguem a ordem do enum, então cada
+     * combinação de campos gera sempre o mesmo SQL (reaproveitado pelo cache de statements)
+     *
+     * O primeiro UPDATE é sempre condicionado à versão lida, o que devolve a nova versão sem
+     * outra leitura. Se a versão mudou e a gravação não é condicional (sem If-Match), as baixas
+     * de estoque concorrentes não podem virar conflito: grava sobre a versão atual e relê a linha.
+     */
+    @Override
+    @Transactional
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        if (campos.isEmpty()) {
+            return produto;
+        }
+        if (executarUpdate(produto, campos, true) == 1) {
+            return comVersao(produto, produto.getVersao() + 1);
+        }
+        if (condicional || executarUpdate(produto, campos, false) == 0) {
+            // Versão diferente da pedida, ou produto removido
+            throw new VersaoDesatualizadaException(produto.getId());
+        }
+        // Via JDBC, na mesma conexão: a linha como ficou, com as colunas gravadas por outros
+        return jdbcTemplate.queryForObject(SELECT_PRODUTOS + " WHERE id = ?", PRODUTO_ROW_MAPPER, produto.getId());
+    }
+
+    private int executarUpdate(Produto produto, Set<CampoProduto> campos, boolean naVersaoLida) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<ProdutoJpaEntity> update = cb.createCriteriaUpdate(ProdutoJpaEntity.class);
+        Root<ProdutoJpaEntity> p = update.from(ProdutoJpaEntity.class);
+        for (CampoProduto campo : EnumSet.copyOf(campos)) {
+            update.set(atributo(campo), valor(produto, campo));
+        }
+        update.set(p.<Long>get("versao"), cb.sum(p.<Long>get("versao"), 1L));
+        if (naVersaoLida) {
+            update.where(
+                    cb.equal(p.get("id"), produto.getId()),
+                    cb.equal(p.get("versao"), produto.getVersao()));
+        } else {
+            update.where(cb.equal(p.get("id"), produto.getId()));
+        }
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    /**
+     * Produtos novos: INSERTs em batch. Produtos já lidos (com ID e versão): as entidades são
+     * carregadas com um único SELECT ... IN e alteradas no contexto de persistência, e o flush
+     * envia os UPDATEs condicionados à versão também em batch (em vez de um merge por produto)
+     */
+    @Override
+    @Transactional
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        Set<Long> ids = produtos.stream()
+                .filter(produto -> produto.getId() != null && produto.getVersao() != null)
+                .map(Produto::getId)
+                .collect(Collectors.toSet());
+        Map<Long, ProdutoJpaEntity> existentes = ids.isEmpty() ? Map.of()
+                : jpaRepository.findByIdInOrderByIdAsc(ids).stream()
+                        .collect(Collectors.toMap(ProdutoJpaEntity::getId, entidade -> entidade));
+
+        List<ProdutoJpaEntity> entidades = new ArrayList<>(produtos.size());
+        for (Produto produto : produtos) {
+            if (produto.getId() == null || produto.getVersao() == null) {
+                entidades.add(jpaRepository.save(ProdutoMapper.toJpaEntity(produto)));
+                continue;
+            }
+            ProdutoJpaEntity entidade = existentes.get(produto.getId());
+            if (entidade == null || !entidade.getVersao().equals(produto.getVersao())) {
+                // Removido ou alterado desde a leitura: a transação inteira é revertida
+                throw new VersaoDesatualizadaException(produto.getId());
+            }
+            entidade.setNome(produto.getNome());
+            entidade.setDescricao(produto.getDescricao());
+            entidade.setPreco(produto.getPreco());
+            entidade.setEstoque(produto.getEstoque());
+            entidade.setCategoria(produto.getCategoria());
+            entidades.add(entidade);
+        }
+        try {
+            // O flush incrementa as versões antes do mapeamento
+            jpaRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException ex) {
+            // Alterado entre o SELECT acima e o flush
+            throw new VersaoDesatualizadaException((Long) ex.getIdentifier());
+        }
+        List<Produto> salvos = entidades.stream()
+                .map(ProdutoMapper::toDomain)
+                .collect(Collectors.toList());
+        // Se o contexto de persistência durar mais que este chunk (transação externa), sem o
+        // detach o flush de cada chunk de uma importação percorreria todos os anteriores
+        entidades.forEach(entityManager::detach);
+        return salvos;
     }
 
     @Override
@@ -35,6 +218,20 @@ public class ProdutoRepositoryImpl implements ProdutoRepositoryPort {
                 .map(ProdutoMapper::toDomain);
     }
 
+    /**
+     * Um SELECT com "id IN (?, ?, ...)" em vez de um findById por produto;
+     * o tamanho da lista é limitado por quem chama (produtos.busca-por-ids.max-ids)
+     */
+    @Override
+    public List<Produto> buscarPorIds(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String marcadores = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT_PRODUTOS + " WHERE id IN (" + marcadores + ")",
+                PRODUTO_ROW_MAPPER, ids.toArray());
+    }
+
     @Override
     public List<Produto> buscarTodos() {
         return jpaRepository.findAll()
@@ -43,6 +240,16 @@ public class ProdutoRepositoryImpl implements ProdutoRepositoryPort {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lê direto via JDBC (sem Persistence Context) para que a memória fique constante:
+     * cada linha vira um Produto e pode ser descartada assim que consumida.
+     * A conexão fica presa até o Stream ser fechado.
+     */
+    @Override
+    public Stream<Produto> buscarTodosEmStream() {
+        return jdbcTemplate.queryForStream(SELECT_TODOS_ORDENADOS, PRODUTO_ROW_MAPPER);
+    }
+
     @Override
     public List<Produto> buscarPorCategoria(String categoria) {
         return jpaRepository.findByCategoria(categoria)
@@ -52,12 +259,151 @@ public class ProdutoRepositoryImpl implements ProdutoRepositoryPort {
     }
 
     @Override
-    public void deletar(Long id) {
-        jpaRepository.deleteById(id);
+    public List<Produto> buscarPagina(Long aposId, int limite) {
+        return jpaRepository.findByIdGreaterThanOrderByIdAsc(inicioDoCursor(aposId), Limit.of(limite))
+                .stream()
+                .map(ProdutoMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite) {
+        return jpaRepository.findByCategoriaAndIdGreaterThanOrderByIdAsc(
+                        categoria, inicioDoCursor(aposId), Limit.of(limite))
+                .stream()
+                .map(ProdutoMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * SQL montado só com os filtros informados, para o banco usar o índice
+     * (categoria, preco, id) como faixa; na ordem por preço ele já entrega as linhas
+     * ordenadas e para no LIMIT, sem ordenar o resultado
+     */
+    @Override
+    public List<Produto> buscarPorPreco(ConsultaPorPreco consulta) {
+        StringBuilder sql = new StringBuilder(SELECT_PRODUTOS).append(" WHERE categoria = ?");
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(consulta.categoria());
+        if (consulta.precoMin() != null) {
+            sql.append(" AND preco >= ?");
+            parametros.add(consulta.precoMin());
+        }
+        if (consulta.precoMax() != null) {
+            sql.append(" AND preco <= ?");
+            parametros.add(consulta.precoMax());
+        }
+
+        ConsultaPorPreco.Posicao apos = consulta.apos();
+        if (consulta.ordenacao() == ConsultaPorPreco.Ordenacao.PRECO) {
+            if (apos != null) {
+                sql.append(" AND (preco > ? OR (preco = ? AND id > ?))");
+                parametros.addAll(List.of(apos.preco(), apos.preco(), apos.id()));
+            }
+            sql.append(" ORDER BY preco, id");
+        } else {
+            if (apos != null) {
+                Timestamp data = Timestamp.valueOf(apos.dataCriacao());
+                sql.append(" AND (data_criacao < ? OR (data_criacao = ? AND id < ?))");
+                parametros.addAll(List.of(data, data, apos.id()));
+            }
+            sql.append(" ORDER BY data_criacao DESC, id DESC");
+        }
+        sql.append(" LIMIT ?");
+        parametros.add(consulta.limite());
+
+        return jdbcTemplate.query(sql.toString(), PRODUTO_ROW_MAPPER, parametros.toArray());
+    }
+
+    @Override
+    public List<EstatisticasCategoria> estatisticasPorCategoria() {
+        return jpaRepository.estatisticasPorCategoria().stream()
+                .map(linha -> new EstatisticasCategoria(
+                        (String) linha[0],
+                        ((Number) linha[1]).longValue(),
+                        ((Number) linha[2]).longValue(),
+                        (BigDecimal) linha[3],
+                        (BigDecimal) linha[4],
+                        (BigDecimal) linha[5]))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public boolean deletar(Long id) {
+        return jpaRepository.deletarPorId(id) > 0;
+    }
+
+    /**
+     * Um único UPDATE condicional decide se há estoque; a leitura seguinte, na mesma
+     * transação, vê a linha ainda bloqueada pelo UPDATE e devolve o valor resultante
+     * junto com a categoria (os decorators invalidam por categoria sem outra consulta)
+     */
+    @Override
+    @Transactional
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        if (jpaRepository.reduzirEstoque(id, quantidade) == 0) {
+            return Optional.empty();
+        }
+        return jpaRepository.findEstoqueAtualizadoById(id);
+    }
+
+    @Override
+    @Transactional
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        if (jpaRepository.aumentarEstoque(id, quantidade, Integer.MAX_VALUE - quantidade) == 0) {
+            return Optional.empty();
+        }
+        return jpaRepository.findEstoqueAtualizadoById(id);
+    }
+
+    /**
+     * As entidades ficam gerenciadas até o commit: basta copiar o estoque alterado
+     * para elas e o flush envia os UPDATEs agrupados (hibernate.jdbc.batch_size)
+     */
+    @Override
+    @Transactional
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        List<ProdutoJpaEntity> entidades = jpaRepository.findByIdInOrderByIdAsc(ids);
+        Map<Long, Produto> produtos = new HashMap<>(entidades.size() * 2);
+        entidades.forEach(entidade -> produtos.put(entidade.getId(), ProdutoMapper.toDomain(entidade)));
+
+        alteracao.accept(produtos);
+
+        for (ProdutoJpaEntity entidade : entidades) {
+            Integer novoEstoque = produtos.get(entidade.getId()).getEstoque();
+            if (!novoEstoque.equals(entidade.getEstoque())) {
+                entidade.setEstoque(novoEstoque);
+            }
+        }
     }
 
     @Override
     public boolean existe(Long id) {
         return jpaRepository.existsById(id);
     }
+
+    private static String atributo(CampoProduto campo) {
+        return switch (campo) {
+            case NOME -> "nome";
+            case DESCRICAO -> "descricao";
+            case PRECO -> "preco";
+            case ESTOQUE -> "estoque";
+            case CATEGORIA -> "categoria";
+        };
+    }
+
+    private static Object valor(Produto produto, CampoProduto campo) {
+        return switch (campo) {
+            case NOME -> produto.getNome();
+            case DESCRICAO -> produto.getDescricao();
+            case PRECO -> produto.getPreco();
+            case ESTOQUE -> produto.getEstoque();
+            case CATEGORIA -> produto.getCategoria();
+        };
+    }
+
+    private static Long inicioDoCursor(Long aposId) {
+        return aposId == null ? 0L : aposId;
+    }
 }
\ No newline at end of file
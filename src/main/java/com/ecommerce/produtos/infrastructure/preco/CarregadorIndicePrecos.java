@@ -0,0 +1,38 @@
+package com.ecommerce.produtos.infrastructure.preco;
+
+import com.ecommerce.produtos.application.preco.IndicePrecos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.stream.Stream;
+
+/**
+ * Monta o índice de preços na subida, lendo o catálogo pelo cursor de buscarTodosEmStream
+ * Até terminar, as consultas por preço são respondidas pelo banco
+ */
+public class CarregadorIndicePrecos implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CarregadorIndicePrecos.class);
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final IndicePrecos indice;
+
+    public CarregadorIndicePrecos(ProdutoRepositoryPort repositoryPort, IndicePrecos indice) {
+        this.repositoryPort = repositoryPort;
+        this.indice = indice;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long inicio = System.nanoTime();
+        try (Stream<Produto> produtos = repositoryPort.buscarTodosEmStream()) {
+            indice.reconstruir(produtos);
+        }
+        log.info("Índice de preços carregado: {} produtos em {} ms",
+                indice.tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.produtos.infrastructure.preco;
+
+import com.ecommerce.produtos.application.preco.IndicePrecos;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryDecorator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator que responde buscarPorPreco pelo IndicePrecos e o mantém em sincronia
+ *
+ * O índice devolve os IDs na ordem; os produtos da página são lidos com um buscarPorIds
+ * (cache) e, se algum foi descartado (removido ou fora da faixa depois do índice), a consulta
+ * continua no índice a partir do último ID até completar a página. Enquanto o índice não foi
+ * carregado, a consulta vai para o banco (índices categoria, preco e categoria, data_criacao).
+ * Alterações de estoque não mudam preço nem categoria e não reindexam.
+ */
+public class ProdutoRepositoryComIndicePrecos extends ProdutoRepositoryDecorator {
+
+    private final IndicePrecos indice;
+
+    public ProdutoRepositoryComIndicePrecos(ProdutoRepositoryPort delegate, IndicePrecos indice) {
+        super(delegate);
+        this.indice = indice;
+    }
+
+    @Override
+    public List<Produto> buscarPorPreco(ConsultaPorPreco consulta) {
+        if (!indice.carregado()) {
+            return delegate.buscarPorPreco(consulta);
+        }
+        List<Produto> produtos = new ArrayList<>(consulta.limite());
+        Set<Long> incluidos = new HashSet<>();
+        ConsultaPorPreco restante = consulta;
+        while (true) {
+            List<ConsultaPorPreco.Posicao> posicoes = indice.posicoes(restante);
+            if (posicoes.isEmpty()) {
+                return produtos;
+            }
+            Map<Long, Produto> porId = new HashMap<>(posicoes.size() * 2);
+            delegate.buscarPorIds(posicoes.stream().map(ConsultaPorPreco.Posicao::id).collect(Collectors.toSet()))
+                    .forEach(produto -> porId.put(produto.getId(), produto));
+            for (ConsultaPorPreco.Posicao posicao : posicoes) {
+                // Produto removido ou alterado entre o índice e a leitura fica de fora
+                Produto produto = porId.get(posicao.id());
+                if (produto != null && consulta.aceita(produto) && incluidos.add(produto.getId())) {
+                    produtos.add(produto);
+                }
+            }
+            // Índice esgotado, ou página completa (o limite já inclui o item que indica a próxima página)
+            if (posicoes.size() < restante.limite() || produtos.size() >= consulta.limite()) {
+                return produtos;
+            }
+            // Os descartados encurtariam a página e esconderiam a próxima: continua depois do último
+            restante = new ConsultaPorPreco(consulta.categoria(), consulta.precoMin(), consulta.precoMax(),
+                    consulta.ordenacao(), posicoes.get(posicoes.size() - 1), consulta.limite() - produtos.size());
+        }
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Produto salvo = delegate.salvar(produto);
+        indice.indexar(salvo);
+        return salvo;
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        Produto salvo = delegate.atualizarCampos(produto, campos, condicional);
+        // O índice é ordenado por preço dentro de cada categoria
+        if (campos.contains(CampoProduto.PRECO) || campos.contains(CampoProduto.CATEGORIA)) {
+            indice.indexar(salvo);
+        }
+        return salvo;
+    }
+
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        List<Produto> salvos = delegate.salvarTodos(produtos);
+        salvos.forEach(indice::indexar);
+        return salvos;
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        boolean removido = delegate.deletar(id);
+        if (removido) {
+            indice.remover(id);
+        }
+        return removido;
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Hashing consistente: cada shard ocupa vários pontos (nós virtuais) de um anel de 64 bits
+ * e uma chave pertence ao primeiro ponto a partir do seu hash
+ *
+ * Os pontos dependem só do nome de cada shard: ao acrescentar um shard, só as chaves que
+ * caem nos pontos dele mudam de dono (cerca de 1/N), e não todas, como num hash % N.
+ */
+public class AnelConsistente {
+
+    private final NavigableMap<Long, Integer> pontos = new TreeMap<>();
+
+    /**
+     * @param shards     nomes dos shards, na ordem dos índices
+     * @param nosVirtuais pontos por shard (mais pontos = divisão mais uniforme)
+     */
+    public AnelConsistente(List<String> shards, int nosVirtuais) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("O anel precisa de pelo menos um shard");
+        }
+        for (int indice = 0; indice < shards.size(); indice++) {
+            for (int no = 0; no < nosVirtuais; no++) {
+                pontos.put(hash(shards.get(indice) + "#" + no), indice);
+            }
+        }
+    }
+
+    /**
+     * Índice do shard dono da chave
+     */
+    public int shard(String chave) {
+        Map.Entry<Long, Integer> ponto = pontos.ceilingEntry(hash(chave));
+        return (ponto != null ? ponto : pontos.firstEntry()).getValue();
+    }
+
+    // MD5 só pela distribuição (não é uso criptográfico): os 8 primeiros bytes viram o ponto
+    private static long hash(String valor) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(valor.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+}
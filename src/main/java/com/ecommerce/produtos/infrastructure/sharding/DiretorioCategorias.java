@@ -0,0 +1,139 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Em que shard está cada categoria, gravado na tabela produtos_shards_categorias do shard 0
+ * e mantido em memória
+ *
+ * Uma categoria é fixada no shard que o anel escolhe na primeira escrita dela; a partir daí só
+ * muda ao ser movida (ProdutoRepositoryComShards.moverCategoria). Assim, acrescentar um shard
+ * ao anel não muda de lugar categorias que já têm produtos: elas aparecem como sugestão de
+ * movimentação. As outras instâncias recarregam a tabela a cada intervalo.
+ */
+public class DiretorioCategorias {
+
+    private static final Logger log = LoggerFactory.getLogger(DiretorioCategorias.class);
+    static final String TABELA = "produtos_shards_categorias";
+
+    private final JdbcTemplate jdbc;
+    private final AnelConsistente anel;
+    private final Duration intervaloAtualizacao;
+    private final Map<String, Integer> categorias = new ConcurrentHashMap<>();
+    private ScheduledExecutorService agendador;
+
+    /**
+     * @param jdbc                 acesso ao shard 0, onde fica a tabela
+     * @param intervaloAtualizacao intervalo de recarga da tabela (zero ou negativo desativa)
+     */
+    public DiretorioCategorias(JdbcTemplate jdbc, AnelConsistente anel, Duration intervaloAtualizacao) {
+        this.jdbc = jdbc;
+        this.anel = anel;
+        this.intervaloAtualizacao = intervaloAtualizacao;
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + TABELA
+                + " (categoria VARCHAR(50) PRIMARY KEY, shard INT NOT NULL)");
+        recarregar();
+    }
+
+    public void iniciar() {
+        if (intervaloAtualizacao.isZero() || intervaloAtualizacao.isNegative()) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "diretorio-categorias");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::recarregarComSeguranca,
+                intervaloAtualizacao.toMillis(), intervaloAtualizacao.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+    }
+
+    /**
+     * Shard da categoria para leitura; categoria ainda sem produtos: o shard do anel (sem gravar)
+     */
+    public int shardDa(String categoria) {
+        Integer shard = categorias.get(categoria);
+        return shard != null ? shard : anel.shard(categoria);
+    }
+
+    /**
+     * Shard da categoria para escrita: na primeira escrita de uma categoria, grava o shard do anel
+     */
+    public int shardParaGravar(String categoria) {
+        Integer shard = categorias.get(categoria);
+        if (shard != null) {
+            return shard;
+        }
+        // INSERT fora do computeIfAbsent: o lock do mapa prenderia a thread (virtual) durante o acesso
+        // ao banco; duas primeiras escritas simultâneas chegam ao mesmo shard pela chave do diretório
+        int registrado = registrar(categoria);
+        Integer anterior = categorias.putIfAbsent(categoria, registrado);
+        return anterior != null ? anterior : registrado;
+    }
+
+    /**
+     * Shard em que o anel colocaria a categoria hoje
+     */
+    public int shardNoAnel(String categoria) {
+        return anel.shard(categoria);
+    }
+
+    void mover(String categoria, int shard) {
+        if (jdbc.update("UPDATE " + TABELA + " SET shard = ? WHERE categoria = ?", shard, categoria) == 0) {
+            jdbc.update("INSERT INTO " + TABELA + " (categoria, shard) VALUES (?, ?)", categoria, shard);
+        }
+        categorias.put(categoria, shard);
+    }
+
+    public Map<String, Integer> categorias() {
+        return Map.copyOf(categorias);
+    }
+
+    public void recarregar() {
+        Map<String, Integer> gravadas = new HashMap<>();
+        jdbc.query("SELECT categoria, shard FROM " + TABELA,
+                linha -> {
+                    gravadas.put(linha.getString("categoria"), linha.getInt("shard"));
+                });
+        categorias.putAll(gravadas);
+        categorias.keySet().retainAll(gravadas.keySet());
+    }
+
+    private void recarregarComSeguranca() {
+        try {
+            recarregar();
+        } catch (DataAccessException ex) {
+            log.warn("Falha ao recarregar o diretório de categorias dos shards", ex);
+        }
+    }
+
+    private int registrar(String categoria) {
+        int shard = anel.shard(categoria);
+        try {
+            jdbc.update("INSERT INTO " + TABELA + " (categoria, shard) VALUES (?, ?)", categoria, shard);
+            return shard;
+        } catch (DuplicateKeyException ex) {
+            // Registrada ao mesmo tempo por outra instância (ou movida antes da recarga)
+            return jdbc.queryForObject("SELECT shard FROM " + TABELA + " WHERE categoria = ?",
+                    Integer.class, categoria);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+/**
+ * Formato dos IDs com shard: os 10 bits menos significativos guardam o índice do shard em
+ * que o produto foi criado e os demais, o valor da sequence desse shard
+ *
+ * Cada shard tem a sua sequence, então os IDs não colidem entre shards; ler o shard do ID
+ * permite que as operações por ID vão direto a um shard, sem consultar os outros.
+ */
+public final class IdComShard {
+
+    static final int BITS_SHARD = 10;
+    public static final int MAX_SHARDS = 1 << BITS_SHARD;
+
+    private IdComShard() {
+    }
+
+    public static long codificar(long sequencia, int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard fora do intervalo [0, " + MAX_SHARDS + "): " + shard);
+        }
+        return (sequencia << BITS_SHARD) | shard;
+    }
+
+    public static int shard(long id) {
+        return (int) (id & (MAX_SHARDS - 1));
+    }
+}
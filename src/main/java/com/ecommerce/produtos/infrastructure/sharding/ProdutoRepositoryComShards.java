@@ -0,0 +1,709 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementação do Port sobre vários bancos (shards), particionados por categoria
+ *
+ * - Categoria: o DiretorioCategorias diz em que shard ela está (hashing consistente na
+ *   primeira escrita); consultas por categoria e por preço vão a um único shard.
+ * - ID: o shard em que o produto foi criado está no próprio ID (IdComShard); as operações
+ *   por ID vão a esse shard e só consultam os demais se o produto não estiver lá (ele mudou
+ *   de categoria ou a categoria foi movida). Contador: produtos.shards.fora.do.shard.do.id.
+ * - Todos os produtos (listagem, páginas, exportação, estatísticas): consulta todos os shards
+ *   em paralelo e junta os resultados na ordem de ID.
+ *
+ * Escritas em vários shards (salvarTodos, alterarEstoquesEmLote) abrem uma transação em
+ * cada shard, sempre na ordem dos índices, e confirmam todas ao final: não é um commit em
+ * duas fases, uma falha entre os commits deixa o lote aplicado só em parte dos shards.
+ */
+public class ProdutoRepositoryComShards implements ProdutoRepositoryPort {
+
+    private static final Logger log = LoggerFactory.getLogger(ProdutoRepositoryComShards.class);
+
+    // Produtos copiados por vez ao mover uma categoria
+    static final int PAGINA_MOVIMENTACAO = 500;
+
+    private static final String COLUNAS = "id, nome, descricao, preco, estoque, categoria, data_criacao, versao";
+
+    private static final RowMapper<Produto> PRODUTO_ROW_MAPPER = (rs, linha) -> new Produto(
+            rs.getLong("id"),
+            rs.getString("nome"),
+            rs.getString("descricao"),
+            rs.getBigDecimal("preco"),
+            rs.getInt("estoque"),
+            rs.getString("categoria"),
+            rs.getTimestamp("data_criacao").toLocalDateTime(),
+            rs.getLong("versao")
+    );
+
+    private final List<Shard> shards;
+    private final DiretorioCategorias diretorio;
+    private final ExecutorService consultas;
+    private final Counter foraDoShardDoId;
+    // Categorias sendo movidas por esta instância: as escritas nelas esperam a movimentação terminar
+    private final Map<String, ReentrantLock> movimentacoes = new ConcurrentHashMap<>();
+
+    /**
+     * @param nosVirtuais          pontos de cada shard no anel de hashing consistente
+     * @param atualizacaoDiretorio intervalo de recarga do diretório de categorias
+     */
+    public ProdutoRepositoryComShards(List<Shard> shards, int nosVirtuais, Duration atualizacaoDiretorio,
+                                      MeterRegistry registry) {
+        this(shards, nosVirtuais, atualizacaoDiretorio, false, registry);
+    }
+
+    /**
+     * @param threadsVirtuais consultas paralelas aos shards em threads virtuais (uma por consulta)
+     *                        em vez do pool de threads do sistema
+     */
+    public ProdutoRepositoryComShards(List<Shard> shards, int nosVirtuais, Duration atualizacaoDiretorio,
+                                      boolean threadsVirtuais, MeterRegistry registry) {
+        if (shards.size() > IdComShard.MAX_SHARDS) {
+            throw new IllegalArgumentException("No máximo " + IdComShard.MAX_SHARDS + " shards");
+        }
+        this.shards = List.copyOf(shards);
+        this.diretorio = new DiretorioCategorias(shards.get(0).jdbc(),
+                new AnelConsistente(shards.stream().map(Shard::nome).toList(), nosVirtuais),
+                atualizacaoDiretorio);
+        this.consultas = threadsVirtuais
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shards-consulta-", 0).factory())
+                : Executors.newCachedThreadPool(tarefa -> {
+                    Thread thread = new Thread(tarefa, "shards-consulta");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.foraDoShardDoId = Counter.builder("produtos.shards.fora.do.shard.do.id")
+                .description("Operações por ID em que o produto não estava no shard indicado pelo ID")
+                .register(registry);
+    }
+
+    public void iniciar() {
+        diretorio.iniciar();
+    }
+
+    public void encerrar() {
+        diretorio.encerrar();
+        consultas.shutdownNow();
+        shards.forEach(Shard::close);
+    }
+
+    @Override
+    public Produto salvar(Produto produto) {
+        Shard destino = paraGravar(produto.getCategoria());
+        if (!existente(produto)) {
+            return destino.repositorio().salvar(produto);
+        }
+        try {
+            return destino.repositorio().salvar(produto);
+        } catch (VersaoDesatualizadaException ex) {
+            return moverSeEstiverEmOutroShard(produto, destino, ex);
+        }
+    }
+
+    @Override
+    public Produto atualizarCampos(Produto produto, Set<CampoProduto> campos, boolean condicional) {
+        Shard destino = paraGravar(produto.getCategoria());
+        try {
+            return destino.repositorio().atualizarCampos(produto, campos, condicional);
+        } catch (VersaoDesatualizadaException ex) {
+            // A mudança de shard copia a linha inteira lida, então continua condicionada à versão lida
+            return moverSeEstiverEmOutroShard(produto, destino, ex);
+        }
+    }
+
+    /**
+     * Cada shard grava os seus produtos com o salvarTodos dele (INSERTs e UPDATEs em batch);
+     * produtos já existentes que não estão no shard do ID são salvos um a um, já que podem
+     * precisar mudar de shard. Os destinos são resolvidos antes de abrir as transações.
+     */
+    @Override
+    public List<Produto> salvarTodos(List<Produto> produtos) {
+        Map<Shard, List<Integer>> porShard = new TreeMap<>(Comparator.comparingInt(Shard::indice));
+        List<Integer> umAUm = new ArrayList<>();
+        for (int i = 0; i < produtos.size(); i++) {
+            Produto produto = produtos.get(i);
+            Shard destino = paraGravar(produto.getCategoria());
+            if (existente(produto) && IdComShard.shard(produto.getId()) != destino.indice()) {
+                umAUm.add(i);
+            } else {
+                porShard.computeIfAbsent(destino, shard -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Produto[] salvos = new Produto[produtos.size()];
+        emTransacao(porShard.keySet().iterator(), () -> {
+            porShard.forEach((shard, indices) -> {
+                List<Produto> salvosNoShard = shard.repositorio().salvarTodos(
+                        indices.stream().map(produtos::get).collect(Collectors.toList()));
+                for (int i = 0; i < indices.size(); i++) {
+                    salvos[indices.get(i)] = salvosNoShard.get(i);
+                }
+            });
+            umAUm.forEach(i -> salvos[i] = salvar(produtos.get(i)));
+        });
+        return Arrays.asList(salvos);
+    }
+
+    @Override
+    public Optional<Produto> buscarPorId(Long id) {
+        Shard doId = doId(id);
+        Optional<Produto> produto = doId.repositorio().buscarPorId(id);
+        if (produto.isPresent()) {
+            return produto;
+        }
+        return localizar(id, doId).flatMap(shard -> shard.repositorio().buscarPorId(id));
+    }
+
+    @Override
+    public List<Produto> buscarPorIds(Set<Long> ids) {
+        return buscarNosShards(ids).values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Produto> buscarTodos() {
+        return mesclarPorId(emParalelo(shards, shard -> shard.repositorio().buscarTodos()).values());
+    }
+
+    /**
+     * Um cursor por shard, intercalados pela ordem de ID (cada shard já entrega ordenado);
+     * fechar o Stream fecha todos os cursores
+     */
+    @Override
+    public Stream<Produto> buscarTodosEmStream() {
+        List<Stream<Produto>> cursores = new ArrayList<>(shards.size());
+        try {
+            for (Shard shard : shards) {
+                cursores.add(shard.repositorio().buscarTodosEmStream());
+            }
+        } catch (RuntimeException ex) {
+            fecharTodos(cursores);
+            throw ex;
+        }
+        Iterator<Produto> intercalados = new IntercaladorPorId(cursores.stream().map(Stream::iterator).toList());
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(intercalados,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> fecharTodos(cursores));
+    }
+
+    @Override
+    public List<Produto> buscarPorCategoria(String categoria) {
+        return paraLer(categoria).repositorio().buscarPorCategoria(categoria);
+    }
+
+    // Cada shard devolve a sua página; os "limite" menores IDs entre elas formam a página global
+    @Override
+    public List<Produto> buscarPagina(Long aposId, int limite) {
+        List<Produto> candidatos = mesclarPorId(
+                emParalelo(shards, shard -> shard.repositorio().buscarPagina(aposId, limite)).values());
+        return candidatos.size() > limite ? new ArrayList<>(candidatos.subList(0, limite)) : candidatos;
+    }
+
+    @Override
+    public List<Produto> buscarPaginaPorCategoria(String categoria, Long aposId, int limite) {
+        return paraLer(categoria).repositorio().buscarPaginaPorCategoria(categoria, aposId, limite);
+    }
+
+    @Override
+    public List<Produto> buscarPorPreco(ConsultaPorPreco consulta) {
+        return paraLer(consulta.categoria()).repositorio().buscarPorPreco(consulta);
+    }
+
+    // Uma categoria só aparece em dois shards durante uma movimentação
+    @Override
+    public List<EstatisticasCategoria> estatisticasPorCategoria() {
+        return emParalelo(shards, shard -> shard.repositorio().estatisticasPorCategoria()).values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.groupingBy(EstatisticasCategoria::categoria, TreeMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .map(categoria -> categoria.getValue().size() == 1
+                        ? categoria.getValue().get(0)
+                        : EstatisticasCategoria.somar(categoria.getKey(), categoria.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean deletar(Long id) {
+        Shard doId = doId(id);
+        if (doId.repositorio().deletar(id)) {
+            return true;
+        }
+        return localizar(id, doId).map(shard -> shard.repositorio().deletar(id)).orElse(false);
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> reduzirEstoque(Long id, int quantidade) {
+        return alterarEstoque(id, (repositorio, produto) -> repositorio.reduzirEstoque(produto, quantidade));
+    }
+
+    @Override
+    public Optional<EstoqueAtualizado> aumentarEstoque(Long id, int quantidade) {
+        return alterarEstoque(id, (repositorio, produto) -> repositorio.aumentarEstoque(produto, quantidade));
+    }
+
+    /**
+     * Abre, em ordem de índice, a transação de cada shard envolvido, carregando os produtos
+     * dele com lock, e só então aplica a alteração a todos os produtos juntos. Se algum
+     * produto não estava no shard do ID, desfaz tudo (a alteração ainda não foi aplicada),
+     * localiza os produtos e repete com os shards certos.
+     */
+    @Override
+    public void alterarEstoquesEmLote(Set<Long> ids, Consumer<Map<Long, Produto>> alteracao) {
+        try {
+            alterarEmLote(agruparPorShardDoId(ids), ids, alteracao, true);
+        } catch (ProdutosForaDoShardDoId ex) {
+            Map<Shard, Set<Long>> localizados = new TreeMap<>(Comparator.comparingInt(Shard::indice));
+            buscarNosShards(ids).forEach((shard, produtos) -> localizados.put(shard,
+                    produtos.stream().map(Produto::getId).collect(Collectors.toSet())));
+            alterarEmLote(localizados, ids, alteracao, false);
+        }
+    }
+
+    @Override
+    public boolean existe(Long id) {
+        Shard doId = doId(id);
+        return doId.repositorio().existe(id) || localizar(id, doId).isPresent();
+    }
+
+    /**
+     * Move os produtos de uma categoria para outro shard, mantendo IDs e versões
+     *
+     * Na transação do shard de origem, os produtos são lidos com lock (SELECT ... FOR UPDATE),
+     * em páginas, copiados para o destino e removidos da origem; o diretório passa a apontar
+     * para o destino antes do commit da origem. Durante a cópia, escritas nesses produtos
+     * esperam o lock e depois os encontram no destino; nesta instância, a criação de produtos
+     * da categoria espera o fim da movimentação. Produtos criados por outra instância antes de
+     * ela recarregar o diretório ficam na origem e aparecem em "restantes": repetir a
+     * movimentação os leva também.
+     */
+    public Movimentacao moverCategoria(String categoria, int indiceDestino) {
+        if (indiceDestino < 0 || indiceDestino >= shards.size()) {
+            throw new IllegalArgumentException("Shard inexistente: " + indiceDestino);
+        }
+        ReentrantLock movimentacao = new ReentrantLock();
+        movimentacao.lock();
+        if (movimentacoes.putIfAbsent(categoria, movimentacao) != null) {
+            throw new IllegalStateException("A categoria " + categoria + " já está sendo movida");
+        }
+        try {
+            Shard origem = paraLer(categoria);
+            Shard destino = shards.get(indiceDestino);
+            if (origem == destino) {
+                return new Movimentacao(categoria, origem.indice(), destino.indice(), 0, contar(origem, categoria));
+            }
+            long copiados;
+            try {
+                copiados = origem.transacao().execute(status -> {
+                    long total = copiarCategoria(categoria, origem, destino);
+                    diretorio.mover(categoria, destino.indice());
+                    return total;
+                });
+            } catch (RuntimeException ex) {
+                // A origem voltou ao estado anterior: sem a troca no diretório, as cópias no destino sobram
+                diretorio.recarregar();
+                if (diretorio.shardDa(categoria) != destino.indice()) {
+                    destino.jdbc().update("DELETE FROM produtos WHERE categoria = ?", categoria);
+                }
+                throw ex;
+            }
+            long restantes = contar(origem, categoria);
+            log.info("Categoria {} movida do shard {} para o shard {}: {} produtos copiados, {} restantes na origem",
+                    categoria, origem.nome(), destino.nome(), copiados, restantes);
+            return new Movimentacao(categoria, origem.indice(), destino.indice(), copiados, restantes);
+        } finally {
+            movimentacoes.remove(categoria);
+            movimentacao.unlock();
+        }
+    }
+
+    /**
+     * Produtos e categorias de cada shard, e as categorias que o anel colocaria em outro shard
+     * (ex.: depois de acrescentar um shard)
+     */
+    public Distribuicao distribuicao() {
+        List<Distribuicao.ShardResumo> resumos = new ArrayList<>();
+        emParalelo(shards, shard -> shard.repositorio().estatisticasPorCategoria()).forEach((shard, estatisticas) -> {
+            Map<String, Long> categorias = new TreeMap<>();
+            estatisticas.forEach(categoria -> categorias.put(categoria.categoria(), categoria.produtos()));
+            long produtos = categorias.values().stream().mapToLong(Long::longValue).sum();
+            resumos.add(new Distribuicao.ShardResumo(shard.indice(), shard.nome(), produtos, categorias));
+        });
+        List<Distribuicao.Sugestao> sugestoes = new ArrayList<>();
+        new TreeMap<>(diretorio.categorias()).forEach((categoria, atual) -> {
+            int noAnel = diretorio.shardNoAnel(categoria);
+            if (noAnel != atual) {
+                sugestoes.add(new Distribuicao.Sugestao(categoria, atual, noAnel));
+            }
+        });
+        return new Distribuicao(resumos, sugestoes);
+    }
+
+    public List<Shard> shards() {
+        return shards;
+    }
+
+    private Shard paraLer(String categoria) {
+        return shards.get(diretorio.shardDa(categoria));
+    }
+
+    private Shard paraGravar(String categoria) {
+        ReentrantLock movimentacao = movimentacoes.get(categoria);
+        if (movimentacao != null && !movimentacao.isHeldByCurrentThread()) {
+            movimentacao.lock();
+            movimentacao.unlock();
+        }
+        return shards.get(diretorio.shardParaGravar(categoria));
+    }
+
+    // IDs anteriores ao sharding ou de um shard que não existe: o shard 0 e, se preciso, os demais
+    private Shard doId(Long id) {
+        int indice = IdComShard.shard(id);
+        return indice < shards.size() ? shards.get(indice) : shards.get(0);
+    }
+
+    private static boolean existente(Produto produto) {
+        return produto.getId() != null && produto.getVersao() != null;
+    }
+
+    /**
+     * Procura o produto nos shards além de "jaConsultado" (o do ID primeiro)
+     */
+    private Optional<Shard> localizar(Long id, Shard jaConsultado) {
+        Shard doId = doId(id);
+        List<Shard> ordem = new ArrayList<>(shards.size());
+        ordem.add(doId);
+        shards.stream().filter(shard -> shard != doId).forEach(ordem::add);
+        for (Shard shard : ordem) {
+            if (shard != jaConsultado && shard.repositorio().existe(id)) {
+                if (shard != doId) {
+                    foraDoShardDoId.increment();
+                }
+                return Optional.of(shard);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * O destino não aceitou o UPDATE: se o produto está em outro shard (mudou de categoria),
+     * ele é movido para o destino; senão, a versão mudou mesmo
+     */
+    private Produto moverSeEstiverEmOutroShard(Produto produto, Shard destino, VersaoDesatualizadaException ex) {
+        Optional<Shard> origem = localizar(produto.getId(), destino);
+        if (origem.isEmpty()) {
+            throw ex;
+        }
+        return moverProduto(produto, origem.get(), destino);
+    }
+
+    // DELETE condicionado à versão na origem e INSERT no destino; o INSERT falhando, a origem é revertida
+    private Produto moverProduto(Produto produto, Shard origem, Shard destino) {
+        return origem.transacao().execute(status -> {
+            int removidos = origem.jdbc().update("DELETE FROM produtos WHERE id = ? AND versao = ?",
+                    produto.getId(), produto.getVersao());
+            if (removidos == 0) {
+                throw new VersaoDesatualizadaException(produto.getId());
+            }
+            Produto movido = comVersao(produto, produto.getVersao() + 1);
+            destino.transacao().executeWithoutResult(destinoStatus -> gravarCopias(destino, List.of(movido)));
+            return movido;
+        });
+    }
+
+    private long copiarCategoria(String categoria, Shard origem, Shard destino) {
+        long total = 0;
+        long aposId = 0;
+        while (true) {
+            List<Produto> pagina = origem.jdbc().query(
+                    "SELECT " + COLUNAS + " FROM produtos WHERE categoria = ? AND id > ? ORDER BY id LIMIT ? FOR UPDATE",
+                    PRODUTO_ROW_MAPPER, categoria, aposId, PAGINA_MOVIMENTACAO);
+            if (pagina.isEmpty()) {
+                return total;
+            }
+            destino.transacao().executeWithoutResult(status -> gravarCopias(destino, pagina));
+            List<Long> ids = pagina.stream().map(Produto::getId).toList();
+            origem.jdbc().update("DELETE FROM produtos WHERE id IN (" + marcadores(ids.size()) + ")", ids.toArray());
+            total += pagina.size();
+            aposId = ids.get(ids.size() - 1);
+        }
+    }
+
+    // Remove antes as cópias de uma tentativa anterior, para repetir a movimentação sem conflito de ID
+    private static void gravarCopias(Shard destino, List<Produto> produtos) {
+        Object[] ids = produtos.stream().map(Produto::getId).toArray();
+        destino.jdbc().update("DELETE FROM produtos WHERE id IN (" + marcadores(ids.length) + ")", ids);
+        destino.jdbc().batchUpdate("INSERT INTO produtos (" + COLUNAS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                produtos, produtos.size(), (ps, produto) -> {
+                    ps.setLong(1, produto.getId());
+                    ps.setString(2, produto.getNome());
+                    ps.setString(3, produto.getDescricao());
+                    ps.setBigDecimal(4, produto.getPreco());
+                    ps.setInt(5, produto.getEstoque());
+                    ps.setString(6, produto.getCategoria());
+                    ps.setTimestamp(7, Timestamp.valueOf(produto.getDataCriacao()));
+                    ps.setLong(8, produto.getVersao());
+                });
+    }
+
+    private static long contar(Shard shard, String categoria) {
+        return shard.jdbc().queryForObject("SELECT COUNT(*) FROM produtos WHERE categoria = ?", Long.class, categoria);
+    }
+
+    private Optional<EstoqueAtualizado> alterarEstoque(
+            Long id, BiFunction<ProdutoRepositoryPort, Long, Optional<EstoqueAtualizado>> alteracao) {
+        Shard doId = doId(id);
+        Optional<EstoqueAtualizado> estoque = alteracao.apply(doId.repositorio(), id);
+        // Vazio também quando falta estoque: só procura nos outros shards se o produto não está aqui
+        if (estoque.isPresent() || doId.repositorio().existe(id)) {
+            return estoque;
+        }
+        return localizar(id, doId).flatMap(shard -> alteracao.apply(shard.repositorio(), id));
+    }
+
+    private void alterarEmLote(Map<Shard, Set<Long>> porShard, Set<Long> ids,
+                               Consumer<Map<Long, Produto>> alteracao, boolean exigirTodosNoShardDoId) {
+        Map<Long, Produto> todos = new HashMap<>(ids.size() * 2);
+        carregarComLock(porShard.entrySet().iterator(), todos, () -> {
+            if (exigirTodosNoShardDoId && todos.size() < ids.size() && shards.size() > 1) {
+                throw new ProdutosForaDoShardDoId();
+            }
+            alteracao.accept(todos);
+        });
+    }
+
+    // Cada shard chama o próximo de dentro da sua transação: todas ficam abertas até a alteração
+    private static void carregarComLock(Iterator<Map.Entry<Shard, Set<Long>>> pendentes, Map<Long, Produto> todos,
+                                        Runnable aplicar) {
+        if (!pendentes.hasNext()) {
+            aplicar.run();
+            return;
+        }
+        Map.Entry<Shard, Set<Long>> proximo = pendentes.next();
+        proximo.getKey().repositorio().alterarEstoquesEmLote(proximo.getValue(), produtos -> {
+            todos.putAll(produtos);
+            carregarComLock(pendentes, todos, aplicar);
+        });
+    }
+
+    private static void emTransacao(Iterator<Shard> pendentes, Runnable acao) {
+        if (!pendentes.hasNext()) {
+            acao.run();
+            return;
+        }
+        pendentes.next().transacao().executeWithoutResult(status -> emTransacao(pendentes, acao));
+    }
+
+    private Map<Shard, Set<Long>> agruparPorShardDoId(Collection<Long> ids) {
+        Map<Shard, Set<Long>> porShard = new TreeMap<>(Comparator.comparingInt(Shard::indice));
+        ids.forEach(id -> porShard.computeIfAbsent(doId(id), shard -> new HashSet<>()).add(id));
+        return porShard;
+    }
+
+    /**
+     * Busca cada ID no shard do ID e, os que não estavam lá, nos demais shards;
+     * devolve os produtos encontrados por shard
+     */
+    private Map<Shard, List<Produto>> buscarNosShards(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Shard, Set<Long>> porShard = agruparPorShardDoId(ids);
+        Map<Shard, List<Produto>> encontrados = new TreeMap<>(Comparator.comparingInt(Shard::indice));
+        encontrados.putAll(emParalelo(porShard.keySet(),
+                shard -> shard.repositorio().buscarPorIds(porShard.get(shard))));
+
+        Set<Long> faltando = new HashSet<>(ids);
+        encontrados.values().forEach(produtos -> produtos.forEach(produto -> faltando.remove(produto.getId())));
+        if (faltando.isEmpty() || shards.size() == 1) {
+            return encontrados;
+        }
+        Map<Shard, Set<Long>> nosOutros = new LinkedHashMap<>();
+        for (Shard shard : shards) {
+            Set<Long> procurar = faltando.stream()
+                    .filter(id -> doId(id) != shard)
+                    .collect(Collectors.toSet());
+            if (!procurar.isEmpty()) {
+                nosOutros.put(shard, procurar);
+            }
+        }
+        emParalelo(nosOutros.keySet(), shard -> shard.repositorio().buscarPorIds(nosOutros.get(shard)))
+                .forEach((shard, produtos) -> {
+                    if (!produtos.isEmpty()) {
+                        foraDoShardDoId.increment(produtos.size());
+                        encontrados.computeIfAbsent(shard, s -> new ArrayList<>()).addAll(produtos);
+                    }
+                });
+        return encontrados;
+    }
+
+    /**
+     * Executa a consulta em cada shard ao mesmo tempo; o resultado segue a ordem dos shards
+     */
+    private <T> Map<Shard, T> emParalelo(Collection<Shard> alvos, Function<Shard, T> consulta) {
+        Map<Shard, T> resultados = new LinkedHashMap<>();
+        if (alvos.size() == 1) {
+            Shard unico = alvos.iterator().next();
+            resultados.put(unico, consulta.apply(unico));
+            return resultados;
+        }
+        Map<Shard, CompletableFuture<T>> pendentes = new LinkedHashMap<>();
+        alvos.forEach(shard -> pendentes.put(shard, CompletableFuture.supplyAsync(() -> consulta.apply(shard), consultas)));
+        try {
+            pendentes.forEach((shard, resultado) -> resultados.put(shard, resultado.join()));
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw ex;
+        }
+        return resultados;
+    }
+
+    // Junta as listas em ordem de ID; um ID repetido (produto no meio de uma movimentação) entra uma vez
+    private static List<Produto> mesclarPorId(Collection<List<Produto>> listas) {
+        List<Produto> todos = listas.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Produto::getId))
+                .collect(Collectors.toCollection(ArrayList::new));
+        List<Produto> unicos = new ArrayList<>(todos.size());
+        for (Produto produto : todos) {
+            if (unicos.isEmpty() || !unicos.get(unicos.size() - 1).getId().equals(produto.getId())) {
+                unicos.add(produto);
+            }
+        }
+        return unicos;
+    }
+
+    private static void fecharTodos(List<Stream<Produto>> cursores) {
+        RuntimeException falha = null;
+        for (Stream<Produto> cursor : cursores) {
+            try {
+                cursor.close();
+            } catch (RuntimeException ex) {
+                if (falha == null) {
+                    falha = ex;
+                } else {
+                    falha.addSuppressed(ex);
+                }
+            }
+        }
+        if (falha != null) {
+            throw falha;
+        }
+    }
+
+    private static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
+    private static Produto comVersao(Produto produto, Long versao) {
+        return new Produto(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getEstoque(), produto.getCategoria(), produto.getDataCriacao(), versao);
+    }
+
+    /**
+     * Intercala iteradores já ordenados por ID, pulando IDs repetidos
+     */
+    private static class IntercaladorPorId implements Iterator<Produto> {
+
+        private final PriorityQueue<Cabeca> cabecas = new PriorityQueue<>(Comparator.comparing(cabeca -> cabeca.produto.getId()));
+        private Long ultimoId;
+
+        IntercaladorPorId(List<Iterator<Produto>> iteradores) {
+            iteradores.forEach(this::avancar);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!cabecas.isEmpty() && cabecas.peek().produto.getId().equals(ultimoId)) {
+                avancar(cabecas.poll().restante);
+            }
+            return !cabecas.isEmpty();
+        }
+
+        @Override
+        public Produto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Cabeca menor = cabecas.poll();
+            ultimoId = menor.produto.getId();
+            avancar(menor.restante);
+            return menor.produto;
+        }
+
+        private void avancar(Iterator<Produto> iterador) {
+            if (iterador.hasNext()) {
+                cabecas.add(new Cabeca(iterador.next(), iterador));
+            }
+        }
+
+        private record Cabeca(Produto produto, Iterator<Produto> restante) {
+        }
+    }
+
+    // Desfaz as transações do lote quando algum produto precisa ser procurado em outro shard
+    private static class ProdutosForaDoShardDoId extends RuntimeException {
+        ProdutosForaDoShardDoId() {
+            super(null, null, false, false);
+        }
+    }
+
+    public record Movimentacao(String categoria, int origem, int destino, long copiados, long restantes) {
+    }
+
+    public record Distribuicao(List<ShardResumo> shards, List<Sugestao> movimentacoesSugeridas) {
+
+        public record ShardResumo(int indice, String nome, long produtos, Map<String, Long> categorias) {
+        }
+
+        public record Sugestao(String categoria, int shardAtual, int shardNoAnel) {
+        }
+    }
+}
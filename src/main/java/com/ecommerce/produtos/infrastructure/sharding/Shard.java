@@ -0,0 +1,125 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.persistence.entity.GeradorIdProduto;
+import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoJpaRepository;
+import com.ecommerce.produtos.infrastructure.persistence.repository.ProdutoRepositoryImpl;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.dao.support.PersistenceExceptionTranslationInterceptor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Um banco da frota de shards: o mesmo ProdutoRepositoryImpl do banco único, com o seu
+ * EntityManagerFactory e o seu gerenciador de transações (os @Transactional do
+ * ProdutoRepositoryImpl valem para o shard)
+ */
+public class Shard implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(Shard.class);
+
+    private final int indice;
+    private final String nome;
+    private final ProdutoRepositoryPort repositorio;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transacao;
+    private final LocalContainerEntityManagerFactoryBean fabrica;
+    private final DataSource dataSource;
+
+    private Shard(int indice, String nome, ProdutoRepositoryPort repositorio, JdbcTemplate jdbc,
+                  TransactionTemplate transacao, LocalContainerEntityManagerFactoryBean fabrica,
+                  DataSource dataSource) {
+        this.indice = indice;
+        this.nome = nome;
+        this.repositorio = repositorio;
+        this.jdbc = jdbc;
+        this.transacao = transacao;
+        this.fabrica = fabrica;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param propriedadesJpa propriedades do Hibernate (as mesmas do banco único: ddl-auto, batching...)
+     */
+    public static Shard criar(int indice, String nome, DataSource dataSource, Map<String, Object> propriedadesJpa) {
+        Map<String, Object> propriedades = new HashMap<>(propriedadesJpa);
+        // O ID gerado no shard leva o índice dele (IdComShard)
+        propriedades.put(GeradorIdProduto.PROPRIEDADE_CODIFICADOR,
+                (LongUnaryOperator) sequencia -> IdComShard.codificar(sequencia, indice));
+
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setPersistenceUnitName(nome);
+        fabrica.setDataSource(dataSource);
+        fabrica.setPackagesToScan(ProdutoJpaEntity.class.getPackageName());
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setJpaPropertyMap(propriedades);
+        fabrica.afterPropertiesSet();
+
+        JpaTransactionManager transacoes = new JpaTransactionManager(fabrica.getObject());
+        transacoes.afterPropertiesSet();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(fabrica.getObject());
+        JpaRepositoryFactory repositorios = new JpaRepositoryFactory(entityManager);
+        // O que o Spring Data faz nos repositórios que ele registra como Beans
+        repositorios.addRepositoryProxyPostProcessor((proxy, informacoes) ->
+                proxy.addAdvice(new PersistenceExceptionTranslationInterceptor(fabrica)));
+        ProdutoJpaRepository jpaRepository = repositorios.getRepository(ProdutoJpaRepository.class);
+
+        ProxyFactory proxy = new ProxyFactory(new ProdutoRepositoryImpl(jpaRepository, entityManager, dataSource));
+        proxy.addAdvice(new TransactionInterceptor((TransactionManager) transacoes,
+                new AnnotationTransactionAttributeSource()));
+
+        return new Shard(indice, nome, (ProdutoRepositoryPort) proxy.getProxy(), new JdbcTemplate(dataSource),
+                new TransactionTemplate(transacoes), fabrica, dataSource);
+    }
+
+    public int indice() {
+        return indice;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    ProdutoRepositoryPort repositorio() {
+        return repositorio;
+    }
+
+    // Acesso direto às tabelas do shard (cópias entre shards, diretório de categorias)
+    JdbcTemplate jdbc() {
+        return jdbc;
+    }
+
+    TransactionTemplate transacao() {
+        return transacao;
+    }
+
+    @Override
+    public void close() {
+        fabrica.destroy();
+        if (dataSource instanceof AutoCloseable pool) {
+            try {
+                pool.close();
+            } catch (Exception ex) {
+                log.warn("Falha ao fechar o pool do shard {}", nome, ex);
+            }
+        }
+    }
+}
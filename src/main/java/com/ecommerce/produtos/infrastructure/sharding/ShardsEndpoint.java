@@ -0,0 +1,30 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Endpoint do Actuator para acompanhar e rebalancear os shards
+ * GET /actuator/shards - produtos por shard e movimentações sugeridas pelo anel
+ * POST /actuator/shards {"categoria": "...", "shard": N} - move a categoria para o shard N
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ProdutoRepositoryComShards repositoryComShards;
+
+    public ShardsEndpoint(ProdutoRepositoryComShards repositoryComShards) {
+        this.repositoryComShards = repositoryComShards;
+    }
+
+    @ReadOperation
+    public ProdutoRepositoryComShards.Distribuicao distribuicao() {
+        return repositoryComShards.distribuicao();
+    }
+
+    @WriteOperation
+    public ProdutoRepositoryComShards.Movimentacao mover(String categoria, int shard) {
+        return repositoryComShards.moverCategoria(categoria, shard);
+    }
+}
@@ -0,0 +1,214 @@
+package com.ecommerce.produtos.infrastructure.snapshot;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Formato binário do snapshot do catálogo (big-endian, versão 1):
+ *
+ * cabeçalho   magic "PSNP" (int), versão (short), criado em (long, epoch ms)
+ * quentes     quantidade (int) + IDs (long), os mais acessados do cache, do mais quente ao menos
+ * produtos    para cada um: 1 (byte), id (long), nome, descricao (string), preço (long sem escala
+ *             + escala em byte), estoque (int), categoria (string), data de criação (long
+ *             segundos + int nanos, UTC), versão (long); depois, 0 (byte)
+ * rodapé      quantidade de produtos (long) e CRC32C (int) de tudo o que vem antes dele
+ *
+ * string = tamanho em bytes UTF-8 (short, -1 para null) + bytes. A gravação é sequencial e vai
+ * para um arquivo temporário, sincronizado com o disco e movido por cima do anterior (o snapshot
+ * nunca fica pela metade); a leitura mapeia o arquivo em memória e confere o CRC antes de decodificar.
+ */
+public final class ArquivoSnapshot {
+
+    static final int MAGIC = 0x50534E50;
+    static final short VERSAO = 1;
+
+    private static final int CABECALHO = 4 + 2 + 8;
+    private static final int RODAPE = 8 + 4;
+    private static final int BUFFER = 64 * 1024;
+
+    private ArquivoSnapshot() {
+    }
+
+    /**
+     * Resumo de um snapshot lido (os produtos foram entregues ao consumidor na ordem gravada)
+     */
+    public record Conteudo(short versao, long criadoEm, long produtos, List<Long> quentes) {
+    }
+
+    /**
+     * Grava os produtos (na ordem do iterator) e os IDs quentes; devolve quantos produtos gravou
+     */
+    public static long gravar(Path arquivo, long criadoEm, List<Long> quentes, Iterator<Produto> produtos)
+            throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        Files.createDirectories(diretorio);
+        Path temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+        try {
+            long quantidade;
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream saida = Channels.newOutputStream(canal);
+                CRC32C crc = new CRC32C();
+                DataOutputStream dados = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(saida, crc), BUFFER));
+                dados.writeInt(MAGIC);
+                dados.writeShort(VERSAO);
+                dados.writeLong(criadoEm);
+                dados.writeInt(quentes.size());
+                for (Long id : quentes) {
+                    dados.writeLong(id);
+                }
+                quantidade = 0;
+                while (produtos.hasNext()) {
+                    dados.writeByte(1);
+                    escrever(dados, produtos.next());
+                    quantidade++;
+                }
+                dados.writeByte(0);
+                dados.writeLong(quantidade);
+                dados.flush();
+                // O CRC fica fora da soma: vai direto para o arquivo
+                new DataOutputStream(saida).writeInt((int) crc.getValue());
+                canal.force(true);
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return quantidade;
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    /**
+     * Lê o snapshot mapeado em memória: entrega os IDs quentes e depois cada produto
+     *
+     * @throws SnapshotInvalidoException se o arquivo está truncado, corrompido (CRC) ou em versão
+     *                                   desconhecida; o CRC e a versão são conferidos antes do
+     *                                   primeiro produto, a quantidade do rodapé só no fim
+     */
+    public static Conteudo ler(Path arquivo, Consumer<List<Long>> aoLerQuentes, Consumer<Produto> consumidor)
+            throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < CABECALHO + 4 + 1 + RODAPE) {
+                throw new SnapshotInvalidoException(arquivo + ": arquivo truncado (" + tamanho + " bytes)");
+            }
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new SnapshotInvalidoException(arquivo + ": maior que 2 GB, não pode ser mapeado");
+            }
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            int fimDosDados = (int) tamanho - 4;
+            CRC32C crc = new CRC32C();
+            crc.update(mapa.slice(0, fimDosDados));
+            if ((int) crc.getValue() != mapa.getInt(fimDosDados)) {
+                throw new SnapshotInvalidoException(arquivo + ": CRC não confere (arquivo corrompido)");
+            }
+            return decodificar(arquivo, mapa.slice(0, fimDosDados), aoLerQuentes, consumidor);
+        }
+    }
+
+    private static Conteudo decodificar(Path arquivo, ByteBuffer dados, Consumer<List<Long>> aoLerQuentes,
+                                        Consumer<Produto> consumidor) throws SnapshotInvalidoException {
+        try {
+            if (dados.getInt() != MAGIC) {
+                throw new SnapshotInvalidoException(arquivo + ": não é um snapshot do catálogo");
+            }
+            short versao = dados.getShort();
+            if (versao != VERSAO) {
+                throw new SnapshotInvalidoException(arquivo + ": versão " + versao
+                        + " do formato não suportada (esperada " + VERSAO + ")");
+            }
+            long criadoEm = dados.getLong();
+            int totalQuentes = dados.getInt();
+            List<Long> quentes = new ArrayList<>(totalQuentes);
+            for (int i = 0; i < totalQuentes; i++) {
+                quentes.add(dados.getLong());
+            }
+            aoLerQuentes.accept(quentes);
+            long produtos = 0;
+            while (dados.get() == 1) {
+                consumidor.accept(lerProduto(dados));
+                produtos++;
+            }
+            long esperados = dados.getLong();
+            if (produtos != esperados || dados.hasRemaining()) {
+                throw new SnapshotInvalidoException(arquivo + ": " + produtos + " produtos, rodapé indica " + esperados);
+            }
+            return new Conteudo(versao, criadoEm, produtos, quentes);
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            throw new SnapshotInvalidoException(arquivo + ": registro inválido", ex);
+        }
+    }
+
+    private static void escrever(DataOutputStream dados, Produto produto) throws IOException {
+        dados.writeLong(produto.getId());
+        escrever(dados, produto.getNome());
+        escrever(dados, produto.getDescricao());
+        dados.writeLong(produto.getPreco().unscaledValue().longValueExact());
+        dados.writeByte(produto.getPreco().scale());
+        dados.writeInt(produto.getEstoque());
+        escrever(dados, produto.getCategoria());
+        dados.writeLong(produto.getDataCriacao().toEpochSecond(ZoneOffset.UTC));
+        dados.writeInt(produto.getDataCriacao().getNano());
+        dados.writeLong(produto.getVersao());
+    }
+
+    private static void escrever(DataOutputStream dados, String texto) throws IOException {
+        if (texto == null) {
+            dados.writeShort(-1);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IOException("Texto com mais de " + Short.MAX_VALUE + " bytes não cabe no snapshot");
+        }
+        dados.writeShort(bytes.length);
+        dados.write(bytes);
+    }
+
+    private static Produto lerProduto(ByteBuffer dados) {
+        long id = dados.getLong();
+        String nome = lerTexto(dados);
+        String descricao = lerTexto(dados);
+        long precoSemEscala = dados.getLong();
+        BigDecimal preco = new BigDecimal(BigInteger.valueOf(precoSemEscala), dados.get());
+        int estoque = dados.getInt();
+        String categoria = lerTexto(dados);
+        LocalDateTime dataCriacao = LocalDateTime.ofEpochSecond(dados.getLong(), dados.getInt(), ZoneOffset.UTC);
+        long versao = dados.getLong();
+        return new Produto(id, nome, descricao, preco, estoque, categoria, dataCriacao, versao);
+    }
+
+    private static String lerTexto(ByteBuffer dados) {
+        short tamanho = dados.getShort();
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        dados.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,234 @@
+package com.ecommerce.produtos.infrastructure.snapshot;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoRepositoryComCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot do catálogo em disco (formato em ArquivoSnapshot): um restart sobe com os produtos
+ * e com o cache dos mais acessados, sem depender de o banco sobreviver (ex.: H2 em memória)
+ *
+ * Restauração: ao fim da criação dos singletons, antes de o servidor web abrir a porta e dos
+ * ApplicationRunners que montam os índices a partir do banco. Só acontece com o banco vazio:
+ * os produtos são inseridos com os mesmos IDs e versões (JDBC em lotes, uma transação), a
+ * sequence passa do maior ID e os produtos que estavam quentes voltam ao cache. Um arquivo
+ * inválido é renomeado para .invalido e a aplicação sobe com o banco como está.
+ *
+ * Gravação: a cada intervalo e no encerramento, só se o catálogo mudou (VersaoCatalogo) desde a
+ * última gravação ou restauração. Timer produtos.snapshot (tag "operacao" = gravar | restaurar);
+ * gauge produtos.snapshot.produtos com a quantidade do último snapshot gravado ou lido.
+ */
+public class SnapshotCatalogo implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotCatalogo.class);
+    private static final String METRICA = "produtos.snapshot";
+    private static final String INSERIR = "INSERT INTO produtos "
+            + "(id, nome, descricao, preco, estoque, categoria, data_criacao, versao) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int LOTE = 1000;
+    // Incremento da produtos_seq (pooled): o próximo valor cobre os IDs de valor - 49 a valor
+    private static final long INCREMENTO_SEQUENCIA = 50;
+
+    private final ProdutoRepositoryPort repositoryPort;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProdutoRepositoryComCache cache;
+    private final VersaoCatalogo versaoCatalogo;
+    private final Path arquivo;
+    private final Duration intervalo;
+    private final int idsQuentes;
+    private final Timer gravacoes;
+    private final Timer restauracoes;
+    private final AtomicLong produtosNoSnapshot = new AtomicLong();
+    // Gravação periódica e a do encerramento não se sobrepõem
+    private final ReentrantLock gravacao = new ReentrantLock();
+    private volatile long versaoGravada;
+    private ScheduledExecutorService agendador;
+
+    /**
+     * @param intervalo  zero ou negativo desativa a gravação periódica (a do encerramento continua)
+     * @param idsQuentes quantos IDs do cache vão no snapshot, dos mais acessados
+     */
+    public SnapshotCatalogo(ProdutoRepositoryPort repositoryPort, DataSource dataSource,
+                            PlatformTransactionManager transactionManager, ProdutoRepositoryComCache cache,
+                            VersaoCatalogo versaoCatalogo, Path arquivo, Duration intervalo, int idsQuentes,
+                            MeterRegistry registry) {
+        this.repositoryPort = repositoryPort;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cache = cache;
+        this.versaoCatalogo = versaoCatalogo;
+        this.arquivo = arquivo;
+        this.intervalo = intervalo;
+        this.idsQuentes = idsQuentes;
+        this.versaoGravada = versaoCatalogo.global();
+        this.gravacoes = Timer.builder(METRICA).tag("operacao", "gravar").register(registry);
+        this.restauracoes = Timer.builder(METRICA).tag("operacao", "restaurar").register(registry);
+        Gauge.builder(METRICA + ".produtos", produtosNoSnapshot, AtomicLong::get).register(registry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        restaurar();
+        if (intervalo.isPositive()) {
+            agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "snapshot-catalogo");
+                thread.setDaemon(true);
+                return thread;
+            });
+            agendador.scheduleWithFixedDelay(this::gravarComSeguranca,
+                    intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void encerrar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        gravarComSeguranca();
+    }
+
+    /**
+     * Restaura o snapshot se o arquivo existir e o banco estiver vazio
+     *
+     * @return quantos produtos foram restaurados
+     */
+    public long restaurar() {
+        if (!Files.exists(arquivo)) {
+            log.info("Sem snapshot do catálogo em {}", arquivo);
+            return 0;
+        }
+        Long existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM produtos", Long.class);
+        if (existentes != null && existentes > 0) {
+            log.info("Banco com {} produtos: snapshot {} não restaurado", existentes, arquivo);
+            return 0;
+        }
+        long inicio = System.nanoTime();
+        try {
+            List<Produto> quentes = new ArrayList<>();
+            ArquivoSnapshot.Conteudo conteudo = transactionTemplate.execute(status -> inserir(quentes));
+            cache.aquecer(quentes);
+            restauracoes.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            produtosNoSnapshot.set(conteudo.produtos());
+            versaoGravada = versaoCatalogo.global();
+            log.info("Snapshot do catálogo restaurado: {} produtos ({} em cache) em {} ms",
+                    conteudo.produtos(), quentes.size(), (System.nanoTime() - inicio) / 1_000_000);
+            return conteudo.produtos();
+        } catch (UncheckedIOException ex) {
+            if (!(ex.getCause() instanceof SnapshotInvalidoException invalido)) {
+                throw ex;
+            }
+            descartar(invalido);
+            return 0;
+        }
+    }
+
+    /**
+     * Grava o snapshot se o catálogo mudou desde a última gravação ou restauração
+     *
+     * @return se gravou
+     */
+    public boolean gravar() throws IOException {
+        gravacao.lock();
+        try {
+            long versao = versaoCatalogo.global();
+            if (versao == versaoGravada) {
+                return false;
+            }
+            long inicio = System.nanoTime();
+            long quantidade;
+            try (Stream<Produto> produtos = repositoryPort.buscarTodosEmStream()) {
+                quantidade = ArquivoSnapshot.gravar(arquivo, System.currentTimeMillis(),
+                        cache.maisAcessados(idsQuentes), produtos.iterator());
+            }
+            gravacoes.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            produtosNoSnapshot.set(quantidade);
+            // Uma escrita durante o cursor muda a versão: o próximo ciclo grava de novo
+            versaoGravada = versao;
+            log.info("Snapshot do catálogo gravado em {}: {} produtos em {} ms",
+                    arquivo, quantidade, (System.nanoTime() - inicio) / 1_000_000);
+            return true;
+        } finally {
+            gravacao.unlock();
+        }
+    }
+
+    private void gravarComSeguranca() {
+        // Uma exceção cancelaria as execuções seguintes do agendador
+        try {
+            gravar();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Falha ao gravar o snapshot do catálogo em {}", arquivo, ex);
+        }
+    }
+
+    private ArquivoSnapshot.Conteudo inserir(List<Produto> quentes) {
+        Set<Long> idsQuentes = new HashSet<>();
+        List<Object[]> lote = new ArrayList<>(LOTE);
+        long[] maiorId = {0};
+        ArquivoSnapshot.Conteudo conteudo;
+        try {
+            conteudo = ArquivoSnapshot.ler(arquivo, idsQuentes::addAll, produto -> {
+                lote.add(new Object[]{produto.getId(), produto.getNome(), produto.getDescricao(),
+                        produto.getPreco(), produto.getEstoque(), produto.getCategoria(),
+                        Timestamp.valueOf(produto.getDataCriacao()), produto.getVersao()});
+                if (lote.size() == LOTE) {
+                    jdbcTemplate.batchUpdate(INSERIR, lote);
+                    lote.clear();
+                }
+                if (idsQuentes.contains(produto.getId())) {
+                    quentes.add(produto);
+                }
+                maiorId[0] = Math.max(maiorId[0], produto.getId());
+            });
+        } catch (IOException ex) {
+            // Sai da transação como exceção não verificada: o rollback desfaz os lotes já inseridos
+            throw new UncheckedIOException(ex);
+        }
+        if (!lote.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERIR, lote);
+        }
+        if (maiorId[0] > 0) {
+            jdbcTemplate.execute("ALTER SEQUENCE produtos_seq RESTART WITH " + (maiorId[0] + INCREMENTO_SEQUENCIA));
+        }
+        return conteudo;
+    }
+
+    private void descartar(SnapshotInvalidoException invalido) {
+        Path descartado = arquivo.resolveSibling(arquivo.getFileName() + ".invalido");
+        log.error("Snapshot do catálogo inválido, movido para {}; subindo com o banco vazio", descartado, invalido);
+        try {
+            Files.move(arquivo, descartado, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            log.warn("Não foi possível mover o snapshot inválido {}", arquivo, ex);
+        }
+    }
+}
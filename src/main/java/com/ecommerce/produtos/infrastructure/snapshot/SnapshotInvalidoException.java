@@ -0,0 +1,17 @@
+package com.ecommerce.produtos.infrastructure.snapshot;
+
+import java.io.IOException;
+
+/**
+ * Snapshot do catálogo que não pode ser usado: truncado, corrompido ou em versão desconhecida
+ */
+public class SnapshotInvalidoException extends IOException {
+
+    public SnapshotInvalidoException(String message) {
+        super(message);
+    }
+
+    public SnapshotInvalidoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
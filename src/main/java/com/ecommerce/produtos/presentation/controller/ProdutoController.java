@@ -1,10 +1,31 @@
 package com.ecommerce.produtos.presentation.controller;
 
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.facetas.ContagemFacetas;
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
 import com.ecommerce.produtos.application.usecase.*;
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.presentation.dto.EstatisticasResponseDTO;
+import com.ecommerce.produtos.presentation.dto.EstoqueRequestDTO;
+import com.ecommerce.produtos.presentation.dto.EstoqueResponseDTO;
+import com.ecommerce.produtos.presentation.dto.FacetasResponseDTO;
+import com.ecommerce.produtos.presentation.dto.IdsRequestDTO;
+import com.ecommerce.produtos.presentation.dto.ImportacaoResponseDTO;
+import com.ecommerce.produtos.presentation.dto.LoteResponseDTO;
+import com.ecommerce.produtos.presentation.dto.LoteResponseDTO.ItemLoteResponseDTO;
+import com.ecommerce.produtos.presentation.dto.PaginaResponseDTO;
 import com.ecommerce.produtos.presentation.dto.ProdutoRequestDTO;
 import com.ecommerce.produtos.presentation.dto.ProdutoResponseDTO;
+import com.ecommerce.produtos.presentation.dto.ProdutosPorIdsResponseDTO;
+import com.ecommerce.produtos.presentation.mapper.CursorMapper;
+import com.ecommerce.produtos.presentation.mapper.ProdutoCsvReader;
+import com.ecommerce.produtos.presentation.mapper.MergePatchMapper;
 import com.ecommerce.produtos.presentation.mapper.ProdutoDTOMapper;
+import com.ecommerce.produtos.presentation.mapper.VersaoEtagMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,11 +34,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,24 +61,63 @@ public class ProdutoController {
 
     private final CriarProdutoUseCase criarProdutoUseCase;
     private final BuscarProdutoPorIdUseCase buscarProdutoPorIdUseCase;
+    private final BuscarProdutosPorIdsUseCase buscarProdutosPorIdsUseCase;
     private final ListarTodosProdutosUseCase listarTodosProdutosUseCase;
     private final AtualizarProdutoUseCase atualizarProdutoUseCase;
+    private final AtualizarProdutoParcialmenteUseCase atualizarProdutoParcialmenteUseCase;
     private final DeletarProdutoUseCase deletarProdutoUseCase;
     private final BuscarPorCategoriaUseCase buscarPorCategoriaUseCase;
+    private final ExportarProdutosUseCase exportarProdutosUseCase;
+    private final CriarProdutosEmLoteUseCase criarProdutosEmLoteUseCase;
+    private final ImportarProdutosUseCase importarProdutosUseCase;
+    private final ReservarEstoqueUseCase reservarEstoqueUseCase;
+    private final ReporEstoqueUseCase reporEstoqueUseCase;
+    private final BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase;
+    private final FiltrarPorFacetasUseCase filtrarPorFacetasUseCase;
+    private final ObterEstatisticasUseCase obterEstatisticasUseCase;
+    private final VersaoCatalogo versaoCatalogo;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
     public ProdutoController(
             CriarProdutoUseCase criarProdutoUseCase,
             BuscarProdutoPorIdUseCase buscarProdutoPorIdUseCase,
+            BuscarProdutosPorIdsUseCase buscarProdutosPorIdsUseCase,
             ListarTodosProdutosUseCase listarTodosProdutosUseCase,
             AtualizarProdutoUseCase atualizarProdutoUseCase,
+            AtualizarProdutoParcialmenteUseCase atualizarProdutoParcialmenteUseCase,
             DeletarProdutoUseCase deletarProdutoUseCase,
-            BuscarPorCategoriaUseCase buscarPorCategoriaUseCase) {
+            BuscarPorCategoriaUseCase buscarPorCategoriaUseCase,
+            ExportarProdutosUseCase exportarProdutosUseCase,
+            CriarProdutosEmLoteUseCase criarProdutosEmLoteUseCase,
+            ImportarProdutosUseCase importarProdutosUseCase,
+            ReservarEstoqueUseCase reservarEstoqueUseCase,
+            ReporEstoqueUseCase reporEstoqueUseCase,
+            BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase,
+            FiltrarPorFacetasUseCase filtrarPorFacetasUseCase,
+            ObterEstatisticasUseCase obterEstatisticasUseCase,
+            VersaoCatalogo versaoCatalogo,
+            ObjectMapper objectMapper,
+            Validator validator) {
         this.criarProdutoUseCase = criarProdutoUseCase;
         this.buscarProdutoPorIdUseCase = buscarProdutoPorIdUseCase;
+        this.buscarProdutosPorIdsUseCase = buscarProdutosPorIdsUseCase;
         this.listarTodosProdutosUseCase = listarTodosProdutosUseCase;
         this.atualizarProdutoUseCase = atualizarProdutoUseCase;
+        this.atualizarProdutoParcialmenteUseCase = atualizarProdutoParcialmenteUseCase;
         this.deletarProdutoUseCase = deletarProdutoUseCase;
         this.buscarPorCategoriaUseCase = buscarPorCategoriaUseCase;
+        this.exportarProdutosUseCase = exportarProdutosUseCase;
+        this.criarProdutosEmLoteUseCase = criarProdutosEmLoteUseCase;
+        this.importarProdutosUseCase = importarProdutosUseCase;
+        this.reservarEstoqueUseCase = reservarEstoqueUseCase;
+        this.reporEstoqueUseCase = reporEstoqueUseCase;
+        this.buscarProdutosPorTextoUseCase = buscarProdutosPorTextoUseCase;
+        this.filtrarPorFacetasUseCase = filtrarPorFacetasUseCase;
+        this.obterEstatisticasUseCase = obterEstatisticasUseCase;
+        this.versaoCatalogo = versaoCatalogo;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     @Operation(summary = "Criar novo produto")
@@ -66,21 +139,189 @@ public class ProdutoController {
         );
         
         ProdutoResponseDTO response = ProdutoDTOMapper.toResponseDTO(produto);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(VersaoEtagMapper.toEtag(produto.getVersao()))
+                .body(response);
     }
 
-    @Operation(summary = "Listar todos os produtos")
+    @Operation(summary = "Criar produtos em lote",
+            description = "Cada item é validado individualmente: itens inválidos são reportados "
+                    + "sem impedir a criação dos demais")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lote processado (ver resultado por item)",
+                    content = @Content(schema = @Schema(implementation = LoteResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lote acima do tamanho máximo")
+    })
+    @PostMapping("/lote")
+    public ResponseEntity<LoteResponseDTO> criarProdutosEmLote(
+            @RequestBody List<ProdutoRequestDTO> requests) {
+        
+        List<CriarProdutosEmLoteUseCase.Item> itens = requests.stream()
+                .map(request -> request == null ? null : new CriarProdutosEmLoteUseCase.Item(
+                        request.nome(),
+                        request.descricao(),
+                        request.preco(),
+                        request.estoque(),
+                        request.categoria()
+                ))
+                .collect(Collectors.toList());
+        
+        return ResponseEntity.ok(toLoteResponse(criarProdutosEmLoteUseCase.executar(itens)));
+    }
+
+    @Operation(summary = "Importar produtos de um CSV",
+            description = "O corpo é lido em streaming e gravado em chunks: linha sem id cria, linha com id "
+                    + "atualiza. Cabeçalho: id,nome,descricao,preco,estoque,categoria (id e descricao opcionais)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Arquivo processado (ver erros por linha)",
+                    content = @Content(schema = @Schema(implementation = ImportacaoResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo vazio ou cabeçalho sem coluna obrigatória")
+    })
+    @PostMapping(value = "/importar", consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE})
+    public ResponseEntity<ImportacaoResponseDTO> importarProdutos(InputStream corpo) throws IOException {
+        // O InputStream da requisição é consumido à medida que os chunks são gravados
+        try (ProdutoCsvReader linhas = new ProdutoCsvReader(corpo)) {
+            return ResponseEntity.ok(toImportacaoResponse(importarProdutosUseCase.executar(linhas)));
+        }
+    }
+
+    @Operation(summary = "Listar produtos paginados por cursor")
     @GetMapping
-    public ResponseEntity<List<ProdutoResponseDTO>> listarTodosProdutos() {
-        List<Produto> produtos = listarTodosProdutosUseCase.executar();
+    public ResponseEntity<PaginaResponseDTO<ProdutoResponseDTO>> listarTodosProdutos(
+            @Parameter(description = "Cursor retornado pela página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (padrão 20, máximo 100)")
+            @RequestParam(required = false) Integer limite,
+            WebRequest webRequest) {
+        
+        // Catálogo inalterado desde o ETag do cliente: 304 sem consultar o banco
+        if (webRequest.checkNotModified(versaoCatalogo.etagGlobal())) {
+            return null;
+        }
+        
+        Pagina<Produto> pagina = listarTodosProdutosUseCase.executar(
+                CursorMapper.fromToken(cursor), limite);
+        
+        return ResponseEntity.ok(toPaginaResponse(pagina));
+    }
+
+    @Operation(summary = "Buscar vários produtos por ID",
+            description = "Uma única consulta para todos os IDs; os produtos vêm na ordem pedida e os IDs "
+                    + "inexistentes são listados em naoEncontrados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produtos encontrados",
+                    content = @Content(schema = @Schema(implementation = ProdutosPorIdsResponseDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Lista vazia ou acima do máximo de IDs")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProdutosPorIdsResponseDTO> buscarPorIds(
+            @Parameter(description = "IDs separados por vírgula", example = "3,1,2")
+            @RequestParam List<Long> ids,
+            WebRequest webRequest) {
+        
+        if (webRequest.checkNotModified(versaoCatalogo.etagGlobal())) {
+            return null;
+        }
+        
+        return ResponseEntity.ok(toPorIdsResponse(buscarProdutosPorIdsUseCase.executar(ids)));
+    }
+
+    @Operation(summary = "Buscar vários produtos por ID (lista no corpo)",
+            description = "Mesmo resultado de GET /api/produtos?ids=..., para listas que não cabem na URL")
+    @PostMapping("/por-ids")
+    public ResponseEntity<ProdutosPorIdsResponseDTO> buscarPorIdsNoCorpo(
+            @Valid @RequestBody IdsRequestDTO request) {
+        
+        return ResponseEntity.ok(toPorIdsResponse(buscarProdutosPorIdsUseCase.executar(request.ids())));
+    }
+
+    @Operation(summary = "Exportar todo o catálogo em NDJSON (um produto por linha)")
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarProdutos() {
+        StreamingResponseBody body = saida -> {
+            try (ProdutoNdjsonWriter writer = new ProdutoNdjsonWriter(objectMapper, saida)) {
+                exportarProdutosUseCase.executar(writer);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Operation(summary = "Buscar produtos por texto no nome e na descrição",
+            description = "Retorna os produtos que contêm todas as palavras, ordenados por relevância "
+                    + "(ignora maiúsculas e acentos)")
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorTexto(
+            @Parameter(description = "Palavras a buscar", example = "notebook dell")
+            @RequestParam String q,
+            @Parameter(description = "Máximo de resultados (padrão 20, máximo 100)")
+            @RequestParam(required = false) Integer limite) {
         
-        List<ProdutoResponseDTO> response = produtos.stream()
+        List<ProdutoResponseDTO> response = buscarProdutosPorTextoUseCase.executar(q, limite).stream()
                 .map(ProdutoDTOMapper::toResponseDTO)
                 .collect(Collectors.toList());
         
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Filtrar produtos por facetas com contagens",
+            description = "Valores repetidos da mesma faceta combinam com OU; facetas diferentes com E. "
+                    + "A contagem de cada faceta considera os filtros das demais")
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasResponseDTO> filtrarPorFacetas(
+            @Parameter(description = "Categorias (pode repetir)")
+            @RequestParam(required = false) Set<String> categoria,
+            @Parameter(description = "Faixas de preço (pode repetir)", example = "100-250")
+            @RequestParam(required = false) Set<String> faixaPreco,
+            @Parameter(description = "true = só com estoque, false = só sem estoque")
+            @RequestParam(required = false) Boolean emEstoque,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            WebRequest webRequest) {
+        
+        if (webRequest.checkNotModified(versaoCatalogo.etagGlobal())) {
+            return null;
+        }
+        
+        FiltrarPorFacetasUseCase.Resultado resultado = filtrarPorFacetasUseCase.executar(
+                new FiltroFacetas(categoria, faixaPreco, emEstoque),
+                CursorMapper.fromToken(cursor),
+                limite);
+        
+        PaginaResponseDTO<ProdutoResponseDTO> pagina = toPaginaResponse(resultado.pagina());
+        ContagemFacetas contagens = resultado.contagens();
+        Map<String, Map<String, Long>> facetas = new LinkedHashMap<>();
+        facetas.put("categoria", contagens.categorias());
+        facetas.put("faixaPreco", contagens.faixasPreco());
+        facetas.put("emEstoque", Map.of("true", contagens.emEstoque(), "false", contagens.semEstoque()));
+        
+        return ResponseEntity.ok(new FacetasResponseDTO(
+                pagina.itens(), pagina.proximoCursor(), resultado.total(), facetas));
+    }
+
+    @Operation(summary = "Estatísticas do catálogo, global e por categoria",
+            description = "Quantidade de produtos, estoque total e preço mínimo, médio e máximo, "
+                    + "mantidos em memória a cada escrita (não varre a tabela)")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<EstatisticasResponseDTO> obterEstatisticas(
+            @Parameter(description = "Só esta categoria em \"categorias\" (o global continua completo)")
+            @RequestParam(required = false) String categoria,
+            WebRequest webRequest) {
+        
+        if (webRequest.checkNotModified(versaoCatalogo.etagGlobal())) {
+            return null;
+        }
+        
+        ObterEstatisticasUseCase.Resultado resultado = obterEstatisticasUseCase.executar(categoria);
+        return ResponseEntity.ok(new EstatisticasResponseDTO(
+                toEstatisticaDTO(resultado.global()),
+                resultado.categorias().stream()
+                        .map(ProdutoController::toEstatisticaDTO)
+                        .collect(Collectors.toList())));
+    }
+
     @Operation(summary = "Buscar produto por ID")
     @GetMapping("/{id}")
     public ResponseEntity<ProdutoResponseDTO> buscarProdutoPorId(
@@ -89,26 +330,73 @@ public class ProdutoController {
         Produto produto = buscarProdutoPorIdUseCase.executar(id);
         ProdutoResponseDTO response = ProdutoDTOMapper.toResponseDTO(produto);
         
-        return ResponseEntity.ok(response);
+        // Com ETag na resposta, o Spring já responde 304 para If-None-Match igual
+        return ResponseEntity.ok()
+                .eTag(VersaoEtagMapper.toEtag(produto.getVersao()))
+                .body(response);
     }
 
-    @Operation(summary = "Atualizar produto")
+    @Operation(summary = "Atualizar produto",
+            description = "Com o cabeçalho If-Match (ETag obtido no GET), a atualização só é aplicada "
+                    + "se o produto não foi alterado desde a leitura; caso contrário retorna 412")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produto atualizado"),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "412", description = "Versão informada em If-Match está desatualizada")
+    })
     @PutMapping("/{id}")
     public ResponseEntity<ProdutoResponseDTO> atualizarProduto(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProdutoRequestDTO request) {
         
-        Produto produto = atualizarProdutoUseCase.executar(
-                id,
-                request.nome(),
-                request.descricao(),
-                request.preco(),
-                request.estoque(),
-                request.categoria()
-        );
+        Set<Long> versoesAceitas = VersaoEtagMapper.fromIfMatch(ifMatch);
+        Produto produto = versoesAceitas == null
+                ? atualizarProdutoUseCase.executar(
+                        id,
+                        request.nome(),
+                        request.descricao(),
+                        request.preco(),
+                        request.estoque(),
+                        request.categoria())
+                : atualizarProdutoUseCase.executar(
+                        id,
+                        request.nome(),
+                        request.descricao(),
+                        request.preco(),
+                        request.estoque(),
+                        request.categoria(),
+                        versoesAceitas);
         
         ProdutoResponseDTO response = ProdutoDTOMapper.toResponseDTO(produto);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(VersaoEtagMapper.toEtag(produto.getVersao()))
+                .body(response);
+    }
+
+    @Operation(summary = "Atualizar parcialmente um produto",
+            description = "JSON Merge Patch (RFC 7396): só os campos enviados mudam e o UPDATE grava apenas as colunas alteradas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Produto atualizado"),
+            @ApiResponse(responseCode = "400", description = "Campo desconhecido, somente leitura ou inválido"),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "412", description = "Versão informada em If-Match está desatualizada")
+    })
+    @PatchMapping(value = "/{id}", consumes = {MergePatchMapper.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ProdutoResponseDTO> atualizarProdutoParcialmente(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode patch) {
+
+        Produto produto = atualizarProdutoParcialmenteUseCase.executar(
+                id,
+                MergePatchMapper.toAlteracao(patch, validator),
+                VersaoEtagMapper.fromIfMatch(ifMatch));
+
+        ProdutoResponseDTO response = ProdutoDTOMapper.toResponseDTO(produto);
+        return ResponseEntity.ok()
+                .eTag(VersaoEtagMapper.toEtag(produto.getVersao()))
+                .body(response);
     }
 
     @Operation(summary = "Deletar produto")
@@ -118,17 +406,151 @@ public class ProdutoController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Buscar produtos por categoria")
+    @Operation(summary = "Reservar (baixar) estoque de forma atômica")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estoque reservado",
+                    content = @Content(schema = @Schema(implementation = EstoqueResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Estoque insuficiente")
+    })
+    @PostMapping("/{id}/estoque/reservar")
+    public ResponseEntity<EstoqueResponseDTO> reservarEstoque(
+            @PathVariable Long id,
+            @Valid @RequestBody EstoqueRequestDTO request) {
+        
+        Integer estoque = reservarEstoqueUseCase.executar(id, request.quantidade());
+        return ResponseEntity.ok(new EstoqueResponseDTO(id, estoque));
+    }
+
+    @Operation(summary = "Repor (aumentar) estoque de forma atômica")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estoque reposto",
+                    content = @Content(schema = @Schema(implementation = EstoqueResponseDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Produto não encontrado"),
+            @ApiResponse(responseCode = "422", description = "Estoque passaria do máximo")
+    })
+    @PostMapping("/{id}/estoque/repor")
+    public ResponseEntity<EstoqueResponseDTO> reporEstoque(
+            @PathVariable Long id,
+            @Valid @RequestBody EstoqueRequestDTO request) {
+        
+        Integer estoque = reporEstoqueUseCase.executar(id, request.quantidade());
+        return ResponseEntity.ok(new EstoqueResponseDTO(id, estoque));
+    }
+
+    @Operation(summary = "Buscar produtos por categoria (paginado por cursor)",
+            description = "Sem filtros, ordena por ID. Com precoMin, precoMax ou ordenar, filtra a faixa "
+                    + "de preço e ordena por preço (menor primeiro) ou dataCriacao (mais recentes primeiro)")
     @GetMapping("/categoria/{categoria}")
-    public ResponseEntity<List<ProdutoResponseDTO>> buscarPorCategoria(
-            @PathVariable String categoria) {
+    public ResponseEntity<PaginaResponseDTO<ProdutoResponseDTO>> buscarPorCategoria(
+            @PathVariable String categoria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @Parameter(description = "Preço mínimo (inclusivo)")
+            @RequestParam(required = false) BigDecimal precoMin,
+            @Parameter(description = "Preço máximo (inclusivo)")
+            @RequestParam(required = false) BigDecimal precoMax,
+            @Parameter(description = "preco ou dataCriacao (padrão preco quando há filtro de preço)")
+            @RequestParam(required = false) String ordenar,
+            WebRequest webRequest) {
+        
+        if (webRequest.checkNotModified(versaoCatalogo.etagDaCategoria(categoria))) {
+            return null;
+        }
+        
+        if (precoMin == null && precoMax == null && ordenar == null) {
+            Pagina<Produto> pagina = buscarPorCategoriaUseCase.executar(
+                    categoria, CursorMapper.fromToken(cursor), limite);
+            return ResponseEntity.ok(toPaginaResponse(pagina));
+        }
         
-        List<Produto> produtos = buscarPorCategoriaUseCase.executar(categoria);
+        Pagina<Produto> pagina = buscarPorCategoriaUseCase.executar(
+                categoria,
+                precoMin,
+                precoMax,
+                toOrdenacao(ordenar),
+                CursorMapper.posicaoFromToken(cursor),
+                limite);
         
-        List<ProdutoResponseDTO> response = produtos.stream()
+        return ResponseEntity.ok(toPaginaPorPosicaoResponse(pagina));
+    }
+
+    private static ConsultaPorPreco.Ordenacao toOrdenacao(String ordenar) {
+        if (ordenar == null || ordenar.equals("preco")) {
+            return ConsultaPorPreco.Ordenacao.PRECO;
+        }
+        if (ordenar.equals("dataCriacao")) {
+            return ConsultaPorPreco.Ordenacao.DATA_CRIACAO;
+        }
+        throw new IllegalArgumentException("ordenar deve ser 'preco' ou 'dataCriacao'");
+    }
+
+    private static PaginaResponseDTO<ProdutoResponseDTO> toPaginaResponse(Pagina<Produto> pagina) {
+        List<ProdutoResponseDTO> itens = pagina.itens().stream()
                 .map(ProdutoDTOMapper::toResponseDTO)
                 .collect(Collectors.toList());
         
-        return ResponseEntity.ok(response);
+        return new PaginaResponseDTO<>(itens, CursorMapper.toToken(pagina.proximoCursor()));
+    }
+
+    private static ProdutosPorIdsResponseDTO toPorIdsResponse(BuscarProdutosPorIdsUseCase.Resultado resultado) {
+        List<ProdutoResponseDTO> itens = resultado.produtos().stream()
+                .map(ProdutoDTOMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        
+        return new ProdutosPorIdsResponseDTO(itens, resultado.naoEncontrados());
+    }
+
+    // O cursor carrega preço e data do último item, não só o ID
+    private static PaginaResponseDTO<ProdutoResponseDTO> toPaginaPorPosicaoResponse(Pagina<Produto> pagina) {
+        List<ProdutoResponseDTO> itens = pagina.itens().stream()
+                .map(ProdutoDTOMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        
+        String proximoCursor = null;
+        if (pagina.temProxima()) {
+            Produto ultimo = pagina.itens().get(pagina.itens().size() - 1);
+            proximoCursor = CursorMapper.toToken(ConsultaPorPreco.Posicao.de(ultimo));
+        }
+        return new PaginaResponseDTO<>(itens, proximoCursor);
+    }
+
+    private static ImportacaoResponseDTO toImportacaoResponse(ImportarProdutosUseCase.Resumo resumo) {
+        List<ImportacaoResponseDTO.ErroLinhaResponseDTO> erros = resumo.erros().stream()
+                .map(erro -> new ImportacaoResponseDTO.ErroLinhaResponseDTO(erro.linha(), erro.erro()))
+                .collect(Collectors.toList());
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(resumo.duracaoNanos());
+        long linhasPorSegundo = resumo.duracaoNanos() == 0 ? 0
+                : resumo.linhas() * TimeUnit.SECONDS.toNanos(1) / resumo.duracaoNanos();
+        return new ImportacaoResponseDTO(resumo.linhas(), resumo.criados(), resumo.atualizados(),
+                resumo.comErro(), erros, duracaoMs, linhasPorSegundo);
+    }
+
+    private static LoteResponseDTO toLoteResponse(List<CriarProdutosEmLoteUseCase.Resultado> resultados) {
+        List<ItemLoteResponseDTO> itens = new ArrayList<>(resultados.size());
+        int criados = 0;
+        for (int i = 0; i < resultados.size(); i++) {
+            CriarProdutosEmLoteUseCase.Resultado resultado = resultados.get(i);
+            if (resultado.sucesso()) {
+                criados++;
+            }
+            itens.add(new ItemLoteResponseDTO(
+                    i,
+                    ProdutoDTOMapper.toResponseDTO(resultado.produto()),
+                    resultado.erro()
+            ));
+        }
+        
+        return new LoteResponseDTO(resultados.size(), criados, resultados.size() - criados, itens);
+    }
+
+    private static EstatisticasResponseDTO.EstatisticaDTO toEstatisticaDTO(EstatisticasCategoria estatisticas) {
+        return new EstatisticasResponseDTO.EstatisticaDTO(
+                estatisticas.categoria(),
+                estatisticas.produtos(),
+                estatisticas.estoqueTotal(),
+                estatisticas.precoMinimo(),
+                estatisticas.precoMedio(),
+                estatisticas.precoMaximo());
     }
 }
\ No newline at end of file
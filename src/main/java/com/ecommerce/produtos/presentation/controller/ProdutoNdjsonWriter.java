@@ -0,0 +1,55 @@
+package com.ecommerce.produtos.presentation.controller;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.presentation.mapper.ProdutoDTOMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Escreve produtos como NDJSON (um objeto JSON por linha) direto no OutputStream da resposta
+ * A primeira linha é enviada imediatamente e as demais em blocos de LINHAS_POR_FLUSH
+ */
+class ProdutoNdjsonWriter implements Consumer<Produto>, AutoCloseable {
+
+    static final int LINHAS_POR_FLUSH = 500;
+
+    private final JsonGenerator gerador;
+    private long linhas;
+
+    ProdutoNdjsonWriter(ObjectMapper objectMapper, OutputStream saida) throws IOException {
+        this.gerador = objectMapper.getFactory().createGenerator(saida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Sem separador automático: cada linha termina com '\n' explicitamente
+        this.gerador.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void accept(Produto produto) {
+        try {
+            gerador.writeObject(ProdutoDTOMapper.toResponseDTO(produto));
+            gerador.writeRaw('\n');
+            linhas++;
+            if (linhas == 1 || linhas % LINHAS_POR_FLUSH == 0) {
+                gerador.flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Sem linhas, nada é descarregado: o flush confirmaria a resposta (200) e um erro do
+        // Use Case antes do primeiro produto (ex.: 503 do limite de concorrência) não chegaria ao cliente.
+        // O gerador é fechado mesmo assim, para devolver seus buffers
+        if (linhas == 0) {
+            gerador.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+        gerador.close();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Schema(description = "DTO de resposta com as estatísticas do catálogo, global e por categoria")
+public record EstatisticasResponseDTO(
+        @Schema(description = "Estatísticas do catálogo inteiro")
+        EstatisticaDTO global,
+
+        @Schema(description = "Estatísticas por categoria, em ordem alfabética")
+        List<EstatisticaDTO> categorias
+) {
+
+    @Schema(description = "Agregados de um conjunto de produtos (preços null quando não há produtos)")
+    public record EstatisticaDTO(
+            @Schema(description = "Categoria (null no global)", example = "Eletrônicos")
+            String categoria,
+
+            @Schema(description = "Quantidade de produtos", example = "42")
+            long produtos,
+
+            @Schema(description = "Soma dos estoques", example = "1250")
+            long estoqueTotal,
+
+            @Schema(description = "Menor preço", example = "19.90")
+            BigDecimal precoMinimo,
+
+            @Schema(description = "Preço médio", example = "845.37")
+            BigDecimal precoMedio,
+
+            @Schema(description = "Maior preço", example = "4999.00")
+            BigDecimal precoMaximo
+    ) {
+    }
+}
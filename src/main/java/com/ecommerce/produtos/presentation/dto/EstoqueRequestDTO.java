@@ -0,0 +1,14 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Schema(description = "DTO para reserva ou reposição de estoque")
+public record EstoqueRequestDTO(
+        @Schema(description = "Quantidade a reservar ou repor", example = "2", required = true, minimum = "1")
+        @NotNull(message = "A quantidade é obrigatória")
+        @Min(value = 1, message = "A quantidade deve ser maior que zero")
+        Integer quantidade
+) {
+}
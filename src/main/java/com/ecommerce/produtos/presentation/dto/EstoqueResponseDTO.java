@@ -0,0 +1,13 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "DTO de resposta com o estoque atualizado")
+public record EstoqueResponseDTO(
+        @Schema(description = "ID do produto", example = "1")
+        Long produtoId,
+
+        @Schema(description = "Quantidade em estoque após a operação", example = "8")
+        Integer estoque
+) {
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "DTO de resposta filtrada por facetas, com contagem por valor de cada faceta")
+public record FacetasResponseDTO(
+        @Schema(description = "Itens da página atual")
+        List<ProdutoResponseDTO> itens,
+
+        @Schema(description = "Cursor opaco para buscar a próxima página (null quando não houver mais itens)",
+                example = "aWQ6MjA")
+        String proximoCursor,
+
+        @Schema(description = "Total de produtos que atendem ao filtro", example = "42")
+        long total,
+
+        @Schema(description = "Contagens por faceta (categoria, faixaPreco, emEstoque) e valor")
+        Map<String, Map<String, Long>> facetas
+) {
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(description = "DTO com a lista de IDs a buscar")
+public record IdsRequestDTO(
+        @Schema(description = "IDs dos produtos, na ordem desejada", example = "[3, 1, 2]", required = true)
+        @NotEmpty(message = "Informe ao menos um ID")
+        List<Long> ids
+) {
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta da importação de produtos por CSV")
+public record ImportacaoResponseDTO(
+        @Schema(description = "Quantidade de linhas lidas (sem o cabeçalho)", example = "3")
+        long linhas,
+
+        @Schema(description = "Quantidade de produtos criados (linhas sem ID)", example = "1")
+        long criados,
+
+        @Schema(description = "Quantidade de produtos atualizados (linhas com ID)", example = "1")
+        long atualizados,
+
+        @Schema(description = "Quantidade de linhas rejeitadas", example = "1")
+        long comErro,
+
+        @Schema(description = "Erros por linha (limitados a produtos.importacao.max-erros; comErro tem o total)")
+        List<ErroLinhaResponseDTO> erros,
+
+        @Schema(description = "Duração da importação em milissegundos", example = "1250")
+        long duracaoMs,
+
+        @Schema(description = "Vazão da importação", example = "80000")
+        long linhasPorSegundo
+) {
+
+    @Schema(description = "Linha rejeitada na importação")
+    public record ErroLinhaResponseDTO(
+            @Schema(description = "Linha do arquivo (o cabeçalho é a linha 1)", example = "3")
+            long linha,
+
+            @Schema(description = "Motivo da rejeição", example = "Preço inválido: abc")
+            String erro
+    ) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta da criação de produtos em lote")
+public record LoteResponseDTO(
+        @Schema(description = "Quantidade de itens recebidos", example = "3")
+        int total,
+
+        @Schema(description = "Quantidade de produtos criados", example = "2")
+        int criados,
+
+        @Schema(description = "Quantidade de itens rejeitados", example = "1")
+        int falhas,
+
+        @Schema(description = "Resultado de cada item, na mesma ordem do request")
+        List<ItemLoteResponseDTO> itens
+) {
+
+    @Schema(description = "Resultado de um item do lote")
+    public record ItemLoteResponseDTO(
+            @Schema(description = "Posição do item no array enviado", example = "0")
+            int indice,
+
+            @Schema(description = "Produto criado (null em caso de falha)")
+            ProdutoResponseDTO produto,
+
+            @Schema(description = "Motivo da falha (null em caso de sucesso)",
+                    example = "Preço deve ser maior que zero")
+            String erro
+    ) {
+    }
+}
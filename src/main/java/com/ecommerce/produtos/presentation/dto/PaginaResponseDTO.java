@@ -0,0 +1,16 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta paginada por cursor")
+public record PaginaResponseDTO<T>(
+        @Schema(description = "Itens da página atual")
+        List<T> itens,
+
+        @Schema(description = "Cursor opaco para buscar a próxima página (null quando não houver mais itens)",
+                example = "aWQ6MjA")
+        String proximoCursor
+) {
+}
@@ -28,7 +28,10 @@ public record ProdutoResponseDTO(
         String categoria,
 
         @Schema(description = "Data e hora de criação do produto", example = "2025-11-02T05:59:52")
-        LocalDateTime dataCriacao
+        LocalDateTime dataCriacao,
+
+        @Schema(description = "Versão do produto (também enviada no cabeçalho ETag)", example = "0")
+        Long versao
 ) {
     public static ProdutoResponseDTO fromEntity(Produto produto) {
         return new ProdutoResponseDTO(
@@ -38,7 +41,8 @@ public record ProdutoResponseDTO(
                 produto.getPreco(),
                 produto.getEstoque(),
                 produto.getCategoria(),
-                produto.getDataCriacao()
+                produto.getDataCriacao(),
+                produto.getVersao()
         );
     }
 }
@@ -0,0 +1,15 @@
+package com.ecommerce.produtos.presentation.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "DTO de resposta da busca de vários produtos por ID")
+public record ProdutosPorIdsResponseDTO(
+        @Schema(description = "Produtos encontrados, na ordem dos IDs pedidos")
+        List<ProdutoResponseDTO> itens,
+
+        @Schema(description = "IDs pedidos que não existem", example = "[99]")
+        List<Long> naoEncontrados
+) {
+}
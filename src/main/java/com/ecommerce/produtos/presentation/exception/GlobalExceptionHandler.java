@@ -1,7 +1,14 @@
 package com.ecommerce.produtos.presentation.exception;
 
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import com.ecommerce.produtos.domain.exception.EstoqueExcedidoException;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
 import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -33,6 +40,63 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(EstoqueInsuficienteException.class)
+    public ResponseEntity<ErrorResponse> handleEstoqueInsuficiente(EstoqueInsuficienteException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(EstoqueExcedidoException.class)
+    public ResponseEntity<ErrorResponse> handleEstoqueExcedido(EstoqueExcedidoException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * 412 quando o cliente condicionou a escrita com If-Match; sem o cabeçalho,
+     * o conflito veio de uma gravação concorrente e é reportado como 409
+     */
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<ErrorResponse> handleVersaoDesatualizada(
+            VersaoDesatualizadaException ex, HttpServletRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        ErrorResponse error = new ErrorResponse(
+                status.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return new ResponseEntity<>(error, status);
+    }
+
+    /**
+     * 503 com Retry-After (em segundos) quando o limite de concorrência recusa a chamada
+     * O Content-Type é fixado porque a recusa pode vir de um endpoint que produz
+     * outro formato (ex.: a exportação em NDJSON)
+     */
+    @ExceptionHandler(ServicoSobrecarregadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicoSobrecarregado(ServicoSobrecarregadoException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        long segundos = Math.max(1, (ex.getTentarApos().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(segundos))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         ErrorResponse error = new ErrorResponse(
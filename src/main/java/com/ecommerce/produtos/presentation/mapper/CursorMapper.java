@@ -0,0 +1,75 @@
+package com.ecommerce.produtos.presentation.mapper;
+
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Converte o cursor interno (ID do último item) em um token opaco para a API
+ * O cliente não deve interpretar o token, apenas devolvê-lo no parâmetro "cursor"
+ */
+public class CursorMapper {
+
+    private static final String PREFIXO = "id:";
+    // Cursor das consultas ordenadas por preço/data: "pos:preco;dataCriacao;id"
+    private static final String PREFIXO_POSICAO = "pos:";
+
+    public static String toToken(Long ultimoId) {
+        if (ultimoId == null) {
+            return null;
+        }
+        return codificar(PREFIXO + ultimoId);
+    }
+
+    public static String toToken(ConsultaPorPreco.Posicao posicao) {
+        if (posicao == null) {
+            return null;
+        }
+        return codificar(PREFIXO_POSICAO + posicao.preco().toPlainString()
+                + ";" + posicao.dataCriacao() + ";" + posicao.id());
+    }
+
+    public static Long fromToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!valor.startsWith(PREFIXO)) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return Long.parseLong(valor.substring(PREFIXO.length()));
+        } catch (IllegalArgumentException ex) {
+            // NumberFormatException também é IllegalArgumentException
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    public static ConsultaPorPreco.Posicao posicaoFromToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] partes = valor.startsWith(PREFIXO_POSICAO)
+                    ? valor.substring(PREFIXO_POSICAO.length()).split(";")
+                    : new String[0];
+            if (partes.length != 3) {
+                throw new IllegalArgumentException("Cursor inválido");
+            }
+            return new ConsultaPorPreco.Posicao(
+                    new BigDecimal(partes[0]), LocalDateTime.parse(partes[1]), Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+    }
+
+    private static String codificar(String valor) {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.produtos.presentation.mapper;
+
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.presentation.dto.ProdutoRequestDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Converte um JSON Merge Patch (RFC 7396) em AlteracaoProduto
+ * Campos ausentes ficam como estão; null remove o valor. Cada campo presente é validado
+ * com as mesmas regras do ProdutoRequestDTO, sem exigir os campos que não foram enviados
+ */
+public class MergePatchMapper {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    // Não fazem parte do conteúdo do produto: são gerados pelo servidor
+    private static final Set<String> SOMENTE_LEITURA = Set.of("id", "versao", "dataCriacao");
+
+    public static AlteracaoProduto toAlteracao(JsonNode patch, Validator validator) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("O merge patch deve ser um objeto JSON");
+        }
+        AlteracaoProduto alteracao = new AlteracaoProduto();
+        Iterator<Map.Entry<String, JsonNode>> campos = patch.fields();
+        while (campos.hasNext()) {
+            Map.Entry<String, JsonNode> campo = campos.next();
+            String nome = campo.getKey();
+            JsonNode valor = campo.getValue();
+            switch (nome) {
+                case "nome" -> alteracao.nome(validar(validator, nome, texto(nome, valor)));
+                case "descricao" -> alteracao.descricao(validar(validator, nome, texto(nome, valor)));
+                case "preco" -> alteracao.preco(validar(validator, nome, decimal(nome, valor)));
+                case "estoque" -> alteracao.estoque(validar(validator, nome, inteiro(nome, valor)));
+                case "categoria" -> alteracao.categoria(validar(validator, nome, texto(nome, valor)));
+                default -> throw new IllegalArgumentException(SOMENTE_LEITURA.contains(nome)
+                        ? "O campo " + nome + " não pode ser alterado"
+                        : "Campo desconhecido: " + nome);
+            }
+        }
+        return alteracao;
+    }
+
+    private static String texto(String campo, JsonNode valor) {
+        if (valor.isNull()) {
+            return null;
+        }
+        if (!valor.isTextual()) {
+            throw tipoInvalido(campo, "texto");
+        }
+        return valor.textValue();
+    }
+
+    private static BigDecimal decimal(String campo, JsonNode valor) {
+        if (valor.isNull()) {
+            return null;
+        }
+        if (!valor.isNumber()) {
+            throw tipoInvalido(campo, "número");
+        }
+        return valor.decimalValue();
+    }
+
+    private static Integer inteiro(String campo, JsonNode valor) {
+        if (valor.isNull()) {
+            return null;
+        }
+        if (!valor.isIntegralNumber() || !valor.canConvertToInt()) {
+            throw tipoInvalido(campo, "número inteiro");
+        }
+        return valor.intValue();
+    }
+
+    private static <T> T validar(Validator validator, String campo, T valor) {
+        Set<ConstraintViolation<ProdutoRequestDTO>> violacoes =
+                validator.validateValue(ProdutoRequestDTO.class, campo, valor);
+        if (!violacoes.isEmpty()) {
+            throw new IllegalArgumentException(violacoes.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return valor;
+    }
+
+    private static IllegalArgumentException tipoInvalido(String campo, String tipo) {
+        return new IllegalArgumentException("O campo " + campo + " deve ser " + tipo);
+    }
+}
@@ -0,0 +1,225 @@
+package com.ecommerce.produtos.presentation.mapper;
+
+import com.ecommerce.produtos.application.usecase.ImportarProdutosUseCase.Linha;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Lê produtos de um CSV (RFC 4180: separador vírgula, aspas duplas, quebras de linha dentro
+ * de aspas) direto do InputStream da requisição, um registro por vez
+ * A primeira linha é o cabeçalho: nome, preco, estoque e categoria são obrigatórios; id e
+ * descricao são opcionais e colunas desconhecidas são ignoradas. Erros de conversão viram
+ * linhas inválidas, sem interromper a leitura.
+ */
+public class ProdutoCsvReader implements Iterator<Linha>, AutoCloseable {
+
+    // Registros maiores são descartados (e reportados) em vez de crescer sem limite em memória
+    static final int MAX_CARACTERES_POR_REGISTRO = 64 * 1024;
+
+    private static final int FIM = -1;
+    private static final List<String> OBRIGATORIAS = List.of("nome", "preco", "estoque", "categoria");
+
+    private final BufferedReader leitor;
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private final StringBuilder campo = new StringBuilder();
+    private long linhaAtual = 1;
+    private Linha proxima;
+
+    public ProdutoCsvReader(InputStream entrada) {
+        this.leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8), 64 * 1024);
+        lerCabecalho();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (proxima == null) {
+            proxima = lerLinha();
+        }
+        return proxima != null;
+    }
+
+    @Override
+    public Linha next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Linha linha = proxima;
+        proxima = null;
+        return linha;
+    }
+
+    @Override
+    public void close() throws IOException {
+        leitor.close();
+    }
+
+    private void lerCabecalho() {
+        Registro cabecalho = lerRegistro();
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio");
+        }
+        for (int i = 0; i < cabecalho.campos.size(); i++) {
+            String nome = cabecalho.campos.get(i).strip().toLowerCase(Locale.ROOT);
+            // BOM do UTF-8 gravado por algumas planilhas
+            colunas.putIfAbsent(i == 0 ? nome.replace("\uFEFF", "") : nome, i);
+        }
+        for (String obrigatoria : OBRIGATORIAS) {
+            if (!colunas.containsKey(obrigatoria)) {
+                throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna obrigatória: " + obrigatoria);
+            }
+        }
+    }
+
+    private Linha lerLinha() {
+        Registro registro = lerRegistro();
+        if (registro == null) {
+            return null;
+        }
+        if (registro.erro != null) {
+            return Linha.invalida(registro.numero, registro.erro);
+        }
+        try {
+            return new Linha(
+                    registro.numero,
+                    converter(valor(registro, "id"), "ID", Long::valueOf),
+                    valor(registro, "nome"),
+                    valor(registro, "descricao"),
+                    converter(valor(registro, "preco"), "Preço", BigDecimal::new),
+                    converter(valor(registro, "estoque"), "Estoque", Integer::valueOf),
+                    valor(registro, "categoria"),
+                    null);
+        } catch (IllegalArgumentException ex) {
+            return Linha.invalida(registro.numero, ex.getMessage());
+        }
+    }
+
+    // Campo ausente ou vazio = null
+    private String valor(Registro registro, String coluna) {
+        Integer indice = colunas.get(coluna);
+        if (indice == null || indice >= registro.campos.size()) {
+            return null;
+        }
+        String valor = registro.campos.get(indice);
+        return valor.isBlank() ? null : valor;
+    }
+
+    private static <T> T converter(String valor, String nome, Function<String, T> conversor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return conversor.apply(valor.strip());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(nome + " inválido: " + valor);
+        }
+    }
+
+    /**
+     * Próximo registro não vazio, ou null no fim do arquivo
+     */
+    private Registro lerRegistro() {
+        while (true) {
+            if (ler() == FIM) {
+                return null;
+            }
+            voltar();
+            Registro registro = lerRegistroAteOFim();
+            boolean vazio = registro.campos.size() == 1 && registro.campos.get(0).isEmpty();
+            if (!vazio || registro.erro != null) {
+                return registro;
+            }
+        }
+    }
+
+    private Registro lerRegistroAteOFim() {
+        long numero = linhaAtual;
+        List<String> campos = new ArrayList<>();
+        String erro = null;
+        int tamanho = 0;
+        boolean entreAspas = false;
+        boolean inicioDoCampo = true;
+        campo.setLength(0);
+
+        while (true) {
+            int c = ler();
+            if (c == FIM) {
+                if (entreAspas) {
+                    erro = "Aspas não fechadas";
+                }
+                break;
+            }
+            if (entreAspas) {
+                if (c == '"') {
+                    if (ler() == '"') {
+                        c = '"';
+                    } else {
+                        voltar();
+                        entreAspas = false;
+                        continue;
+                    }
+                } else if (c == '\n') {
+                    linhaAtual++;
+                }
+            } else if (c == '"' && inicioDoCampo) {
+                entreAspas = true;
+                inicioDoCampo = false;
+                continue;
+            } else if (c == '\n') {
+                linhaAtual++;
+                break;
+            } else if (c == '\r') {
+                continue;
+            }
+            inicioDoCampo = c == ',' && !entreAspas;
+            if (++tamanho > MAX_CARACTERES_POR_REGISTRO) {
+                // Consome o resto do registro sem guardar nada
+                erro = "Registro excede " + MAX_CARACTERES_POR_REGISTRO + " caracteres";
+                campos.clear();
+                campo.setLength(0);
+            } else if (inicioDoCampo) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append((char) c);
+            }
+        }
+        campos.add(campo.toString());
+        campo.setLength(0);
+        return new Registro(numero, erro == null ? campos : List.of(), erro);
+    }
+
+    private int ler() {
+        try {
+            // Marca a posição para poder devolver este caractere (voltar)
+            leitor.mark(1);
+            return leitor.read();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void voltar() {
+        try {
+            leitor.reset();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Registro(long numero, List<String> campos, String erro) {
+    }
+}
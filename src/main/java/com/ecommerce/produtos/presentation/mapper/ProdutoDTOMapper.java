@@ -20,7 +20,8 @@ public class ProdutoDTOMapper {
                 produto.getPreco(),
                 produto.getEstoque(),
                 produto.getCategoria(),
-                produto.getDataCriacao()
+                produto.getDataCriacao(),
+                produto.getVersao()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.ecommerce.produtos.presentation.mapper;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Converte a versão do produto em ETag forte ("3") e interpreta o cabeçalho If-Match
+ * (RFC 9110): lista separada por vírgulas, comparação forte, "*" equivale a não verificar a versão.
+ * Tags fracas (W/"3") nunca casam com um If-Match, então são ignoradas
+ */
+public class VersaoEtagMapper {
+
+    private static final String PREFIXO_FRACO = "W/";
+
+    public static String toEtag(Long versao) {
+        if (versao == null) {
+            return null;
+        }
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * @return versões aceitas pelo If-Match; null sem o cabeçalho ou com "*". Vazio quando só
+     * há tags fracas: a pré-condição existe, mas nenhuma versão a satisfaz (412)
+     */
+    public static Set<Long> fromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        if (ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Set<Long> versoes = new LinkedHashSet<>();
+        for (String item : ifMatch.split(",")) {
+            String valor = item.trim();
+            if (valor.isEmpty()) {
+                continue;
+            }
+            boolean fraca = valor.startsWith(PREFIXO_FRACO);
+            if (fraca) {
+                valor = valor.substring(PREFIXO_FRACO.length());
+            }
+            Long versao = versaoDaTag(valor);
+            if (!fraca) {
+                versoes.add(versao);
+            }
+        }
+        return versoes;
+    }
+
+    private static Long versaoDaTag(String tag) {
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match inválido");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match inválido");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.produtos.application.busca;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Índice de Busca de Produtos")
+class IndiceBuscaProdutosTest {
+
+    private IndiceBuscaProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaProdutos();
+    }
+
+    private Produto produto(Long id, String nome, String descricao) {
+        return new Produto(id, nome, descricao, new BigDecimal("100.00"),
+                10, "Eletrônicos", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve normalizar caixa e acentos e ignorar stopwords")
+    void deveNormalizarCaixaEAcentos() {
+        assertThat(IndiceBuscaProdutos.tokenizar("Eletrônicos de Áudio, AÇÃO-2"))
+                .containsExactly("eletronicos", "audio", "acao", "2");
+    }
+
+    @Test
+    @DisplayName("Deve encontrar produtos independente de acentos e maiúsculas")
+    void deveEncontrarSemAcentos() {
+        // Arrange
+        indice.reconstruir(Stream.of(
+                produto(1L, "Fone Bluetooth", "Áudio eletrônico sem fio"),
+                produto(2L, "Cabo USB", "Acessório")
+        ));
+
+        // Act & Assert
+        assertThat(indice.buscar("AUDIO eletronico", 10)).containsExactly(1L);
+        assertThat(indice.buscar("áudio cabo", 10)).isEmpty();
+        assertThat(indice.buscar("de", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve ranquear ocorrências no nome acima das da descrição")
+    void deveRanquearNomeAcimaDaDescricao() {
+        // Arrange
+        indice.reconstruir(Stream.of(
+                produto(1L, "Mouse", "Compatível com notebook"),
+                produto(2L, "Notebook Dell", "Inspiron 15"),
+                produto(3L, "Capa", "Capa para notebook"),
+                produto(4L, "Teclado", "Sem fio")
+        ));
+
+        // Act & Assert
+        assertThat(indice.buscar("notebook", 10)).containsExactly(2L, 1L, 3L);
+        assertThat(indice.buscar("notebook", 2)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve refletir atualizações e remoções")
+    void deveRefletirAtualizacoesERemocoes() {
+        // Arrange
+        indice.reconstruir(Stream.of(produto(1L, "Notebook", "Dell")));
+
+        // Act
+        indice.indexar(produto(1L, "Tablet", "Samsung"));
+        indice.indexar(produto(2L, "Notebook", "Lenovo"));
+
+        // Assert
+        assertThat(indice.buscar("notebook", 10)).containsExactly(2L);
+        assertThat(indice.buscar("tablet", 10)).containsExactly(1L);
+
+        indice.remover(2L);
+        assertThat(indice.buscar("notebook", 10)).isEmpty();
+        assertThat(indice.tamanho()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve manter os resultados após compactar documentos removidos")
+    void deveManterResultadosAposCompactar() {
+        // Arrange
+        indice.reconstruir(LongStream.rangeClosed(1, 3000)
+                .mapToObj(id -> produto(id, "Produto " + (id % 2 == 0 ? "par" : "impar"), "Item " + id)));
+
+        // Act: remove 2/3 dos produtos, acima do limite de compactação
+        LongStream.rangeClosed(1, 2000).forEach(indice::remover);
+
+        // Assert
+        assertThat(indice.tamanho()).isEqualTo(1000);
+        assertThat(indice.buscar("par", 1000)).hasSize(500).allMatch(id -> id > 2000 && id % 2 == 0);
+        assertThat(indice.buscar("item 2500", 10)).containsExactly(2500L);
+    }
+}
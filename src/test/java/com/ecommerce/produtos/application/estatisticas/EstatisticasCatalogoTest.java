@@ -0,0 +1,179 @@
+package com.ecommerce.produtos.application.estatisticas;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes das Estatísticas do Catálogo")
+class EstatisticasCatalogoTest {
+
+    private EstatisticasCatalogo estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = new EstatisticasCatalogo();
+        estatisticas.reconstruir(Stream.of(
+                produto(1L, "Eletrônicos", "2999.99", 10),
+                produto(2L, "Eletrônicos", "50.00", 5),
+                produto(3L, "Eletrônicos", "150.00", 0),
+                produto(4L, "Roupas", "99.99", 7)
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve agregar quantidade, estoque e preços por categoria")
+    void deveAgregarPorCategoria() {
+        // Act
+        EstatisticasCategoria eletronicos = estatisticas.daCategoria("Eletrônicos").orElseThrow();
+
+        // Assert
+        assertThat(estatisticas.carregado()).isTrue();
+        assertThat(estatisticas.porCategoria())
+                .extracting(EstatisticasCategoria::categoria)
+                .containsExactly("Eletrônicos", "Roupas");
+        assertThat(eletronicos.produtos()).isEqualTo(3);
+        assertThat(eletronicos.estoqueTotal()).isEqualTo(15);
+        assertThat(eletronicos.precoMinimo()).isEqualByComparingTo("50.00");
+        assertThat(eletronicos.precoMaximo()).isEqualByComparingTo("2999.99");
+        assertThat(eletronicos.precoMedio()).isEqualByComparingTo("1066.66");
+    }
+
+    @Test
+    @DisplayName("Deve informar a categoria indexada de cada produto")
+    void deveInformarCategoriaDoProduto() {
+        // Act
+        estatisticas.indexar(produto(1L, "Roupas", "199.99", 3));
+        estatisticas.remover(2L);
+
+        // Assert
+        assertThat(estatisticas.categoriaDe(1L)).contains("Roupas");
+        assertThat(estatisticas.categoriaDe(2L)).isEmpty();
+        assertThat(new EstatisticasCatalogo().categoriaDe(4L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Alteração deve descontar o estado anterior, inclusive ao trocar de categoria")
+    void alteracaoDeveDescontarEstadoAnterior() {
+        // Act
+        estatisticas.indexar(produto(1L, "Roupas", "199.99", 3));
+
+        // Assert
+        EstatisticasCategoria eletronicos = estatisticas.daCategoria("Eletrônicos").orElseThrow();
+        EstatisticasCategoria roupas = estatisticas.daCategoria("Roupas").orElseThrow();
+        assertThat(eletronicos.produtos()).isEqualTo(2);
+        assertThat(eletronicos.estoqueTotal()).isEqualTo(5);
+        assertThat(eletronicos.precoMaximo()).isEqualByComparingTo("150.00");
+        assertThat(roupas.produtos()).isEqualTo(2);
+        assertThat(roupas.estoqueTotal()).isEqualTo(10);
+        assertThat(roupas.precoMaximo()).isEqualByComparingTo("199.99");
+    }
+
+    @Test
+    @DisplayName("Remoção deve atualizar mínimo e máximo e omitir a categoria vazia")
+    void remocaoDeveAtualizarMinimoEMaximo() {
+        // Act
+        estatisticas.remover(2L);
+        estatisticas.remover(4L);
+        estatisticas.remover(99L);
+
+        // Assert
+        assertThat(estatisticas.daCategoria("Eletrônicos").orElseThrow().precoMinimo())
+                .isEqualByComparingTo("150.00");
+        assertThat(estatisticas.daCategoria("Roupas")).isEmpty();
+        assertThat(estatisticas.porCategoria()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Preços repetidos só saem do mínimo quando o último produto com o preço sai")
+    void precosRepetidosDevemSerContados() {
+        // Arrange
+        estatisticas.indexar(produto(5L, "Eletrônicos", "50.00", 1));
+
+        // Act
+        estatisticas.remover(2L);
+
+        // Assert
+        assertThat(estatisticas.daCategoria("Eletrônicos").orElseThrow().precoMinimo())
+                .isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Estoques concorrentes fora de ordem devem terminar no da versão mais nova")
+    void estoquesConcorrentesDevemValerPelaVersao() throws InterruptedException {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act: a versão v deixou 1000 - v unidades (baixas de uma em uma terminando em qualquer ordem)
+        IntStream.rangeClosed(1, 1000).forEach(versao -> executor.execute(() -> {
+            estatisticas.atualizarEstoque(1L, 1000 - versao, versao);
+            estatisticas.atualizarEstoque(4L, versao, versao);
+        }));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(estatisticas.daCategoria("Eletrônicos").orElseThrow().estoqueTotal()).isEqualTo(5);
+        assertThat(estatisticas.daCategoria("Roupas").orElseThrow().estoqueTotal()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Escritas durante a reconstrução não devem se perder nem contar duas vezes")
+    void escritasDuranteAReconstrucaoDevemValerUmaVez() {
+        // Act: o banco é lido depois das escritas (a linha 1 já na versão 1), e a 2 é removida no meio da leitura
+        estatisticas.reconstruir(() -> {
+            estatisticas.atualizarEstoque(1L, 4, 1L);
+            estatisticas.indexar(produto(5L, "Roupas", "10.00", 3));
+            return Stream.of(
+                    new Produto(1L, "Produto 1", null, new BigDecimal("2999.99"), 4, "Eletrônicos",
+                            LocalDateTime.now(), 1L),
+                    produto(2L, "Eletrônicos", "50.00", 5),
+                    produto(5L, "Roupas", "10.00", 3)
+            ).peek(produto -> {
+                if (produto.getId() == 2L) {
+                    estatisticas.remover(2L);
+                }
+            });
+        });
+
+        // Assert
+        EstatisticasCategoria eletronicos = estatisticas.daCategoria("Eletrônicos").orElseThrow();
+        EstatisticasCategoria roupas = estatisticas.daCategoria("Roupas").orElseThrow();
+        assertThat(eletronicos.produtos()).isEqualTo(1);
+        assertThat(eletronicos.estoqueTotal()).isEqualTo(4);
+        assertThat(roupas.produtos()).isEqualTo(1);
+        assertThat(roupas.estoqueTotal()).isEqualTo(3);
+        assertThat(estatisticas.categoriaDe(2L)).isEmpty();
+        assertThat(estatisticas.tamanho()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Global deve combinar as categorias")
+    void globalDeveCombinarCategorias() {
+        // Act
+        EstatisticasCategoria global = EstatisticasCategoria.somar(null, estatisticas.porCategoria());
+
+        // Assert
+        assertThat(global.produtos()).isEqualTo(4);
+        assertThat(global.estoqueTotal()).isEqualTo(22);
+        assertThat(global.precoMinimo()).isEqualByComparingTo("50.00");
+        assertThat(global.precoMaximo()).isEqualByComparingTo("2999.99");
+        assertThat(global.somaPrecos()).isEqualByComparingTo("3299.98");
+    }
+
+    private static Produto produto(Long id, String categoria, String preco, int estoque) {
+        return new Produto(id, "Produto " + id, null, new BigDecimal(preco), estoque, categoria,
+                LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,198 @@
+package com.ecommerce.produtos.application.estoque;
+
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Group Commit: Agrupador de Reservas de Estoque")
+class AgrupadorReservasEstoqueTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private AgrupadorReservasEstoque agrupador;
+
+    // Estoque "persistido" do repositório fake
+    private final Map<Long, Integer> estoques = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            Set<Long> ids = invocation.getArgument(0);
+            Consumer<Map<Long, Produto>> alteracao = invocation.getArgument(1);
+            Map<Long, Produto> produtos = new HashMap<>();
+            ids.stream().filter(estoques::containsKey).forEach(id -> produtos.put(id,
+                    new Produto(id, "Produto " + id, null, new BigDecimal("10.00"),
+                            estoques.get(id), "Games", LocalDateTime.now())));
+            alteracao.accept(produtos);
+            produtos.forEach((id, produto) -> estoques.put(id, produto.getEstoque()));
+            return null;
+        }).when(repositoryPort).alterarEstoquesEmLote(any(), any());
+
+        agrupador = new AgrupadorReservasEstoque(repositoryPort, Duration.ofMillis(20), 1000, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        agrupador.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar pedidos concorrentes e respeitar o estoque de cada produto")
+    void deveAgruparPedidosConcorrentes() throws Exception {
+        // Arrange
+        estoques.put(1L, 5);
+        estoques.put(2L, 100);
+
+        // Act
+        List<CompletableFuture<Integer>> produto1 = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            produto1.add(agrupador.reservar(1L, 1));
+        }
+        CompletableFuture<Integer> produto2 = agrupador.reservar(2L, 30);
+
+        // Assert
+        long confirmadas = 0;
+        long recusadas = 0;
+        for (CompletableFuture<Integer> reserva : produto1) {
+            try {
+                reserva.get(5, TimeUnit.SECONDS);
+                confirmadas++;
+            } catch (ExecutionException ex) {
+                assertThat(ex.getCause()).isInstanceOf(EstoqueInsuficienteException.class);
+                recusadas++;
+            }
+        }
+        assertThat(confirmadas).isEqualTo(5);
+        assertThat(recusadas).isEqualTo(3);
+        assertThat(produto2.get(5, TimeUnit.SECONDS)).isEqualTo(70);
+        assertThat(estoques).containsEntry(1L, 0).containsEntry(2L, 70);
+
+        // Todos os pedidos chegaram dentro da mesma janela: menos transações que pedidos
+        AgrupadorReservasEstoque.Estatisticas estatisticas = agrupador.estatisticas();
+        assertThat(estatisticas.pedidos()).isEqualTo(9);
+        assertThat(estatisticas.lotes()).isLessThan(9);
+        verify(repositoryPort, atMost(8)).alterarEstoquesEmLote(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deve completar com exceção quando o produto não existir")
+    void deveFalharQuandoProdutoNaoExistir() {
+        // Act
+        CompletableFuture<Integer> reserva = agrupador.reservar(999L, 1);
+
+        // Assert
+        assertThatThrownBy(() -> reserva.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ProdutoNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve falhar todos os pedidos do lote quando a transação falhar")
+    void deveFalharTodosQuandoTransacaoFalhar() {
+        // Arrange
+        doThrow(new IllegalStateException("banco indisponível"))
+                .when(repositoryPort).alterarEstoquesEmLote(any(), any());
+
+        // Act
+        CompletableFuture<Integer> reserva = agrupador.reservar(1L, 1);
+
+        // Assert
+        assertThatThrownBy(() -> reserva.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("banco indisponível");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidade não positiva sem enfileirar")
+    void deveRejeitarQuantidadeNaoPositiva() {
+        assertThatThrownBy(() -> agrupador.reservar(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Quantidade deve ser positiva");
+
+        assertThat(agrupador.estatisticas().pendentes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve retirar o pedido e responder 503 quando o lote não começar dentro da espera máxima")
+    void deveRetirarPedidoAposEsperaMaxima() throws Exception {
+        // Arrange: o primeiro lote fica preso na transação até o latch abrir
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch emTransacao = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            emTransacao.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            invocation.<Consumer<Map<Long, Produto>>>getArgument(1).accept(new HashMap<>());
+            return null;
+        }).when(repositoryPort).alterarEstoquesEmLote(any(), any());
+        AgrupadorReservasEstoque comEsperaCurta =
+                new AgrupadorReservasEstoque(repositoryPort, Duration.ZERO, 1, Duration.ofMillis(100));
+        try {
+            CompletableFuture<Integer> preso = comEsperaCurta.reservar(1L, 1);
+            assertThat(emTransacao.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // Act & Assert
+            assertThatThrownBy(() -> comEsperaCurta.reservarEAguardar(2L, 1))
+                    .isInstanceOf(ServicoSobrecarregadoException.class);
+            liberar.countDown();
+            assertThat(preso).failsWithin(Duration.ofSeconds(5))
+                    .withThrowableOfType(ExecutionException.class)
+                    .withCauseInstanceOf(ProdutoNotFoundException.class);
+            assertThat(comEsperaCurta.estatisticas().expirados()).isEqualTo(1);
+            // O pedido retirado não entra em nenhuma transação
+            verify(repositoryPort, timeout(1000).times(1)).alterarEstoquesEmLote(any(), any());
+        } finally {
+            liberar.countDown();
+            comEsperaCurta.encerrar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve drenar a fila no encerramento e recusar pedidos depois dele")
+    void deveDrenarFilaNoEncerramento() throws Exception {
+        // Arrange
+        estoques.put(1L, 10);
+        AgrupadorReservasEstoque comJanelaLonga =
+                new AgrupadorReservasEstoque(repositoryPort, Duration.ofMillis(500), 1000, Duration.ofSeconds(5));
+        CompletableFuture<Integer> pendente = comJanelaLonga.reservar(1L, 3);
+
+        // Act
+        comJanelaLonga.encerrar();
+
+        // Assert
+        assertThat(pendente).isDone();
+        assertThat(pendente.get()).isEqualTo(7);
+        assertThatThrownBy(() -> comJanelaLonga.reservar(1L, 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("encerrado");
+    }
+}
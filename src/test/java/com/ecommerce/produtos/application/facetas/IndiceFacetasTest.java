@@ -0,0 +1,135 @@
+package com.ecommerce.produtos.application.facetas;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Índice de Facetas (bitmaps)")
+class IndiceFacetasTest {
+
+    private IndiceFacetas indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceFacetas(new BigDecimal("100"), new BigDecimal("500"));
+        indice.reconstruir(Stream.of(
+                produto(1L, "Eletrônicos", "2999.99", 10),
+                produto(2L, "Eletrônicos", "50.00", 0),
+                produto(3L, "Eletrônicos", "150.00", 5),
+                produto(4L, "Roupas", "99.99", 3),
+                produto(5L, "Roupas", "199.99", 0),
+                produto(6L, "Livros", "45.00", 8)
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve gerar os rótulos das faixas a partir dos limites")
+    void deveGerarRotulosDasFaixas() {
+        // Assert
+        assertThat(indice.faixasPreco()).containsExactly("0-100", "100-500", "500+");
+        assertThat(indice.tamanho()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Deve combinar valores da mesma faceta com OU e facetas diferentes com E")
+    void deveCombinarFiltros() {
+        // Act
+        IndiceFacetas.Resultado resultado = indice.filtrar(
+                new FiltroFacetas(Set.of("Eletrônicos", "Roupas"), Set.of("0-100", "100-500"), true),
+                null, 10);
+
+        // Assert
+        assertThat(resultado.ids()).containsExactly(3L, 4L);
+        assertThat(resultado.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve contar cada faceta com os filtros das demais")
+    void deveContarFacetas() {
+        // Act
+        ContagemFacetas contagens = indice.filtrar(
+                new FiltroFacetas(Set.of("Eletrônicos"), Set.of(), true), null, 10).contagens();
+
+        // Assert
+        // Categorias: só o filtro de estoque se aplica
+        assertThat(contagens.categorias())
+                .containsExactly(Map.entry("Eletrônicos", 2L), Map.entry("Livros", 1L), Map.entry("Roupas", 1L));
+        // Faixas: categoria Eletrônicos e em estoque
+        assertThat(contagens.faixasPreco())
+                .containsExactly(Map.entry("0-100", 0L), Map.entry("100-500", 1L), Map.entry("500+", 1L));
+        // Estoque: só a categoria se aplica
+        assertThat(contagens.emEstoque()).isEqualTo(2);
+        assertThat(contagens.semEstoque()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve paginar em ordem a partir do ID do cursor")
+    void devePaginarPeloCursor() {
+        // Act
+        IndiceFacetas.Resultado primeira = indice.filtrar(FiltroFacetas.vazio(), null, 4);
+        IndiceFacetas.Resultado segunda = indice.filtrar(FiltroFacetas.vazio(), 4L, 4);
+
+        // Assert
+        assertThat(primeira.ids()).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(segunda.ids()).containsExactly(5L, 6L);
+        assertThat(segunda.total()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os bitmaps em alterações, estoque e remoções")
+    void deveAtualizarIncrementalmente() {
+        // Act
+        indice.indexar(produto(2L, "Livros", "600.00", 0));
+        indice.atualizarEstoque(5L, 7, 1L);
+        indice.atualizarEstoque(1L, 0, 1L);
+        indice.remover(6L);
+        indice.indexar(produto(7L, "Roupas", "20.00", 1));
+
+        // Assert
+        assertThat(indice.filtrar(new FiltroFacetas(Set.of("Livros"), Set.of(), null), null, 10).ids())
+                .containsExactly(2L);
+        assertThat(indice.filtrar(new FiltroFacetas(Set.of(), Set.of(), true), null, 10).ids())
+                .containsExactly(3L, 4L, 5L, 7L);
+        // Cursor de um produto removido continua válido
+        assertThat(indice.filtrar(FiltroFacetas.vazio(), 6L, 10).ids()).containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("Deve ignorar estoque de versão mais antiga que a indexada")
+    void deveIgnorarEstoqueForaDeOrdem() {
+        // Act: a baixa da versão 3 termina antes da reposição da versão 2
+        indice.atualizarEstoque(4L, 0, 3L);
+        indice.atualizarEstoque(4L, 8, 2L);
+        indice.indexar(new Produto(4L, "Produto 4", "Descrição", new BigDecimal("99.99"),
+                3, "Roupas", LocalDateTime.now(), 1L));
+
+        // Assert
+        assertThat(indice.filtrar(new FiltroFacetas(Set.of("Roupas"), Set.of(), true), null, 10).ids())
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar faixa de preço e cursor desconhecidos")
+    void deveRejeitarValoresDesconhecidos() {
+        // Act & Assert
+        assertThatThrownBy(() -> indice.filtrar(new FiltroFacetas(Set.of(), Set.of("1-2"), null), null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("0-100");
+        assertThatThrownBy(() -> indice.filtrar(FiltroFacetas.vazio(), 99L, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Produto produto(Long id, String categoria, String preco, int estoque) {
+        return new Produto(id, "Produto " + id, "Descrição", new BigDecimal(preco),
+                estoque, categoria, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.produtos.application.preco;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco.Ordenacao;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco.Posicao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Índice de Preços por Categoria")
+class IndicePrecosTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    private IndicePrecos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrecos();
+        indice.reconstruir(Stream.of(
+                produto(1L, "Eletrônicos", "2999.99", 1),
+                produto(2L, "Eletrônicos", "50.00", 2),
+                produto(3L, "Eletrônicos", "150.00", 3),
+                produto(4L, "Eletrônicos", "150.00", 4),
+                produto(5L, "Eletrônicos", "499.90", 5),
+                produto(6L, "Roupas", "99.99", 6)
+        ));
+    }
+
+    @Test
+    @DisplayName("Deve retornar a faixa de preço da categoria do mais barato ao mais caro")
+    void deveRetornarFaixaOrdenadaPorPreco() {
+        // Act
+        var ids = indice.buscar(consulta("100", "500", Ordenacao.PRECO, null, 10));
+
+        // Assert
+        assertThat(indice.carregado()).isTrue();
+        assertThat(ids).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Deve retornar os N mais baratos com a faixa aberta")
+    void deveRetornarMaisBaratos() {
+        // Act & Assert
+        assertThat(indice.buscar(consulta(null, null, Ordenacao.PRECO, null, 2)))
+                .containsExactly(2L, 3L);
+        assertThat(indice.buscar(consulta("5000", null, Ordenacao.PRECO, null, 2))).isEmpty();
+        assertThat(indice.buscar(new ConsultaPorPreco("Livros", null, null, Ordenacao.PRECO, null, 2)))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve continuar após o cursor mesmo com preços empatados")
+    void deveContinuarAposCursor() {
+        // Arrange
+        Posicao apos = new Posicao(new BigDecimal("150.00"), BASE.plusMinutes(3), 3L);
+
+        // Act
+        var ids = indice.buscar(consulta("100", null, Ordenacao.PRECO, apos, 2));
+
+        // Assert
+        assertThat(ids).containsExactly(4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Deve ordenar a faixa pelos mais recentes e paginar pelo cursor")
+    void deveOrdenarPorDataCriacao() {
+        // Act
+        var primeira = indice.buscar(consulta("100", null, Ordenacao.DATA_CRIACAO, null, 2));
+        var segunda = indice.buscar(consulta("100", null, Ordenacao.DATA_CRIACAO,
+                new Posicao(new BigDecimal("150.00"), BASE.plusMinutes(4), 4L), 2));
+
+        // Assert
+        assertThat(primeira).containsExactly(5L, 4L);
+        assertThat(segunda).containsExactly(3L, 1L);
+    }
+
+    @Test
+    @DisplayName("Deve mover o produto quando preço ou categoria mudam e esquecer os removidos")
+    void deveReindexarERemover() {
+        // Act
+        indice.indexar(produto(1L, "Eletrônicos", "10.00", 1));
+        indice.indexar(produto(2L, "Roupas", "50.00", 2));
+        indice.remover(3L);
+
+        // Assert
+        assertThat(indice.buscar(consulta(null, null, Ordenacao.PRECO, null, 10)))
+                .containsExactly(1L, 4L, 5L);
+        assertThat(indice.buscar(new ConsultaPorPreco("Roupas", null, null, Ordenacao.PRECO, null, 10)))
+                .containsExactly(2L, 6L);
+        assertThat(indice.tamanho()).isEqualTo(5);
+    }
+
+    private static ConsultaPorPreco consulta(String min, String max, Ordenacao ordenacao,
+                                             Posicao apos, int limite) {
+        return new ConsultaPorPreco(
+                "Eletrônicos",
+                min == null ? null : new BigDecimal(min),
+                max == null ? null : new BigDecimal(max),
+                ordenacao,
+                apos,
+                limite);
+    }
+
+    private static Produto produto(Long id, String categoria, String preco, int minutos) {
+        return new Produto(id, "Produto " + id, "Descrição", new BigDecimal(preco),
+                10, categoria, BASE.plusMinutes(minutos));
+    }
+}
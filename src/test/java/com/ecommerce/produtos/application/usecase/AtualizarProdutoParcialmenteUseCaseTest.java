@@ -0,0 +1,111 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Atualizar Produto Parcialmente")
+class AtualizarProdutoParcialmenteUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private AtualizarProdutoParcialmenteUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new AtualizarProdutoParcialmenteUseCase(repositoryPort);
+    }
+
+    private Produto notebook() {
+        return new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now(), 3L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar apenas os campos que mudaram")
+    void deveGravarApenasOsCamposQueMudaram() {
+        // Arrange
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+        when(repositoryPort.atualizarCampos(any(Produto.class), any(), anyBoolean())).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Produto produto = useCase.executar(1L, new AlteracaoProduto()
+                .preco(new BigDecimal("2799.99"))
+                .nome("Notebook"), Set.of(3L));
+
+        // Assert
+        assertThat(produto.getPreco()).isEqualByComparingTo("2799.99");
+        verify(repositoryPort).atualizarCampos(produto, Set.of(CampoProduto.PRECO), true);
+    }
+
+    @Test
+    @DisplayName("Sem versão esperada, deve gravar sem a verificação otimista")
+    void semVersaoEsperadaDeveGravarSemVerificacao() {
+        // Arrange
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+        when(repositoryPort.atualizarCampos(any(Produto.class), any(), anyBoolean())).thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Produto produto = useCase.executar(1L, new AlteracaoProduto().preco(new BigDecimal("2799.99")), null);
+
+        // Assert
+        verify(repositoryPort).atualizarCampos(produto, Set.of(CampoProduto.PRECO), false);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar quando nenhum valor mudou")
+    void naoDeveGravarQuandoNenhumValorMudou() {
+        // Arrange
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+
+        // Act
+        Produto produto = useCase.executar(1L, new AlteracaoProduto().estoque(10), null);
+
+        // Assert
+        assertThat(produto.getVersao()).isEqualTo(3L);
+        verify(repositoryPort, never()).atualizarCampos(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando a versão esperada estiver desatualizada")
+    void deveLancarExcecaoComVersaoDesatualizada() {
+        // Arrange
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(1L, new AlteracaoProduto().estoque(5), Set.of(2L)))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+        verify(repositoryPort, never()).atualizarCampos(any(), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto não existir")
+    void deveLancarExcecaoQuandoProdutoNaoExistir() {
+        // Arrange
+        when(repositoryPort.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(999L, new AlteracaoProduto().estoque(5), null))
+                .isInstanceOf(ProdutoNotFoundException.class);
+    }
+}
@@ -1,7 +1,9 @@
 package com.ecommerce.produtos.application.usecase;
 
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
 import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,10 +14,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,7 +46,8 @@ class AtualizarProdutoUseCaseTest {
         );
 
         when(repositoryPort.buscarPorId(id)).thenReturn(Optional.of(produtoExistente));
-        when(repositoryPort.salvar(any(Produto.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(repositoryPort.atualizarCampos(any(Produto.class), anySet(), anyBoolean()))
+                .thenAnswer(i -> i.getArguments()[0]);
 
         // Act
         Produto produtoAtualizado = useCase.executar(
@@ -57,7 +61,29 @@ class AtualizarProdutoUseCaseTest {
         assertThat(produtoAtualizado.getEstoque()).isEqualTo(15);
 
         verify(repositoryPort, times(1)).buscarPorId(id);
-        verify(repositoryPort, times(1)).salvar(any(Produto.class));
+        // Estoque alterado: mesmo sem versão esperada, o UPDATE fica condicionado à versão lida
+        verify(repositoryPort, times(1)).atualizarCampos(any(Produto.class), eq(EnumSet.of(
+                CampoProduto.NOME, CampoProduto.DESCRICAO, CampoProduto.PRECO, CampoProduto.ESTOQUE)), eq(true));
+    }
+
+    @Test
+    @DisplayName("Sem versão esperada e com o estoque igual ao lido, deve gravar só o que mudou sem verificação")
+    void deveGravarSoOsCamposAlteradosSemVerificacao() {
+        // Arrange
+        Long id = 1L;
+        Produto produtoExistente = new Produto(
+                id, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now(), 3L
+        );
+        when(repositoryPort.buscarPorId(id)).thenReturn(Optional.of(produtoExistente));
+        when(repositoryPort.atualizarCampos(any(Produto.class), anySet(), anyBoolean()))
+                .thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        useCase.executar(id, "Notebook Dell", "Dell", new BigDecimal("2999.990"), 10, "Eletrônicos");
+
+        // Assert
+        verify(repositoryPort, times(1)).atualizarCampos(any(Produto.class), eq(EnumSet.of(CampoProduto.NOME)), eq(false));
     }
 
     @Test
@@ -74,6 +100,98 @@ class AtualizarProdutoUseCaseTest {
         ))
         .isInstanceOf(ProdutoNotFoundException.class);
 
-        verify(repositoryPort, never()).salvar(any());
+        verify(repositoryPort, never()).atualizarCampos(any(), anySet(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar atualização quando a versão esperada não confere")
+    void deveRejeitarAtualizacaoComVersaoDiferente() {
+        // Arrange
+        Long id = 1L;
+        Produto produtoExistente = new Produto(
+                id, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now(), 3L
+        );
+        when(repositoryPort.buscarPorId(id)).thenReturn(Optional.of(produtoExistente));
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(
+                id, "Notebook Dell", "Dell", 
+                new BigDecimal("3499.99"), 15, "Eletrônicos", Set.of(2L)
+        ))
+        .isInstanceOf(VersaoDesatualizadaException.class);
+
+        verify(repositoryPort, never()).atualizarCampos(any(), anySet(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar quando a versão esperada confere")
+    void deveAtualizarComVersaoEsperada() {
+        // Arrange
+        Long id = 1L;
+        Produto produtoExistente = new Produto(
+                id, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now(), 3L
+        );
+        when(repositoryPort.buscarPorId(id)).thenReturn(Optional.of(produtoExistente));
+        when(repositoryPort.atualizarCampos(any(Produto.class), anySet(), anyBoolean()))
+                .thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Produto produtoAtualizado = useCase.executar(
+                id, "Notebook Dell", "Dell", 
+                new BigDecimal("3499.99"), 15, "Eletrônicos", Set.of(3L)
+        );
+
+        // Assert
+        assertThat(produtoAtualizado.getNome()).isEqualTo("Notebook Dell");
+        verify(repositoryPort, times(1)).atualizarCampos(any(Produto.class), anySet(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Deve reler e regravar em caso de conflito até o limite de tentativas")
+    void deveRetentarEmCasoDeConflito() {
+        // Arrange
+        Long id = 1L;
+        when(repositoryPort.buscarPorId(id)).thenAnswer(i -> Optional.of(new Produto(
+                id, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now(), 3L
+        )));
+        when(repositoryPort.atualizarCampos(any(Produto.class), anySet(), anyBoolean()))
+                .thenThrow(new VersaoDesatualizadaException(id))
+                .thenAnswer(i -> i.getArguments()[0]);
+
+        // Act
+        Produto produtoAtualizado = useCase.executarComRetentativas(
+                3, id, "Notebook Dell", "Dell", 
+                new BigDecimal("3499.99"), 15, "Eletrônicos"
+        );
+
+        // Assert
+        assertThat(produtoAtualizado.getNome()).isEqualTo("Notebook Dell");
+        verify(repositoryPort, times(2)).buscarPorId(id);
+        verify(repositoryPort, times(2)).atualizarCampos(any(Produto.class), anySet(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Deve propagar o conflito ao esgotar as tentativas")
+    void devePropagarConflitoAoEsgotarTentativas() {
+        // Arrange
+        Long id = 1L;
+        when(repositoryPort.buscarPorId(id)).thenAnswer(i -> Optional.of(new Produto(
+                id, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now(), 3L
+        )));
+        when(repositoryPort.atualizarCampos(any(Produto.class), anySet(), anyBoolean()))
+                .thenThrow(new VersaoDesatualizadaException(id));
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executarComRetentativas(
+                2, id, "Notebook Dell", "Dell", 
+                new BigDecimal("3499.99"), 15, "Eletrônicos"
+        ))
+        .isInstanceOf(VersaoDesatualizadaException.class);
+
+        verify(repositoryPort, times(2)).atualizarCampos(any(Produto.class), anySet(), anyBoolean());
     }
-}
\ No newline at end of file
+}
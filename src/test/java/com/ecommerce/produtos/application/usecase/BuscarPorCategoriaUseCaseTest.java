@@ -1,6 +1,7 @@
 package com.ecommerce.produtos.application.usecase;
 
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
 import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -54,4 +55,63 @@ class BuscarPorCategoriaUseCaseTest {
 
         verify(repositoryPort, times(1)).buscarPorCategoria(categoria);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar página de produtos por categoria a partir do cursor")
+    void deveBuscarPaginaPorCategoria() {
+        // Arrange
+        String categoria = "Eletrônicos";
+        List<Produto> produtosEsperados = Arrays.asList(
+                new Produto(5L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                           10, categoria, LocalDateTime.now()),
+                new Produto(9L, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                           20, categoria, LocalDateTime.now())
+        );
+
+        when(repositoryPort.buscarPaginaPorCategoria(categoria, 4L, 2)).thenReturn(produtosEsperados);
+
+        // Act
+        Pagina<Produto> pagina = useCase.executar(categoria, 4L, 1);
+
+        // Assert
+        assertThat(pagina.itens()).extracting("id").containsExactly(5L);
+        assertThat(pagina.proximoCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar faixa de preço ordenada por preço pedindo um item a mais")
+    void deveBuscarFaixaDePreco() {
+        // Arrange
+        String categoria = "Eletrônicos";
+        List<Produto> produtosEsperados = Arrays.asList(
+                new Produto(9L, "Mouse", "Logitech", new BigDecimal("150.00"), 
+                           20, categoria, LocalDateTime.now()),
+                new Produto(5L, "Teclado", "Logitech", new BigDecimal("200.00"), 
+                           10, categoria, LocalDateTime.now())
+        );
+        ConsultaPorPreco esperada = new ConsultaPorPreco(categoria, new BigDecimal("100"),
+                new BigDecimal("500"), ConsultaPorPreco.Ordenacao.PRECO, null, 2);
+
+        when(repositoryPort.buscarPorPreco(esperada)).thenReturn(produtosEsperados);
+
+        // Act
+        Pagina<Produto> pagina = useCase.executar(categoria, new BigDecimal("100"),
+                new BigDecimal("500"), null, null, 1);
+
+        // Assert
+        assertThat(pagina.itens()).extracting("id").containsExactly(9L);
+        assertThat(pagina.temProxima()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar faixa com preço mínimo maior que o máximo")
+    void deveRejeitarFaixaInvertida() {
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar("Eletrônicos", new BigDecimal("500"),
+                new BigDecimal("100"), null, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("precoMin");
+
+        verifyNoInteractions(repositoryPort);
+    }
+}
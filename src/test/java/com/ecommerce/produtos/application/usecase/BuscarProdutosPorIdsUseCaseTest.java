@@ -0,0 +1,71 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Buscar Produtos Por IDs")
+class BuscarProdutosPorIdsUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private BuscarProdutosPorIdsUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new BuscarProdutosPorIdsUseCase(repositoryPort, 3);
+    }
+
+    private Produto produto(Long id, String nome) {
+        return new Produto(id, nome, "Descrição", new BigDecimal("10.00"),
+                1, "Eletrônicos", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve devolver os produtos na ordem pedida e listar os inexistentes")
+    void deveDevolverNaOrdemPedidaEListarInexistentes() {
+        // Arrange
+        when(repositoryPort.buscarPorIds(Set.of(3L, 1L, 7L)))
+                .thenReturn(List.of(produto(1L, "Notebook"), produto(3L, "Mouse")));
+
+        // Act
+        BuscarProdutosPorIdsUseCase.Resultado resultado = useCase.executar(List.of(3L, 7L, 1L, 3L));
+
+        // Assert
+        assertThat(resultado.produtos()).extracting(Produto::getId).containsExactly(3L, 1L);
+        assertThat(resultado.naoEncontrados()).containsExactly(7L);
+        verify(repositoryPort, times(1)).buscarPorIds(Set.of(3L, 1L, 7L));
+        verify(repositoryPort, never()).buscarPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lista vazia, ID nulo ou acima do máximo")
+    void deveRejeitarListaInvalida() {
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> useCase.executar(Arrays.asList(1L, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> useCase.executar(List.of(1L, 2L, 3L, 4L)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3 IDs");
+
+        verifyNoInteractions(repositoryPort);
+    }
+}
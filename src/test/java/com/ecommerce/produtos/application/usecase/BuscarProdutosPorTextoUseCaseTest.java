@@ -0,0 +1,67 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Buscar Produtos por Texto")
+class BuscarProdutosPorTextoUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    @Mock
+    private IndiceBuscaProdutos indice;
+
+    private BuscarProdutosPorTextoUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new BuscarProdutosPorTextoUseCase(repositoryPort, indice);
+    }
+
+    @Test
+    @DisplayName("Deve devolver os produtos na ordem de relevância do índice")
+    void deveDevolverProdutosNaOrdemDoIndice() {
+        // Arrange
+        Produto notebook = new Produto(2L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+        Produto capa = new Produto(5L, "Capa", "Capa para notebook", new BigDecimal("50.00"),
+                10, "Acessórios", LocalDateTime.now());
+        when(indice.buscar("notebook", 20)).thenReturn(List.of(2L, 9L, 5L));
+        // O Port devolve sem ordem definida
+        when(repositoryPort.buscarPorIds(Set.of(2L, 9L, 5L))).thenReturn(List.of(capa, notebook));
+
+        // Act
+        List<Produto> resultado = useCase.executar("notebook", null);
+
+        // Assert
+        assertThat(resultado).extracting(Produto::getId).containsExactly(2L, 5L);
+        verify(repositoryPort, never()).buscarPorId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar consulta vazia e limitar a quantidade de resultados")
+    void deveValidarConsultaELimite() {
+        assertThatThrownBy(() -> useCase.executar(" ", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        useCase.executar("notebook", 1000);
+        verify(indice).buscar("notebook", ListarTodosProdutosUseCase.LIMITE_MAXIMO);
+    }
+}
@@ -0,0 +1,163 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.usecase.CriarProdutosEmLoteUseCase.Item;
+import com.ecommerce.produtos.application.usecase.CriarProdutosEmLoteUseCase.Resultado;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Criar Produtos em Lote")
+class CriarProdutosEmLoteUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private CriarProdutosEmLoteUseCase useCase;
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        useCase = new CriarProdutosEmLoteUseCase(repositoryPort, 2, 10);
+    }
+
+    private Produto comId(Produto produto) {
+        return new Produto(sequencia.incrementAndGet(), produto.getNome(), produto.getDescricao(),
+                produto.getPreco(), produto.getEstoque(), produto.getCategoria(), LocalDateTime.now());
+    }
+
+    private Item item(String nome, String preco) {
+        return new Item(nome, "Descrição", new BigDecimal(preco), 10, "Eletrônicos");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void salvarTodosAtribuindoIds() {
+        when(repositoryPort.salvarTodos(anyList())).thenAnswer(invocation -> {
+            List<Produto> produtos = invocation.getArgument(0);
+            List<Produto> salvos = new ArrayList<>();
+            produtos.forEach(p -> salvos.add(comId(p)));
+            return salvos;
+        });
+    }
+
+    @Test
+    @DisplayName("Deve salvar os itens em chunks do tamanho configurado")
+    void deveSalvarItensEmChunks() {
+        // Arrange
+        salvarTodosAtribuindoIds();
+
+        // Act
+        List<Resultado> resultados = useCase.executar(List.of(
+                item("Notebook", "2999.99"),
+                item("Mouse", "50.00"),
+                item("Teclado", "150.00")
+        ));
+
+        // Assert
+        assertThat(resultados).allMatch(Resultado::sucesso);
+        assertThat(resultados).extracting(r -> r.produto().getNome())
+                .containsExactly("Notebook", "Mouse", "Teclado");
+        verify(repositoryPort, times(1)).salvarTodos(argThat(lista -> lista.size() == 2));
+        verify(repositoryPort, times(1)).salvarTodos(argThat(lista -> lista.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Item inválido deve ser reportado sem impedir os demais")
+    void itemInvalidoNaoDeveImpedirOsDemais() {
+        // Arrange
+        salvarTodosAtribuindoIds();
+
+        // Act
+        List<Resultado> resultados = useCase.executar(List.of(
+                item("Notebook", "2999.99"),
+                item("Mouse", "0"),
+                item("Teclado", "150.00")
+        ));
+
+        // Assert
+        assertThat(resultados.get(0).sucesso()).isTrue();
+        assertThat(resultados.get(1).sucesso()).isFalse();
+        assertThat(resultados.get(1).erro()).contains("Preço deve ser maior que zero");
+        assertThat(resultados.get(2).sucesso()).isTrue();
+        assertThat(resultados.get(2).produto().getNome()).isEqualTo("Teclado");
+    }
+
+    @Test
+    @DisplayName("Deve reportar item nulo ou acima dos tamanhos das colunas na posição dele")
+    void deveReportarItemNuloOuLongoNaPosicao() {
+        // Arrange
+        salvarTodosAtribuindoIds();
+        List<Item> itens = new ArrayList<>();
+        itens.add(null);
+        itens.add(new Item("Mouse", "Logitech", new BigDecimal("50.00"), 5, "C".repeat(51)));
+        itens.add(item("Teclado", "150.00"));
+
+        // Act
+        List<Resultado> resultados = useCase.executar(itens);
+
+        // Assert
+        assertThat(resultados.get(0).erro()).isEqualTo("Item não pode ser nulo");
+        assertThat(resultados.get(1).erro()).contains("Categoria deve ter no máximo 50 caracteres");
+        assertThat(resultados.get(2).produto().getNome()).isEqualTo("Teclado");
+        verify(repositoryPort, times(1)).salvarTodos(argThat(lista -> lista.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Deve salvar item a item quando o chunk falhar no banco")
+    void deveSalvarItemAItemQuandoChunkFalhar() {
+        // Arrange
+        when(repositoryPort.salvarTodos(anyList()))
+                .thenThrow(new IllegalStateException("violação de constraint"));
+        when(repositoryPort.salvar(any(Produto.class))).thenAnswer(invocation -> {
+            Produto produto = invocation.getArgument(0);
+            if (produto.getNome().equals("Mouse")) {
+                throw new IllegalStateException("valor muito longo");
+            }
+            return comId(produto);
+        });
+
+        // Act
+        List<Resultado> resultados = useCase.executar(List.of(
+                item("Notebook", "2999.99"),
+                item("Mouse", "50.00")
+        ));
+
+        // Assert
+        assertThat(resultados.get(0).sucesso()).isTrue();
+        assertThat(resultados.get(1).sucesso()).isFalse();
+        assertThat(resultados.get(1).erro()).contains("valor muito longo");
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote acima do tamanho máximo")
+    void deveRejeitarLoteAcimaDoMaximo() {
+        // Arrange
+        List<Item> itens = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            itens.add(item("Produto " + i, "10.00"));
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(itens))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Lote excede o máximo de 10 itens");
+
+        verify(repositoryPort, never()).salvarTodos(anyList());
+    }
+}
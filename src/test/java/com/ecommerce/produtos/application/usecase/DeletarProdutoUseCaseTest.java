@@ -31,14 +31,14 @@ class DeletarProdutoUseCaseTest {
     void deveDeletarProdutoExistente() {
         // Arrange
         Long id = 1L;
-        when(repositoryPort.existe(id)).thenReturn(true);
+        when(repositoryPort.deletar(id)).thenReturn(true);
 
         // Act
         useCase.executar(id);
 
         // Assert
-        verify(repositoryPort, times(1)).existe(id);
         verify(repositoryPort, times(1)).deletar(id);
+        verify(repositoryPort, never()).existe(any());
     }
 
     @Test
@@ -46,12 +46,12 @@ class DeletarProdutoUseCaseTest {
     void deveLancarExcecaoAoDeletarProdutoInexistente() {
         // Arrange
         Long idInexistente = 999L;
-        when(repositoryPort.existe(idInexistente)).thenReturn(false);
+        when(repositoryPort.deletar(idInexistente)).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> useCase.executar(idInexistente))
                 .isInstanceOf(ProdutoNotFoundException.class);
 
-        verify(repositoryPort, never()).deletar(any());
+        verify(repositoryPort, times(1)).deletar(idInexistente);
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Exportar Produtos")
+class ExportarProdutosUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private ExportarProdutosUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ExportarProdutosUseCase(repositoryPort);
+    }
+
+    @Test
+    @DisplayName("Deve entregar todos os produtos ao consumidor e fechar o stream")
+    void deveEntregarTodosOsProdutosEFecharStream() {
+        // Arrange
+        AtomicBoolean fechado = new AtomicBoolean(false);
+        Stream<Produto> produtos = Stream.of(
+                new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                           10, "Eletrônicos", LocalDateTime.now()),
+                new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                           20, "Eletrônicos", LocalDateTime.now())
+        ).onClose(() -> fechado.set(true));
+
+        when(repositoryPort.buscarTodosEmStream()).thenReturn(produtos);
+        List<Produto> recebidos = new ArrayList<>();
+
+        // Act
+        long total = useCase.executar(recebidos::add);
+
+        // Assert
+        assertThat(total).isEqualTo(2);
+        assertThat(recebidos).extracting("nome").containsExactly("Notebook", "Mouse");
+        assertThat(fechado).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve fechar o stream mesmo quando o consumidor falhar")
+    void deveFecharStreamQuandoConsumidorFalhar() {
+        // Arrange
+        AtomicBoolean fechado = new AtomicBoolean(false);
+        Stream<Produto> produtos = Stream.of(
+                new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                           10, "Eletrônicos", LocalDateTime.now())
+        ).onClose(() -> fechado.set(true));
+
+        when(repositoryPort.buscarTodosEmStream()).thenReturn(produtos);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(p -> {
+            throw new IllegalStateException("cliente desconectou");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(fechado).isTrue();
+    }
+}
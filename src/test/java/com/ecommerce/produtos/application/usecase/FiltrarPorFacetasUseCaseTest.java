@@ -0,0 +1,91 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.facetas.ContagemFacetas;
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Filtrar por Facetas")
+class FiltrarPorFacetasUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    @Mock
+    private IndiceFacetas indice;
+
+    private FiltrarPorFacetasUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new FiltrarPorFacetasUseCase(repositoryPort, indice);
+    }
+
+    @Test
+    @DisplayName("Deve montar a página com os produtos do índice, total e contagens")
+    void deveMontarPaginaComContagens() {
+        // Arrange
+        FiltroFacetas filtro = new FiltroFacetas(Set.of("Eletrônicos"), Set.of(), true);
+        ContagemFacetas contagens = new ContagemFacetas(Map.of("Eletrônicos", 3L), Map.of(), 3, 1);
+        when(indice.filtrar(filtro, null, 3))
+                .thenReturn(new IndiceFacetas.Resultado(List.of(1L, 4L, 7L), 3, contagens));
+        // 7 foi removido depois do filtro
+        when(repositoryPort.buscarPorIds(Set.of(1L, 4L, 7L))).thenReturn(List.of(produto(4L), produto(1L)));
+        when(indice.filtrar(filtro, 7L, 1)).thenReturn(new IndiceFacetas.Resultado(List.of(), 3, contagens));
+
+        // Act
+        FiltrarPorFacetasUseCase.Resultado resultado = useCase.executar(filtro, null, 2);
+
+        // Assert
+        assertThat(resultado.pagina().itens()).extracting("id").containsExactly(1L, 4L);
+        assertThat(resultado.pagina().temProxima()).isFalse();
+        assertThat(resultado.total()).isEqualTo(3);
+        assertThat(resultado.contagens()).isEqualTo(contagens);
+        verify(repositoryPort, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve buscar mais IDs quando produtos somem entre o filtro e a leitura")
+    void deveCompletarPaginaComProdutosRemovidos() {
+        // Arrange
+        FiltroFacetas filtro = FiltroFacetas.vazio();
+        ContagemFacetas contagens = new ContagemFacetas(Map.of(), Map.of(), 5, 0);
+        when(indice.filtrar(filtro, null, 3))
+                .thenReturn(new IndiceFacetas.Resultado(List.of(1L, 2L, 3L), 5, contagens));
+        when(repositoryPort.buscarPorIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(produto(1L)));
+        when(indice.filtrar(filtro, 3L, 2))
+                .thenReturn(new IndiceFacetas.Resultado(List.of(4L, 5L), 5, contagens));
+        when(repositoryPort.buscarPorIds(Set.of(4L, 5L))).thenReturn(List.of(produto(4L), produto(5L)));
+
+        // Act
+        FiltrarPorFacetasUseCase.Resultado resultado = useCase.executar(filtro, null, 2);
+
+        // Assert
+        assertThat(resultado.pagina().itens()).extracting("id").containsExactly(1L, 4L);
+        assertThat(resultado.pagina().temProxima()).isTrue();
+        assertThat(resultado.total()).isEqualTo(5);
+    }
+
+    private static Produto produto(Long id) {
+        return new Produto(id, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+    }
+}
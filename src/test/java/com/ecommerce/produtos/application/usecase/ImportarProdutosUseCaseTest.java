@@ -0,0 +1,148 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.usecase.ImportarProdutosUseCase.ErroLinha;
+import com.ecommerce.produtos.application.usecase.ImportarProdutosUseCase.Linha;
+import com.ecommerce.produtos.application.usecase.ImportarProdutosUseCase.Resumo;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Importar Produtos")
+class ImportarProdutosUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private ImportarProdutosUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ImportarProdutosUseCase(repositoryPort, 2, 10);
+    }
+
+    private Linha nova(long numero, String nome, String preco) {
+        return new Linha(numero, null, nome, "Descrição", new BigDecimal(preco), 10, "Eletrônicos", null);
+    }
+
+    private Linha atualizacao(long numero, Long id, String nome) {
+        return new Linha(numero, id, nome, "Descrição", new BigDecimal("99.90"), 5, "Eletrônicos", null);
+    }
+
+    private Produto existente(Long id) {
+        return new Produto(id, "Antigo", "Descrição", new BigDecimal("10.00"), 1, "Eletrônicos",
+                LocalDateTime.now(), 0L);
+    }
+
+    @Test
+    @DisplayName("Deve gravar as linhas em chunks do tamanho configurado")
+    void deveGravarLinhasEmChunks() {
+        // Act
+        Resumo resumo = useCase.executar(List.of(
+                nova(2, "Notebook", "2999.99"),
+                nova(3, "Mouse", "50.00"),
+                nova(4, "Teclado", "150.00")
+        ).iterator());
+
+        // Assert
+        assertThat(resumo.linhas()).isEqualTo(3);
+        assertThat(resumo.criados()).isEqualTo(3);
+        assertThat(resumo.comErro()).isZero();
+        verify(repositoryPort, times(1)).salvarTodos(argThat(lista -> lista.size() == 2));
+        verify(repositoryPort, times(1)).salvarTodos(argThat(lista -> lista.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Linhas com ID devem atualizar os produtos carregados em uma consulta por chunk")
+    void linhasComIdDevemAtualizarProdutosExistentes() {
+        // Arrange
+        when(repositoryPort.buscarPorIds(Set.of(1L, 2L))).thenReturn(List.of(existente(1L)));
+
+        // Act
+        Resumo resumo = useCase.executar(List.of(
+                atualizacao(2, 1L, "Notebook"),
+                atualizacao(3, 2L, "Mouse")
+        ).iterator());
+
+        // Assert
+        assertThat(resumo.atualizados()).isEqualTo(1);
+        assertThat(resumo.erros()).containsExactly(new ErroLinha(3, "Produto não encontrado com ID: 2"));
+        verify(repositoryPort).salvarTodos(argThat(lista ->
+                lista.size() == 1 && lista.get(0).getNome().equals("Notebook") && lista.get(0).getVersao() == 0L));
+    }
+
+    @Test
+    @DisplayName("Linhas inválidas devem ser reportadas sem impedir a gravação das demais")
+    void linhasInvalidasDevemSerReportadas() {
+        // Act
+        Resumo resumo = useCase.executar(List.of(
+                nova(2, "Notebook", "2999.99"),
+                Linha.invalida(3, "Preço inválido: abc"),
+                nova(4, "Mouse", "-1")
+        ).iterator());
+
+        // Assert
+        assertThat(resumo.criados()).isEqualTo(1);
+        assertThat(resumo.comErro()).isEqualTo(2);
+        assertThat(resumo.erros()).extracting(ErroLinha::linha).containsExactly(3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve limitar os erros listados no resumo, mantendo o total")
+    void deveLimitarErrosListados() {
+        // Arrange
+        useCase = new ImportarProdutosUseCase(repositoryPort, 2, 1);
+
+        // Act
+        Resumo resumo = useCase.executar(List.of(
+                Linha.invalida(2, "Estoque inválido: x"),
+                Linha.invalida(3, "Estoque inválido: y")
+        ).iterator());
+
+        // Assert
+        assertThat(resumo.comErro()).isEqualTo(2);
+        assertThat(resumo.erros()).hasSize(1);
+        verify(repositoryPort, never()).salvarTodos(anyList());
+    }
+
+    @Test
+    @DisplayName("Falha no chunk deve gravar linha a linha, isolando a que falhou")
+    void falhaNoChunkDeveGravarLinhaALinha() {
+        // Arrange
+        when(repositoryPort.buscarPorIds(Set.of(1L))).thenReturn(List.of(existente(1L)));
+        when(repositoryPort.salvarTodos(anyList())).thenThrow(new VersaoDesatualizadaException(1L));
+        when(repositoryPort.salvar(any(Produto.class))).thenAnswer(invocacao -> {
+            Produto produto = invocacao.getArgument(0);
+            if (produto.getId() != null) {
+                throw new VersaoDesatualizadaException(produto.getId());
+            }
+            return produto;
+        });
+
+        // Act
+        Resumo resumo = useCase.executar(List.of(
+                nova(2, "Notebook", "2999.99"),
+                atualizacao(3, 1L, "Mouse")
+        ).iterator());
+
+        // Assert
+        assertThat(resumo.criados()).isEqualTo(1);
+        assertThat(resumo.atualizados()).isZero();
+        assertThat(resumo.erros()).extracting(ErroLinha::linha).containsExactly(3L);
+    }
+}
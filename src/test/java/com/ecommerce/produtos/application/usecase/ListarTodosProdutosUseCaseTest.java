@@ -15,6 +15,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -68,4 +70,72 @@ class ListarTodosProdutosUseCaseTest {
         assertThat(produtos).isEmpty();
         verify(repositoryPort, times(1)).buscarTodos();
     }
+
+    @Test
+    @DisplayName("Deve retornar página com próximo cursor quando houver mais itens")
+    void deveRetornarPaginaComProximoCursor() {
+        // Arrange
+        List<Produto> produtos = Arrays.asList(
+                new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                           10, "Eletrônicos", LocalDateTime.now()),
+                new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                           20, "Eletrônicos", LocalDateTime.now()),
+                new Produto(3L, "Teclado", "Logitech", new BigDecimal("150.00"), 
+                           5, "Eletrônicos", LocalDateTime.now())
+        );
+
+        when(repositoryPort.buscarPagina(null, 3)).thenReturn(produtos);
+
+        // Act
+        Pagina<Produto> pagina = useCase.executar(null, 2);
+
+        // Assert
+        assertThat(pagina.itens()).extracting("id").containsExactly(1L, 2L);
+        assertThat(pagina.proximoCursor()).isEqualTo(2L);
+        assertThat(pagina.temProxima()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve retornar última página sem próximo cursor")
+    void deveRetornarUltimaPaginaSemCursor() {
+        // Arrange
+        List<Produto> produtos = List.of(
+                new Produto(3L, "Teclado", "Logitech", new BigDecimal("150.00"), 
+                           5, "Eletrônicos", LocalDateTime.now())
+        );
+
+        when(repositoryPort.buscarPagina(2L, 3)).thenReturn(produtos);
+
+        // Act
+        Pagina<Produto> pagina = useCase.executar(2L, 2);
+
+        // Assert
+        assertThat(pagina.itens()).hasSize(1);
+        assertThat(pagina.proximoCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Deve aplicar limite padrão e limite máximo")
+    void deveAplicarLimitePadraoELimiteMaximo() {
+        // Arrange
+        when(repositoryPort.buscarPagina(any(), anyInt())).thenReturn(List.of());
+
+        // Act
+        useCase.executar(null, null);
+        useCase.executar(null, 10_000);
+
+        // Assert
+        verify(repositoryPort).buscarPagina(null, ListarTodosProdutosUseCase.LIMITE_PADRAO + 1);
+        verify(repositoryPort).buscarPagina(null, ListarTodosProdutosUseCase.LIMITE_MAXIMO + 1);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção com limite inválido")
+    void deveLancarExcecaoComLimiteInvalido() {
+        assertThatThrownBy(() -> useCase.executar(null, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Limite deve ser maior que zero");
+
+        verify(repositoryPort, never()).buscarPagina(any(), anyInt());
+    }
 }
\ No newline at end of file
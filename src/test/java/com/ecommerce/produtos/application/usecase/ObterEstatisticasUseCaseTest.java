@@ -0,0 +1,83 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Obter Estatísticas")
+class ObterEstatisticasUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private EstatisticasCatalogo estatisticas;
+
+    private ObterEstatisticasUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = new EstatisticasCatalogo();
+        useCase = new ObterEstatisticasUseCase(repositoryPort, estatisticas);
+    }
+
+    @Test
+    @DisplayName("Deve responder pelos agregados em memória, sem consultar o banco")
+    void deveResponderPelaMemoria() {
+        // Arrange
+        estatisticas.reconstruir(Stream.of(
+                produto(1L, "Eletrônicos", "100.00", 10),
+                produto(2L, "Roupas", "50.00", 5)
+        ));
+
+        // Act
+        ObterEstatisticasUseCase.Resultado resultado = useCase.executar("Roupas");
+
+        // Assert
+        assertThat(resultado.global().produtos()).isEqualTo(2);
+        assertThat(resultado.global().estoqueTotal()).isEqualTo(15);
+        assertThat(resultado.global().precoMedio()).isEqualByComparingTo("75.00");
+        assertThat(resultado.categorias()).extracting(EstatisticasCategoria::categoria).containsExactly("Roupas");
+        verifyNoInteractions(repositoryPort);
+    }
+
+    @Test
+    @DisplayName("Enquanto os agregados não foram carregados, deve consultar o banco")
+    void deveConsultarBancoAntesDaCarga() {
+        // Arrange
+        when(repositoryPort.estatisticasPorCategoria()).thenReturn(List.of(
+                new EstatisticasCategoria("Roupas", 1, 5,
+                        new BigDecimal("50.00"), new BigDecimal("50.00"), new BigDecimal("50.00")),
+                new EstatisticasCategoria("Eletrônicos", 1, 10,
+                        new BigDecimal("100.00"), new BigDecimal("100.00"), new BigDecimal("100.00"))
+        ));
+
+        // Act
+        ObterEstatisticasUseCase.Resultado resultado = useCase.executar(null);
+
+        // Assert
+        assertThat(resultado.categorias()).extracting(EstatisticasCategoria::categoria)
+                .containsExactly("Eletrônicos", "Roupas");
+        assertThat(resultado.global().precoMaximo()).isEqualByComparingTo("100.00");
+    }
+
+    private static Produto produto(Long id, String categoria, String preco, int estoque) {
+        return new Produto(id, "Produto " + id, null, new BigDecimal(preco), estoque, categoria,
+                LocalDateTime.now(), 0L);
+    }
+}
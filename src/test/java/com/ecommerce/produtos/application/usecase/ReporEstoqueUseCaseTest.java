@@ -0,0 +1,79 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.domain.exception.EstoqueExcedidoException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Repor Estoque")
+class ReporEstoqueUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private ReporEstoqueUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ReporEstoqueUseCase(repositoryPort);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o estoque após a reposição")
+    void deveRetornarEstoqueAposReposicao() {
+        // Arrange
+        when(repositoryPort.aumentarEstoque(1L, 5)).thenReturn(Optional.of(new EstoqueAtualizado(15, "Eletrônicos", 2L)));
+
+        // Act
+        Integer estoque = useCase.executar(1L, 5);
+
+        // Assert
+        assertThat(estoque).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto não existir")
+    void deveLancarExcecaoQuandoProdutoNaoExistir() {
+        // Arrange
+        when(repositoryPort.aumentarEstoque(999L, 5)).thenReturn(Optional.empty());
+        when(repositoryPort.existe(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(999L, 5))
+                .isInstanceOf(ProdutoNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve lançar EstoqueExcedidoException quando a reposição passar do máximo")
+    void deveLancarExcecaoQuandoPassarDoMaximo() {
+        // Arrange
+        when(repositoryPort.aumentarEstoque(1L, Integer.MAX_VALUE)).thenReturn(Optional.empty());
+        when(repositoryPort.existe(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(1L, Integer.MAX_VALUE))
+                .isInstanceOf(EstoqueExcedidoException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidade não positiva")
+    void deveRejeitarQuantidadeNaoPositiva() {
+        assertThatThrownBy(() -> useCase.executar(1L, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        verify(repositoryPort, never()).aumentarEstoque(anyLong(), anyInt());
+    }
+}
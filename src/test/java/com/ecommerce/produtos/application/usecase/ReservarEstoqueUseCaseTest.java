@@ -0,0 +1,99 @@
+package com.ecommerce.produtos.application.usecase;
+
+import com.ecommerce.produtos.application.estoque.AgrupadorReservasEstoque;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Use Case: Reservar Estoque")
+class ReservarEstoqueUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private ReservarEstoqueUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ReservarEstoqueUseCase(repositoryPort);
+    }
+
+    @Test
+    @DisplayName("Deve retornar o estoque restante após a reserva")
+    void deveRetornarEstoqueRestante() {
+        // Arrange
+        when(repositoryPort.reduzirEstoque(1L, 3)).thenReturn(Optional.of(new EstoqueAtualizado(7, "Eletrônicos", 2L)));
+
+        // Act
+        Integer estoque = useCase.executar(1L, 3);
+
+        // Assert
+        assertThat(estoque).isEqualTo(7);
+        verify(repositoryPort, never()).existe(anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção de estoque insuficiente")
+    void deveLancarExcecaoDeEstoqueInsuficiente() {
+        // Arrange
+        when(repositoryPort.reduzirEstoque(1L, 50)).thenReturn(Optional.empty());
+        when(repositoryPort.existe(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(1L, 50))
+                .isInstanceOf(EstoqueInsuficienteException.class)
+                .hasMessageContaining("Estoque insuficiente");
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando produto não existir")
+    void deveLancarExcecaoQuandoProdutoNaoExistir() {
+        // Arrange
+        when(repositoryPort.reduzirEstoque(999L, 1)).thenReturn(Optional.empty());
+        when(repositoryPort.existe(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(999L, 1))
+                .isInstanceOf(ProdutoNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar quantidade não positiva")
+    void deveRejeitarQuantidadeNaoPositiva() {
+        assertThatThrownBy(() -> useCase.executar(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Quantidade deve ser positiva");
+
+        verify(repositoryPort, never()).reduzirEstoque(anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve usar o agrupador quando configurado e propagar a exceção original")
+    void deveUsarAgrupadorQuandoConfigurado() {
+        // Arrange
+        AgrupadorReservasEstoque agrupador = mock(AgrupadorReservasEstoque.class);
+        ReservarEstoqueUseCase useCaseAgrupado = new ReservarEstoqueUseCase(repositoryPort, agrupador);
+        when(agrupador.reservarEAguardar(1L, 2)).thenReturn(8);
+        when(agrupador.reservarEAguardar(1L, 50)).thenThrow(new EstoqueInsuficienteException(1L, 50));
+
+        // Act & Assert
+        assertThat(useCaseAgrupado.executar(1L, 2)).isEqualTo(8);
+        assertThatThrownBy(() -> useCaseAgrupado.executar(1L, 50))
+                .isInstanceOf(EstoqueInsuficienteException.class);
+        verify(repositoryPort, never()).reduzirEstoque(anyLong(), anyInt());
+    }
+}
\ No newline at end of file
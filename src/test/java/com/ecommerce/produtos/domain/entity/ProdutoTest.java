@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -186,6 +187,21 @@ class ProdutoTest {
         assertThat(produto.getEstoque()).isEqualTo(15);
     }
 
+    @Test
+    @DisplayName("Não deve aumentar estoque além de Integer.MAX_VALUE")
+    void naoDeveAumentarEstoqueAlemDoMaximo() {
+        // Arrange
+        Produto produto = new Produto(
+                "Notebook", "Dell", new BigDecimal("2999.99"), Integer.MAX_VALUE - 1, "Eletrônicos"
+        );
+
+        // Act & Assert
+        assertThatThrownBy(() -> produto.aumentarEstoque(2))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("excederia");
+        assertThat(produto.getEstoque()).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
     @Test
     @DisplayName("Deve verificar se tem estoque disponível")
     void deveVerificarSeTemEstoqueDisponivel() {
@@ -201,4 +217,40 @@ class ProdutoTest {
         assertThat(comEstoque.temEstoqueDisponivel()).isTrue();
         assertThat(semEstoque.temEstoqueDisponivel()).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Alterar deve aplicar só os campos informados e devolver os que mudaram")
+    void alterarDeveAplicarSoOsCamposInformados() {
+        // Arrange
+        Produto produto = new Produto(
+                "Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"
+        );
+
+        // Act
+        Set<CampoProduto> alterados = produto.alterar(new AlteracaoProduto()
+                .preco(new BigDecimal("2999.990"))
+                .estoque(7)
+                .descricao(null));
+
+        // Assert
+        assertThat(alterados).containsExactlyInAnyOrder(CampoProduto.ESTOQUE, CampoProduto.DESCRICAO);
+        assertThat(produto.getNome()).isEqualTo("Notebook");
+        assertThat(produto.getEstoque()).isEqualTo(7);
+        assertThat(produto.getDescricao()).isNull();
+    }
+
+    @Test
+    @DisplayName("Alterar com valor inválido não deve modificar o produto")
+    void alterarComValorInvalidoNaoDeveModificarOProduto() {
+        // Arrange
+        Produto produto = new Produto(
+                "Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"
+        );
+
+        // Act & Assert
+        assertThatThrownBy(() -> produto.alterar(new AlteracaoProduto().estoque(5).categoria(null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(produto.getEstoque()).isEqualTo(10);
+        assertThat(produto.getCategoria()).isEqualTo("Eletrônicos");
+    }
+}
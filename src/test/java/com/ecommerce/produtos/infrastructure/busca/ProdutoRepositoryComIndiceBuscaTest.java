@@ -0,0 +1,62 @@
+package com.ecommerce.produtos.infrastructure.busca;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Índice de Busca")
+class ProdutoRepositoryComIndiceBuscaTest {
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private IndiceBuscaProdutos indice;
+
+    private ProdutoRepositoryComIndiceBusca repository;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaProdutos();
+        repository = new ProdutoRepositoryComIndiceBusca(delegate, indice);
+    }
+
+    @Test
+    @DisplayName("Deve indexar produtos salvos e remover os deletados")
+    void deveSincronizarIndiceComEscritas() {
+        // Arrange
+        Produto notebook = new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+        Produto mouse = new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"),
+                20, "Eletrônicos", LocalDateTime.now());
+        when(delegate.salvar(any(Produto.class))).thenReturn(notebook);
+        when(delegate.salvarTodos(anyList())).thenReturn(List.of(mouse));
+        when(delegate.deletar(1L)).thenReturn(true);
+
+        // Act
+        repository.salvar(notebook);
+        repository.salvarTodos(List.of(mouse));
+
+        // Assert
+        assertThat(indice.buscar("notebook", 10)).containsExactly(1L);
+        assertThat(indice.buscar("logitech", 10)).containsExactly(2L);
+
+        repository.deletar(1L);
+        verify(delegate).deletar(1L);
+        assertThat(indice.buscar("notebook", 10)).isEmpty();
+    }
+}
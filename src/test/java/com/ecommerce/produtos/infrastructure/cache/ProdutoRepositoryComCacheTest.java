@@ -0,0 +1,233 @@
+package com.ecommerce.produtos.infrastructure.cache;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.datasource.ContextoRoteamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Cache")
+class ProdutoRepositoryComCacheTest {
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private ProdutoRepositoryComCache repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ProdutoRepositoryComCache(delegate, 100, 0, Duration.ofMinutes(10));
+    }
+
+    private Produto notebook() {
+        return new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve consultar o delegate apenas na primeira busca")
+    void deveConsultarDelegateApenasNaPrimeiraBusca() {
+        // Arrange
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+
+        // Act
+        repository.buscarPorId(1L);
+        Optional<Produto> segundaBusca = repository.buscarPorId(1L);
+
+        // Assert
+        assertThat(segundaBusca).isPresent();
+        assertThat(segundaBusca.get().getNome()).isEqualTo("Notebook");
+        verify(delegate, times(1)).buscarPorId(1L);
+        assertThat(repository.estatisticas().hitCount()).isEqualTo(1);
+        assertThat(repository.estatisticas().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve cachear produto inexistente")
+    void naoDeveCachearProdutoInexistente() {
+        // Arrange
+        when(delegate.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        // Act
+        repository.buscarPorId(999L);
+        Optional<Produto> resultado = repository.buscarPorId(999L);
+
+        // Assert
+        assertThat(resultado).isEmpty();
+        verify(delegate, times(2)).buscarPorId(999L);
+    }
+
+    @Test
+    @DisplayName("Alterar o produto retornado não deve afetar o valor em cache")
+    void alterarProdutoRetornadoNaoDeveAfetarCache() {
+        // Arrange
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+
+        // Act
+        Produto primeiraLeitura = repository.buscarPorId(1L).orElseThrow();
+        primeiraLeitura.reduzirEstoque(10);
+        Produto segundaLeitura = repository.buscarPorId(1L).orElseThrow();
+
+        // Assert
+        assertThat(segundaLeitura).isNotSameAs(primeiraLeitura);
+        assertThat(segundaLeitura.getEstoque()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve buscar no delegate só os IDs que não estão em cache, em uma chamada")
+    void deveBuscarNoDelegateApenasIdsForaDoCache() {
+        // Arrange
+        Produto mouse = new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"),
+                20, "Eletrônicos", LocalDateTime.now());
+        when(delegate.buscarPorId(1L)).thenReturn(Optional.of(notebook()));
+        when(delegate.buscarPorIds(Set.of(2L, 3L))).thenReturn(List.of(mouse));
+        repository.buscarPorId(1L);
+
+        // Act
+        List<Produto> produtos = repository.buscarPorIds(Set.of(1L, 2L, 3L));
+        List<Produto> segundaBusca = repository.buscarPorIds(Set.of(1L, 2L));
+
+        // Assert
+        assertThat(produtos).extracting(Produto::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(segundaBusca).extracting(Produto::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(delegate, times(1)).buscarPorIds(anySet());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar a entrada ao salvar")
+    void deveInvalidarEntradaAoSalvar() {
+        // Arrange
+        Produto atualizado = new Produto(1L, "Notebook Dell", "Dell", new BigDecimal("3499.99"),
+                5, "Eletrônicos", LocalDateTime.now());
+        when(delegate.buscarPorId(1L))
+                .thenReturn(Optional.of(notebook()))
+                .thenReturn(Optional.of(atualizado));
+        when(delegate.salvar(any(Produto.class))).thenReturn(atualizado);
+
+        // Act
+        repository.buscarPorId(1L);
+        repository.salvar(atualizado);
+        Produto depoisDeSalvar = repository.buscarPorId(1L).orElseThrow();
+
+        // Assert
+        assertThat(depoisDeSalvar.getNome()).isEqualTo("Notebook Dell");
+        verify(delegate, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Deve invalidar a entrada ao deletar")
+    void deveInvalidarEntradaAoDeletar() {
+        // Arrange
+        when(delegate.buscarPorId(1L))
+                .thenReturn(Optional.of(notebook()))
+                .thenReturn(Optional.empty());
+
+        // Act
+        repository.buscarPorId(1L);
+        repository.deletar(1L);
+        Optional<Produto> depoisDeDeletar = repository.buscarPorId(1L);
+
+        // Assert
+        assertThat(depoisDeDeletar).isEmpty();
+        verify(delegate).deletar(1L);
+    }
+
+    @Test
+    @DisplayName("Deve recarregar do primário um produto escrito há pouco, e das réplicas os demais")
+    void deveRecarregarDoPrimarioProdutoEscritoHaPouco() {
+        // Arrange
+        repository = new ProdutoRepositoryComCache(delegate, 100, 0, Duration.ofMinutes(10), Duration.ofMinutes(1));
+        List<Boolean> leuDaReplica = new ArrayList<>();
+        when(delegate.buscarPorId(anyLong())).thenAnswer(invocacao -> {
+            leuDaReplica.add(ContextoRoteamento.podeLerDaReplica());
+            return Optional.of(notebook());
+        });
+
+        // Act
+        repository.deletar(1L);
+        ContextoRoteamento.emLeitura(() -> repository.buscarPorId(1L));
+        ContextoRoteamento.emLeitura(() -> repository.buscarPorId(2L));
+
+        // Assert
+        assertThat(leuDaReplica).containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("Não deve manter no cache o que foi carregado antes de uma invalidação concorrente")
+    void naoDeveManterCarregamentoInvalidadoDuranteABusca() {
+        // Arrange: o produto é alterado enquanto a busca ainda está no banco
+        when(delegate.buscarPorId(1L)).thenAnswer(invocacao -> {
+            repository.deletar(1L);
+            return Optional.of(notebook());
+        });
+
+        // Act
+        repository.buscarPorId(1L);
+        repository.buscarPorId(1L);
+
+        // Assert
+        verify(delegate, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Não deve manter no cache o que o multi-get carregou antes de uma invalidação concorrente")
+    void naoDeveManterMultiGetInvalidadoDuranteABusca() {
+        // Arrange: o produto é alterado enquanto o multi-get ainda está no banco
+        when(delegate.buscarPorIds(Set.of(1L))).thenAnswer(invocacao -> {
+            repository.deletar(1L);
+            return List.of(notebook());
+        });
+
+        // Act
+        List<Produto> produtos = repository.buscarPorIds(Set.of(1L));
+        repository.buscarPorIds(Set.of(1L));
+
+        // Assert
+        assertThat(produtos).hasSize(1);
+        verify(delegate, times(2)).buscarPorIds(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Escritas em outros produtos durante a carga não devem tirá-la do cache")
+    void escritaEmOutroProdutoNaoDeveDescartarCarga() {
+        // Arrange: reservas em outros produtos enquanto as buscas estão no banco
+        when(delegate.buscarPorId(1L)).thenAnswer(invocacao -> {
+            repository.reduzirEstoque(2L, 1);
+            return Optional.of(notebook());
+        });
+        when(delegate.buscarPorIds(Set.of(3L))).thenAnswer(invocacao -> {
+            repository.reduzirEstoque(4L, 1);
+            return List.of(new Produto(3L, "Mouse", "Logitech", new BigDecimal("99.90"),
+                    5, "Eletrônicos", LocalDateTime.now()));
+        });
+
+        // Act
+        repository.buscarPorId(1L);
+        repository.buscarPorId(1L);
+        repository.buscarPorIds(Set.of(3L));
+        repository.buscarPorIds(Set.of(3L));
+
+        // Assert
+        verify(delegate, times(1)).buscarPorId(1L);
+        verify(delegate, times(1)).buscarPorIds(Set.of(3L));
+    }
+}
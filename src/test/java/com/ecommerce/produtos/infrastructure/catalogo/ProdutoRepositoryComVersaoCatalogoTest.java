@@ -0,0 +1,169 @@
+package com.ecommerce.produtos.infrastructure.catalogo;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Versão do Catálogo")
+class ProdutoRepositoryComVersaoCatalogoTest {
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private VersaoCatalogo versaoCatalogo;
+
+    private EstatisticasCatalogo estatisticas;
+
+    private ProdutoRepositoryComVersaoCatalogo repository;
+
+    @BeforeEach
+    void setUp() {
+        versaoCatalogo = new VersaoCatalogo();
+        estatisticas = new EstatisticasCatalogo();
+        estatisticas.reconstruir(Stream.of(produto(1L, "Eletrônicos")));
+        repository = new ProdutoRepositoryComVersaoCatalogo(delegate, versaoCatalogo, estatisticas);
+    }
+
+    private Produto produto(Long id, String categoria) {
+        return new Produto(id, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, categoria, LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("Deve avançar a versão global e a da categoria ao criar produto")
+    void deveAvancarVersaoAoCriarProduto() {
+        // Arrange
+        String etagGlobal = versaoCatalogo.etagGlobal();
+        String etagRoupas = versaoCatalogo.etagDaCategoria("Roupas");
+        when(delegate.salvar(any(Produto.class))).thenReturn(produto(1L, "Eletrônicos"));
+
+        // Act
+        repository.salvar(new Produto("Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"));
+
+        // Assert
+        assertThat(versaoCatalogo.etagGlobal()).isNotEqualTo(etagGlobal);
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(versaoCatalogo.global());
+        assertThat(versaoCatalogo.etagDaCategoria("Roupas")).isEqualTo(etagRoupas);
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve avançar a categoria anterior e a nova ao mudar o produto de categoria")
+    void deveAvancarCategoriaAnteriorENova() {
+        // Arrange
+        when(delegate.salvar(any(Produto.class))).thenReturn(produto(1L, "Informática"));
+        when(delegate.atualizarCampos(any(Produto.class), any(), anyBoolean())).thenReturn(produto(1L, "Games"));
+
+        // Act
+        repository.salvar(produto(1L, "Informática"));
+        estatisticas.indexar(produto(1L, "Informática"));
+        repository.atualizarCampos(produto(1L, "Games"), Set.of(CampoProduto.CATEGORIA), true);
+
+        // Assert: a categoria anterior vem das estatísticas, sem consultar o produto
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(1);
+        assertThat(versaoCatalogo.daCategoria("Informática")).isEqualTo(2);
+        assertThat(versaoCatalogo.daCategoria("Games")).isEqualTo(2);
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Não deve avançar a versão quando a reserva de estoque falha")
+    void naoDeveAvancarVersaoSemAlteracaoDeEstoque() {
+        // Arrange
+        when(delegate.reduzirEstoque(1L, 50)).thenReturn(Optional.empty());
+        when(delegate.reduzirEstoque(1L, 5)).thenReturn(Optional.of(new EstoqueAtualizado(5, "Eletrônicos", 2L)));
+
+        // Act
+        repository.reduzirEstoque(1L, 50);
+        long versaoAposFalha = versaoCatalogo.global();
+        repository.reduzirEstoque(1L, 5);
+
+        // Assert
+        assertThat(versaoAposFalha).isZero();
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(1);
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve avançar só a categoria do produto removido, conhecida pelas estatísticas")
+    void deveAvancarCategoriaDoProdutoRemovido() {
+        // Arrange
+        when(delegate.deletar(1L)).thenReturn(true);
+
+        // Act
+        repository.deletar(1L);
+
+        // Assert
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(1);
+        assertThat(versaoCatalogo.daCategoria("Roupas")).isZero();
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve invalidar todas as categorias ao deletar produto de categoria desconhecida")
+    void deveInvalidarTodasAsCategoriasAoDeletarDesconhecido() {
+        // Arrange
+        when(delegate.deletar(999L)).thenReturn(true);
+
+        // Act
+        repository.deletar(999L);
+
+        // Assert
+        verify(delegate).deletar(999L);
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(1);
+        assertThat(versaoCatalogo.daCategoria("Roupas")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Não deve alterar a versão quando o DELETE não remover nenhuma linha")
+    void naoDeveAlterarVersaoSemLinhaRemovida() {
+        // Act
+        boolean removido = repository.deletar(999L);
+
+        // Assert
+        assertThat(removido).isFalse();
+        assertThat(versaoCatalogo.global()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve usar as categorias dos produtos carregados no lote de estoque")
+    @SuppressWarnings("unchecked")
+    void deveUsarCategoriasDoLoteDeEstoque() {
+        // Arrange
+        doAnswer(invocacao -> {
+            Consumer<Map<Long, Produto>> alteracao = invocacao.getArgument(1);
+            alteracao.accept(Map.of(1L, produto(1L, "Eletrônicos")));
+            return null;
+        }).when(delegate).alterarEstoquesEmLote(any(), any(Consumer.class));
+
+        // Act
+        repository.alterarEstoquesEmLote(Set.of(1L), produtos -> produtos.get(1L).reduzirEstoque(1));
+
+        // Assert
+        assertThat(versaoCatalogo.daCategoria("Eletrônicos")).isEqualTo(1);
+        assertThat(versaoCatalogo.daCategoria("Roupas")).isZero();
+        verify(delegate, never()).buscarPorId(any());
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.produtos.infrastructure.coalescencia;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Coalescência de Leituras")
+class ProdutoRepositoryComCoalescenciaTest {
+
+    private static final int THREADS = 8;
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private SimpleMeterRegistry registry;
+
+    private ProdutoRepositoryComCoalescencia repository;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new ProdutoRepositoryComCoalescencia(delegate, registry);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Produto notebook() {
+        return new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+    }
+
+    private double contagem(String metodo, String resultado) {
+        return registry.get("produtos.coalescencia")
+                .tag("metodo", metodo)
+                .tag("resultado", resultado)
+                .counter().count();
+    }
+
+    /**
+     * Espera até as outras THREADS - 1 chamadas estarem aguardando a que está em andamento
+     */
+    private void aguardarCoalescidas(String metodo) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (contagem(metodo, "coalescida") < THREADS - 1 && System.nanoTime() < limite) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Leituras concorrentes do mesmo ID devem compartilhar uma chamada ao delegate")
+    void leiturasConcorrentesDevemCompartilharUmaChamada() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        Produto original = notebook();
+        when(delegate.buscarPorId(1L)).thenAnswer(invocacao -> {
+            liberar.await();
+            return Optional.of(original);
+        });
+
+        // Act
+        List<Future<Optional<Produto>>> leituras = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            leituras.add(executor.submit(() -> repository.buscarPorId(1L)));
+        }
+        aguardarCoalescidas("buscarPorId");
+        liberar.countDown();
+
+        List<Produto> produtos = new ArrayList<>();
+        for (Future<Optional<Produto>> leitura : leituras) {
+            produtos.add(leitura.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+
+        // Assert
+        verify(delegate, times(1)).buscarPorId(1L);
+        assertThat(produtos).extracting(Produto::getNome).containsOnly("Notebook");
+        // Cada thread recebe a sua instância (Produto é mutável), inclusive a que executou:
+        // o original, de onde as cópias saem, não chega a nenhuma
+        assertThat(produtos.stream().distinct()).hasSize(THREADS);
+        assertThat(produtos).noneMatch(produto -> produto == original);
+        assertThat(contagem("buscarPorId", "executada")).isEqualTo(1);
+        assertThat(contagem("buscarPorId", "coalescida")).isEqualTo(THREADS - 1);
+    }
+
+    @Test
+    @DisplayName("A exceção da chamada deve chegar a todas as threads que esperavam")
+    void excecaoDeveChegarATodasAsThreads() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegate.buscarPorCategoria("Eletrônicos")).thenAnswer(invocacao -> {
+            liberar.await();
+            throw new IllegalStateException("banco indisponível");
+        });
+
+        // Act
+        List<Future<List<Produto>>> leituras = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            leituras.add(executor.submit(() -> repository.buscarPorCategoria("Eletrônicos")));
+        }
+        aguardarCoalescidas("buscarPorCategoria");
+        liberar.countDown();
+
+        // Assert
+        for (Future<List<Produto>> leitura : leituras) {
+            assertThatThrownBy(() -> leitura.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class);
+        }
+        verify(delegate, times(1)).buscarPorCategoria("Eletrônicos");
+    }
+
+    @Test
+    @DisplayName("Depois de uma escrita, novas leituras não devem se juntar à chamada em andamento")
+    void escritaDeveSepararNovasLeituras() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch primeiraEmAndamento = new CountDownLatch(1);
+        when(delegate.buscarPorId(1L))
+                .thenAnswer(invocacao -> {
+                    primeiraEmAndamento.countDown();
+                    liberar.await();
+                    return Optional.of(notebook());
+                })
+                .thenReturn(Optional.empty());
+
+        // Act
+        Future<Optional<Produto>> antesDaEscrita = executor.submit(() -> repository.buscarPorId(1L));
+        primeiraEmAndamento.await(5, TimeUnit.SECONDS);
+        repository.deletar(1L);
+        Optional<Produto> depoisDaEscrita = repository.buscarPorId(1L);
+        liberar.countDown();
+
+        // Assert
+        assertThat(antesDaEscrita.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(depoisDaEscrita).isEmpty();
+        verify(delegate, times(2)).buscarPorId(1L);
+    }
+
+    @Test
+    @DisplayName("Chamadas sequenciais devem ir ao delegate todas as vezes (nada fica guardado)")
+    void chamadasSequenciaisDevemIrAoDelegate() {
+        // Arrange
+        when(delegate.buscarPaginaPorCategoria("Livros", null, 21)).thenReturn(List.of());
+
+        // Act
+        repository.buscarPaginaPorCategoria("Livros", null, 21);
+        repository.buscarPaginaPorCategoria("Livros", null, 21);
+
+        // Assert
+        verify(delegate, times(2)).buscarPaginaPorCategoria("Livros", null, 21);
+        assertThat(contagem("buscarPaginaPorCategoria", "coalescida")).isZero();
+    }
+}
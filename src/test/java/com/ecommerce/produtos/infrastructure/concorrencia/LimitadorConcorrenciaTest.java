@@ -0,0 +1,177 @@
+package com.ecommerce.produtos.infrastructure.concorrencia;
+
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import com.ecommerce.produtos.application.usecase.BuscarProdutoPorIdUseCase;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.concorrencia.LimitadorConcorrencia.Prioridade;
+import com.ecommerce.produtos.infrastructure.metricas.MetricasUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Limite de Concorrência")
+class LimitadorConcorrenciaTest {
+
+    private static final long MS = 1_000_000;
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve recusar as prioridades mais baixas primeiro")
+    void deveRecusarPrioridadesMaisBaixasPrimeiro() {
+        // Arrange
+        LimitadorConcorrencia limitador = limitadorFixo(10);
+        for (int i = 0; i < 5; i++) {
+            limitador.adquirir(Prioridade.ALTA);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> limitador.adquirir(Prioridade.BAIXA))
+                .isInstanceOf(ServicoSobrecarregadoException.class)
+                .extracting(ex -> ((ServicoSobrecarregadoException) ex).getTentarApos())
+                .isEqualTo(Duration.ofSeconds(2));
+        for (int i = 0; i < 4; i++) {
+            limitador.adquirir(Prioridade.NORMAL);
+        }
+        assertThatThrownBy(() -> limitador.adquirir(Prioridade.NORMAL))
+                .isInstanceOf(ServicoSobrecarregadoException.class);
+        limitador.adquirir(Prioridade.ALTA);
+        assertThatThrownBy(() -> limitador.adquirir(Prioridade.ALTA))
+                .isInstanceOf(ServicoSobrecarregadoException.class);
+
+        assertThat(limitador.emAndamento()).isEqualTo(10);
+        assertThat(rejeicoes("baixa")).isEqualTo(1);
+        assertThat(rejeicoes("normal")).isEqualTo(1);
+        assertThat(rejeicoes("alta")).isEqualTo(1);
+        assertThat(registry.get("produtos.concorrencia.em.andamento").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve recusar o Use Case sem chegar ao repositório e liberar a vaga ao terminar")
+    void deveRecusarUseCaseSemChegarAoRepositorio() {
+        // Arrange
+        LimitadorConcorrencia limitador = limitadorFixo(4);
+        BuscarProdutoPorIdUseCase useCase = LimiteConcorrenciaUseCase.limitar(
+                MetricasUseCase.instrumentar(new BuscarProdutoPorIdUseCase(repositoryPort), registry),
+                limitador, Prioridade.ALTA);
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(new Produto(
+                1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now())));
+        long[] inicios = new long[4];
+        for (int i = 0; i < 4; i++) {
+            inicios[i] = limitador.adquirir(Prioridade.ALTA);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(1L)).isInstanceOf(ServicoSobrecarregadoException.class);
+        verify(repositoryPort, never()).buscarPorId(anyLong());
+        // A recusa não entra nas métricas do Use Case
+        assertThat(registry.get("produtos.usecase").tag("usecase", "BuscarProdutoPorIdUseCase")
+                .timer().count()).isZero();
+
+        limitador.liberar(Prioridade.ALTA, inicios[0]);
+        assertThat(useCase.executar(1L).getNome()).isEqualTo("Notebook");
+        assertThat(limitador.emAndamento()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Desligado, deve devolver o Use Case sem limite")
+    void deveDevolverUseCaseSemLimiteQuandoDesligado() {
+        // Arrange
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(false, 1, 1, 1, 1.5,
+                Duration.ZERO, Duration.ofSeconds(1), registry);
+        BuscarProdutoPorIdUseCase original = new BuscarProdutoPorIdUseCase(repositoryPort);
+
+        // Act
+        BuscarProdutoPorIdUseCase useCase = LimiteConcorrenciaUseCase.limitar(
+                original, limitador, Prioridade.ALTA);
+
+        // Assert
+        assertThat(useCase).isSameAs(original);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência sobe e voltar a crescer quando estabiliza")
+    void deveAjustarLimitePelaLatencia() {
+        // Arrange
+        LimiteGradiente limite = new LimiteGradiente(100, 4, 200, 1.5, Duration.ofMillis(100));
+        long agora = 0;
+        agora = janela(limite, agora, 10 * MS, 100);
+
+        // Act: o banco passa a responder 4x mais devagar
+        int antes = limite.limite();
+        for (int i = 0; i < 20; i++) {
+            agora = janela(limite, agora, 40 * MS, 100);
+        }
+        int comLentidao = limite.limite();
+        // A latência volta ao normal
+        for (int i = 0; i < 20; i++) {
+            agora = janela(limite, agora, 10 * MS, limite.limite());
+        }
+
+        // Assert
+        assertThat(comLentidao).isLessThan(antes / 2);
+        assertThat(limite.limite()).isGreaterThan(comLentidao);
+    }
+
+    @Test
+    @DisplayName("Não deve mudar o limite com poucas chamadas em andamento")
+    void naoDeveMudarLimiteComPoucasChamadas() {
+        // Arrange
+        LimiteGradiente limite = new LimiteGradiente(100, 4, 200, 1.5, Duration.ofMillis(100));
+        long agora = janela(limite, 0, 10 * MS, 10);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            agora = janela(limite, agora, 40 * MS, 10);
+        }
+
+        // Assert
+        assertThat(limite.limite()).isEqualTo(100);
+        assertThat(limite.latenciaLongaMs()).isGreaterThan(10);
+    }
+
+    private LimitadorConcorrencia limitadorFixo(int limite) {
+        return new LimitadorConcorrencia(true, limite, limite, limite, 1.5,
+                Duration.ofMillis(100), Duration.ofSeconds(2), registry);
+    }
+
+    private double rejeicoes(String prioridade) {
+        return registry.get("produtos.concorrencia.rejeicoes").tag("prioridade", prioridade).counter().count();
+    }
+
+    /**
+     * Fecha uma janela de medição com as latências e as chamadas em andamento dadas
+     */
+    private static long janela(LimiteGradiente limite, long inicio, long latencia, int emAndamento) {
+        long agora = inicio;
+        for (int i = 0; i < LimiteGradiente.AMOSTRAS_POR_JANELA; i++) {
+            agora += 12 * MS;
+            limite.registrar(agora, latencia, emAndamento);
+        }
+        return agora + 10 * MS;
+    }
+}
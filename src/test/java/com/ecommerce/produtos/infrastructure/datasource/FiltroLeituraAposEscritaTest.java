@@ -0,0 +1,103 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Filtro de Leitura após Escrita")
+class FiltroLeituraAposEscritaTest {
+
+    private static final Instant AGORA = Instant.parse("2024-01-15T10:00:00Z");
+
+    private final FiltroLeituraAposEscrita filtro =
+            new FiltroLeituraAposEscrita(Duration.ofSeconds(5), Clock.fixed(AGORA, ZoneOffset.UTC));
+
+    // Executa a requisição dentro de um Use Case de leitura e devolve se ela podia ir para uma réplica
+    private boolean leuDaReplica(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean replica = new AtomicBoolean();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req,
+                                   HttpServletResponse res) {
+                replica.set(ContextoRoteamento.emLeitura(ContextoRoteamento::podeLerDaReplica));
+            }
+        });
+        filtro.doFilter(request, response, chain);
+        return replica.get();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o cookie e ler do primário na própria escrita")
+    void deveGravarCookieNaEscrita() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/produtos/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        boolean replica = leuDaReplica(request, response);
+
+        // Assert
+        assertThat(replica).isFalse();
+        Cookie cookie = response.getCookie(FiltroLeituraAposEscrita.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getValue()).isEqualTo(Long.toString(AGORA.plusSeconds(5).toEpochMilli()));
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+        assertThat(cookie.isHttpOnly()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário enquanto a janela do cookie não terminou")
+    void deveLerDoPrimarioDentroDaJanela() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos/1");
+        request.setCookies(new Cookie(FiltroLeituraAposEscrita.COOKIE,
+                Long.toString(AGORA.plusSeconds(2).toEpochMilli())));
+
+        // Act & Assert
+        assertThat(leuDaReplica(request, new MockHttpServletResponse())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a réplica sem cookie, com cookie vencido ou inválido")
+    void deveLiberarReplicaForaDaJanela() throws Exception {
+        // Arrange
+        MockHttpServletRequest semCookie = new MockHttpServletRequest("GET", "/api/produtos/1");
+        MockHttpServletRequest vencido = new MockHttpServletRequest("GET", "/api/produtos/1");
+        vencido.setCookies(new Cookie(FiltroLeituraAposEscrita.COOKIE,
+                Long.toString(AGORA.minusSeconds(1).toEpochMilli())));
+        MockHttpServletRequest invalido = new MockHttpServletRequest("GET", "/api/produtos/1");
+        invalido.setCookies(new Cookie(FiltroLeituraAposEscrita.COOKIE, "abc"));
+
+        // Act & Assert
+        assertThat(leuDaReplica(semCookie, new MockHttpServletResponse())).isTrue();
+        assertThat(leuDaReplica(vencido, new MockHttpServletResponse())).isTrue();
+        assertThat(leuDaReplica(invalido, new MockHttpServletResponse())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Deve limpar o contexto da thread ao fim da requisição")
+    void deveLimparContextoAoFim() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/produtos");
+
+        // Act
+        leuDaReplica(request, new MockHttpServletResponse());
+
+        // Assert
+        assertThat(ContextoRoteamento.emLeitura(ContextoRoteamento::podeLerDaReplica)).isTrue();
+    }
+}
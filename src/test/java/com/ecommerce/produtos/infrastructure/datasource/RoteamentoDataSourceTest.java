@@ -0,0 +1,182 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do Roteamento de Leituras entre Primário e Réplicas")
+class RoteamentoDataSourceTest {
+
+    private DataSource primario;
+    private DataSource replica;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        primario = banco("primario");
+        replica = banco("replica");
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static DataSource banco(String nome) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:roteamento-" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+        jdbc.execute("DELETE FROM origem");
+        jdbc.update("INSERT INTO origem VALUES (?)", nome);
+        return dataSource;
+    }
+
+    private RoteamentoDataSource roteamento(String consultaAtraso, DataSource... replicas) {
+        List<MonitorReplicas.Replica> lista = new ArrayList<>();
+        for (int i = 0; i < replicas.length; i++) {
+            lista.add(new MonitorReplicas.Replica("replica-" + i, replicas[i], consultaAtraso));
+        }
+        MonitorReplicas monitor = new MonitorReplicas(lista, Duration.ofSeconds(1), Duration.ofSeconds(1), registry);
+        monitor.verificar();
+        return new RoteamentoDataSource(primario, monitor, registry);
+    }
+
+    private static String origem(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private double conexoes(String destino) {
+        return registry.get("produtos.datasource.conexoes").tag("destino", destino).counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário fora de um Use Case de leitura")
+    void deveUsarPrimarioForaDeLeitura() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento(null, replica);
+
+        // Act & Assert
+        assertThat(origem(dataSource)).isEqualTo("primario");
+        assertThat(conexoes("primario")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve usar a réplica dentro de um Use Case de leitura")
+    void deveUsarReplicaEmLeitura() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento("SELECT 10", replica);
+
+        // Act
+        String origem = ContextoRoteamento.emLeitura(() -> origem(dataSource));
+
+        // Assert
+        assertThat(origem).isEqualTo("replica");
+        assertThat(conexoes("replica-0")).isEqualTo(1);
+        assertThat(registry.get("produtos.datasource.replica.atraso").gauge().value()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Deve usar o primário quando a leitura precisa dele, mesmo em um Use Case de leitura")
+    void deveUsarPrimarioQuandoFixado() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento(null, replica);
+
+        // Act
+        String origem = ContextoRoteamento.noPrimario(() -> ContextoRoteamento.emLeitura(() -> origem(dataSource)));
+
+        // Assert
+        assertThat(origem).isEqualTo("primario");
+    }
+
+    @Test
+    @DisplayName("Deve ignorar a réplica com atraso acima do tolerado")
+    void deveIgnorarReplicaAtrasada() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento("SELECT 5000", replica);
+
+        // Act
+        String origem = ContextoRoteamento.emLeitura(() -> origem(dataSource));
+
+        // Assert
+        assertThat(origem).isEqualTo("primario");
+        assertThat(registry.get("produtos.datasource.replica.atraso").gauge().value()).isEqualTo(5000);
+    }
+
+    @Test
+    @DisplayName("Deve ler do primário e tirar a réplica do rodízio quando ela falha")
+    void deveUsarPrimarioQuandoReplicaFalha() throws SQLException {
+        // Arrange
+        DataSource instavel = spy(replica);
+        RoteamentoDataSource dataSource = roteamento(null, instavel);
+        doThrow(new SQLException("conexão recusada")).when(instavel).getConnection();
+
+        // Act
+        Supplier<String> leitura = () -> ContextoRoteamento.emLeitura(() -> origem(dataSource));
+        String primeira = leitura.get();
+        String segunda = leitura.get();
+
+        // Assert
+        assertThat(primeira).isEqualTo("primario");
+        assertThat(segunda).isEqualTo("primario");
+        // A segunda leitura já não tenta a réplica
+        verify(instavel, times(2)).getConnection();
+        assertThat(registry.get("produtos.datasource.replica.atraso").gauge().value()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Deve marcar o Use Case como somente leitura sem mudar o resultado")
+    void deveMarcarUseCaseComoSomenteLeitura() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento(null, replica);
+        LeituraDeOrigem useCase = RoteamentoUseCase.somenteLeitura(new LeituraDeOrigem(dataSource));
+
+        // Act & Assert
+        assertThat(useCase.executar()).isEqualTo("replica");
+        assertThat(ContextoRoteamento.podeLerDaReplica()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Listagem com ETag do catálogo deve ler do primário logo depois de uma escrita")
+    void listagemComEtagDeveLerDoPrimarioAposEscrita() {
+        // Arrange
+        RoteamentoDataSource dataSource = roteamento(null, replica);
+        VersaoCatalogo versaoCatalogo = new VersaoCatalogo();
+        Duration janela = Duration.ofSeconds(5);
+        LeituraDeOrigem agora = RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(
+                new LeituraDeOrigem(dataSource), versaoCatalogo, janela, Clock.systemUTC());
+        LeituraDeOrigem depoisDaJanela = RoteamentoUseCase.somenteLeituraComVersaoDoCatalogo(
+                new LeituraDeOrigem(dataSource), versaoCatalogo, janela,
+                Clock.offset(Clock.systemUTC(), Duration.ofSeconds(6)));
+
+        // Act & Assert
+        assertThat(agora.executar()).isEqualTo("replica");
+        versaoCatalogo.registrarAlteracao("Eletrônicos");
+        assertThat(agora.executar()).isEqualTo("primario");
+        assertThat(depoisDaJanela.executar()).isEqualTo("replica");
+        assertThat(ContextoRoteamento.podeLerDaReplica()).isFalse();
+    }
+
+    static class LeituraDeOrigem {
+
+        private final DataSource dataSource;
+
+        LeituraDeOrigem(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String executar() {
+            return origem(dataSource);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.produtos.infrastructure.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do Semáforo na frente do Pool de Conexões")
+class SemaforoConexoesDataSourceTest {
+
+    private DataSource pool;
+    private SimpleMeterRegistry registry;
+    private SemaforoConexoesDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocacao -> mock(Connection.class));
+        registry = new SimpleMeterRegistry();
+        dataSource = new SemaforoConexoesDataSource(pool, "primario", 2, Duration.ofMillis(50), registry);
+    }
+
+    @Test
+    @DisplayName("Deve ocupar uma vaga por conexão até o close")
+    void deveOcuparVagaAteOClose() throws SQLException {
+        // Act
+        Connection primeira = dataSource.getConnection();
+        Connection segunda = dataSource.getConnection();
+
+        // Assert
+        assertThat(dataSource.vagasLivres()).isZero();
+        assertThat(registry.get("produtos.datasource.semaforo.em.uso").tag("pool", "primario")
+                .gauge().value()).isEqualTo(2);
+        primeira.close();
+        assertThat(dataSource.vagasLivres()).isEqualTo(1);
+        segunda.close();
+        assertThat(dataSource.vagasLivres()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve desistir depois da espera quando não há vaga, sem chegar ao pool")
+    void deveDesistirSemVaga() throws SQLException {
+        // Arrange
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("primario");
+        verify(pool, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga uma vez só, mesmo com close repetido")
+    void deveDevolverVagaUmaVezSo() throws SQLException {
+        // Arrange
+        Connection conexao = dataSource.getConnection();
+
+        // Act
+        conexao.close();
+        conexao.close();
+
+        // Assert
+        assertThat(dataSource.vagasLivres()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga quando o pool falha ao abrir a conexão")
+    void deveDevolverVagaQuandoPoolFalha() throws SQLException {
+        // Arrange
+        when(pool.getConnection()).thenThrow(new SQLException("pool esgotado"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("pool esgotado");
+        assertThat(dataSource.vagasLivres()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga ao fechar o Stream do JdbcTemplate")
+    void deveDevolverVagaAoFecharStreamDoJdbcTemplate() {
+        // Arrange: o queryForStream fecha a conexão que o PreparedStatement devolve
+        SemaforoConexoesDataSource h2 = new SemaforoConexoesDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:semaforo;DB_CLOSE_DELAY=-1", "sa", ""),
+                "h2", 1, Duration.ofMillis(50), registry);
+        JdbcTemplate jdbc = new JdbcTemplate(h2);
+
+        // Act
+        try (Stream<Integer> numeros = jdbc.queryForStream("SELECT 1", (rs, linha) -> rs.getInt(1))) {
+            assertThat(numeros).containsExactly(1);
+        }
+
+        // Assert
+        assertThat(h2.vagasLivres()).isEqualTo(1);
+        assertThat(jdbc.queryForObject("SELECT 2", Integer.class)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.produtos.infrastructure.estatisticas;
+
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Estatísticas")
+class ProdutoRepositoryComEstatisticasTest {
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private EstatisticasCatalogo estatisticas;
+
+    private ProdutoRepositoryComEstatisticas repository;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = new EstatisticasCatalogo();
+        estatisticas.reconstruir(Stream.of(produto(1L, "100.00", 10), produto(2L, "50.00", 5)));
+        repository = new ProdutoRepositoryComEstatisticas(delegate, estatisticas);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as alterações atômicas de estoque como delta")
+    void deveAplicarAlteracoesDeEstoqueComoDelta() {
+        // Arrange
+        when(delegate.reduzirEstoque(1L, 3)).thenReturn(Optional.of(new EstoqueAtualizado(7, "Eletrônicos", 2L)));
+        when(delegate.reduzirEstoque(2L, 9)).thenReturn(Optional.empty());
+        when(delegate.aumentarEstoque(2L, 4)).thenReturn(Optional.of(new EstoqueAtualizado(9, "Eletrônicos", 2L)));
+
+        // Act
+        repository.reduzirEstoque(1L, 3);
+        repository.reduzirEstoque(2L, 9);
+        repository.aumentarEstoque(2L, 4);
+
+        // Assert
+        assertThat(eletronicos().estoqueTotal()).isEqualTo(15 - 3 + 4);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar as variações do lote depois que o delegate concluir")
+    @SuppressWarnings("unchecked")
+    void deveAplicarVariacoesDoLote() {
+        // Arrange
+        doAnswer(invocation -> {
+            Map<Long, Produto> produtos = new HashMap<>(Map.of(1L, produto(1L, "100.00", 10), 2L, produto(2L, "50.00", 5)));
+            invocation.getArgument(1, Consumer.class).accept(produtos);
+            return null;
+        }).when(delegate).alterarEstoquesEmLote(any(), any());
+
+        // Act
+        repository.alterarEstoquesEmLote(Set.of(1L, 2L),
+                produtos -> produtos.values().forEach(p -> p.reduzirEstoque(2)));
+
+        // Assert
+        assertThat(eletronicos().estoqueTotal()).isEqualTo(11);
+    }
+
+    @Test
+    @DisplayName("Deve indexar criações e alterações de preço e remover os deletados")
+    void deveManterAgregadosNasEscritas() {
+        // Arrange
+        Produto novo = produto(3L, "10.00", 1);
+        Produto alterado = produto(1L, "200.00", 10);
+        when(delegate.salvar(novo)).thenReturn(novo);
+        when(delegate.atualizarCampos(alterado, Set.of(CampoProduto.PRECO), true)).thenReturn(alterado);
+        when(delegate.deletar(2L)).thenReturn(true);
+
+        // Act
+        repository.salvar(novo);
+        repository.atualizarCampos(alterado, Set.of(CampoProduto.PRECO), true);
+        repository.deletar(2L);
+
+        // Assert
+        EstatisticasCategoria eletronicos = eletronicos();
+        assertThat(eletronicos.produtos()).isEqualTo(2);
+        assertThat(eletronicos.precoMinimo()).isEqualByComparingTo("10.00");
+        assertThat(eletronicos.precoMaximo()).isEqualByComparingTo("200.00");
+    }
+
+    @Test
+    @DisplayName("Reconciliação deve reconstruir só quando a divergência persiste")
+    void reconciliacaoDeveReconstruirQuandoDivergente() {
+        // Arrange
+        ReconciliadorEstatisticas reconciliador = new ReconciliadorEstatisticas(
+                delegate, estatisticas, Duration.ZERO, Duration.ZERO, new SimpleMeterRegistry());
+        EstatisticasCategoria doBanco = new EstatisticasCategoria("Eletrônicos", 2, 15,
+                new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("150"));
+        when(delegate.estatisticasPorCategoria()).thenReturn(List.of(doBanco));
+
+        // Act & Assert: consistente (preços com outra escala)
+        assertThat(reconciliador.reconciliar()).isEmpty();
+        verify(delegate, never()).buscarTodosEmStream();
+
+        // Arrange: estoque alterado no banco sem passar pelo Port
+        when(delegate.estatisticasPorCategoria()).thenReturn(List.of(
+                new EstatisticasCategoria("Eletrônicos", 2, 20,
+                        new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("150"))));
+        when(delegate.buscarTodosEmStream()).thenReturn(Stream.of(produto(1L, "100.00", 15), produto(2L, "50.00", 5)));
+
+        // Act & Assert: a primeira diferença é só suspeita; a segunda confirma e reconstrói
+        assertThat(reconciliador.reconciliar()).isEmpty();
+        verify(delegate, never()).buscarTodosEmStream();
+        assertThat(reconciliador.reconciliar()).containsExactly("Eletrônicos");
+        assertThat(eletronicos().estoqueTotal()).isEqualTo(20);
+    }
+
+    private EstatisticasCategoria eletronicos() {
+        return estatisticas.daCategoria("Eletrônicos").orElseThrow();
+    }
+
+    private static Produto produto(Long id, String preco, int estoque) {
+        return new Produto(id, "Produto " + id, null, new BigDecimal(preco), estoque, "Eletrônicos",
+                LocalDateTime.now(), 0L);
+    }
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.produtos.infrastructure.facetas;
+
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Índice de Facetas")
+class ProdutoRepositoryComIndiceFacetasTest {
+
+    private static final FiltroFacetas EM_ESTOQUE = new FiltroFacetas(Set.of(), Set.of(), true);
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private IndiceFacetas indice;
+
+    private ProdutoRepositoryComIndiceFacetas repository;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceFacetas(new BigDecimal("100"));
+        indice.reconstruir(Stream.of(produto(1L, 1), produto(2L, 5)));
+        repository = new ProdutoRepositoryComIndiceFacetas(delegate, indice);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a faceta de estoque com o estoque resultante")
+    void deveAtualizarEstoqueNasAlteracoesAtomicas() {
+        // Arrange
+        when(delegate.reduzirEstoque(1L, 1)).thenReturn(Optional.of(new EstoqueAtualizado(0, "Games", 2L)));
+        when(delegate.reduzirEstoque(2L, 9)).thenReturn(Optional.empty());
+
+        // Act
+        repository.reduzirEstoque(1L, 1);
+        repository.reduzirEstoque(2L, 9);
+
+        // Assert
+        assertThat(indice.filtrar(EM_ESTOQUE, null, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve manter o estoque da versão mais nova quando as baixas terminam fora de ordem")
+    void deveIgnorarEstoqueDeVersaoAntiga() {
+        // Arrange
+        when(delegate.reduzirEstoque(2L, 5)).thenReturn(Optional.of(new EstoqueAtualizado(0, "Games", 3L)));
+        when(delegate.aumentarEstoque(2L, 4)).thenReturn(Optional.of(new EstoqueAtualizado(4, "Games", 2L)));
+
+        // Act
+        repository.reduzirEstoque(2L, 5);
+        repository.aumentarEstoque(2L, 4);
+
+        // Assert
+        assertThat(indice.filtrar(EM_ESTOQUE, null, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os estoques do lote depois que o delegate concluir")
+    @SuppressWarnings("unchecked")
+    void deveAtualizarEstoquesDoLote() {
+        // Arrange
+        doAnswer(invocation -> {
+            Map<Long, Produto> produtos = new HashMap<>(Map.of(1L, produto(1L, 1), 2L, produto(2L, 5)));
+            invocation.getArgument(1, Consumer.class).accept(produtos);
+            return null;
+        }).when(delegate).alterarEstoquesEmLote(any(), any());
+
+        // Act
+        repository.alterarEstoquesEmLote(Set.of(1L, 2L),
+                produtos -> produtos.values().forEach(p -> p.reduzirEstoque(p.getEstoque())));
+
+        // Assert
+        assertThat(indice.filtrar(EM_ESTOQUE, null, 10).total()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve indexar produtos salvos e remover os deletados")
+    void deveSincronizarIndiceComEscritas() {
+        // Arrange
+        when(delegate.salvar(any(Produto.class))).thenReturn(produto(3L, 2));
+        when(delegate.deletar(1L)).thenReturn(true);
+
+        // Act
+        repository.salvar(produto(null, 2));
+        repository.deletar(1L);
+
+        // Assert
+        verify(delegate).deletar(1L);
+        assertThat(indice.filtrar(EM_ESTOQUE, null, 10).ids()).containsExactly(2L, 3L);
+    }
+
+    private static Produto produto(Long id, int estoque) {
+        return new Produto(id, "Produto", "Descrição", new BigDecimal("50.00"),
+                estoque, "Eletrônicos", LocalDateTime.now(), 1L);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.produtos.infrastructure.metricas;
+
+import com.ecommerce.produtos.application.usecase.BuscarProdutoPorIdUseCase;
+import com.ecommerce.produtos.application.usecase.ListarTodosProdutosUseCase;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes das Métricas dos Use Cases")
+class MetricasUseCaseTest {
+
+    @Mock
+    private ProdutoRepositoryPort repositoryPort;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Deve medir o Use Case e contar a exceção de negócio")
+    void deveMedirUseCaseEContarExcecao() {
+        // Arrange
+        BuscarProdutoPorIdUseCase useCase = MetricasUseCase.instrumentar(
+                new BuscarProdutoPorIdUseCase(repositoryPort), registry);
+        when(repositoryPort.buscarPorId(1L)).thenReturn(Optional.of(new Produto(
+                1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now())));
+        when(repositoryPort.buscarPorId(999L)).thenReturn(Optional.empty());
+
+        // Act
+        Produto produto = useCase.executar(1L);
+        assertThatThrownBy(() -> useCase.executar(999L)).isInstanceOf(ProdutoNotFoundException.class);
+
+        // Assert
+        assertThat(produto.getNome()).isEqualTo("Notebook");
+        assertThat(registry.get("produtos.usecase")
+                .tags("usecase", "BuscarProdutoPorIdUseCase", "metodo", "executar")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get("produtos.usecase.erros")
+                .tags("usecase", "BuscarProdutoPorIdUseCase", "excecao", "ProdutoNotFoundException")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a métrica entre sobrecargas do mesmo método")
+    void deveCompartilharMetricaEntreSobrecargas() {
+        // Arrange
+        ListarTodosProdutosUseCase useCase = MetricasUseCase.instrumentar(
+                new ListarTodosProdutosUseCase(repositoryPort), registry);
+        when(repositoryPort.buscarTodos()).thenReturn(List.of());
+        when(repositoryPort.buscarPagina(isNull(), anyInt())).thenReturn(List.of());
+
+        // Act
+        useCase.executar();
+        useCase.executar(null, 10);
+
+        // Assert
+        assertThat(registry.find("produtos.usecase").tag("usecase", "ListarTodosProdutosUseCase").timers())
+                .hasSize(1);
+        assertThat(registry.get("produtos.usecase")
+                .tags("usecase", "ListarTodosProdutosUseCase", "metodo", "executar")
+                .timer().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.produtos.infrastructure.metricas;
+
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Métricas")
+class ProdutoRepositoryComMetricasTest {
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private SimpleMeterRegistry registry;
+
+    private ProdutoRepositoryComMetricas repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new ProdutoRepositoryComMetricas(delegate, registry);
+    }
+
+    @Test
+    @DisplayName("Deve registrar os medidores de todos os métodos na criação")
+    void deveRegistrarMedidoresNaCriacao() {
+        // Assert
+        assertThat(registry.find("produtos.repositorio").timers()).hasSize(17);
+        assertThat(registry.get("produtos.repositorio.em.andamento")
+                .tag("metodo", "buscarPorId").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve medir a chamada e repassar o resultado do delegate")
+    void deveMedirChamada() {
+        // Arrange
+        when(delegate.reduzirEstoque(1L, 2)).thenReturn(Optional.of(new EstoqueAtualizado(8, "Games", 3L)));
+
+        // Act
+        Optional<EstoqueAtualizado> estoque = repository.reduzirEstoque(1L, 2);
+
+        // Assert
+        assertThat(estoque).contains(new EstoqueAtualizado(8, "Games", 3L));
+        assertThat(registry.get("produtos.repositorio")
+                .tag("metodo", "reduzirEstoque").timer().count()).isEqualTo(1);
+        assertThat(registry.get("produtos.repositorio.em.andamento")
+                .tag("metodo", "reduzirEstoque").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve contar erros pelo tipo da exceção e propagá-la")
+    void deveContarErrosPorTipoDeExcecao() {
+        // Arrange
+        doThrow(new IllegalStateException("falha")).when(delegate).deletar(1L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.deletar(1L)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> repository.deletar(1L)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(registry.get("produtos.repositorio.erros")
+                .tags("metodo", "deletar", "excecao", "IllegalStateException")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.get("produtos.repositorio")
+                .tag("metodo", "deletar").timer().count()).isEqualTo(2);
+    }
+}
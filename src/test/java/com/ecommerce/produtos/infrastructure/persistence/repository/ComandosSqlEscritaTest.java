@@ -0,0 +1,181 @@
+package com.ecommerce.produtos.infrastructure.persistence.repository;
+
+import com.ecommerce.produtos.application.busca.IndiceBuscaProdutos;
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.estatisticas.EstatisticasCatalogo;
+import com.ecommerce.produtos.application.facetas.IndiceFacetas;
+import com.ecommerce.produtos.application.preco.IndicePrecos;
+import com.ecommerce.produtos.application.usecase.AtualizarProdutoParcialmenteUseCase;
+import com.ecommerce.produtos.application.usecase.AtualizarProdutoUseCase;
+import com.ecommerce.produtos.application.usecase.DeletarProdutoUseCase;
+import com.ecommerce.produtos.application.usecase.ReservarEstoqueUseCase;
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.busca.ProdutoRepositoryComIndiceBusca;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoRepositoryComCache;
+import com.ecommerce.produtos.infrastructure.catalogo.ProdutoRepositoryComVersaoCatalogo;
+import com.ecommerce.produtos.infrastructure.coalescencia.ProdutoRepositoryComCoalescencia;
+import com.ecommerce.produtos.infrastructure.estatisticas.ProdutoRepositoryComEstatisticas;
+import com.ecommerce.produtos.infrastructure.facetas.ProdutoRepositoryComIndiceFacetas;
+import com.ecommerce.produtos.infrastructure.metricas.ProdutoRepositoryComMetricas;
+import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
+import com.ecommerce.produtos.infrastructure.preco.ProdutoRepositoryComIndicePrecos;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Quantos comandos SQL cada escrita envia ao banco (estatísticas do Hibernate), passando pela
+ * mesma cadeia de decorators do ProdutoRepositoryPort montada em BeanConfiguration: uma leitura
+ * extra em qualquer decorator aparece na contagem
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ProdutoRepositoryImpl.class)
+@DisplayName("Testes de Integração: Comandos SQL nas Escritas")
+class ComandosSqlEscritaTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoRepositoryImpl produtoRepository;
+
+    private ProdutoRepositoryPort repositoryPort;
+
+    private Statistics estatisticas;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+        id = entity.getId();
+
+        // Mesma ordem de BeanConfiguration, com os índices e as estatísticas já carregados
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EstatisticasCatalogo estatisticasCatalogo = new EstatisticasCatalogo();
+        IndicePrecos indicePrecos = new IndicePrecos();
+        IndiceFacetas indiceFacetas = new IndiceFacetas(new BigDecimal[]{new BigDecimal("1000")});
+        IndiceBuscaProdutos indiceBusca = new IndiceBuscaProdutos();
+        Supplier<Stream<Produto>> catalogo = () -> produtoRepository.buscarTodos().stream();
+        estatisticasCatalogo.reconstruir(catalogo.get());
+        indicePrecos.reconstruir(catalogo.get());
+        indiceFacetas.reconstruir(catalogo.get());
+        indiceBusca.reconstruir(catalogo.get());
+        entityManager.clear();
+
+        ProdutoRepositoryPort cadeia = new ProdutoRepositoryComMetricas(produtoRepository, registry);
+        cadeia = new ProdutoRepositoryComCoalescencia(cadeia, registry);
+        cadeia = new ProdutoRepositoryComCache(cadeia, 100, 0, Duration.ofMinutes(10));
+        cadeia = new ProdutoRepositoryComEstatisticas(cadeia, estatisticasCatalogo);
+        cadeia = new ProdutoRepositoryComVersaoCatalogo(cadeia, new VersaoCatalogo(), estatisticasCatalogo);
+        cadeia = new ProdutoRepositoryComIndicePrecos(cadeia, indicePrecos);
+        cadeia = new ProdutoRepositoryComIndiceFacetas(cadeia, indiceFacetas);
+        repositoryPort = new ProdutoRepositoryComIndiceBusca(cadeia, indiceBusca);
+
+        estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    @DisplayName("Atualizar deve enviar um SELECT e um UPDATE")
+    void atualizarDeveEnviarUmSelectEUmUpdate() {
+        // Arrange
+        AtualizarProdutoUseCase useCase = new AtualizarProdutoUseCase(repositoryPort);
+
+        // Act
+        Produto atualizado = useCase.executar(id, "Notebook Dell", "Dell", new BigDecimal("3499.99"),
+                5, "Eletrônicos");
+
+        // Assert
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estatisticas.getEntityLoadCount()).isEqualTo(1);
+        entityManager.clear();
+        ProdutoJpaEntity gravado = entityManager.find(ProdutoJpaEntity.class, id);
+        assertThat(gravado.getNome()).isEqualTo("Notebook Dell");
+        assertThat(gravado.getVersao()).isEqualTo(atualizado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Atualização parcial deve enviar um SELECT e um UPDATE só com as colunas alteradas")
+    void atualizacaoParcialDeveEnviarUmSelectEUmUpdate() {
+        // Arrange
+        AtualizarProdutoParcialmenteUseCase useCase = new AtualizarProdutoParcialmenteUseCase(repositoryPort);
+
+        // Act
+        Produto atualizado = useCase.executar(id, new AlteracaoProduto().preco(new BigDecimal("2799.99")), null);
+
+        // Assert
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+        entityManager.clear();
+        ProdutoJpaEntity gravado = entityManager.find(ProdutoJpaEntity.class, id);
+        assertThat(gravado.getPreco()).isEqualByComparingTo("2799.99");
+        assertThat(gravado.getVersao()).isEqualTo(atualizado.getVersao());
+    }
+
+    @Test
+    @DisplayName("Deletar deve enviar apenas o DELETE")
+    void deletarDeveEnviarApenasODelete() {
+        // Arrange
+        DeletarProdutoUseCase useCase = new DeletarProdutoUseCase(repositoryPort);
+
+        // Act
+        useCase.executar(id);
+
+        // Assert
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+        assertThat(entityManager.find(ProdutoJpaEntity.class, id)).isNull();
+    }
+
+    @Test
+    @DisplayName("Deletar produto inexistente deve enviar só o DELETE e lançar 404")
+    void deletarInexistenteDeveEnviarSoODelete() {
+        // Arrange
+        DeletarProdutoUseCase useCase = new DeletarProdutoUseCase(repositoryPort);
+
+        // Act & Assert
+        assertThatThrownBy(() -> useCase.executar(999L))
+                .isInstanceOf(ProdutoNotFoundException.class);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reservar deve enviar o UPDATE condicional e um SELECT do novo estoque")
+    void reservarDeveEnviarUmUpdateEUmSelect() {
+        // Arrange
+        ReservarEstoqueUseCase useCase = new ReservarEstoqueUseCase(repositoryPort);
+
+        // Act
+        Integer restante = useCase.executar(id, 3);
+
+        // Assert
+        assertThat(restante).isEqualTo(7);
+        assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+}
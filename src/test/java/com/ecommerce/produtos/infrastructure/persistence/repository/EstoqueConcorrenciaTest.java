@@ -0,0 +1,81 @@
+package com.ecommerce.produtos.infrastructure.persistence.repository;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Sem a transação de teste (NOT_SUPPORTED): cada chamada commita de verdade,
+ * como acontece com requisições concorrentes em produção
+ */
+@DataJpaTest
+@Import(ProdutoRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Testes de Concorrência: Reserva de Estoque")
+class EstoqueConcorrenciaTest {
+
+    private static final int THREADS = 200;
+    private static final int ESTOQUE_INICIAL = 100;
+
+    @Autowired
+    private ProdutoRepositoryImpl produtoRepository;
+
+    @Autowired
+    private ProdutoJpaRepository jpaRepository;
+
+    @AfterEach
+    void tearDown() {
+        jpaRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Não deve vender além do estoque com centenas de threads no mesmo produto")
+    void naoDeveVenderAlemDoEstoque() throws Exception {
+        // Arrange
+        Produto produto = produtoRepository.salvar(new Produto(
+                "Console", "Edição limitada", new BigDecimal("4999.90"), ESTOQUE_INICIAL, "Games"));
+        Long id = produto.getId();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> tentativas = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < THREADS; i++) {
+            tentativas.add(executor.submit(() -> {
+                largada.await();
+                return produtoRepository.reduzirEstoque(id, 1).isPresent();
+            }));
+        }
+        largada.countDown();
+
+        int reservasConfirmadas = 0;
+        for (Future<Boolean> tentativa : tentativas) {
+            if (tentativa.get(30, TimeUnit.SECONDS)) {
+                reservasConfirmadas++;
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(reservasConfirmadas).isEqualTo(ESTOQUE_INICIAL);
+        assertThat(produtoRepository.buscarPorId(id).orElseThrow().getEstoque()).isZero();
+    }
+}
@@ -1,6 +1,12 @@
 package com.ecommerce.produtos.infrastructure.persistence.repository;
 
+import com.ecommerce.produtos.application.usecase.AtualizarProdutoUseCase;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
 import com.ecommerce.produtos.infrastructure.persistence.entity.ProdutoJpaEntity;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +19,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -52,6 +60,28 @@ class ProdutoRepositoryImplTest {
         assertThat(produtoEncontrado.get().getPreco()).isEqualByComparingTo(new BigDecimal("2999.99"));
     }
 
+    @Test
+    @DisplayName("Deve calcular as estatísticas por categoria com GROUP BY")
+    void deveCalcularEstatisticasPorCategoria() {
+        // Arrange
+        produtoRepository.salvarTodos(List.of(
+                new Produto("Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"),
+                new Produto("Mouse", "Logitech", new BigDecimal("50.00"), 5, "Eletrônicos"),
+                new Produto("Camiseta", "Algodão", new BigDecimal("59.90"), 0, "Roupas")
+        ));
+
+        // Act
+        List<EstatisticasCategoria> estatisticas = produtoRepository.estatisticasPorCategoria();
+
+        // Assert
+        assertThat(estatisticas).hasSize(2);
+        EstatisticasCategoria eletronicos = estatisticas.stream()
+                .filter(e -> e.categoria().equals("Eletrônicos"))
+                .findFirst().orElseThrow();
+        assertThat(eletronicos.equivalente(new EstatisticasCategoria("Eletrônicos", 2, 15,
+                new BigDecimal("50"), new BigDecimal("2999.99"), new BigDecimal("3049.99")))).isTrue();
+    }
+
     @Test
     @DisplayName("Deve retornar vazio ao buscar produto inexistente")
     void deveRetornarVazioAoBuscarProdutoInexistente() {
@@ -62,6 +92,28 @@ class ProdutoRepositoryImplTest {
         assertThat(resultado).isEmpty();
     }
 
+    @Test
+    @DisplayName("Deve buscar vários produtos por ID em uma consulta, ignorando inexistentes")
+    void deveBuscarVariosProdutosPorIds() {
+        // Arrange
+        Produto notebook = produtoRepository.salvar(new Produto(
+                "Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"));
+        Produto mouse = produtoRepository.salvar(new Produto(
+                "Mouse", "Logitech", new BigDecimal("50.00"), 20, "Eletrônicos"));
+        produtoRepository.salvar(new Produto(
+                "Teclado", "Mecânico", new BigDecimal("300.00"), 5, "Eletrônicos"));
+
+        // Act
+        List<Produto> encontrados = produtoRepository.buscarPorIds(
+                Set.of(notebook.getId(), mouse.getId(), 999L));
+
+        // Assert
+        assertThat(encontrados)
+                .extracting(Produto::getNome)
+                .containsExactlyInAnyOrder("Notebook", "Mouse");
+        assertThat(produtoRepository.buscarPorIds(Set.of())).isEmpty();
+    }
+
     @Test
     @DisplayName("Deve buscar todos os produtos")
     void deveBuscarTodosOsProdutos() {
@@ -152,4 +204,389 @@ class ProdutoRepositoryImplTest {
         assertThat(produtoRepository.existe(id)).isTrue();
         assertThat(produtoRepository.existe(999L)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Deve buscar página ordenada por ID a partir do cursor")
+    void deveBuscarPaginaAPartirDoCursor() {
+        // Arrange
+        ProdutoJpaEntity entity1 = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        ProdutoJpaEntity entity2 = new ProdutoJpaEntity(
+                null, "Camiseta", "Nike", new BigDecimal("99.99"), 
+                20, "Roupas", LocalDateTime.now()
+        );
+        ProdutoJpaEntity entity3 = new ProdutoJpaEntity(
+                null, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                20, "Eletrônicos", LocalDateTime.now()
+        );
+        
+        entityManager.persist(entity1);
+        entityManager.persist(entity2);
+        entityManager.persist(entity3);
+        entityManager.flush();
+
+        // Act
+        List<Produto> primeiraPagina = produtoRepository.buscarPagina(null, 2);
+        List<Produto> segundaPagina = produtoRepository.buscarPagina(entity2.getId(), 2);
+        List<Produto> eletronicos = produtoRepository.buscarPaginaPorCategoria(
+                "Eletrônicos", entity1.getId(), 10);
+
+        // Assert
+        assertThat(primeiraPagina).extracting("id")
+                .containsExactly(entity1.getId(), entity2.getId());
+        assertThat(segundaPagina).extracting("id")
+                .containsExactly(entity3.getId());
+        assertThat(eletronicos).extracting("nome")
+                .containsExactly("Mouse");
+    }
+
+    @Test
+    @DisplayName("Deve buscar faixa de preço da categoria ordenada por preço ou data")
+    void deveBuscarPorFaixaDePreco() {
+        // Arrange
+        LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+        ProdutoJpaEntity notebook = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", base
+        );
+        ProdutoJpaEntity mouse = new ProdutoJpaEntity(
+                null, "Mouse", "Logitech", new BigDecimal("150.00"), 
+                20, "Eletrônicos", base.plusMinutes(1)
+        );
+        ProdutoJpaEntity teclado = new ProdutoJpaEntity(
+                null, "Teclado", "Logitech", new BigDecimal("150.00"), 
+                20, "Eletrônicos", base.plusMinutes(2)
+        );
+        ProdutoJpaEntity camiseta = new ProdutoJpaEntity(
+                null, "Camiseta", "Nike", new BigDecimal("199.99"), 
+                20, "Roupas", base.plusMinutes(3)
+        );
+        
+        entityManager.persist(notebook);
+        entityManager.persist(mouse);
+        entityManager.persist(teclado);
+        entityManager.persist(camiseta);
+        entityManager.flush();
+
+        // Act
+        List<Produto> primeira = produtoRepository.buscarPorPreco(new ConsultaPorPreco(
+                "Eletrônicos", new BigDecimal("100"), new BigDecimal("500"),
+                ConsultaPorPreco.Ordenacao.PRECO, null, 1));
+        List<Produto> segunda = produtoRepository.buscarPorPreco(new ConsultaPorPreco(
+                "Eletrônicos", new BigDecimal("100"), new BigDecimal("500"),
+                ConsultaPorPreco.Ordenacao.PRECO, ConsultaPorPreco.Posicao.de(primeira.get(0)), 10));
+        List<Produto> recentes = produtoRepository.buscarPorPreco(new ConsultaPorPreco(
+                "Eletrônicos", new BigDecimal("100"), null,
+                ConsultaPorPreco.Ordenacao.DATA_CRIACAO, null, 10));
+
+        // Assert
+        assertThat(primeira).extracting("nome").containsExactly("Mouse");
+        assertThat(segunda).extracting("nome").containsExactly("Teclado");
+        assertThat(recentes).extracting("nome").containsExactly("Teclado", "Mouse", "Notebook");
+    }
+
+    @Test
+    @DisplayName("Deve percorrer todos os produtos em stream ordenado por ID")
+    void devePercorrerTodosOsProdutosEmStream() {
+        // Arrange
+        ProdutoJpaEntity entity1 = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        ProdutoJpaEntity entity2 = new ProdutoJpaEntity(
+                null, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                20, "Eletrônicos", LocalDateTime.now()
+        );
+        
+        entityManager.persist(entity1);
+        entityManager.persist(entity2);
+        entityManager.flush();
+
+        // Act
+        List<Produto> produtos;
+        try (Stream<Produto> stream = produtoRepository.buscarTodosEmStream()) {
+            produtos = stream.toList();
+        }
+
+        // Assert
+        assertThat(produtos).extracting("nome").containsExactly("Notebook", "Mouse");
+        assertThat(produtos.get(0).getPreco()).isEqualByComparingTo(new BigDecimal("2999.99"));
+        assertThat(produtos.get(0).getDataCriacao()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve salvar vários produtos de uma vez")
+    void deveSalvarVariosProdutos() {
+        // Arrange
+        List<Produto> produtos = List.of(
+                new Produto("Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"),
+                new Produto("Mouse", "Logitech", new BigDecimal("50.00"), 20, "Eletrônicos"),
+                new Produto("Camiseta", "Nike", new BigDecimal("99.99"), 5, "Roupas")
+        );
+
+        // Act
+        List<Produto> salvos = produtoRepository.salvarTodos(produtos);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(salvos).extracting("id").doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(salvos).extracting("nome").containsExactly("Notebook", "Mouse", "Camiseta");
+        assertThat(produtoRepository.buscarTodos()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Deve inserir os novos e atualizar os já lidos na mesma chamada, condicionado à versão")
+    void deveInserirEAtualizarNaMesmaChamada() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+
+        Produto existente = produtoRepository.buscarPorId(entity.getId()).orElseThrow();
+        Produto copiaDesatualizada = produtoRepository.buscarPorId(entity.getId()).orElseThrow();
+        existente.atualizar("Notebook Dell", "Dell", new BigDecimal("2799.99"), 8, "Eletrônicos");
+
+        // Act
+        List<Produto> salvos = produtoRepository.salvarTodos(List.of(
+                existente,
+                new Produto("Mouse", "Logitech", new BigDecimal("50.00"), 20, "Eletrônicos")
+        ));
+        entityManager.clear();
+
+        // Assert
+        assertThat(salvos.get(0).getVersao()).isEqualTo(existente.getVersao() + 1);
+        assertThat(salvos.get(1).getId()).isNotNull();
+        assertThat(produtoRepository.buscarPorId(entity.getId()).orElseThrow().getNome())
+                .isEqualTo("Notebook Dell");
+        assertThat(produtoRepository.buscarTodos()).hasSize(2);
+        assertThatThrownBy(() -> produtoRepository.salvarTodos(List.of(copiaDesatualizada)))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir e aumentar estoque com UPDATE condicional")
+    void deveReduzirEAumentarEstoque() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        Long id = entity.getId();
+
+        // Act & Assert
+        assertThat(produtoRepository.reduzirEstoque(id, 4)).contains(new EstoqueAtualizado(6, "Eletrônicos", 1L));
+        assertThat(produtoRepository.reduzirEstoque(id, 7)).isEmpty();
+        assertThat(produtoRepository.aumentarEstoque(id, 5)).contains(new EstoqueAtualizado(11, "Eletrônicos", 2L));
+        assertThat(produtoRepository.reduzirEstoque(999L, 1)).isEmpty();
+        assertThat(produtoRepository.aumentarEstoque(999L, 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o estoque além de Integer.MAX_VALUE")
+    void naoDeveAumentarEstoqueAlemDoMaximo() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"),
+                Integer.MAX_VALUE - 10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        Long id = entity.getId();
+
+        // Act & Assert
+        assertThat(produtoRepository.aumentarEstoque(id, 11)).isEmpty();
+        assertThat(produtoRepository.aumentarEstoque(id, 10)).contains(new EstoqueAtualizado(Integer.MAX_VALUE, "Eletrônicos", 1L));
+    }
+
+    @Test
+    @DisplayName("Deve alterar estoques em lote e gravar apenas os alterados")
+    void deveAlterarEstoquesEmLote() {
+        // Arrange
+        ProdutoJpaEntity entity1 = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        ProdutoJpaEntity entity2 = new ProdutoJpaEntity(
+                null, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                20, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity1);
+        entityManager.persist(entity2);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        produtoRepository.alterarEstoquesEmLote(
+                Set.of(entity1.getId(), entity2.getId(), 999L),
+                produtos -> {
+                    assertThat(produtos).doesNotContainKey(999L);
+                    produtos.get(entity1.getId()).reduzirEstoque(3);
+                });
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(produtoRepository.buscarPorId(entity1.getId()).orElseThrow().getEstoque()).isEqualTo(7);
+        assertThat(produtoRepository.buscarPorId(entity2.getId()).orElseThrow().getEstoque()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar gravação de produto com versão desatualizada")
+    void deveRejeitarGravacaoComVersaoDesatualizada() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = entity.getId();
+
+        Produto leituraA = produtoRepository.buscarPorId(id).orElseThrow();
+        Produto leituraB = produtoRepository.buscarPorId(id).orElseThrow();
+        entityManager.clear();
+
+        // Act
+        leituraA.atualizar("Notebook A", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos");
+        Produto salvo = produtoRepository.salvar(leituraA);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        assertThat(salvo.getVersao()).isEqualTo(leituraA.getVersao() + 1);
+        leituraB.atualizar("Notebook B", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos");
+        assertThatThrownBy(() -> produtoRepository.salvar(leituraB))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+    }
+
+    @Test
+    @DisplayName("Deve incrementar a versão nas alterações atômicas de estoque")
+    void deveIncrementarVersaoAoAlterarEstoque() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        Long id = entity.getId();
+        Long versaoInicial = entity.getVersao();
+
+        // Act
+        produtoRepository.reduzirEstoque(id, 1);
+        produtoRepository.aumentarEstoque(id, 1);
+        entityManager.clear();
+
+        // Assert
+        assertThat(produtoRepository.buscarPorId(id).orElseThrow().getVersao())
+                .isEqualTo(versaoInicial + 2);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar apenas as colunas informadas, condicionado à versão")
+    void deveAtualizarApenasAsColunasInformadas() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = entity.getId();
+
+        Produto produto = produtoRepository.buscarPorId(id).orElseThrow();
+        Long versaoLida = produto.getVersao();
+        // O nome muda em memória, mas só o preço é informado: o nome não pode ir para o banco
+        produto.atualizar("Outro nome", "Dell", new BigDecimal("2799.99"), 10, "Eletrônicos");
+
+        // Act
+        Produto salvo = produtoRepository.atualizarCampos(produto, Set.of(CampoProduto.PRECO), true);
+        entityManager.clear();
+
+        // Assert
+        assertThat(salvo.getVersao()).isEqualTo(versaoLida + 1);
+        ProdutoJpaEntity gravado = entityManager.find(ProdutoJpaEntity.class, id);
+        assertThat(gravado.getPreco()).isEqualByComparingTo("2799.99");
+        assertThat(gravado.getNome()).isEqualTo("Notebook");
+        assertThat(gravado.getVersao()).isEqualTo(versaoLida + 1);
+        assertThatThrownBy(() -> produtoRepository.atualizarCampos(produto, Set.of(CampoProduto.ESTOQUE), true))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+    }
+
+    @Test
+    @DisplayName("Sem condição, deve gravar sobre a versão atual e devolver a linha como ficou")
+    void deveAtualizarSemCondicaoAposBaixaDeEstoque() {
+        // Arrange
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = entity.getId();
+
+        Produto produto = produtoRepository.buscarPorId(id).orElseThrow();
+        Long versaoLida = produto.getVersao();
+        // Uma venda entre a leitura e a gravação muda a versão
+        produtoRepository.reduzirEstoque(id, 3);
+        produto.atualizar("Notebook", "Dell", new BigDecimal("2799.99"), 10, "Eletrônicos");
+
+        // Act
+        Produto salvo = produtoRepository.atualizarCampos(produto, Set.of(CampoProduto.PRECO), false);
+        entityManager.clear();
+
+        // Assert
+        assertThat(salvo.getVersao()).isEqualTo(versaoLida + 2);
+        assertThat(salvo.getEstoque()).isEqualTo(7);
+        ProdutoJpaEntity gravado = entityManager.find(ProdutoJpaEntity.class, id);
+        assertThat(gravado.getPreco()).isEqualByComparingTo("2799.99");
+        assertThat(gravado.getEstoque()).isEqualTo(7);
+        assertThat(gravado.getVersao()).isEqualTo(salvo.getVersao());
+    }
+
+    @Test
+    @DisplayName("PUT sem If-Match não deve apagar a reserva feita entre a leitura e a gravação")
+    void putSemIfMatchNaoDeveApagarReservaConcorrente() {
+        // Arrange: a reserva é gravada logo depois de cada leitura do PUT
+        ProdutoJpaEntity entity = new ProdutoJpaEntity(
+                null, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now()
+        );
+        entityManager.persist(entity);
+        entityManager.flush();
+        entityManager.clear();
+        Long id = entity.getId();
+        AtualizarProdutoUseCase useCase = new AtualizarProdutoUseCase(new ProdutoRepositoryDecorator(produtoRepository) {
+            @Override
+            public Optional<Produto> buscarPorId(Long idBuscado) {
+                Optional<Produto> lido = delegate.buscarPorId(idBuscado);
+                delegate.reduzirEstoque(idBuscado, 2);
+                return lido;
+            }
+        });
+
+        // Act & Assert: o estoque do corpo (o lido, 10) não muda nada; a reserva continua valendo
+        Produto renomeado = useCase.executar(id, "Notebook Dell", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos");
+        assertThat(renomeado.getNome()).isEqualTo("Notebook Dell");
+        assertThat(renomeado.getEstoque()).isEqualTo(8);
+
+        // Act & Assert: estoque absoluto sobre a versão lida, que a reserva já mudou = conflito
+        assertThatThrownBy(() -> useCase.executar(id, "Notebook Dell", "Dell", new BigDecimal("2999.99"),
+                20, "Eletrônicos"))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+        entityManager.clear();
+        assertThat(entityManager.find(ProdutoJpaEntity.class, id).getEstoque()).isEqualTo(6);
+    }
+}
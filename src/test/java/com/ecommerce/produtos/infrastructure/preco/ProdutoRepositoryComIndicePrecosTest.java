@@ -0,0 +1,121 @@
+package com.ecommerce.produtos.infrastructure.preco;
+
+import com.ecommerce.produtos.application.preco.IndicePrecos;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do Decorator: Repositório com Índice de Preços")
+class ProdutoRepositoryComIndicePrecosTest {
+
+    private static final ConsultaPorPreco ATE_500 = new ConsultaPorPreco(
+            "Eletrônicos", null, new BigDecimal("500"), ConsultaPorPreco.Ordenacao.PRECO, null, 10);
+
+    @Mock
+    private ProdutoRepositoryPort delegate;
+
+    private IndicePrecos indice;
+
+    private ProdutoRepositoryComIndicePrecos repository;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrecos();
+        repository = new ProdutoRepositoryComIndicePrecos(delegate, indice);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco enquanto o índice não foi carregado")
+    void deveUsarBancoAntesDaCarga() {
+        // Arrange
+        List<Produto> doBanco = List.of(produto(2L, "50.00"));
+        when(delegate.buscarPorPreco(ATE_500)).thenReturn(doBanco);
+
+        // Act
+        List<Produto> produtos = repository.buscarPorPreco(ATE_500);
+
+        // Assert
+        assertThat(produtos).isEqualTo(doBanco);
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve responder pelo índice e ler os produtos com um buscarPorIds")
+    void deveResponderPeloIndice() {
+        // Arrange
+        Produto mouse = produto(2L, "50.00");
+        Produto teclado = produto(3L, "150.00");
+        indice.reconstruir(Stream.of(produto(1L, "2999.99"), mouse, teclado));
+        // Preço alterado depois da leitura do índice: fica de fora
+        when(delegate.buscarPorIds(Set.of(2L, 3L))).thenReturn(List.of(produto(3L, "600.00"), mouse));
+
+        // Act
+        List<Produto> produtos = repository.buscarPorPreco(ATE_500);
+
+        // Assert
+        assertThat(produtos).extracting("id").containsExactly(2L);
+        verify(delegate, never()).buscarPorPreco(any());
+        verify(delegate, never()).buscarPorId(any());
+    }
+
+    @Test
+    @DisplayName("Deve completar a página a partir do índice quando produtos são descartados")
+    void deveCompletarPaginaComProdutosDescartados() {
+        // Arrange
+        ConsultaPorPreco tresPrimeiros = new ConsultaPorPreco(
+                "Eletrônicos", null, new BigDecimal("500"), ConsultaPorPreco.Ordenacao.PRECO, null, 3);
+        indice.reconstruir(Stream.of(produto(1L, "10.00"), produto(2L, "20.00"), produto(3L, "30.00"),
+                produto(4L, "40.00"), produto(5L, "50.00")));
+        // 2 foi removido depois da leitura do índice
+        when(delegate.buscarPorIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(produto(1L, "10.00"), produto(3L, "30.00")));
+        when(delegate.buscarPorIds(Set.of(4L))).thenReturn(List.of(produto(4L, "40.00")));
+
+        // Act
+        List<Produto> produtos = repository.buscarPorPreco(tresPrimeiros);
+
+        // Assert
+        assertThat(produtos).extracting("id").containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("Deve indexar produtos salvos e remover os deletados")
+    void deveSincronizarIndiceComEscritas() {
+        // Arrange
+        indice.reconstruir(Stream.empty());
+        Produto mouse = produto(2L, "50.00");
+        when(delegate.salvar(any(Produto.class))).thenReturn(mouse);
+        when(delegate.salvarTodos(anyList())).thenReturn(List.of(produto(3L, "150.00")));
+        when(delegate.deletar(2L)).thenReturn(true);
+
+        // Act
+        repository.salvar(mouse);
+        repository.salvarTodos(List.of(produto(null, "150.00")));
+        repository.deletar(2L);
+
+        // Assert
+        verify(delegate).deletar(2L);
+        assertThat(indice.buscar(ATE_500)).containsExactly(3L);
+    }
+
+    private static Produto produto(Long id, String preco) {
+        return new Produto(id, "Produto", "Descrição", new BigDecimal(preco),
+                10, "Eletrônicos", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Anel de Hashing Consistente")
+class AnelConsistenteTest {
+
+    private static final List<String> CHAVES = IntStream.range(0, 10_000)
+            .mapToObj(i -> "categoria-" + i)
+            .toList();
+
+    @Test
+    @DisplayName("Deve dividir as chaves entre os shards de forma aproximadamente uniforme")
+    void deveDividirChavesUniformemente() {
+        // Arrange
+        AnelConsistente anel = new AnelConsistente(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+        int[] porShard = new int[4];
+
+        // Act
+        CHAVES.forEach(chave -> porShard[anel.shard(chave)]++);
+
+        // Assert
+        for (int quantidade : porShard) {
+            assertThat(quantidade).isBetween(2_000, 3_000);
+        }
+    }
+
+    @Test
+    @DisplayName("Ao acrescentar um shard, só as chaves que vão para ele devem mudar de dono")
+    void deveMoverPoucasChavesAoAcrescentarShard() {
+        // Arrange
+        AnelConsistente tres = new AnelConsistente(List.of("shard-0", "shard-1", "shard-2"), 128);
+        AnelConsistente quatro = new AnelConsistente(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        // Act
+        List<String> movidas = CHAVES.stream()
+                .filter(chave -> tres.shard(chave) != quatro.shard(chave))
+                .toList();
+
+        // Assert
+        assertThat(movidas).allMatch(chave -> quatro.shard(chave) == 3);
+        assertThat(movidas.size()).isBetween(2_000, 3_000);
+    }
+}
@@ -0,0 +1,255 @@
+package com.ecommerce.produtos.infrastructure.sharding;
+
+import com.ecommerce.produtos.domain.entity.CampoProduto;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
+import com.ecommerce.produtos.domain.repository.EstoqueAtualizado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Repositório com Shards por Categoria (H2 em memória por shard)")
+class ProdutoRepositoryComShardsTest {
+
+    private static final int SHARDS = 3;
+    private static final int NOS_VIRTUAIS = 128;
+
+    private SimpleMeterRegistry registry;
+    private ProdutoRepositoryComShards repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        String execucao = UUID.randomUUID().toString();
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < SHARDS; i++) {
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    "jdbc:h2:mem:" + execucao + "-shard-" + i + ";DB_CLOSE_DELAY=-1", "sa", "");
+            shards.add(Shard.criar(i, "shard-" + i, dataSource, Map.of("hibernate.hbm2ddl.auto", "create-drop")));
+        }
+        repository = new ProdutoRepositoryComShards(shards, NOS_VIRTUAIS, Duration.ZERO, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.encerrar();
+    }
+
+    // Uma categoria que o anel coloca no shard pedido
+    private static String categoriaNoShard(int shard, int ordem) {
+        AnelConsistente anel = new AnelConsistente(
+                IntStream.range(0, SHARDS).mapToObj(i -> "shard-" + i).toList(), NOS_VIRTUAIS);
+        return IntStream.iterate(0, i -> i + 1)
+                .mapToObj(i -> "Categoria " + i)
+                .filter(categoria -> anel.shard(categoria) == shard)
+                .skip(ordem)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Produto novo(String nome, String categoria, int estoque) {
+        return new Produto(nome, "Descrição de " + nome, new BigDecimal("100.00"), estoque, categoria);
+    }
+
+    private static Produto naCategoria(Produto produto, String categoria) {
+        return new Produto(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco(),
+                produto.getEstoque(), categoria, produto.getDataCriacao(), produto.getVersao());
+    }
+
+    private long linhasNoShard(int shard, String condicao, Object... parametros) {
+        return repository.shards().get(shard).jdbc()
+                .queryForObject("SELECT COUNT(*) FROM produtos WHERE " + condicao, Long.class, parametros);
+    }
+
+    private double foraDoShardDoId() {
+        return registry.get("produtos.shards.fora.do.shard.do.id").counter().count();
+    }
+
+    @Test
+    @DisplayName("Deve criar o produto no shard da categoria, com o shard no ID")
+    void deveCriarNoShardDaCategoria() {
+        // Arrange
+        String categoria = categoriaNoShard(2, 0);
+
+        // Act
+        Produto salvo = repository.salvar(novo("Notebook", categoria, 10));
+
+        // Assert
+        assertThat(IdComShard.shard(salvo.getId())).isEqualTo(2);
+        assertThat(linhasNoShard(2, "id = ?", salvo.getId())).isEqualTo(1);
+        assertThat(repository.buscarPorId(salvo.getId())).get()
+                .extracting(Produto::getNome).isEqualTo("Notebook");
+        assertThat(repository.buscarPorCategoria(categoria)).hasSize(1);
+        assertThat(foraDoShardDoId()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve juntar os produtos de todos os shards em ordem de ID")
+    void deveJuntarShardsEmOrdemDeId() {
+        // Arrange
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            produtos.add(novo("Produto " + i, categoriaNoShard(i % SHARDS, 0), i));
+        }
+        List<Produto> salvos = repository.salvarTodos(produtos);
+        List<Long> idsOrdenados = salvos.stream().map(Produto::getId).sorted().toList();
+
+        // Act
+        List<Produto> todos = repository.buscarTodos();
+        List<Produto> primeiraPagina = repository.buscarPagina(null, 5);
+        List<Produto> segundaPagina = repository.buscarPagina(primeiraPagina.get(4).getId(), 5);
+        List<Long> exportados;
+        try (Stream<Produto> stream = repository.buscarTodosEmStream()) {
+            exportados = stream.map(Produto::getId).toList();
+        }
+
+        // Assert
+        assertThat(salvos).extracting(Produto::getNome)
+                .containsExactlyElementsOf(produtos.stream().map(Produto::getNome).toList());
+        assertThat(todos).extracting(Produto::getId).containsExactlyElementsOf(idsOrdenados);
+        assertThat(exportados).containsExactlyElementsOf(idsOrdenados);
+        assertThat(primeiraPagina).extracting(Produto::getId).containsExactlyElementsOf(idsOrdenados.subList(0, 5));
+        assertThat(segundaPagina).extracting(Produto::getId).containsExactlyElementsOf(idsOrdenados.subList(5, 10));
+        assertThat(repository.buscarPorIds(Set.copyOf(idsOrdenados))).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("Deve levar o produto ao shard da nova categoria mantendo o ID")
+    void deveMoverProdutoAoMudarDeCategoria() {
+        // Arrange
+        String origem = categoriaNoShard(0, 0);
+        String destino = categoriaNoShard(1, 0);
+        Produto salvo = repository.salvar(novo("Mouse", origem, 5));
+
+        // Act
+        Produto movido = repository.atualizarCampos(naCategoria(salvo, destino), Set.of(CampoProduto.CATEGORIA), true);
+
+        // Assert
+        assertThat(movido.getId()).isEqualTo(salvo.getId());
+        assertThat(movido.getVersao()).isEqualTo(salvo.getVersao() + 1);
+        assertThat(linhasNoShard(0, "id = ?", salvo.getId())).isZero();
+        assertThat(linhasNoShard(1, "id = ?", salvo.getId())).isEqualTo(1);
+        assertThat(repository.buscarPorCategoria(destino)).extracting(Produto::getId).containsExactly(salvo.getId());
+        assertThat(repository.reduzirEstoque(salvo.getId(), 2)).contains(new EstoqueAtualizado(3, destino, salvo.getVersao() + 2));
+        assertThat(repository.buscarPorId(salvo.getId())).get().extracting(Produto::getEstoque).isEqualTo(3);
+        assertThat(foraDoShardDoId()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Não deve mover o produto quando a versão lida está desatualizada")
+    void naoDeveMoverProdutoComVersaoDesatualizada() {
+        // Arrange
+        String origem = categoriaNoShard(0, 0);
+        Produto salvo = repository.salvar(novo("Mouse", origem, 5));
+        repository.aumentarEstoque(salvo.getId(), 1);
+        Produto desatualizado = naCategoria(salvo, categoriaNoShard(1, 0));
+
+        // Act & Assert
+        assertThatThrownBy(() -> repository.atualizarCampos(desatualizado, Set.of(CampoProduto.CATEGORIA), true))
+                .isInstanceOf(VersaoDesatualizadaException.class);
+        assertThat(linhasNoShard(0, "id = ?", salvo.getId())).isEqualTo(1);
+        assertThat(linhasNoShard(1, "id = ?", salvo.getId())).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve mover uma categoria inteira para outro shard, mantendo IDs e versões")
+    void deveMoverCategoria() {
+        // Arrange
+        String categoria = categoriaNoShard(0, 0);
+        List<Produto> salvos = repository.salvarTodos(IntStream.range(0, 1_200)
+                .mapToObj(i -> novo("Produto " + i, categoria, 10))
+                .collect(Collectors.toList()));
+        Produto outro = repository.salvar(novo("Outro", categoriaNoShard(0, 1), 1));
+
+        // Act
+        ProdutoRepositoryComShards.Movimentacao movimentacao = repository.moverCategoria(categoria, 2);
+
+        // Assert
+        assertThat(movimentacao).isEqualTo(new ProdutoRepositoryComShards.Movimentacao(categoria, 0, 2, 1_200, 0));
+        assertThat(linhasNoShard(0, "categoria = ?", categoria)).isZero();
+        assertThat(linhasNoShard(2, "categoria = ?", categoria)).isEqualTo(1_200);
+        assertThat(linhasNoShard(0, "id = ?", outro.getId())).isEqualTo(1);
+        assertThat(repository.buscarPorCategoria(categoria)).hasSize(1_200);
+        Produto primeiro = salvos.get(0);
+        assertThat(repository.buscarPorId(primeiro.getId())).get()
+                .extracting(Produto::getVersao).isEqualTo(primeiro.getVersao());
+        // Novos produtos da categoria já nascem no destino
+        assertThat(IdComShard.shard(repository.salvar(novo("Novo", categoria, 1)).getId())).isEqualTo(2);
+        assertThat(repository.distribuicao().movimentacoesSugeridas())
+                .containsExactly(new ProdutoRepositoryComShards.Distribuicao.Sugestao(categoria, 2, 0));
+    }
+
+    @Test
+    @DisplayName("Deve alterar estoques de vários shards no mesmo lote, inclusive de produtos movidos")
+    void deveAlterarEstoquesEmLoteEntreShards() {
+        // Arrange
+        String categoriaMovida = categoriaNoShard(0, 0);
+        Produto a = repository.salvar(novo("Produto A", categoriaMovida, 10));
+        Produto b = repository.salvar(novo("Produto B", categoriaNoShard(1, 0), 10));
+        Produto c = repository.salvar(novo("Produto C", categoriaNoShard(2, 0), 10));
+        repository.moverCategoria(categoriaMovida, 1);
+        Set<Long> ids = Set.of(a.getId(), b.getId(), c.getId(), 999_999L);
+
+        // Act
+        List<Set<Long>> recebidos = new ArrayList<>();
+        repository.alterarEstoquesEmLote(ids, produtos -> {
+            recebidos.add(produtos.keySet());
+            produtos.values().forEach(produto -> produto.reduzirEstoque(3));
+        });
+
+        // Assert
+        assertThat(recebidos).containsExactly(Set.of(a.getId(), b.getId(), c.getId()));
+        assertThat(repository.buscarPorIds(ids)).extracting(Produto::getEstoque).containsOnly(7);
+    }
+
+    @Test
+    @DisplayName("Deve combinar as estatísticas de todos os shards")
+    void deveCombinarEstatisticas() {
+        // Arrange
+        String primeira = categoriaNoShard(0, 0);
+        String segunda = categoriaNoShard(1, 0);
+        repository.salvar(novo("Produto A", primeira, 1));
+        repository.salvar(novo("Produto B", primeira, 2));
+        repository.salvar(novo("Produto C", segunda, 5));
+
+        // Act
+        List<EstatisticasCategoria> estatisticas = repository.estatisticasPorCategoria();
+
+        // Assert
+        assertThat(estatisticas).extracting(EstatisticasCategoria::categoria, EstatisticasCategoria::produtos,
+                        EstatisticasCategoria::estoqueTotal)
+                .containsExactlyInAnyOrder(tuple(primeira, 2L, 3L), tuple(segunda, 1L, 5L));
+    }
+
+    @Test
+    @DisplayName("Deve remover o produto e não encontrá-lo em nenhum shard")
+    void deveRemoverProduto() {
+        // Arrange
+        Produto salvo = repository.salvar(novo("Teclado", categoriaNoShard(1, 0), 1));
+
+        // Act
+        boolean removido = repository.deletar(salvo.getId());
+
+        // Assert
+        assertThat(removido).isTrue();
+        assertThat(repository.existe(salvo.getId())).isFalse();
+        assertThat(repository.deletar(salvo.getId())).isFalse();
+    }
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.produtos.infrastructure.snapshot;
+
+import com.ecommerce.produtos.domain.entity.Produto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Testes do Formato do Snapshot do Catálogo")
+class ArquivoSnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Deve ler de volta os produtos e os IDs quentes gravados")
+    void deveLerOQueFoiGravado() throws IOException {
+        // Arrange
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        Produto notebook = new Produto(1L, "Notebook", "Dell Inspiron", new BigDecimal("2999.99"), 10,
+                "Eletrônicos", LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789), 3L);
+        Produto cafe = new Produto(2L, "Café", null, new BigDecimal("19.9"), 0,
+                "Alimentos", LocalDateTime.of(2024, 3, 2, 8, 0), 0L);
+
+        // Act
+        long gravados = ArquivoSnapshot.gravar(arquivo, 1_700_000_000_000L, List.of(2L),
+                List.of(notebook, cafe).iterator());
+        List<Long> quentes = new ArrayList<>();
+        List<Produto> lidos = new ArrayList<>();
+        ArquivoSnapshot.Conteudo conteudo = ArquivoSnapshot.ler(arquivo, quentes::addAll, lidos::add);
+
+        // Assert
+        assertThat(gravados).isEqualTo(2);
+        assertThat(conteudo.produtos()).isEqualTo(2);
+        assertThat(conteudo.criadoEm()).isEqualTo(1_700_000_000_000L);
+        assertThat(quentes).containsExactly(2L);
+        assertThat(lidos).extracting(Produto::getId, Produto::getNome, Produto::getDescricao,
+                        Produto::getPreco, Produto::getEstoque, Produto::getCategoria,
+                        Produto::getDataCriacao, Produto::getVersao)
+                .containsExactly(
+                        tuple(1L, "Notebook", "Dell Inspiron", new BigDecimal("2999.99"), 10, "Eletrônicos",
+                                LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_789), 3L),
+                        tuple(2L, "Café", null, new BigDecimal("19.9"), 0, "Alimentos",
+                                LocalDateTime.of(2024, 3, 2, 8, 0), 0L));
+        try (var arquivos = Files.list(diretorio)) {
+            assertThat(arquivos).containsExactly(arquivo);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo com um byte alterado antes de entregar qualquer produto")
+    void deveRecusarArquivoCorrompido() throws IOException {
+        // Arrange
+        Path arquivo = gravarUmProduto();
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[bytes.length / 2] ^= 0x01;
+        Files.write(arquivo, bytes);
+        List<Produto> lidos = new ArrayList<>();
+
+        // Act & Assert
+        assertThatThrownBy(() -> ArquivoSnapshot.ler(arquivo, quentes -> {
+        }, lidos::add))
+                .isInstanceOf(SnapshotInvalidoException.class)
+                .hasMessageContaining("CRC");
+        assertThat(lidos).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve recusar versão do formato desconhecida")
+    void deveRecusarVersaoDesconhecida() throws IOException {
+        // Arrange: versão 2 com o CRC recalculado
+        Path arquivo = gravarUmProduto();
+        byte[] bytes = Files.readAllBytes(arquivo);
+        ByteBuffer.wrap(bytes).putShort(4, (short) 2);
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - 4, (int) crc.getValue());
+        Files.write(arquivo, bytes);
+
+        // Act & Assert
+        assertThatThrownBy(() -> ArquivoSnapshot.ler(arquivo, quentes -> {
+        }, produto -> {
+        }))
+                .isInstanceOf(SnapshotInvalidoException.class)
+                .hasMessageContaining("versão 2");
+    }
+
+    @Test
+    @DisplayName("Deve recusar arquivo truncado")
+    void deveRecusarArquivoTruncado() throws IOException {
+        // Arrange
+        Path arquivo = gravarUmProduto();
+        byte[] bytes = Files.readAllBytes(arquivo);
+        Files.write(arquivo, Arrays.copyOf(bytes, bytes.length - 10));
+
+        // Act & Assert
+        assertThatThrownBy(() -> ArquivoSnapshot.ler(arquivo, quentes -> {
+        }, produto -> {
+        }))
+                .isInstanceOf(SnapshotInvalidoException.class);
+    }
+
+    private Path gravarUmProduto() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo.snap");
+        ArquivoSnapshot.gravar(arquivo, System.currentTimeMillis(), List.of(), List.of(
+                new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos",
+                        LocalDateTime.of(2024, 3, 1, 10, 0), 0L)).iterator());
+        return arquivo;
+    }
+}
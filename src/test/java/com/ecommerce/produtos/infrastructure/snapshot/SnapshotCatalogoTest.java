@@ -0,0 +1,150 @@
+package com.ecommerce.produtos.infrastructure.snapshot;
+
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.repository.ProdutoRepositoryPort;
+import com.ecommerce.produtos.infrastructure.cache.ProdutoRepositoryComCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Testes do Snapshot do Catálogo em Disco")
+class SnapshotCatalogoTest {
+
+    @TempDir
+    Path diretorio;
+
+    private Path arquivo;
+    private JdbcTemplate jdbcTemplate;
+    private ProdutoRepositoryPort repositoryPort;
+    private ProdutoRepositoryPort delegateDoCache;
+    private ProdutoRepositoryComCache cache;
+    private VersaoCatalogo versaoCatalogo;
+    private SimpleMeterRegistry registry;
+    private SnapshotCatalogo snapshot;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE produtos_seq START WITH 1 INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE produtos (id BIGINT PRIMARY KEY, nome VARCHAR(100) NOT NULL, "
+                + "descricao VARCHAR(500), preco NUMERIC(10, 2) NOT NULL, estoque INT NOT NULL, "
+                + "categoria VARCHAR(50) NOT NULL, data_criacao TIMESTAMP NOT NULL, versao BIGINT NOT NULL)");
+
+        arquivo = diretorio.resolve("catalogo.snap");
+        repositoryPort = mock(ProdutoRepositoryPort.class);
+        delegateDoCache = mock(ProdutoRepositoryPort.class);
+        cache = new ProdutoRepositoryComCache(delegateDoCache, 100, 0, Duration.ofMinutes(10));
+        versaoCatalogo = new VersaoCatalogo();
+        registry = new SimpleMeterRegistry();
+        snapshot = new SnapshotCatalogo(repositoryPort, dataSource, new DataSourceTransactionManager(dataSource),
+                cache, versaoCatalogo, arquivo, Duration.ZERO, 10, registry);
+    }
+
+    @Test
+    @DisplayName("Deve restaurar os produtos com os mesmos IDs, avançar a sequence e aquecer o cache")
+    void deveRestaurarNoBancoVazio() throws IOException {
+        // Arrange
+        ArquivoSnapshot.gravar(arquivo, System.currentTimeMillis(), List.of(120L),
+                List.of(produto(7L, "Notebook"), produto(120L, "Mouse")).iterator());
+
+        // Act
+        long restaurados = snapshot.restaurar();
+
+        // Assert
+        assertThat(restaurados).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM produtos ORDER BY id", Long.class))
+                .containsExactly(7L, 120L);
+        assertThat(jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR produtos_seq", Long.class))
+                .isEqualTo(170L);
+        assertThat(cache.buscarPorId(120L)).get().extracting(Produto::getNome).isEqualTo("Mouse");
+        verifyNoInteractions(delegateDoCache);
+        assertThat(registry.get("produtos.snapshot").tag("operacao", "restaurar").timer().count()).isEqualTo(1);
+        assertThat(registry.get("produtos.snapshot.produtos").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Não deve restaurar quando o banco já tem produtos")
+    void naoDeveRestaurarComBancoPreenchido() throws IOException {
+        // Arrange
+        ArquivoSnapshot.gravar(arquivo, System.currentTimeMillis(), List.of(),
+                List.of(produto(7L, "Notebook")).iterator());
+        jdbcTemplate.update("INSERT INTO produtos VALUES (1, 'Café', NULL, 19.90, 5, 'Alimentos', "
+                + "CURRENT_TIMESTAMP, 0)");
+
+        // Act
+        long restaurados = snapshot.restaurar();
+
+        // Assert
+        assertThat(restaurados).isZero();
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM produtos", Long.class)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("Deve mover o snapshot inválido para o lado e subir com o banco vazio")
+    void deveDescartarSnapshotInvalido() throws IOException {
+        // Arrange
+        ArquivoSnapshot.gravar(arquivo, System.currentTimeMillis(), List.of(),
+                List.of(produto(7L, "Notebook"), produto(8L, "Mouse")).iterator());
+        byte[] bytes = Files.readAllBytes(arquivo);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(arquivo, bytes);
+
+        // Act
+        long restaurados = snapshot.restaurar();
+
+        // Assert
+        assertThat(restaurados).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM produtos", Long.class)).isZero();
+        assertThat(arquivo).doesNotExist();
+        assertThat(diretorio.resolve("catalogo.snap.invalido")).exists();
+    }
+
+    @Test
+    @DisplayName("Deve gravar só quando o catálogo mudou desde a última gravação")
+    void deveGravarSoQuandoOCatalogoMudou() throws IOException {
+        // Arrange
+        when(repositoryPort.buscarTodosEmStream())
+                .thenAnswer(invocacao -> Stream.of(produto(7L, "Notebook"), produto(8L, "Mouse")));
+
+        // Act
+        boolean semAlteracao = snapshot.gravar();
+        versaoCatalogo.registrarAlteracao("Eletrônicos");
+        boolean comAlteracao = snapshot.gravar();
+        boolean repetida = snapshot.gravar();
+
+        // Assert
+        assertThat(semAlteracao).isFalse();
+        assertThat(comAlteracao).isTrue();
+        assertThat(repetida).isFalse();
+        verify(repositoryPort, times(1)).buscarTodosEmStream();
+        assertThat(ArquivoSnapshot.ler(arquivo, quentes -> {
+        }, produto -> {
+        }).produtos()).isEqualTo(2);
+    }
+
+    private Produto produto(Long id, String nome) {
+        return new Produto(id, nome, "Descrição", new BigDecimal("99.90"), 10, "Eletrônicos",
+                LocalDateTime.of(2024, 3, 1, 10, 0), 1L);
+    }
+}
@@ -1,24 +1,48 @@
 package com.ecommerce.produtos.presantion.controller;
 
+import com.ecommerce.produtos.application.catalogo.VersaoCatalogo;
+import com.ecommerce.produtos.application.concorrencia.ServicoSobrecarregadoException;
+import com.ecommerce.produtos.application.facetas.ContagemFacetas;
+import com.ecommerce.produtos.application.facetas.FiltroFacetas;
 import com.ecommerce.produtos.application.usecase.*;
+import com.ecommerce.produtos.domain.entity.AlteracaoProduto;
+import com.ecommerce.produtos.domain.entity.CampoProduto;
 import com.ecommerce.produtos.domain.entity.Produto;
+import com.ecommerce.produtos.domain.exception.EstoqueExcedidoException;
+import com.ecommerce.produtos.domain.exception.EstoqueInsuficienteException;
 import com.ecommerce.produtos.domain.exception.ProdutoNotFoundException;
+import com.ecommerce.produtos.domain.exception.VersaoDesatualizadaException;
+import com.ecommerce.produtos.domain.repository.ConsultaPorPreco;
+import com.ecommerce.produtos.domain.repository.EstatisticasCategoria;
 import com.ecommerce.produtos.presentation.controller.ProdutoController;
+import com.ecommerce.produtos.presentation.dto.EstoqueRequestDTO;
+import com.ecommerce.produtos.presentation.dto.IdsRequestDTO;
 import com.ecommerce.produtos.presentation.dto.ProdutoRequestDTO;
+import com.ecommerce.produtos.presentation.mapper.CursorMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -37,18 +61,51 @@ class ProdutoControllerTest {
     @MockBean
     private BuscarProdutoPorIdUseCase buscarProdutoPorIdUseCase;
 
+    @MockBean
+    private BuscarProdutosPorIdsUseCase buscarProdutosPorIdsUseCase;
+
     @MockBean
     private ListarTodosProdutosUseCase listarTodosProdutosUseCase;
 
     @MockBean
     private AtualizarProdutoUseCase atualizarProdutoUseCase;
 
+    @MockBean
+    private AtualizarProdutoParcialmenteUseCase atualizarProdutoParcialmenteUseCase;
+
     @MockBean
     private DeletarProdutoUseCase deletarProdutoUseCase;
 
     @MockBean
     private BuscarPorCategoriaUseCase buscarPorCategoriaUseCase;
 
+    @MockBean
+    private ExportarProdutosUseCase exportarProdutosUseCase;
+
+    @MockBean
+    private CriarProdutosEmLoteUseCase criarProdutosEmLoteUseCase;
+
+    @MockBean
+    private ImportarProdutosUseCase importarProdutosUseCase;
+
+    @MockBean
+    private ReservarEstoqueUseCase reservarEstoqueUseCase;
+
+    @MockBean
+    private ReporEstoqueUseCase reporEstoqueUseCase;
+
+    @MockBean
+    private BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase;
+
+    @MockBean
+    private FiltrarPorFacetasUseCase filtrarPorFacetasUseCase;
+
+    @MockBean
+    private ObterEstatisticasUseCase obterEstatisticasUseCase;
+
+    @MockBean
+    private VersaoCatalogo versaoCatalogo;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -116,7 +173,7 @@ class ProdutoControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/produtos - Deve listar todos os produtos")
+    @DisplayName("GET /api/produtos - Deve listar a primeira página de produtos")
     void deveListarTodosOsProdutos() throws Exception {
         // Arrange
         List<Produto> produtos = Arrays.asList(
@@ -126,17 +183,174 @@ class ProdutoControllerTest {
                            20, "Eletrônicos", LocalDateTime.now())
         );
 
-        when(listarTodosProdutosUseCase.executar()).thenReturn(produtos);
+        when(listarTodosProdutosUseCase.executar(null, null))
+                .thenReturn(new Pagina<>(produtos, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/produtos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].nome").value("Notebook"))
-                .andExpect(jsonPath("$[1].nome").value("Mouse"));
+                .andExpect(jsonPath("$.itens").isArray())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].nome").value("Notebook"))
+                .andExpect(jsonPath("$.itens[1].nome").value("Mouse"))
+                .andExpect(jsonPath("$.proximoCursor").doesNotExist());
+
+        verify(listarTodosProdutosUseCase, times(1)).executar(null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?cursor= - Deve repassar o cursor e devolver o próximo")
+    void deveListarProximaPaginaComCursor() throws Exception {
+        // Arrange
+        List<Produto> produtos = List.of(
+                new Produto(21L, "Teclado", "Logitech", new BigDecimal("150.00"), 
+                           5, "Eletrônicos", LocalDateTime.now())
+        );
+        String cursor = CursorMapper.toToken(20L);
+
+        when(listarTodosProdutosUseCase.executar(20L, 1))
+                .thenReturn(new Pagina<>(produtos, 21L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos")
+                        .param("cursor", cursor)
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(21L))
+                .andExpect(jsonPath("$.proximoCursor").value(CursorMapper.toToken(21L)));
+
+        verify(listarTodosProdutosUseCase, times(1)).executar(20L, 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos - Deve retornar 304 sem consultar o catálogo quando o ETag confere")
+    void deveRetornar304ComCatalogoInalterado() throws Exception {
+        // Arrange
+        when(versaoCatalogo.etagGlobal()).thenReturn("\"abc-7\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos").header("If-None-Match", "\"abc-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"abc-7\""))
+                .andExpect(content().string(""));
+
+        verify(listarTodosProdutosUseCase, never()).executar(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos - Deve devolver o ETag do catálogo quando ele mudou")
+    void deveDevolverEtagDoCatalogoAlterado() throws Exception {
+        // Arrange
+        when(versaoCatalogo.etagGlobal()).thenReturn("\"abc-8\"");
+        when(listarTodosProdutosUseCase.executar(null, null))
+                .thenReturn(new Pagina<>(List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos").header("If-None-Match", "\"abc-7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-8\""));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/categoria/{categoria} - Deve usar o ETag da categoria")
+    void deveRetornar304ComCategoriaInalterada() throws Exception {
+        // Arrange
+        when(versaoCatalogo.etagDaCategoria("Eletrônicos")).thenReturn("\"abc-3\"");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/categoria/Eletrônicos").header("If-None-Match", "\"abc-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(buscarPorCategoriaUseCase, never()).executar(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?cursor= - Deve retornar 400 com cursor inválido")
+    void deveRetornar400ComCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/produtos").param("cursor", "invalido"))
+                .andExpect(status().isBadRequest());
+
+        verify(listarTodosProdutosUseCase, never()).executar(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/busca - Deve buscar produtos por texto")
+    void deveBuscarProdutosPorTexto() throws Exception {
+        // Arrange
+        Produto produto = new Produto(
+                1L, "Notebook", "Dell Inspiron",
+                new BigDecimal("2999.99"), 10, "Eletrônicos",
+                LocalDateTime.now()
+        );
+        when(buscarProdutosPorTextoUseCase.executar("notebook dell", 5)).thenReturn(List.of(produto));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/busca")
+                        .param("q", "notebook dell")
+                        .param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Notebook"));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/busca - Deve retornar 400 sem o parâmetro q")
+    void deveRetornar400SemConsulta() throws Exception {
+        mockMvc.perform(get("/api/produtos/busca"))
+                .andExpect(status().isBadRequest());
+
+        verify(buscarProdutosPorTextoUseCase, never()).executar(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos?ids= - Deve buscar vários produtos na ordem pedida")
+    void deveBuscarVariosProdutosPorIds() throws Exception {
+        // Arrange
+        Produto mouse = new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"),
+                20, "Eletrônicos", LocalDateTime.now());
+        Produto notebook = new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"),
+                10, "Eletrônicos", LocalDateTime.now());
+        when(buscarProdutosPorIdsUseCase.executar(List.of(2L, 99L, 1L)))
+                .thenReturn(new BuscarProdutosPorIdsUseCase.Resultado(List.of(mouse, notebook), List.of(99L)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos").param("ids", "2,99,1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].id").value(2))
+                .andExpect(jsonPath("$.itens[1].id").value(1))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(99));
+
+        verifyNoInteractions(listarTodosProdutosUseCase);
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/por-ids - Deve buscar os IDs enviados no corpo")
+    void deveBuscarVariosProdutosPorIdsNoCorpo() throws Exception {
+        // Arrange
+        when(buscarProdutosPorIdsUseCase.executar(List.of(5L, 6L)))
+                .thenReturn(new BuscarProdutosPorIdsUseCase.Resultado(List.of(), List.of(5L, 6L)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/por-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new IdsRequestDTO(List.of(5L, 6L)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").isEmpty())
+                .andExpect(jsonPath("$.naoEncontrados.length()").value(2));
+    }
 
-        verify(listarTodosProdutosUseCase, times(1)).executar();
+    @Test
+    @DisplayName("GET /api/produtos?ids= - Deve retornar 400 acima do máximo de IDs")
+    void deveRetornar400AcimaDoMaximoDeIds() throws Exception {
+        // Arrange
+        when(buscarProdutosPorIdsUseCase.executar(anyList()))
+                .thenThrow(new IllegalArgumentException("Consulta excede o máximo de 2 IDs"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos").param("ids", "1,2,3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Consulta excede o máximo de 2 IDs"));
     }
 
     @Test
@@ -146,7 +360,7 @@ class ProdutoControllerTest {
         Produto produto = new Produto(
                 1L, "Notebook", "Dell Inspiron",
                 new BigDecimal("2999.99"), 10, "Eletrônicos",
-                LocalDateTime.now()
+                LocalDateTime.now(), 4L
         );
 
         when(buscarProdutoPorIdUseCase.executar(1L)).thenReturn(produto);
@@ -154,6 +368,8 @@ class ProdutoControllerTest {
         // Act & Assert
         mockMvc.perform(get("/api/produtos/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.versao").value(4))
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.nome").value("Notebook"))
                 .andExpect(jsonPath("$.preco").value(2999.99));
@@ -213,6 +429,151 @@ class ProdutoControllerTest {
         );
     }
 
+    @Test
+    @DisplayName("PUT /api/produtos/{id} - Deve repassar a versão do If-Match e retornar o novo ETag")
+    void deveAtualizarProdutoComIfMatch() throws Exception {
+        // Arrange
+        ProdutoRequestDTO requestDTO = new ProdutoRequestDTO(
+                "Notebook Atualizado", "Descrição atualizada",
+                new BigDecimal("3499.99"), 15, "Eletrônicos"
+        );
+        Produto produtoAtualizado = new Produto(
+                1L, "Notebook Atualizado", "Descrição atualizada",
+                new BigDecimal("3499.99"), 15, "Eletrônicos",
+                LocalDateTime.now(), 5L
+        );
+
+        when(atualizarProdutoUseCase.executar(
+                eq(1L), anyString(), anyString(), 
+                any(BigDecimal.class), anyInt(), anyString(), eq(Set.of(4L))
+        )).thenReturn(produtoAtualizado);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/produtos/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/produtos/{id} - Deve retornar 412 com If-Match desatualizado")
+    void deveRetornar412ComIfMatchDesatualizado() throws Exception {
+        // Arrange
+        ProdutoRequestDTO requestDTO = new ProdutoRequestDTO(
+                "Notebook Atualizado", "Descrição atualizada",
+                new BigDecimal("3499.99"), 15, "Eletrônicos"
+        );
+
+        when(atualizarProdutoUseCase.executar(
+                eq(1L), anyString(), anyString(), 
+                any(BigDecimal.class), anyInt(), anyString(), eq(Set.of(3L))
+        )).thenThrow(new VersaoDesatualizadaException(1L, Set.of(3L), 4L));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/produtos/1")
+                        .header("If-Match", "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
+    @Test
+    @DisplayName("PUT /api/produtos/{id} - Deve aceitar lista no If-Match e ignorar tags fracas")
+    void deveAceitarListaNoIfMatchEIgnorarTagsFracas() throws Exception {
+        // Arrange
+        ProdutoRequestDTO requestDTO = new ProdutoRequestDTO(
+                "Notebook Atualizado", "Descrição atualizada",
+                new BigDecimal("3499.99"), 15, "Eletrônicos"
+        );
+        Produto produtoAtualizado = new Produto(
+                1L, "Notebook Atualizado", "Descrição atualizada",
+                new BigDecimal("3499.99"), 15, "Eletrônicos",
+                LocalDateTime.now(), 5L
+        );
+        when(atualizarProdutoUseCase.executar(
+                eq(1L), anyString(), anyString(),
+                any(BigDecimal.class), anyInt(), anyString(), eq(Set.of(3L, 4L))
+        )).thenReturn(produtoAtualizado);
+        when(atualizarProdutoUseCase.executar(
+                eq(1L), anyString(), anyString(),
+                any(BigDecimal.class), anyInt(), anyString(), eq(Set.of())
+        )).thenThrow(new VersaoDesatualizadaException(1L, Set.of(), 4L));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/produtos/1")
+                        .header("If-Match", "\"3\", W/\"9\", \"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+
+        mockMvc.perform(put("/api/produtos/1")
+                        .header("If-Match", "W/\"4\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDTO)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/produtos/{id} - Deve aplicar só os campos enviados e retornar o novo ETag")
+    void deveAtualizarProdutoParcialmente() throws Exception {
+        // Arrange
+        Produto produtoAtualizado = new Produto(
+                1L, "Notebook", null, new BigDecimal("2799.99"), 10, "Eletrônicos",
+                LocalDateTime.now(), 5L
+        );
+        ArgumentCaptor<AlteracaoProduto> alteracao = ArgumentCaptor.forClass(AlteracaoProduto.class);
+        when(atualizarProdutoParcialmenteUseCase.executar(eq(1L), alteracao.capture(), eq(Set.of(4L))))
+                .thenReturn(produtoAtualizado);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/produtos/1")
+                        .header("If-Match", "\"4\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"preco\": 2799.99, \"descricao\": null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.preco").value(2799.99));
+
+        assertThat(alteracao.getValue().campos())
+                .containsExactlyInAnyOrder(CampoProduto.PRECO, CampoProduto.DESCRICAO);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/produtos/{id} - Deve validar apenas os campos enviados")
+    void deveRetornar400ComCampoInvalidoNoPatch() throws Exception {
+        // Act & Assert
+        mockMvc.perform(patch("/api/produtos/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"preco\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O preço deve ser maior que zero"));
+
+        mockMvc.perform(patch("/api/produtos/1")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"nome\": null}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(atualizarProdutoParcialmenteUseCase);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/produtos/{id} - Deve rejeitar campos somente leitura, desconhecidos e de tipo errado")
+    void deveRejeitarCamposNaoAlteraveisNoPatch() throws Exception {
+        // Act & Assert
+        for (String corpo : List.of("{\"id\": 2}", "{\"cor\": \"azul\"}", "{\"estoque\": \"10\"}", "[]")) {
+            mockMvc.perform(patch("/api/produtos/1")
+                            .contentType("application/merge-patch+json")
+                            .content(corpo))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(atualizarProdutoParcialmenteUseCase);
+    }
+
     @Test
     @DisplayName("DELETE /api/produtos/{id} - Deve deletar produto")
     void deveDeletarProduto() throws Exception {
@@ -235,14 +596,332 @@ class ProdutoControllerTest {
                            10, "Eletrônicos", LocalDateTime.now())
         );
 
-        when(buscarPorCategoriaUseCase.executar("Eletrônicos")).thenReturn(produtos);
+        when(buscarPorCategoriaUseCase.executar("Eletrônicos", null, null))
+                .thenReturn(new Pagina<>(produtos, null));
 
         // Act & Assert
         mockMvc.perform(get("/api/produtos/categoria/Eletrônicos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].categoria").value("Eletrônicos"));
+                .andExpect(jsonPath("$.itens").isArray())
+                .andExpect(jsonPath("$.itens[0].categoria").value("Eletrônicos"));
+
+        verify(buscarPorCategoriaUseCase, times(1)).executar("Eletrônicos", null, null);
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/categoria/{categoria} - Deve filtrar por faixa de preço com cursor de posição")
+    void deveBuscarPorCategoriaEFaixaDePreco() throws Exception {
+        // Arrange
+        LocalDateTime data = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<Produto> produtos = Arrays.asList(
+                new Produto(7L, "Mouse", "Logitech", new BigDecimal("150.00"), 
+                           20, "Eletrônicos", data)
+        );
+        ConsultaPorPreco.Posicao apos = new ConsultaPorPreco.Posicao(new BigDecimal("120.00"), data, 3L);
+
+        when(buscarPorCategoriaUseCase.executar(eq("Eletrônicos"), eq(new BigDecimal("100")),
+                eq(new BigDecimal("500")), eq(ConsultaPorPreco.Ordenacao.PRECO), eq(apos), eq(1)))
+                .thenReturn(new Pagina<>(produtos, 7L));
+
+        // Act & Assert
+        MvcResult resultado = mockMvc.perform(get("/api/produtos/categoria/Eletrônicos")
+                        .param("precoMin", "100")
+                        .param("precoMax", "500")
+                        .param("ordenar", "preco")
+                        .param("limite", "1")
+                        .param("cursor", CursorMapper.toToken(apos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(7))
+                .andReturn();
+
+        String proximoCursor = objectMapper.readTree(resultado.getResponse().getContentAsString())
+                .get("proximoCursor").asText();
+        assertThat(CursorMapper.posicaoFromToken(proximoCursor))
+                .isEqualTo(new ConsultaPorPreco.Posicao(new BigDecimal("150.00"), data, 7L));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/categoria/{categoria} - Deve rejeitar ordenação desconhecida")
+    void deveRejeitarOrdenacaoDesconhecida() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/categoria/Eletrônicos").param("ordenar", "nome"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(buscarPorCategoriaUseCase);
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/facetas - Deve retornar itens, total e contagens por faceta")
+    void deveFiltrarPorFacetas() throws Exception {
+        // Arrange
+        List<Produto> produtos = Arrays.asList(
+                new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                           10, "Eletrônicos", LocalDateTime.now())
+        );
+        ContagemFacetas contagens = new ContagemFacetas(
+                Map.of("Eletrônicos", 1L, "Roupas", 4L), Map.of("1000+", 1L), 1, 0);
+        FiltroFacetas filtro = new FiltroFacetas(Set.of("Eletrônicos"), Set.of("1000+"), true);
+
+        when(versaoCatalogo.etagGlobal()).thenReturn("\"abc-1\"");
+        when(filtrarPorFacetasUseCase.executar(filtro, null, null))
+                .thenReturn(new FiltrarPorFacetasUseCase.Resultado(new Pagina<>(produtos, null), 1, contagens));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/facetas")
+                        .param("categoria", "Eletrônicos")
+                        .param("faixaPreco", "1000+")
+                        .param("emEstoque", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(1))
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.facetas.categoria.Roupas").value(4))
+                .andExpect(jsonPath("$.facetas.emEstoque.true").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/estatisticas - Deve retornar o global e as categorias, com ETag do catálogo")
+    void deveRetornarEstatisticas() throws Exception {
+        // Arrange
+        EstatisticasCategoria eletronicos = new EstatisticasCategoria("Eletrônicos", 2, 15,
+                new BigDecimal("50.00"), new BigDecimal("2999.99"), new BigDecimal("3049.99"));
+        EstatisticasCategoria global = new EstatisticasCategoria(null, 3, 15,
+                new BigDecimal("50.00"), new BigDecimal("2999.99"), new BigDecimal("3109.89"));
+        when(versaoCatalogo.etagGlobal()).thenReturn("\"abc-1\"");
+        when(obterEstatisticasUseCase.executar("Eletrônicos"))
+                .thenReturn(new ObterEstatisticasUseCase.Resultado(global, List.of(eletronicos)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/estatisticas").param("categoria", "Eletrônicos"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc-1\""))
+                .andExpect(jsonPath("$.global.produtos").value(3))
+                .andExpect(jsonPath("$.global.precoMedio").value(1036.63))
+                .andExpect(jsonPath("$.categorias[0].categoria").value("Eletrônicos"))
+                .andExpect(jsonPath("$.categorias[0].estoqueTotal").value(15))
+                .andExpect(jsonPath("$.categorias[0].precoMinimo").value(50.00))
+                .andExpect(jsonPath("$.categorias[0].precoMedio").value(1525.00));
+
+        mockMvc.perform(get("/api/produtos/estatisticas").header("If-None-Match", "\"abc-1\""))
+                .andExpect(status().isNotModified());
+        verify(obterEstatisticasUseCase, times(1)).executar(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/{id} - Deve retornar 503 com Retry-After quando o limite de concorrência recusa")
+    void deveRetornar503ComServicoSobrecarregado() throws Exception {
+        // Arrange
+        when(buscarProdutoPorIdUseCase.executar(1L))
+                .thenThrow(new ServicoSobrecarregadoException(Duration.ofMillis(1500)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/produtos/1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/exportar - Deve retornar 503 quando o limite recusa antes do primeiro produto")
+    @SuppressWarnings("unchecked")
+    void deveRetornar503NaExportacaoRecusada() throws Exception {
+        // Arrange
+        when(exportarProdutosUseCase.executar(any(Consumer.class)))
+                .thenThrow(new ServicoSobrecarregadoException(Duration.ofSeconds(1)));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/produtos/exportar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("GET /api/produtos/exportar - Deve exportar catálogo em NDJSON")
+    @SuppressWarnings("unchecked")
+    void deveExportarCatalogoEmNdjson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<Produto> consumidor = invocation.getArgument(0);
+            consumidor.accept(new Produto(1L, "Notebook", "Dell", new BigDecimal("2999.99"), 
+                    10, "Eletrônicos", LocalDateTime.now()));
+            consumidor.accept(new Produto(2L, "Mouse", "Logitech", new BigDecimal("50.00"), 
+                    20, "Eletrônicos", LocalDateTime.now()));
+            return 2L;
+        }).when(exportarProdutosUseCase).executar(any(Consumer.class));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/produtos/exportar"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readTree(linhas[0]).get("nome").asText()).isEqualTo("Notebook");
+        assertThat(objectMapper.readTree(linhas[1]).get("id").asLong()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/importar - Deve ler o CSV em streaming e retornar o resumo")
+    void deveImportarProdutosDeCsv() throws Exception {
+        // Arrange
+        String csv = "\uFEFFnome,descricao,preco,estoque,categoria,id,fornecedor\r\n"
+                + "Notebook,\"Dell, 16\"\" com\nduas linhas\",2999.99,10,Eletrônicos,,ACME\r\n"
+                + "\r\n"
+                + "Mouse,,abc,5,Eletrônicos,7,ACME\r\n"
+                + "Teclado,,150,3,Eletrônicos,8,ACME";
+        List<ImportarProdutosUseCase.Linha> lidas = new ArrayList<>();
+        when(importarProdutosUseCase.executar(any())).thenAnswer(invocacao -> {
+            Iterator<ImportarProdutosUseCase.Linha> linhas = invocacao.getArgument(0);
+            linhas.forEachRemaining(lidas::add);
+            return new ImportarProdutosUseCase.Resumo(3, 1, 1, 1,
+                    List.of(new ImportarProdutosUseCase.ErroLinha(5, "Preço inválido: abc")), 2_000_000_000L);
+        });
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/importar")
+                        .contentType("text/csv")
+                        .content(csv.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhas").value(3))
+                .andExpect(jsonPath("$.erros[0].linha").value(5))
+                .andExpect(jsonPath("$.duracaoMs").value(2000))
+                .andExpect(jsonPath("$.linhasPorSegundo").value(1));
+
+        assertThat(lidas).extracting(ImportarProdutosUseCase.Linha::numero).containsExactly(2L, 5L, 6L);
+        assertThat(lidas.get(0).descricao()).isEqualTo("Dell, 16\" com\nduas linhas");
+        assertThat(lidas.get(0).id()).isNull();
+        assertThat(lidas.get(1).erro()).isEqualTo("Preço inválido: abc");
+        assertThat(lidas.get(2).id()).isEqualTo(8L);
+        assertThat(lidas.get(2).preco()).isEqualByComparingTo("150");
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/importar - Deve retornar 400 sem coluna obrigatória no cabeçalho")
+    void deveRetornar400SemColunaObrigatoria() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/importar")
+                        .contentType("text/csv")
+                        .content("nome,preco,estoque\nNotebook,10,1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cabeçalho do CSV sem a coluna obrigatória: categoria"));
+
+        verifyNoInteractions(importarProdutosUseCase);
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/lote - Deve reportar resultado por item")
+    void deveCriarProdutosEmLoteComResultadoPorItem() throws Exception {
+        // Arrange
+        List<ProdutoRequestDTO> requests = List.of(
+                new ProdutoRequestDTO("Notebook", "Dell", new BigDecimal("2999.99"), 10, "Eletrônicos"),
+                new ProdutoRequestDTO("AB", "Nome curto", new BigDecimal("10.00"), 1, "Eletrônicos"),
+                new ProdutoRequestDTO("Mouse", "Logitech", new BigDecimal("50.00"), 20, "Eletrônicos")
+        );
+
+        when(criarProdutosEmLoteUseCase.executar(anyList())).thenReturn(List.of(
+                new CriarProdutosEmLoteUseCase.Resultado(new Produto(1L, "Notebook", "Dell",
+                        new BigDecimal("2999.99"), 10, "Eletrônicos", LocalDateTime.now()), null),
+                CriarProdutosEmLoteUseCase.Resultado.falha("Nome deve ter entre 3 e 100 caracteres"),
+                new CriarProdutosEmLoteUseCase.Resultado(new Produto(2L, "Mouse", "Logitech",
+                        new BigDecimal("50.00"), 20, "Eletrônicos", LocalDateTime.now()), null)
+        ));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/lote")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.criados").value(2))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.itens[0].produto.id").value(1L))
+                .andExpect(jsonPath("$.itens[1].produto").doesNotExist())
+                .andExpect(jsonPath("$.itens[1].erro").value(org.hamcrest.Matchers.containsString("Nome")))
+                .andExpect(jsonPath("$.itens[2].indice").value(2))
+                .andExpect(jsonPath("$.itens[2].produto.nome").value("Mouse"));
+
+        verify(criarProdutosEmLoteUseCase, times(1)).executar(argThat(itens -> itens.size() == 3
+                && itens.get(1).nome().equals("AB")));
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/{id}/estoque/reservar - Deve retornar o novo estoque")
+    void deveReservarEstoque() throws Exception {
+        // Arrange
+        when(reservarEstoqueUseCase.executar(1L, 3)).thenReturn(7);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/1/estoque/reservar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EstoqueRequestDTO(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtoId").value(1L))
+                .andExpect(jsonPath("$.estoque").value(7));
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/{id}/estoque/reservar - Deve retornar 409 sem estoque")
+    void deveRetornar409SemEstoque() throws Exception {
+        // Arrange
+        when(reservarEstoqueUseCase.executar(1L, 50))
+                .thenThrow(new EstoqueInsuficienteException(1L, 50));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/1/estoque/reservar")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EstoqueRequestDTO(50))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/{id}/estoque/repor - Deve retornar 422 acima do estoque máximo")
+    void deveRetornar422AcimaDoEstoqueMaximo() throws Exception {
+        // Arrange
+        when(reporEstoqueUseCase.executar(1L, Integer.MAX_VALUE))
+                .thenThrow(new EstoqueExcedidoException(1L, Integer.MAX_VALUE));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/1/estoque/repor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EstoqueRequestDTO(Integer.MAX_VALUE))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422));
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/{id}/estoque/repor - Deve repor estoque")
+    void deveReporEstoque() throws Exception {
+        // Arrange
+        when(reporEstoqueUseCase.executar(1L, 5)).thenReturn(15);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/produtos/1/estoque/repor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EstoqueRequestDTO(5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estoque").value(15));
+    }
+
+    @Test
+    @DisplayName("POST /api/produtos/{id}/estoque/repor - Deve retornar 400 com quantidade inválida")
+    void deveRetornar400ComQuantidadeInvalida() throws Exception {
+        mockMvc.perform(post("/api/produtos/1/estoque/repor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EstoqueRequestDTO(0))))
+                .andExpect(status().isBadRequest());
 
-        verify(buscarPorCategoriaUseCase, times(1)).executar("Eletrônicos");
+        verify(reporEstoqueUseCase, never()).executar(anyLong(), anyInt());
     }
 }
\ No newline at end of file